@@ -0,0 +1,171 @@
+// ConcurrentLTSBenchmark.java
+
+package be.combefis.hmiltsa.bench;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.ConcurrentLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Benchmarks of the concurrent construction of an LTS
+ * 
+ * The states are first added by all the threads, each one adding a slice of
+ * them, and the transitions are then added the same way, one transition out
+ * of ten being a tau transition, over eight actions. The LTS is finally
+ * sealed into an HMI-LTS.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+@org.openjdk.jmh.annotations.State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class ConcurrentLTSBenchmark
+{
+	// Instance variables
+	@Param ({"100000"})
+	public int statesCount;
+	@Param ({"4"})
+	public int branchingFactor;
+	@Param ({"1", "2", "4", "8"})
+	public int threads;
+	
+	private State[] states;
+	private Transition[] transitions;
+	private int[] from, to;
+	private ExecutorService executor;
+	
+	/**
+	 * Generates the states and transitions to add
+	 * 
+	 * @pre -
+	 * @post states and transitions contain the states and transitions to add, transition i
+	 *       going from from[i] to to[i], and executor contains a pool of threads
+	 */
+	@Setup
+	public void setUp()
+	{
+		Random random = new Random (42);
+		states = new State[statesCount];
+		for (int s = 0; s < statesCount; s++)
+		{
+			states[s] = new State ("S" + s);
+		}
+		Action[] actions = new Action[8];
+		for (int a = 0; a < actions.length; a++)
+		{
+			actions[a] = new Action ("a" + a, a % 2 == 0 ? ActionType.COMMAND : ActionType.OBSERVATION);
+		}
+		int m = statesCount * branchingFactor;
+		transitions = new Transition[m];
+		from = new int[m];
+		to = new int[m];
+		for (int t = 0; t < m; t++)
+		{
+			transitions[t] = new Transition (actions[random.nextInt (actions.length)]);
+			from[t] = t / branchingFactor;
+			to[t] = random.nextInt (statesCount);
+		}
+		executor = Executors.newFixedThreadPool (threads);
+	}
+	
+	/**
+	 * Stops the pool of threads
+	 * 
+	 * @pre -
+	 * @post The threads of executor have been stopped
+	 */
+	@TearDown
+	public void tearDown()
+	{
+		executor.shutdown();
+	}
+	
+	/**
+	 * Builds the LTS from all the threads
+	 * 
+	 * @pre -
+	 * @post The returned value contains the sealed LTS
+	 */
+	@Benchmark
+	public HMILTS ingest() throws Exception
+	{
+		ConcurrentLTS<State,Transition> lts = new ConcurrentLTS<State,Transition> (states[0], threads);
+		run (lts, false, statesCount);
+		run (lts, true, transitions.length);
+		return lts.seal (HMILTS::new);
+	}
+	
+	/**
+	 * Adds states or transitions to an LTS from all the threads
+	 * 
+	 * @pre "lts" != null
+	 *      "count" is the number of states or of transitions
+	 * @post The states (or the transitions if "transitionsPhase" is true) have been added
+	 *       to "lts", each thread of executor adding a slice of them
+	 */
+	private void run (ConcurrentLTS<State,Transition> lts, boolean transitionsPhase, int count) throws Exception
+	{
+		Future<?>[] futures = new Future<?>[threads];
+		for (int i = 0; i < threads; i++)
+		{
+			int start = (int) ((long) count * i / threads), end = (int) ((long) count * (i + 1) / threads);
+			futures[i] = executor.submit (() -> add (lts, transitionsPhase, start, end));
+		}
+		for (Future<?> future : futures)
+		{
+			future.get();
+		}
+	}
+	
+	/**
+	 * Adds a slice of the states or of the transitions to an LTS
+	 * 
+	 * @pre "lts" != null
+	 *      0 <= "start" <= "end"
+	 * @post The states (or the transitions if "transitionsPhase" is true) "start" to "end" - 1,
+	 *       except the initial state, have been added to "lts"
+	 */
+	private void add (ConcurrentLTS<State,Transition> lts, boolean transitionsPhase, int start, int end)
+	{
+		for (int i = Math.max (transitionsPhase ? 0 : 1, start); i < end; i++)
+		{
+			if (! transitionsPhase)
+			{
+				lts.addState (states[i]);
+			}
+			else if (i % 10 == 0)
+			{
+				lts.addTauTransition (transitions[i], states[from[i]], states[to[i]]);
+			}
+			else
+			{
+				lts.addTransition (transitions[i], states[from[i]], states[to[i]]);
+			}
+		}
+	}
+}
\ No newline at end of file
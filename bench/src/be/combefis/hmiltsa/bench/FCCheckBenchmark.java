@@ -0,0 +1,108 @@
+// FCCheckBenchmark.java
+
+package be.combefis.hmiltsa.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.HMILTS;
+
+/**
+ * Benchmarks of the full-control check
+ * 
+ * The mental model is a copy of the system model, generated with the same seed.
+ * A deterministic model is full-control with itself, so that the whole product
+ * is explored, while the check of a nondeterministic model can stop at the
+ * first violation. The compact snapshots of the models are cached after the
+ * first check, so that the benchmark measures the exploration of the product.
+ * The model parameter is either "deterministic" or the tau ratio of a
+ * nondeterministic model, since deterministic models have no internal
+ * transitions whatever their tau ratio.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+@org.openjdk.jmh.annotations.State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class FCCheckBenchmark
+{
+	// Instance variables
+	@Param ({"1000", "20000"})
+	public int statesCount;
+	@Param ({"2", "4"})
+	public double branchingFactor;
+	@Param ({"deterministic", "0.1", "0.3"})
+	public String model;
+	@Param ({"0.5"})
+	public double commandRatio;
+	@Param ({"1", "4"})
+	public int parallelism;
+	
+	private HMILTS system, mental;
+	
+	/**
+	 * Generates the models
+	 * 
+	 * @pre -
+	 * @post system and mental contain two copies of a random HMI-LTS
+	 */
+	@Setup
+	public void setUp()
+	{
+		system = generate();
+		mental = generate();
+	}
+	
+	/**
+	 * Generates a model with the parameters of the benchmark
+	 * 
+	 * @pre -
+	 * @post The returned value contains a random HMI-LTS, always the same one
+	 */
+	private HMILTS generate()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (42);
+		generator.setStatesCount (statesCount);
+		generator.setBranchingFactor (branchingFactor);
+		generator.setCommandRatio (commandRatio);
+		if (model.equals ("deterministic"))
+		{
+			generator.setDeterministic (true);
+		}
+		else
+		{
+			generator.setTauRatio (Double.parseDouble (model));
+		}
+		return generator.generate();
+	}
+	
+	/**
+	 * Checks the full-control criterion
+	 * 
+	 * @pre -
+	 * @post The returned value contains the verdict of the check
+	 */
+	@Benchmark
+	public boolean fullControl()
+	{
+		FCCheck check = new FCCheck (system);
+		check.setParallelism (parallelism);
+		return check.isFullControl (mental);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+// LTSBenchmark.java
+
+package be.combefis.hmiltsa.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Benchmarks of the construction of and the lookups in an HMI-LTS
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+@org.openjdk.jmh.annotations.State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class LTSBenchmark
+{
+	// Instance variables
+	@Param ({"1000", "100000"})
+	public int statesCount;
+	@Param ({"2", "8"})
+	public double branchingFactor;
+	@Param ({"0.1", "0.5"})
+	public double tauRatio;
+	@Param ({"0.5"})
+	public double commandRatio;
+	
+	private HMILTS model;
+	private State[] states, sources, destinations;
+	private Transition[] transitions;
+	private int next;
+	
+	/**
+	 * Generates the model and copies its content
+	 * 
+	 * @pre -
+	 * @post model contains a random HMI-LTS, states its states and sources, destinations
+	 *       and transitions its transitions, in the order in which they have been added
+	 */
+	@Setup
+	public void setUp()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (42);
+		generator.setStatesCount (statesCount);
+		generator.setBranchingFactor (branchingFactor);
+		generator.setTauRatio (tauRatio);
+		generator.setCommandRatio (commandRatio);
+		model = generator.generate();
+		
+		states = new State[model.statesCount()];
+		for (int s = 0; s < states.length; s++)
+		{
+			states[s] = model.state (s);
+		}
+		transitions = new Transition[model.transitionsCount()];
+		sources = new State[transitions.length];
+		destinations = new State[transitions.length];
+		for (State s : states)
+		{
+			for (Transition t : model.outTransitions (s))
+			{
+				int id = model.transitionId (t);
+				transitions[id] = t;
+				sources[id] = s;
+				destinations[id] = model.getDestination (t);
+			}
+		}
+		next = 0;
+	}
+	
+	/**
+	 * Builds a copy of the model with addState and addTransition
+	 * 
+	 * @pre -
+	 * @post The returned value contains a copy of the model
+	 */
+	@Benchmark
+	public HMILTS construction()
+	{
+		HMILTS lts = new HMILTS (states[0]);
+		for (int s = 1; s < states.length; s++)
+		{
+			lts.addState (states[s]);
+		}
+		for (int t = 0; t < transitions.length; t++)
+		{
+			lts.addTransition (new Transition (transitions[t].getAction()), sources[t], destinations[t]);
+		}
+		return lts;
+	}
+	
+	/**
+	 * Looks up the tau transition between the two states of a transition
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if there is a tau transition
+	 *       between the source and the destination of the next transition
+	 */
+	@Benchmark
+	public boolean hasTauTransition()
+	{
+		int t = next;
+		next = t + 1 == transitions.length ? 0 : t + 1;
+		return model.hasTauTransition (sources[t], destinations[t]);
+	}
+	
+	/**
+	 * Iterates over the outgoing transitions of a state
+	 * 
+	 * @pre -
+	 * @post The destinations of the outgoing transitions of the next state have been consumed
+	 */
+	@Benchmark
+	public void outTransitions (Blackhole blackhole)
+	{
+		int s = next;
+		next = s + 1 == states.length ? 0 : s + 1;
+		List<Transition> out = model.outTransitions (states[s]);
+		for (Transition t : out)
+		{
+			blackhole.consume (model.getDestination (t));
+		}
+	}
+	
+	/**
+	 * Builds a copy of the model, its compact snapshot and its tau-closure
+	 * 
+	 * @pre -
+	 * @post The returned value contains the tau-closure of a copy of the model
+	 */
+	@Benchmark
+	public Object tauClosure()
+	{
+		return construction().tauClosure();
+	}
+}
\ No newline at end of file
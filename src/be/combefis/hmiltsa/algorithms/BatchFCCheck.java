@@ -0,0 +1,184 @@
+// BatchFCCheck.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Algorithm to check the full-control property of many mental models
+ * against the same system
+ * 
+ * The compact snapshot of the system, its tau-closure and the commands and
+ * observations weakly enabled in all its states are computed once, when the
+ * algorithm is created. They are only read afterwards, the actions of each
+ * mental model being identified in its own copy of the system alphabet, so
+ * that the mental models can be checked in parallel, each one by a
+ * sequential exploration of its product with the system.
+ * 
+ * The system is checked as it was when the algorithm was created, the
+ * changes made to it afterwards being ignored.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class BatchFCCheck
+{
+	// Instance variables
+	private final HMILTS system;
+	private final ModelIndex index;
+	private final Map<Object,Integer> alphabet;
+	private int parallelism;
+	
+	/**
+	 * Creates a new batch full-control check algorithm
+	 * 
+	 * @pre "system" != null
+	 * @post An instance of this has been created, representing a full-control algorithm
+	 *       to analyse the current state of the specified "system", whose weakly enabled
+	 *       actions have been computed, and using as many threads as available processors
+	 */
+	public BatchFCCheck (HMILTS system)
+	{
+		if (system == null)
+		{
+			throw new InvalidParameterException ("Cannot check a null system");
+		}
+		this.system = system;
+		Map<Object,Integer> actions = new HashMap<Object,Integer>();
+		index = new ModelIndex (system.freeze(), actions);
+		index.prepare();
+		alphabet = Collections.unmodifiableMap (actions);
+		parallelism = Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * Gets the system model of the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the system model
+	 *       linked to this algorithm
+	 */
+	public HMILTS getSystemModel()
+	{
+		return system;
+	}
+	
+	/**
+	 * Gets the number of threads used by the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of threads checking
+	 *       mental models at the same time
+	 */
+	public int getParallelism()
+	{
+		return parallelism;
+	}
+	
+	/**
+	 * Sets the number of threads used by the algorithm
+	 * 
+	 * @pre "parallelism" > 0
+	 * @post Up to "parallelism" mental models will be checked at the same time,
+	 *       one after the other if "parallelism" is 1
+	 */
+	public void setParallelism (int parallelism)
+	{
+		if (parallelism <= 0)
+		{
+			throw new InvalidParameterException ("The parallelism must be positive");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Tests the full-control criterion for one mental model
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains true if the specified "mental" model
+	 *       allows full-control of the system linked to this algorithm
+	 */
+	public boolean isFullControl (HMILTS mental)
+	{
+		return check (mental.freeze());
+	}
+	
+	/**
+	 * Tests the full-control criterion for several mental models
+	 * 
+	 * @pre "mentals" != null
+	 *      "mentals" does not contain null
+	 * @post The returned value contains, at index i, true if the i-th model of "mentals"
+	 *       allows full-control of the system linked to this algorithm
+	 */
+	public boolean[] isFullControl (List<HMILTS> mentals)
+	{
+		if (mentals == null || mentals.contains (null))
+		{
+			throw new InvalidParameterException ("Cannot check a null list of mental models or a null mental model");
+		}
+		
+		// The snapshots are taken once per model, before the parallel checks
+		Map<HMILTS,Integer> ids = new IdentityHashMap<HMILTS,Integer>();
+		int[] model = new int[mentals.size()];
+		for (int i = 0; i < model.length; i++)
+		{
+			Integer id = ids.get (mentals.get (i));
+			if (id == null)
+			{
+				id = ids.size();
+				ids.put (mentals.get (i), id);
+			}
+			model[i] = id;
+		}
+		@SuppressWarnings ("unchecked")
+		CompactLTS<State,Transition>[] snapshots = (CompactLTS<State,Transition>[]) new CompactLTS<?,?>[ids.size()];
+		for (Map.Entry<HMILTS,Integer> entry : ids.entrySet())
+		{
+			snapshots[entry.getValue()] = entry.getKey().freeze();
+			snapshots[entry.getValue()].tauClosure();
+		}
+		
+		boolean[] verdicts = new boolean[snapshots.length];
+		ForkJoinPool pool = new ForkJoinPool (parallelism);
+		try
+		{
+			pool.submit (() -> IntStream.range (0, snapshots.length).parallel().forEach (i -> verdicts[i] = check (snapshots[i]))).join();
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		boolean[] result = new boolean[model.length];
+		for (int i = 0; i < model.length; i++)
+		{
+			result[i] = verdicts[model[i]];
+		}
+		return result;
+	}
+	
+	/**
+	 * Tests the full-control criterion for a snapshot of a mental model
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains true if "mental" allows full-control
+	 *       of the system linked to this algorithm
+	 */
+	private boolean check (CompactLTS<State,Transition> mental)
+	{
+		return FCCheck.explore (new Product (index, alphabet, mental), false, null);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,270 @@
+// BitstateExplorer.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Bitstate exploration of the product used by the full-control algorithm
+ * 
+ * The visited pairs are not stored: each pair only sets HASHES bits of a
+ * large bit array, at positions given by double hashing, and a pair whose
+ * bits are all set is considered as visited. A pair can thus be wrongly
+ * considered as visited, and skipped with all the pairs only reachable
+ * through it.
+ * 
+ * The product is explored depth-first, and only the path from the initial
+ * pair to the pair being expanded is stored: for each pair of the path, the
+ * pair, its ample successor if partial-order reduction selected one, and
+ * the number of its successors already taken. The next successor of a pair
+ * is found by generating its successors again, so that the memory does not
+ * depend on the branching of the product. The path is bounded and counted
+ * in the memory budget, of which it gets one eighth: a pair that would make
+ * it longer is not explored, and is reported as possibly skipped.
+ * 
+ * The probability that a new pair is skipped is the probability that its
+ * bits are all set, that is the fraction of set bits before its insertion
+ * raised to the power HASHES. These probabilities are summed over the
+ * inserted pairs to get the expected number of skipped pairs, from which
+ * the probability that at least one pair has been skipped is estimated.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class BitstateExplorer implements LongConsumer
+{
+	// Constants
+	private static final int HASHES = 3;
+	private static final long MAX_BITS = 1L << 36;
+	private static final int LEVEL = 20;
+	private static final int MIN_DEPTH = 64;
+	
+	// Instance variables
+	private final long[] bits;
+	private final long mask;
+	private long setBits, fired;
+	private double omissions;
+	private boolean truncated;
+	private final long[] path, ample;
+	private final int[] taken;
+	private int depth, maxDepth;
+	private int wanted, count;
+	private long found;
+	
+	/**
+	 * Creates a new bitstate exploration
+	 * 
+	 * @pre "memory" > 0
+	 * @post An instance of this is created, representing an exploration with a path
+	 *       of at least 64 pairs that fits in one eighth of "memory" bytes, and a bit
+	 *       array of the largest power of two of bits that fits in the rest, between
+	 *       64 bits and 8 GiB
+	 */
+	public BitstateExplorer (long memory)
+	{
+		int length = (int) Math.max (MIN_DEPTH, Math.min (Integer.MAX_VALUE - 8, memory / 8 / LEVEL));
+		path = new long[length];
+		ample = new long[length];
+		taken = new int[length];
+		long rest = Math.max (0, memory - (long) LEVEL * length);
+		long bitsCount = Long.highestOneBit (Math.max (64, 8 * Math.min (MAX_BITS / 8, rest)));
+		bits = new long[(int) (bitsCount >>> 6)];
+		mask = bitsCount - 1;
+	}
+	
+	/**
+	 * Explores a product
+	 * 
+	 * @pre "product" != null
+	 * @post The returned value contains true if all the explored pairs of "product" satisfy
+	 *       the full-control conditions, the interleavings being reduced if "reduction" is
+	 *       true, and "metrics", if not null, contains the metrics of the exploration
+	 */
+	public boolean explore (Product product, boolean reduction, Metrics metrics)
+	{
+		LongPredicate seen = this::contains;
+		add (Product.INITIAL);
+		boolean verdict = product.isCompatible (Product.INITIAL);
+		long checked = 1;
+		if (verdict)
+		{
+			push (product, Product.INITIAL, reduction, seen);
+		}
+		while (depth > 0 && verdict)
+		{
+			long q = successor (product, depth - 1);
+			if (q < 0)
+			{
+				depth--;
+			}
+			else if (depth == path.length)
+			{
+				// The path is full, the pair is left unvisited
+				truncated |= ! contains (q);
+			}
+			else if (add (q))
+			{
+				checked++;
+				verdict = product.isCompatible (q);
+				if (verdict)
+				{
+					push (product, q, reduction, seen);
+				}
+			}
+		}
+		
+		if (metrics != null)
+		{
+			metrics.pairs = checked;
+			metrics.transitions = fired;
+			metrics.maxFrontier = maxDepth;
+			metrics.visitedBytes = 8L * bits.length;
+			metrics.closure (product);
+		}
+		return verdict;
+	}
+	
+	/**
+	 * Gets the estimated probability that a pair has been skipped
+	 * 
+	 * @pre -
+	 * @post The returned value contains the estimated probability that at least
+	 *       one reachable pair has been wrongly considered as visited, or 1 if a
+	 *       pair has not been explored because the path was full
+	 */
+	public double getOmissionProbability()
+	{
+		return truncated ? 1 : -Math.expm1 (-omissions);
+	}
+	
+	@Override
+	public void accept (long p)
+	{
+		if (count++ == wanted)
+		{
+			found = p;
+		}
+	}
+	
+	/**
+	 * Adds a pair at the end of the path
+	 * 
+	 * @pre "product", "seen" != null
+	 *      depth < path.length
+	 * @post "p" is the last pair of the path, with no successor taken yet, and its ample
+	 *       successor has been selected if "reduction" is true
+	 */
+	private void push (Product product, long p, boolean reduction, LongPredicate seen)
+	{
+		path[depth] = p;
+		taken[depth] = 0;
+		ample[depth] = -1;
+		if (reduction)
+		{
+			wanted = 0;
+			count = 0;
+			if (product.ampleSuccessors (p, seen, this))
+			{
+				ample[depth] = found;
+			}
+		}
+		depth++;
+		maxDepth = Math.max (maxDepth, depth);
+	}
+	
+	/**
+	 * Takes the next successor of a pair of the path
+	 * 
+	 * @pre "product" != null
+	 *      0 <= "d" < depth
+	 * @post The returned value contains the next successor of the "d"-th pair of the path,
+	 *       which is counted as taken, or -1 if all its successors have been taken
+	 */
+	private long successor (Product product, int d)
+	{
+		wanted = taken[d];
+		count = 0;
+		found = -1;
+		if (ample[d] >= 0)
+		{
+			found = wanted == 0 ? ample[d] : -1;
+		}
+		else
+		{
+			product.successors (path[d], this);
+		}
+		if (found >= 0)
+		{
+			taken[d]++;
+			fired++;
+		}
+		return found;
+	}
+	
+	/**
+	 * Records a pair as visited
+	 * 
+	 * @pre -
+	 * @post The bits of "p" are set, the expected number of skipped pairs has been updated,
+	 *       and the returned value contains true if some of them were not set
+	 */
+	private boolean add (long p)
+	{
+		double fill = (double) setBits / (mask + 1);
+		long h = hash (p);
+		long h1 = h, h2 = (h >>> 32) | 1;
+		boolean added = false;
+		for (int i = 0; i < HASHES; i++)
+		{
+			long b = (h1 + i * h2) & mask;
+			long bit = 1L << b;
+			int w = (int) (b >>> 6);
+			if ((bits[w] & bit) == 0)
+			{
+				bits[w] |= bit;
+				setBits++;
+				added = true;
+			}
+		}
+		if (added)
+		{
+			omissions += Math.pow (fill, HASHES);
+		}
+		return added;
+	}
+	
+	/**
+	 * Tests whether a pair is considered as visited
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if all the bits of "p" are set
+	 */
+	private boolean contains (long p)
+	{
+		long h = hash (p);
+		long h1 = h, h2 = (h >>> 32) | 1;
+		for (int i = 0; i < HASHES; i++)
+		{
+			long b = (h1 + i * h2) & mask;
+			if ((bits[(int) (b >>> 6)] & (1L << b)) == 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Mixes the bits of a pair
+	 * 
+	 * @pre -
+	 * @post The returned value contains a hash of "p" whose bits all depend on all the bits of "p"
+	 */
+	private static long hash (long p)
+	{
+		long h = (p ^ (p >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+}
\ No newline at end of file
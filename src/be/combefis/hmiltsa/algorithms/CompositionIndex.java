@@ -0,0 +1,254 @@
+// CompositionIndex.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.Composition;
+
+/**
+ * Composition explored by the full-control algorithms, with the commands
+ * and observations weakly enabled in its states
+ * 
+ * The weakly enabled actions of a state are computed on demand, from the
+ * states it reaches with internal moves, and cached. The search does not go
+ * through the states whose weakly enabled actions are already cached, since
+ * they already include all the actions weakly enabled after them. The
+ * states visited by a search are marked with its epoch in an array shared
+ * by all the searches, so that a search only allocates its results.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class CompositionIndex
+{
+	// Instance variables
+	private final Composition composition;
+	private final int[] global;
+	private int[][] commands, observations;
+	private int[] mark, stack;
+	private int epoch;
+	private long hits, misses;
+	
+	/**
+	 * Creates a new explored composition
+	 * 
+	 * @pre "composition", "alphabet" != null
+	 * @post An instance of this is created, representing "composition", its
+	 *       visible actions have been added to the shared "alphabet"
+	 */
+	public CompositionIndex (Composition composition, Map<Object,Integer> alphabet)
+	{
+		this.composition = composition;
+		global = new int[composition.actionsCount()];
+		global[CompactLTS.TAU] = -1;
+		for (int a = 1; a < composition.actionsCount(); a++)
+		{
+			Integer id = alphabet.get (composition.getAction (a));
+			if (id == null)
+			{
+				id = alphabet.size();
+				alphabet.put (composition.getAction (a), id);
+			}
+			global[a] = id;
+		}
+		commands = new int[16][];
+		observations = new int[16][];
+		mark = new int[16];
+		stack = new int[16];
+		epoch = 0;
+		hits = 0;
+		misses = 0;
+	}
+	
+	/**
+	 * Gets the composition
+	 * 
+	 * @pre -
+	 * @post The returned value contains the composition indexed by this model
+	 */
+	public Composition getComposition()
+	{
+		return composition;
+	}
+	
+	/**
+	 * Gets the identifier in the shared alphabet of an action
+	 * 
+	 * @pre 0 <= "a" < composition.actionsCount()
+	 * @post The returned value contains the identifier of "a" in the shared
+	 *       alphabet, or -1 if "a" is TAU
+	 */
+	public int global (int a)
+	{
+		return global[a];
+	}
+	
+	/**
+	 * Gets the commands weakly enabled in a state
+	 * 
+	 * @pre 0 <= "s" < composition.statesCount()
+	 * @post The returned value contains the sorted identifiers in the shared
+	 *       alphabet of the commands weakly enabled in "s"
+	 */
+	public int[] commands (int s)
+	{
+		if (s >= commands.length || commands[s] == null)
+		{
+			computeWeakActions (s);
+		}
+		else
+		{
+			hits++;
+		}
+		return commands[s];
+	}
+	
+	/**
+	 * Gets the observations weakly enabled in a state
+	 * 
+	 * @pre 0 <= "s" < composition.statesCount()
+	 * @post The returned value contains the sorted identifiers in the shared
+	 *       alphabet of the observations weakly enabled in "s"
+	 */
+	public int[] observations (int s)
+	{
+		if (s >= observations.length || observations[s] == null)
+		{
+			computeWeakActions (s);
+		}
+		else
+		{
+			hits++;
+		}
+		return observations[s];
+	}
+	
+	/**
+	 * Gets the number of lookups that found the weakly enabled actions cached
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of calls to commands and observations
+	 *       that found the weakly enabled actions of their state already computed
+	 */
+	public long hits()
+	{
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of states whose weakly enabled actions have been computed
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of the composition
+	 *       whose weakly enabled actions are cached
+	 */
+	public long misses()
+	{
+		return misses;
+	}
+	
+	/**
+	 * Computes the actions weakly enabled in a state, from the visible
+	 * transitions of the states it can reach with internal moves
+	 * 
+	 * @pre 0 <= "s" < composition.statesCount()
+	 * @post commands["s"] and observations["s"] contain the identifiers in the
+	 *       shared alphabet of the commands and observations weakly enabled in "s"
+	 */
+	private void computeWeakActions (int s)
+	{
+		BitSet cmds = new BitSet();
+		BitSet obs = new BitSet();
+		epoch++;
+		int size = 0;
+		stack[size++] = s;
+		mark (s);
+		while (size > 0)
+		{
+			int t = stack[--size];
+			if (t != s && t < commands.length && commands[t] != null)
+			{
+				// Already computed, its weakly enabled actions include those after it
+				set (cmds, commands[t]);
+				set (obs, observations[t]);
+			}
+			else
+			{
+				int[] out = composition.successors (t);
+				for (int i = 0; i < out.length; i += 2)
+				{
+					if (out[i] == CompactLTS.TAU)
+					{
+						if (mark (out[i + 1]))
+						{
+							if (size == stack.length)
+							{
+								stack = Arrays.copyOf (stack, 2 * size);
+							}
+							stack[size++] = out[i + 1];
+						}
+					}
+					else if (((Action) composition.getAction (out[i])).getType() == ActionType.COMMAND)
+					{
+						cmds.set (global[out[i]]);
+					}
+					else
+					{
+						obs.set (global[out[i]]);
+					}
+				}
+			}
+		}
+		
+		if (s >= commands.length)
+		{
+			int length = Math.max (s + 1, 2 * commands.length);
+			commands = Arrays.copyOf (commands, length);
+			observations = Arrays.copyOf (observations, length);
+		}
+		commands[s] = cmds.stream().toArray();
+		observations[s] = obs.stream().toArray();
+		misses++;
+	}
+	
+	/**
+	 * Marks a state as visited by the current search
+	 * 
+	 * @pre "s" >= 0
+	 * @post "s" is marked with the current epoch, and the returned value
+	 *       contains false if it already was
+	 */
+	private boolean mark (int s)
+	{
+		if (s >= mark.length)
+		{
+			mark = Arrays.copyOf (mark, Math.max (s + 1, 2 * mark.length));
+		}
+		if (mark[s] == epoch)
+		{
+			return false;
+		}
+		mark[s] = epoch;
+		return true;
+	}
+	
+	/**
+	 * Adds identifiers to a set
+	 * 
+	 * @pre "set", "ids" != null
+	 * @post "set" contains all the identifiers of "ids"
+	 */
+	private static void set (BitSet set, int[] ids)
+	{
+		for (int a : ids)
+		{
+			set.set (a);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,373 @@
+// ConformanceReplay.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Replay of recorded sessions against an HMI-LTS
+ * 
+ * A log file contains one session per line, as the labels of its commands
+ * and observations separated by spaces or tabs, a label being the name of
+ * an action of the model. A session conforms to the model if it is a weak
+ * trace of the model, and diverges at its first event that cannot follow
+ * the preceding ones.
+ * 
+ * The model is compiled, when the replay is created, into the table of the
+ * deterministic automaton of its weak transitions (see SubsetConstruction),
+ * with one row per reachable subset of states and one column per action.
+ * The labels are interned in a table of bytes giving their column. The log
+ * files are memory-mapped and parsed byte by byte, each event costing one
+ * lookup in both tables, so that no object is created per event: only the
+ * divergences are created. Since the tables are only read after they have
+ * been built, several files are replayed in parallel, one per thread.
+ * 
+ * The whole automaton is built, which may be exponentially larger than the
+ * model; it is usually as small as the model for deterministic models.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class ConformanceReplay
+{
+	// Constants
+	private static final long WINDOW = 1L << 30;
+	
+	// Instance variables
+	private final HMILTS model;
+	private final SubsetConstruction subsets;
+	private final int width;
+	private final int[] table;
+	private final byte[][] labels;
+	private final int[] hashes, slots;
+	private int parallelism;
+	
+	/**
+	 * Creates a new replay
+	 * 
+	 * @pre "model" != null
+	 * @post An instance of this is created, representing the replay of sessions against
+	 *       the current state of "model", whose automaton has been built, and using as
+	 *       many threads as available processors
+	 */
+	public ConformanceReplay (HMILTS model)
+	{
+		if (model == null)
+		{
+			throw new InvalidParameterException ("Cannot replay sessions against a null model");
+		}
+		this.model = model;
+		CompactLTS<State,Transition> lts = model.freeze();
+		subsets = new SubsetConstruction (lts);
+		width = lts.actionsCount();
+		
+		// The subsets are numbered in the order they are reached, the table growing with them
+		int[] rows = new int[16 * width];
+		for (int d = 0; d < subsets.subsetsCount(); d++)
+		{
+			if ((d + 1) * width > rows.length)
+			{
+				rows = Arrays.copyOf (rows, 2 * rows.length);
+			}
+			rows[d * width + CompactLTS.TAU] = -1;
+			for (int a = 1; a < width; a++)
+			{
+				rows[d * width + a] = subsets.successor (d, a);
+			}
+		}
+		table = Arrays.copyOf (rows, subsets.subsetsCount() * width);
+		
+		labels = new byte[width][];
+		hashes = new int[width];
+		slots = new int[Integer.highestOneBit (2 * width) * 2];
+		for (int a = 1; a < width; a++)
+		{
+			labels[a] = ((Action) lts.getAction (a)).getName().getBytes (StandardCharsets.UTF_8);
+			hashes[a] = hash (labels[a]);
+			int slot = hashes[a] & (slots.length - 1);
+			while (slots[slot] != 0)
+			{
+				slot = (slot + 1) & (slots.length - 1);
+			}
+			slots[slot] = a;
+		}
+		parallelism = Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * Gets the model of the replay
+	 * 
+	 * @pre -
+	 * @post The returned value contains the model the sessions are replayed against
+	 */
+	public HMILTS getModel()
+	{
+		return model;
+	}
+	
+	/**
+	 * Gets the number of states of the automaton
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of rows of the table of the automaton
+	 */
+	public int statesCount()
+	{
+		return table.length / width;
+	}
+	
+	/**
+	 * Gets the number of threads used by the replay
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of files replayed at the same time
+	 */
+	public int getParallelism()
+	{
+		return parallelism;
+	}
+	
+	/**
+	 * Sets the number of threads used by the replay
+	 * 
+	 * @pre "parallelism" > 0
+	 * @post Up to "parallelism" files will be replayed at the same time,
+	 *       one after the other if "parallelism" is 1
+	 */
+	public void setParallelism (int parallelism)
+	{
+		if (parallelism <= 0)
+		{
+			throw new InvalidParameterException ("The parallelism must be positive");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Replays the sessions of several files
+	 * 
+	 * @pre "files" != null
+	 *      "files" does not contain null
+	 * @post The returned value contains the divergences of the sessions of "files",
+	 *       sorted by file (in the order of "files") and by line
+	 * @throws IOException If a file cannot be read
+	 */
+	public List<Divergence> replay (List<Path> files) throws IOException
+	{
+		if (files == null || files.contains (null))
+		{
+			throw new InvalidParameterException ("Cannot replay a null list of files or a null file");
+		}
+		
+		@SuppressWarnings ("unchecked")
+		List<Divergence>[] results = (List<Divergence>[]) new List<?>[files.size()];
+		IOException[] errors = new IOException[files.size()];
+		ForkJoinPool pool = new ForkJoinPool (parallelism);
+		try
+		{
+			pool.submit (() -> IntStream.range (0, results.length).parallel().forEach (i -> replay (files, i, results, errors))).join();
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		List<Divergence> divergences = new ArrayList<Divergence>();
+		for (int i = 0; i < results.length; i++)
+		{
+			if (errors[i] != null)
+			{
+				throw errors[i];
+			}
+			divergences.addAll (results[i]);
+		}
+		return divergences;
+	}
+	
+	/**
+	 * Replays the sessions of a file
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains the divergences of the sessions of "file", sorted by line
+	 * @throws IOException If "file" cannot be read, or contains a label longer than 1 GiB
+	 */
+	public List<Divergence> replay (Path file) throws IOException
+	{
+		List<Divergence> divergences = new ArrayList<Divergence>();
+		try (FileChannel channel = FileChannel.open (file, StandardOpenOption.READ))
+		{
+			long size = channel.size(), base = 0, line = 1;
+			int state = 0, event = 0;
+			
+			// The file is mapped by windows, the next one starting at the label cut by the end of the previous one
+			while (base < size)
+			{
+				MappedByteBuffer buffer = channel.map (FileChannel.MapMode.READ_ONLY, base, Math.min (size - base, WINDOW));
+				int limit = buffer.limit(), i = 0;
+				boolean last = base + limit == size;
+				while (i < limit)
+				{
+					byte b = buffer.get (i);
+					if (b == '\n')
+					{
+						line++;
+						state = 0;
+						event = 0;
+						i++;
+					}
+					else if (b == ' ' || b == '\t' || b == '\r')
+					{
+						i++;
+					}
+					else
+					{
+						int start = i, hash = 1;
+						for (; i < limit && (b = buffer.get (i)) != ' ' && b != '\t' && b != '\r' && b != '\n'; i++)
+						{
+							hash = 31 * hash + b;
+						}
+						if (i == limit && ! last)
+						{
+							i = start;
+							break;
+						}
+						if (state >= 0)
+						{
+							int a = column (buffer, start, i - start, hash);
+							int next = a < 0 ? -1 : table[state * width + a];
+							if (next < 0)
+							{
+								divergences.add (divergence (file, line, event, buffer, start, i - start, state));
+							}
+							state = next;
+						}
+						event++;
+					}
+				}
+				if (i == 0)
+				{
+					throw new IOException ("Line " + line + ": label too long");
+				}
+				base += i;
+			}
+		}
+		return divergences;
+	}
+	
+	/**
+	 * Replays the sessions of a file of a list
+	 * 
+	 * @pre "files", "results", "errors" != null
+	 *      0 <= "i" < "files".size()
+	 * @post "results"["i"] contains the divergences of the sessions of the "i"-th file of "files",
+	 *       or "errors"["i"] contains the exception thrown when reading it
+	 */
+	private void replay (List<Path> files, int i, List<Divergence>[] results, IOException[] errors)
+	{
+		try
+		{
+			results[i] = replay (files.get (i));
+		}
+		catch (IOException exception)
+		{
+			errors[i] = exception;
+		}
+	}
+	
+	/**
+	 * Gets the column of a label
+	 * 
+	 * @pre "buffer" != null
+	 *      The label is made of the "length" bytes of "buffer" from "start", whose hash is "hash"
+	 * @post The returned value contains the action of the model named after the label,
+	 *       or -1 if there is none
+	 */
+	private int column (MappedByteBuffer buffer, int start, int length, int hash)
+	{
+		int mask = slots.length - 1;
+		for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask)
+		{
+			int a = slots[slot];
+			if (hashes[a] == hash && labels[a].length == length && equals (labels[a], buffer, start))
+			{
+				return a;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Creates the divergence of an event
+	 * 
+	 * @pre "file", "buffer" != null
+	 *      The label of the event is made of the "length" bytes of "buffer" from "start"
+	 *      0 <= "state" < statesCount()
+	 * @post The returned value contains the divergence of the "event"-th event of the session
+	 *       on line "session" of "file", refused in the state "state" of the automaton
+	 */
+	private Divergence divergence (Path file, long session, int event, MappedByteBuffer buffer, int start, int length, int state)
+	{
+		byte[] label = new byte[length];
+		buffer.get (start, label);
+		List<State> states = new ArrayList<State>();
+		for (int s : subsets.getStates (state))
+		{
+			states.add (subsets.getLTS().getState (s));
+		}
+		return new Divergence (file, session, event, new String (label, StandardCharsets.UTF_8), Collections.unmodifiableList (states));
+	}
+	
+	/**
+	 * Tests whether bytes of a buffer are the ones of a label
+	 * 
+	 * @pre "label", "buffer" != null
+	 *      "start" + "label".length <= "buffer".limit()
+	 * @post The returned value contains true if the bytes of "buffer" from "start" are the bytes of "label"
+	 */
+	private static boolean equals (byte[] label, MappedByteBuffer buffer, int start)
+	{
+		for (int i = 0; i < label.length; i++)
+		{
+			if (label[i] != buffer.get (start + i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Computes the hash code of a label
+	 * 
+	 * @pre "label" != null
+	 * @post The returned value contains the hash code of the bytes of "label",
+	 *       computed as when they are read from a log file
+	 */
+	private static int hash (byte[] label)
+	{
+		int hash = 1;
+		for (byte b : label)
+		{
+			hash = 31 * hash + b;
+		}
+		return hash;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,302 @@
+// Counterexample.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.LongIndex;
+import be.combefis.hmiltsa.models.State;
+
+/**
+ * Shortest interaction exposing that a mental model does not allow
+ * full-control of a system
+ * 
+ * The trace is made of the visible actions of a path of the product, that
+ * is the actions performed by the user or observed on the system, so that
+ * the internal moves of the path do not make it longer. The product is
+ * explored with a 0-1 breadth-first search: the pairs reached by internal
+ * moves are put at the front of a double-ended queue and the ones reached
+ * by synchronised moves at its back, so that the pairs are taken from the
+ * queue by increasing number of visible actions. The only things recorded
+ * for each pair are this number and the index of the pair it has been
+ * reached from, in arrays parallel to the index of the visited pairs. When
+ * a pair violates the full-control conditions, the parents are followed
+ * back to the initial pair, and the action of each move is recovered from
+ * the two pairs it links.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class Counterexample
+{
+	// Instance variables
+	private final List<Action> trace, commands, observations;
+	private final State system, mental;
+	
+	/**
+	 * Creates a new counterexample
+	 * 
+	 * @pre "product", "visited", "parents" != null
+	 *      "parents"[j] is the index in "visited" of the pair the j-th pair has been reached from
+	 *      The "i"-th pair of "visited" violates the full-control conditions
+	 * @post An instance of this is created, representing the path of "product" from
+	 *       the initial pair to the "i"-th pair of "visited"
+	 */
+	Counterexample (Product product, LongIndex visited, int[] parents, int i)
+	{
+		// The moves are followed backwards, from the violation to the initial pair
+		List<Action> actions = new ArrayList<Action>();
+		for (int j = i; j > 0; j = parents[j])
+		{
+			int a = product.step (visited.get (parents[j]), visited.get (j));
+			if (a >= 0)
+			{
+				actions.add (product.getAction (a));
+			}
+		}
+		Collections.reverse (actions);
+		trace = Collections.unmodifiableList (actions);
+		
+		long p = visited.get (i);
+		system = product.getSystemState (p);
+		mental = product.getMentalState (p);
+		int[] sysCommands = product.systemCommands (p), menCommands = product.getMental().commands (Product.mental (p));
+		List<Action> differences = difference (product, sysCommands, menCommands);
+		differences.addAll (difference (product, menCommands, sysCommands));
+		commands = Collections.unmodifiableList (differences);
+		observations = Collections.unmodifiableList (difference (product, product.systemObservations (p), product.getMental().observations (Product.mental (p))));
+	}
+	
+	/**
+	 * Gets the trace of the counterexample
+	 * 
+	 * @pre -
+	 * @post The returned value contains the visible actions of a path of the product from
+	 *       the initial states to states violating the full-control conditions, with as
+	 *       few visible actions as possible
+	 */
+	public List<Action> getTrace()
+	{
+		return trace;
+	}
+	
+	/**
+	 * Gets the system state of the violation
+	 * 
+	 * @pre -
+	 * @post The returned value contains the state of the system after the trace
+	 */
+	public State getSystemState()
+	{
+		return system;
+	}
+	
+	/**
+	 * Gets the mental state of the violation
+	 * 
+	 * @pre -
+	 * @post The returned value contains the state of the mental model after the trace
+	 */
+	public State getMentalState()
+	{
+		return mental;
+	}
+	
+	/**
+	 * Gets the commands violating the full-control conditions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the commands weakly enabled in only one
+	 *       of the system state and the mental state
+	 */
+	public List<Action> getCommands()
+	{
+		return commands;
+	}
+	
+	/**
+	 * Gets the observations violating the full-control conditions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the observations weakly enabled in the
+	 *       system state but not in the mental state
+	 */
+	public List<Action> getObservations()
+	{
+		return observations;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return trace + " leads to (" + system + ", " + mental + "), commands " + commands + ", observations " + observations;
+	}
+	
+	/**
+	 * Searches a counterexample
+	 * 
+	 * @pre "product" != null
+	 * @post The returned value contains a counterexample with a path of "product" to a pair
+	 *       violating the full-control conditions with as few visible actions as possible,
+	 *       or null if there is none
+	 */
+	static Counterexample find (Product product)
+	{
+		Search search = new Search();
+		while (search.size > 0)
+		{
+			int i = search.poll();
+			if (i >= 0)
+			{
+				long p = search.visited.get (i);
+				if (! product.isCompatible (p))
+				{
+					return new Counterexample (product, search.visited, search.parents, i);
+				}
+				search.parent = i;
+				product.successors (p, search.internal, search.visible);
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the actions of a sorted set that are not in another one
+	 * 
+	 * @pre "product", "a", "b" != null
+	 *      "a" and "b" are sorted identifiers of the shared alphabet of "product"
+	 * @post The returned value contains the actions of "a" that are not in "b"
+	 */
+	private static List<Action> difference (Product product, int[] a, int[] b)
+	{
+		List<Action> result = new ArrayList<Action>();
+		for (int x : a)
+		{
+			if (Arrays.binarySearch (b, x) < 0)
+			{
+				result.add (product.getAction (x));
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * 0-1 breadth-first search of the product
+	 * It stores:
+	 * - the visited pairs, in the order they have been reached
+	 * - the index of the parent of each visited pair
+	 * - the number of visible actions from the initial pair to each visited pair
+	 * - whether each visited pair has been taken from the queue
+	 * - the queue of indexes of pairs, as a circular array
+	 * - the index of the pair whose successors are being generated
+	 * - the consumers of the successors by internal and synchronised moves
+	 */
+	private static final class Search
+	{
+		// Instance variables
+		private final LongIndex visited;
+		private int[] parents, distances;
+		private final BitSet polled;
+		private int[] queue;
+		private int head, size;
+		private int parent;
+		private final LongConsumer internal, visible;
+		
+		/**
+		 * Creates a new search
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, with the initial pair only, in the queue
+		 */
+		public Search()
+		{
+			visited = new LongIndex (1024);
+			visited.add (Product.INITIAL);
+			parents = new int[1024];
+			distances = new int[1024];
+			polled = new BitSet();
+			queue = new int[1024];
+			head = 0;
+			size = 1;
+			internal = p -> reach (p, 0);
+			visible = p -> reach (p, 1);
+		}
+		
+		/**
+		 * Takes the next pair from the queue
+		 * 
+		 * @pre size > 0
+		 * @post The first index of the queue has been removed from it and the returned
+		 *       value contains it, or -1 if its pair had already been taken
+		 */
+		public int poll()
+		{
+			int i = queue[head];
+			head = (head + 1) % queue.length;
+			size--;
+			if (polled.get (i))
+			{
+				return -1;
+			}
+			polled.set (i);
+			return i;
+		}
+		
+		/**
+		 * Reaches a pair from the parent
+		 * 
+		 * @pre "cost" is 0 for an internal move and 1 for a synchronised one
+		 * @post If "p" was not visited or is reached with fewer visible actions than before,
+		 *       its parent is parent and its index has been put at the front of the queue
+		 *       if "cost" is 0, and at its back otherwise
+		 */
+		private void reach (long p, int cost)
+		{
+			int distance = distances[parent] + cost;
+			int i = visited.add (p);
+			if (i < 0)
+			{
+				i = -1 - i;
+				if (distances[i] <= distance)
+				{
+					return;
+				}
+			}
+			else if (i == parents.length)
+			{
+				parents = Arrays.copyOf (parents, 2 * i);
+				distances = Arrays.copyOf (distances, 2 * i);
+			}
+			parents[i] = parent;
+			distances[i] = distance;
+			
+			if (size == queue.length)
+			{
+				// The queue is unrolled in a twice larger array
+				int[] larger = new int[2 * size];
+				for (int k = 0; k < size; k++)
+				{
+					larger[k] = queue[(head + k) % queue.length];
+				}
+				queue = larger;
+				head = 0;
+			}
+			if (cost == 0)
+			{
+				head = (head + queue.length - 1) % queue.length;
+				queue[head] = i;
+			}
+			else
+			{
+				queue[(head + size) % queue.length] = i;
+			}
+			size++;
+		}
+	}
+}
\ No newline at end of file
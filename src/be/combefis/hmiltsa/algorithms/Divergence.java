@@ -0,0 +1,107 @@
+// Divergence.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import be.combefis.hmiltsa.models.State;
+
+/**
+ * Event of a recorded session that a model does not allow
+ * (see ConformanceReplay)
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class Divergence
+{
+	// Instance variables
+	private final Path file;
+	private final long session;
+	private final int event;
+	private final String label;
+	private final List<State> states;
+	
+	/**
+	 * Creates a new divergence
+	 * 
+	 * @pre "file", "label", "states" != null
+	 *      "session" > 0, "event" >= 0
+	 * @post An instance of this is created, representing the "event"-th event, labelled
+	 *       "label", of the session on line "session" of "file", refused by the model
+	 *       in "states"
+	 */
+	Divergence (Path file, long session, int event, String label, List<State> states)
+	{
+		this.file = file;
+		this.session = session;
+		this.event = event;
+		this.label = label;
+		this.states = states;
+	}
+	
+	/**
+	 * Gets the file of the session
+	 * 
+	 * @pre -
+	 * @post The returned value contains the log file the session has been read from
+	 */
+	public Path getFile()
+	{
+		return file;
+	}
+	
+	/**
+	 * Gets the session that diverges
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of the line of the session in its file,
+	 *       starting from 1
+	 */
+	public long getSession()
+	{
+		return session;
+	}
+	
+	/**
+	 * Gets the position of the event that diverges
+	 * 
+	 * @pre -
+	 * @post The returned value contains the position of the refused event in the session,
+	 *       starting from 0
+	 */
+	public int getEvent()
+	{
+		return event;
+	}
+	
+	/**
+	 * Gets the label of the event that diverges
+	 * 
+	 * @pre -
+	 * @post The returned value contains the label of the refused event
+	 */
+	public String getLabel()
+	{
+		return label;
+	}
+	
+	/**
+	 * Gets the states of the model before the event that diverges
+	 * 
+	 * @pre -
+	 * @post The returned value contains the states the model can be in after the events
+	 *       of the session preceding the refused one
+	 */
+	public List<State> getStates()
+	{
+		return states;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return file + ":" + session + ": event " + event + " (" + label + ") refused in " + states;
+	}
+}
\ No newline at end of file
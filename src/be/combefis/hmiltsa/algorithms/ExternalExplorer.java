@@ -0,0 +1,443 @@
+// ExternalExplorer.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * External-memory breadth-first exploration of the product used by the
+ * full-control algorithm
+ * 
+ * The pairs are stored in files of sorted distinct pairs, in a temporary
+ * directory: the visited pairs and the current layer of the exploration.
+ * The successors of the pairs of the layer are collected in a buffer of
+ * bounded size, which is sorted and written as a run file whenever it is
+ * full. The runs are then merged, by groups of FAN_IN, into one sorted file
+ * of candidates, which is merged with the visited pairs to get both the
+ * next layer (the candidates that were not visited) and the new visited
+ * pairs. All the files are read and written sequentially, and the memory
+ * is bounded by the buffer and the FAN_IN input buffers of a merge.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class ExternalExplorer implements LongConsumer
+{
+	// Constants
+	private static final int FAN_IN = 16;
+	private static final int IO_BUFFER = 1 << 16;
+	
+	// Instance variables
+	private final Path parent;
+	private final long[] buffer;
+	private int size;
+	private Path directory;
+	private final List<Path> runs;
+	private int files;
+	private long fired;
+	
+	/**
+	 * Creates a new external-memory exploration
+	 * 
+	 * @pre "parent" != null
+	 *      "memory" > 0
+	 * @post An instance of this is created, representing an exploration whose files are
+	 *       stored in a temporary directory of "parent" and whose buffer of successors
+	 *       fits in "memory" bytes, with at least 16 pairs
+	 */
+	public ExternalExplorer (Path parent, long memory)
+	{
+		this.parent = parent;
+		buffer = new long[(int) Math.max (16, Math.min (Integer.MAX_VALUE - 8, memory / 8))];
+		runs = new ArrayList<Path>();
+	}
+	
+	/**
+	 * Explores a product
+	 * 
+	 * @pre "product" != null
+	 * @post The returned value contains true if all the reachable pairs of "product" satisfy
+	 *       the full-control conditions, "metrics", if not null, contains the metrics of the
+	 *       exploration, and the temporary files have been deleted
+	 * @throws IOException If the files of the exploration cannot be written or read
+	 */
+	public boolean explore (Product product, Metrics metrics) throws IOException
+	{
+		directory = Files.createTempDirectory (parent, "fccheck");
+		try
+		{
+			Path visited = file();
+			Path layer = file();
+			write (visited, Product.INITIAL);
+			write (layer, Product.INITIAL);
+			
+			boolean verdict = true;
+			long checked = 0, maxLayer = 1;
+			while (verdict && Files.size (layer) > 0)
+			{
+				// Expansion of the layer, the successors being written in sorted runs
+				try (DataInputStream in = reader (layer))
+				{
+					for (long n = Files.size (layer) / 8; n > 0 && verdict; n--)
+					{
+						long p = in.readLong();
+						checked++;
+						verdict = product.isCompatible (p);
+						if (verdict)
+						{
+							product.successors (p, this);
+						}
+					}
+				}
+				flush();
+				Files.delete (layer);
+				
+				// Duplicate detection, by merging with the visited pairs
+				layer = file();
+				if (verdict && ! runs.isEmpty())
+				{
+					Path candidates = merge();
+					Path union = file();
+					maxLayer = Math.max (maxLayer, subtract (candidates, visited, layer, union));
+					Files.delete (candidates);
+					Files.delete (visited);
+					visited = union;
+				}
+			}
+			
+			if (metrics != null)
+			{
+				metrics.pairs = checked;
+				metrics.transitions = fired;
+				metrics.maxFrontier = maxLayer;
+				metrics.visitedBytes = Files.size (visited);
+				metrics.closure (product);
+			}
+			return verdict;
+		}
+		finally
+		{
+			delete();
+		}
+	}
+	
+	@Override
+	public void accept (long p)
+	{
+		fired++;
+		buffer[size++] = p;
+		if (size == buffer.length)
+		{
+			try
+			{
+				flush();
+			}
+			catch (IOException exception)
+			{
+				throw new UncheckedIOException (exception);
+			}
+		}
+	}
+	
+	/**
+	 * Writes the buffer as a run
+	 * 
+	 * @pre -
+	 * @post If the buffer was not empty, its distinct pairs have been written in
+	 *       a new sorted run, added to runs, and the buffer has been emptied
+	 * @throws IOException If the run cannot be written
+	 */
+	private void flush() throws IOException
+	{
+		if (size > 0)
+		{
+			Arrays.sort (buffer, 0, size);
+			Path run = file();
+			try (DataOutputStream out = writer (run))
+			{
+				for (int i = 0; i < size; i++)
+				{
+					if (i == 0 || buffer[i] != buffer[i - 1])
+					{
+						out.writeLong (buffer[i]);
+					}
+				}
+			}
+			runs.add (run);
+			size = 0;
+		}
+	}
+	
+	/**
+	 * Merges all the runs into one file
+	 * 
+	 * @pre runs is not empty
+	 * @post The returned value contains a file with the sorted distinct pairs
+	 *       of all the runs, which have been deleted, and runs is empty
+	 * @throws IOException If the runs cannot be read or merged
+	 */
+	private Path merge() throws IOException
+	{
+		while (runs.size() > 1)
+		{
+			List<Path> merged = new ArrayList<Path>();
+			for (int i = 0; i < runs.size(); i += FAN_IN)
+			{
+				List<Path> group = runs.subList (i, Math.min (i + FAN_IN, runs.size()));
+				merged.add (merge (group));
+				for (Path run : group)
+				{
+					Files.delete (run);
+				}
+			}
+			runs.clear();
+			runs.addAll (merged);
+		}
+		Path result = runs.get (0);
+		runs.clear();
+		return result;
+	}
+	
+	/**
+	 * Merges a group of runs
+	 * 
+	 * @pre "group" != null and contains at most FAN_IN runs
+	 * @post The returned value contains a new file with the sorted distinct pairs of "group"
+	 * @throws IOException If the runs cannot be read or merged
+	 */
+	private Path merge (List<Path> group) throws IOException
+	{
+		Path result = file();
+		PriorityQueue<Run> heap = new PriorityQueue<Run> (group.size(), Comparator.comparingLong (Run::current));
+		List<Run> opened = new ArrayList<Run> (group.size());
+		try (DataOutputStream out = writer (result))
+		{
+			for (Path run : group)
+			{
+				Run r = new Run (run);
+				opened.add (r);
+				if (r.next())
+				{
+					heap.add (r);
+				}
+			}
+			
+			boolean first = true;
+			long last = 0;
+			while (! heap.isEmpty())
+			{
+				Run r = heap.poll();
+				if (first || r.current() != last)
+				{
+					last = r.current();
+					out.writeLong (last);
+					first = false;
+				}
+				if (r.next())
+				{
+					heap.add (r);
+				}
+			}
+		}
+		finally
+		{
+			for (Run r : opened)
+			{
+				r.close();
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Splits sorted candidates into new and visited pairs
+	 * 
+	 * @pre "candidates", "visited" contain sorted distinct pairs
+	 *      "layer", "union" != null
+	 * @post "layer" contains the pairs of "candidates" which are not in "visited", "union"
+	 *       contains the pairs of both files, sorted and distinct, and the returned value
+	 *       contains the number of pairs of "layer"
+	 * @throws IOException If the files cannot be read or written
+	 */
+	private static long subtract (Path candidates, Path visited, Path layer, Path union) throws IOException
+	{
+		long count = 0;
+		try (Run c = new Run (candidates); Run v = new Run (visited); DataOutputStream next = writer (layer); DataOutputStream all = writer (union))
+		{
+			boolean hasC = c.next(), hasV = v.next();
+			while (hasC || hasV)
+			{
+				if (hasV && (! hasC || v.current() < c.current()))
+				{
+					all.writeLong (v.current());
+					hasV = v.next();
+				}
+				else if (hasV && v.current() == c.current())
+				{
+					all.writeLong (v.current());
+					hasV = v.next();
+					hasC = c.next();
+				}
+				else
+				{
+					all.writeLong (c.current());
+					next.writeLong (c.current());
+					count++;
+					hasC = c.next();
+				}
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Creates a new empty file in the temporary directory
+	 * 
+	 * @pre directory exists
+	 * @post The returned value contains the path of a new empty file of directory
+	 * @throws IOException If the file cannot be created
+	 */
+	private Path file() throws IOException
+	{
+		return Files.createFile (directory.resolve ((files++) + ".bin"));
+	}
+	
+	/**
+	 * Deletes the temporary directory
+	 * 
+	 * @pre -
+	 * @post The temporary directory and all its files have been deleted
+	 * @throws IOException If a file cannot be deleted
+	 */
+	private void delete() throws IOException
+	{
+		try (Stream<Path> paths = Files.list (directory))
+		{
+			for (Path path : (Iterable<Path>) paths::iterator)
+			{
+				Files.delete (path);
+			}
+		}
+		Files.delete (directory);
+		runs.clear();
+		size = 0;
+	}
+	
+	/**
+	 * Writes one pair in a file
+	 * 
+	 * @pre "file" != null
+	 * @post "file" contains "p" only
+	 * @throws IOException If the file cannot be written
+	 */
+	private static void write (Path file, long p) throws IOException
+	{
+		try (DataOutputStream out = writer (file))
+		{
+			out.writeLong (p);
+		}
+	}
+	
+	/**
+	 * Opens a file to be written sequentially
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains a buffered stream writing "file" from its start
+	 * @throws IOException If the file cannot be opened
+	 */
+	private static DataOutputStream writer (Path file) throws IOException
+	{
+		return new DataOutputStream (new BufferedOutputStream (Files.newOutputStream (file), IO_BUFFER));
+	}
+	
+	/**
+	 * Opens a file to be read sequentially
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains a buffered stream reading "file" from its start
+	 * @throws IOException If the file cannot be opened
+	 */
+	private static DataInputStream reader (Path file) throws IOException
+	{
+		return new DataInputStream (new BufferedInputStream (Files.newInputStream (file), IO_BUFFER));
+	}
+	
+	/**
+	 * Sequential reader of a file of pairs
+	 * It stores:
+	 * - the stream reading the file
+	 * - the number of pairs left to read
+	 * - the last pair read
+	 */
+	private static final class Run implements AutoCloseable
+	{
+		// Instance variables
+		private final DataInputStream in;
+		private long remaining;
+		private long current;
+		
+		/**
+		 * Opens a file of pairs
+		 * 
+		 * @pre "file" != null
+		 * @post An instance of this is created, reading the pairs of "file" from its start
+		 * @throws IOException If the file cannot be opened
+		 */
+		public Run (Path file) throws IOException
+		{
+			remaining = Files.size (file) / 8;
+			in = reader (file);
+		}
+		
+		/**
+		 * Reads the next pair
+		 * 
+		 * @pre -
+		 * @post The returned value contains true if a pair has been read in current,
+		 *       or false if the file has been read entirely, in which case it has been closed
+		 * @throws IOException If the file cannot be read
+		 */
+		public boolean next() throws IOException
+		{
+			if (remaining == 0)
+			{
+				close();
+				return false;
+			}
+			remaining--;
+			current = in.readLong();
+			return true;
+		}
+		
+		/**
+		 * Gets the last pair read
+		 * 
+		 * @pre next() has returned true
+		 * @post The returned value contains the last pair read
+		 */
+		public long current()
+		{
+			return current;
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			in.close();
+		}
+	}
+}
\ No newline at end of file
@@ -2,18 +2,105 @@
 
 package be.combefis.hmiltsa.algorithms;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import be.combefis.hmiltsa.models.Composition;
 import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.IndexedLTS;
+import be.combefis.hmiltsa.models.LongIndex;
 
 /**
  * Algorithm to check the full-control property
  * 
+ * The synchronous product of compact snapshots of the system and of the
+ * mental model is explored on-the-fly, breadth-first, starting from the pair
+ * of initial states. Only reachable pairs are generated and the exploration
+ * stops as soon as one pair violates the full-control conditions, the weakly
+ * enabled actions being derived from the cached tau-closure of the models:
+ * - the commands weakly enabled in both states must be the same
+ * - the observations weakly enabled in the system state must also be
+ *   weakly enabled in the mental state
+ * 
+ * The exploration is sequential by default. With a parallelism greater
+ * than 1, it is shared between the threads of a work-stealing pool.
+ * 
+ * In incremental mode, the whole product is explored at the first check
+ * and kept as long as the same mental model is checked. The algorithm then
+ * listens to both models and the next checks only process the part of the
+ * product affected by the states and transitions added in the meantime,
+ * so that a model can be checked again after each edit. The product is
+ * explored sequentially in this mode, whatever the parallelism.
+ * 
+ * The system can also be given as a composition of components, whose
+ * states are then discovered as the product is explored, so that only its
+ * reachable part is visited. Such a system is always explored sequentially
+ * and from scratch, whatever the parallelism and the incremental mode.
+ * With partial-order reduction, a pair in which a component can only move
+ * silently is only expanded with this move, unless it leads to an already
+ * visited pair. The verdict is the same, fewer pairs being explored.
+ * 
+ * The system can finally be any LTS read through IndexedLTS whose actions
+ * are instances of Action, such as an off-heap LTS loaded from a file (see
+ * AutLoader.loadOffHeap) or an LTS file mapped in memory (see MappedLTS),
+ * so that it does not have to fit in the heap. Such a system is read as
+ * it is, without snapshot, and is never checked incrementally; the other
+ * modes apply as for an HMI-LTS.
+ * 
+ * In bitstate mode, the visited pairs are only recorded as bits of an array
+ * and the product is explored depth-first, the array and the path of the
+ * exploration fitting in a memory budget, so that products larger than the
+ * memory can be explored. A pair can then be wrongly considered as visited,
+ * or not be explored because the path is full, so that a violation can be
+ * missed, and the probability of such an omission is estimated after each
+ * check. A violation that is found is always real. The bitstate mode is
+ * sequential and does not apply to incremental checks.
+ * 
+ * In external mode, the visited pairs and the frontier are stored in files
+ * of sorted pairs, in a temporary directory, and the product is explored one
+ * breadth-first layer at a time: the successors of a layer are buffered in a
+ * bounded memory, written as sorted runs, and merged with the visited pairs
+ * to get the next layer. The files are only read and written sequentially,
+ * and the verdict is exact. This mode is sequential, without partial-order
+ * reduction, and does not apply to incremental or bitstate checks.
+ * 
+ * When the criterion does not hold, getCounterexample gives an interaction
+ * leading to a violation with as few visible actions as possible, found by
+ * a sequential 0-1 breadth-first exploration which only records the parent
+ * of each pair and its number of visible actions, whatever the mode. This
+ * exploration is a check on its own, whose result is null exactly when the
+ * criterion holds. Called after isFullControl, it explores the product a
+ * second time, up to the first violation, with the same index of visited
+ * pairs as a sequential check and two ints per pair, so that it should be
+ * called instead of isFullControl when a counterexample is wanted.
+ * 
+ * The metrics of a check (explored pairs, fired transitions, use of the
+ * cache of weakly enabled actions, largest frontier, memory of the visited
+ * pairs and time of each phase) are collected when statistics are given to
+ * the algorithm or when its Flight Recorder event is enabled, and are then
+ * recorded in both. Otherwise, the exploration is not instrumented at all.
+ * 
  * @author Sébastien Combéfis
- * @version March 8, 2015
+ * @version October 18, 2026
  */
 public final class FCCheck
 {
 	// Instance variables
 	private final HMILTS system;
+	private final Composition composition;
+	private final IndexedLTS indexed;
+	private int parallelism;
+	private boolean incremental, reduction;
+	private IncrementalExplorer explorer;
+	private FCCheckStatistics statistics;
+	private long bitstateMemory;
+	private Path externalDirectory;
+	private long externalMemory;
+	private double omission;
 	
 	/**
 	 * Creates a new full-control check algorithm
@@ -25,29 +112,441 @@ public final class FCCheck
 	public FCCheck (HMILTS system)
 	{
 		this.system = system;
+		composition = null;
+		indexed = null;
+		parallelism = 1;
+	}
+	
+	/**
+	 * Creates a new full-control check algorithm for a composed system
+	 * 
+	 * @pre "system" != null
+	 * @post An instance of this has been created, representing a full-control
+	 *       algorithm to analyse the specified composed "system"
+	 */
+	public FCCheck (Composition system)
+	{
+		this.system = null;
+		composition = system;
+		indexed = null;
+		parallelism = 1;
+	}
+	
+	/**
+	 * Creates a new full-control check algorithm for a system read through its identifiers
+	 * 
+	 * @pre "system" != null
+	 *      The actions of "system" are instances of Action
+	 * @post An instance of this has been created, representing a full-control
+	 *       algorithm to analyse the specified "system"
+	 */
+	public FCCheck (IndexedLTS system)
+	{
+		this.system = null;
+		composition = null;
+		indexed = system;
+		parallelism = 1;
 	}
 	
 	/**
 	 * Gets the system model of the algorithm
 	 * 
 	 * @pre -
-	 * @post The returned value contains the system model
-	 *       linked to this algorithm
+	 * @post The returned value contains the system model linked to this algorithm,
+	 *       or null if the system is a composition or is read through IndexedLTS
 	 */
 	public HMILTS getSystemModel()
 	{
 		return system;
 	}
 	
+	/**
+	 * Gets the composed system of the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the composition linked to this
+	 *       algorithm, or null if the system is a single model
+	 */
+	public Composition getComposition()
+	{
+		return composition;
+	}
+	
+	/**
+	 * Gets the system of the algorithm read through its identifiers
+	 * 
+	 * @pre -
+	 * @post The returned value contains the LTS linked to this algorithm,
+	 *       or null if the system is an HMI-LTS or a composition
+	 */
+	public IndexedLTS getIndexedSystem()
+	{
+		return indexed;
+	}
+	
+	/**
+	 * Gets the number of threads used by the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of threads used
+	 *       to explore the product, 1 meaning a sequential exploration
+	 */
+	public int getParallelism()
+	{
+		return parallelism;
+	}
+	
+	/**
+	 * Sets the number of threads used by the algorithm
+	 * 
+	 * @pre "parallelism" > 0
+	 * @post The product will be explored by "parallelism" threads,
+	 *       sequentially if "parallelism" is 1
+	 */
+	public void setParallelism (int parallelism)
+	{
+		if (parallelism <= 0)
+		{
+			throw new InvalidParameterException ("The parallelism must be positive");
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Tests whether the algorithm is incremental
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if this algorithm keeps the product
+	 *       between two checks of the same mental model
+	 */
+	public boolean isIncremental()
+	{
+		return incremental;
+	}
+	
+	/**
+	 * Sets whether the algorithm is incremental
+	 * 
+	 * @pre -
+	 * @post This algorithm keeps the product between two checks of the same mental model
+	 *       if "incremental" is true, and otherwise the kept product has been released
+	 *       and this algorithm does not listen to the models anymore
+	 */
+	public void setIncremental (boolean incremental)
+	{
+		this.incremental = incremental;
+		if (! incremental && explorer != null)
+		{
+			explorer.detach();
+			explorer = null;
+		}
+	}
+	
+	/**
+	 * Tests whether the algorithm uses partial-order reduction
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if this algorithm reduces the
+	 *       interleavings of the composed systems it explores
+	 */
+	public boolean isPartialOrderReduction()
+	{
+		return reduction;
+	}
+	
+	/**
+	 * Sets whether the algorithm uses partial-order reduction
+	 * 
+	 * @pre -
+	 * @post This algorithm will reduce the interleavings of the composed systems
+	 *       it explores if "reduction" is true, and explore them fully otherwise
+	 */
+	public void setPartialOrderReduction (boolean reduction)
+	{
+		this.reduction = reduction;
+	}
+	
+	/**
+	 * Gets the memory budget of the bitstate mode
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of bytes of the bit array recording
+	 *       the visited pairs and of the path of the exploration in bitstate mode,
+	 *       or 0 if this mode is not used
+	 */
+	public long getBitstateMemory()
+	{
+		return bitstateMemory;
+	}
+	
+	/**
+	 * Sets the memory budget of the bitstate mode
+	 * 
+	 * @pre "memory" >= 0
+	 * @post If "memory" is positive, the checks will be done in bitstate mode, the bit array
+	 *       recording the visited pairs and the path of the depth-first exploration fitting
+	 *       in "memory" bytes, apart from a minimum of 64 bits and 64 pairs. If "memory" is 0,
+	 *       the bitstate mode is disabled and the visited pairs are recorded exactly
+	 */
+	public void setBitstateMemory (long memory)
+	{
+		if (memory < 0)
+		{
+			throw new InvalidParameterException ("The memory budget cannot be negative");
+		}
+		bitstateMemory = memory;
+	}
+	
+	/**
+	 * Gets the directory of the external mode
+	 * 
+	 * @pre -
+	 * @post The returned value contains the directory where the files of the external
+	 *       mode are stored, or null if this mode is not used
+	 */
+	public Path getExternalDirectory()
+	{
+		return externalDirectory;
+	}
+	
+	/**
+	 * Gets the memory budget of the external mode
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of bytes of the buffer of successors
+	 *       in external mode, or 0 if this mode is not used
+	 */
+	public long getExternalMemory()
+	{
+		return externalDirectory == null ? 0 : externalMemory;
+	}
+	
+	/**
+	 * Sets the external mode
+	 * 
+	 * @pre "directory" == null or "memory" > 0
+	 * @post The visited pairs and the frontier will be stored in a temporary directory of
+	 *       "directory", the successors being buffered in at most "memory" bytes (with at
+	 *       least 16 pairs), or in memory if "directory" is null
+	 */
+	public void setExternalMemory (Path directory, long memory)
+	{
+		if (directory != null && memory <= 0)
+		{
+			throw new InvalidParameterException ("The memory budget must be positive");
+		}
+		externalDirectory = directory;
+		externalMemory = memory;
+	}
+	
+	/**
+	 * Gets the estimated probability that the last check missed a pair
+	 * 
+	 * @pre -
+	 * @post The returned value contains the estimated probability that the last check
+	 *       skipped a reachable pair, which is 0 unless it was done in bitstate mode
+	 */
+	public double getOmissionProbability()
+	{
+		return omission;
+	}
+	
+	/**
+	 * Gets the statistics of the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the statistics the checks of this algorithm
+	 *       are recorded in, or null if they are not recorded
+	 */
+	public FCCheckStatistics getStatistics()
+	{
+		return statistics;
+	}
+	
+	/**
+	 * Sets the statistics of the algorithm
+	 * 
+	 * @pre -
+	 * @post The metrics of the next checks of this algorithm will be recorded in "statistics",
+	 *       or not recorded if "statistics" is null
+	 */
+	public void setStatistics (FCCheckStatistics statistics)
+	{
+		this.statistics = statistics;
+	}
+	
 	/**
 	 * Tests the full-control criterion
 	 * 
 	 * @pre "mental" != null
 	 * @post The returned value contains true if the specified "mental" model
-	 *       allows full-control of the system linked to this algorithm
+	 *       allows full-control of the system linked to this algorithm; in external
+	 *       mode, an UncheckedIOException is thrown if the files cannot be written or read
 	 */
 	public boolean isFullControl (HMILTS mental)
 	{
-		return false;
+		// The metrics are only collected when someone is interested in them
+		FCCheckEvent event = new FCCheckEvent();
+		if (statistics == null && ! event.isEnabled())
+		{
+			return check (mental, null);
+		}
+		
+		event.begin();
+		Metrics metrics = new Metrics();
+		boolean verdict = check (mental, metrics);
+		metrics.verdict = verdict;
+		event.set (metrics);
+		event.parallelism = parallelism;
+		event.incremental = incremental;
+		event.commit();
+		FCCheckStatistics s = statistics;
+		if (s != null)
+		{
+			s.record (metrics);
+		}
+		return verdict;
+	}
+	
+	/**
+	 * Searches a counterexample to the full-control criterion with a shortest trace
+	 * The product is explored again, independently of the previous checks
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains a counterexample with a path of the product to a
+	 *       violation of the full-control conditions with as few visible actions as possible,
+	 *       or null if the specified "mental" model allows full-control of the system
+	 *       linked to this algorithm
+	 */
+	public Counterexample getCounterexample (HMILTS mental)
+	{
+		return Counterexample.find (product (mental));
+	}
+	
+	/**
+	 * Tests the full-control criterion
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains true if the specified "mental" model
+	 *       allows full-control of the system linked to this algorithm, and
+	 *       "metrics", if not null, contains the metrics of the check
+	 */
+	private boolean check (HMILTS mental, Metrics metrics)
+	{
+		omission = 0;
+		if (incremental && system != null)
+		{
+			if (explorer == null || explorer.getMental() != mental)
+			{
+				if (explorer != null)
+				{
+					explorer.detach();
+				}
+				explorer = new IncrementalExplorer (system, mental);
+			}
+			return explorer.isFullControl (metrics);
+		}
+		
+		long start = metrics == null ? 0 : System.nanoTime();
+		Product product = product (mental);
+		if (metrics != null)
+		{
+			long now = System.nanoTime();
+			metrics.snapshotTime = now - start;
+			start = now;
+			product.count();
+		}
+		boolean verdict;
+		if (bitstateMemory > 0)
+		{
+			BitstateExplorer explorer = new BitstateExplorer (bitstateMemory);
+			verdict = explorer.explore (product, reduction, metrics);
+			omission = explorer.getOmissionProbability();
+		}
+		else if (externalDirectory != null)
+		{
+			try
+			{
+				verdict = new ExternalExplorer (externalDirectory, externalMemory).explore (product, metrics);
+			}
+			catch (IOException exception)
+			{
+				throw new UncheckedIOException (exception);
+			}
+		}
+		else
+		{
+			verdict = parallelism > 1 && composition == null ? ParallelExplorer.explore (product, parallelism, metrics) : explore (product, reduction, metrics);
+		}
+		if (metrics != null)
+		{
+			metrics.explorationTime = System.nanoTime() - start;
+		}
+		return verdict;
+	}
+	
+	/**
+	 * Creates the product of the system and a mental model
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains the product of the system linked to this
+	 *       algorithm and of a compact snapshot of the specified "mental" model
+	 */
+	private Product product (HMILTS mental)
+	{
+		if (composition != null)
+		{
+			return new Product (composition, mental);
+		}
+		return indexed != null ? new Product (indexed, mental) : new Product (system, mental);
+	}
+	
+	/**
+	 * Explores a product sequentially
+	 * 
+	 * @pre "product" != null
+	 * @post The returned value contains true if all the reachable pairs of "product" satisfy
+	 *       the full-control conditions, the interleavings being reduced if "reduction" is true,
+	 *       and "metrics", if not null, contains the metrics of the exploration
+	 */
+	static boolean explore (Product product, boolean reduction, Metrics metrics)
+	{
+		// Breadth-first exploration, the index of visited pairs being the queue
+		LongIndex visited = new LongIndex (1024);
+		visited.add (Product.INITIAL);
+		LongConsumer out = visited::add;
+		LongPredicate seen = visited::contains;
+		if (metrics != null)
+		{
+			metrics.setVisited (visited);
+			out = metrics;
+		}
+		
+		boolean verdict = true;
+		int i = 0;
+		while (i < visited.size() && verdict)
+		{
+			long p = visited.get (i++);
+			verdict = product.isCompatible (p);
+			if (verdict)
+			{
+				if (! reduction || ! product.ampleSuccessors (p, seen, out))
+				{
+					product.successors (p, out);
+				}
+				if (metrics != null)
+				{
+					metrics.frontier (visited.size() - i);
+				}
+			}
+		}
+		
+		if (metrics != null)
+		{
+			metrics.pairs = i;
+			metrics.visitedBytes = visited.memory();
+			metrics.closure (product);
+		}
+		return verdict;
 	}
 }
\ No newline at end of file
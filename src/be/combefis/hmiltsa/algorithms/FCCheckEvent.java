@@ -0,0 +1,76 @@
+// FCCheckEvent.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a full-control check
+ * 
+ * The event covers a whole check and carries its metrics. It is only
+ * filled and committed when it is enabled in a running recording, or
+ * when statistics are collected.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+@Name ("be.combefis.hmiltsa.FCCheck")
+@Label ("Full-Control Check")
+@Category ("HMI-LTSA")
+@Description ("Check of the full-control property of a mental model with respect to a system model")
+final class FCCheckEvent extends Event
+{
+	// Instance variables
+	@Label ("Verdict")
+	boolean verdict;
+	@Label ("Parallelism")
+	int parallelism;
+	@Label ("Incremental")
+	boolean incremental;
+	@Label ("Pairs")
+	@Description ("Number of pairs of states whose conditions have been checked")
+	long pairs;
+	@Label ("Transitions")
+	@Description ("Number of transitions of the product followed from the explored pairs")
+	long transitions;
+	@Label ("Closure Cache Hits")
+	long closureHits;
+	@Label ("Closure Cache Misses")
+	long closureMisses;
+	@Label ("Max Frontier")
+	long maxFrontier;
+	@Label ("Visited Set Size")
+	@DataAmount
+	long visitedBytes;
+	@Label ("Snapshot Time")
+	@Timespan
+	long snapshotTime;
+	@Label ("Exploration Time")
+	@Timespan
+	long explorationTime;
+	
+	/**
+	 * Copies the metrics of a check
+	 * 
+	 * @pre "metrics" != null
+	 * @post The fields of this event contain "metrics"
+	 */
+	public void set (Metrics metrics)
+	{
+		verdict = metrics.verdict;
+		pairs = metrics.pairs;
+		transitions = metrics.transitions;
+		closureHits = metrics.closureHits;
+		closureMisses = metrics.closureMisses;
+		maxFrontier = metrics.maxFrontier;
+		visitedBytes = metrics.visitedBytes;
+		snapshotTime = metrics.snapshotTime;
+		explorationTime = metrics.explorationTime;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+// FCCheckStatistics.java
+
+package be.combefis.hmiltsa.algorithms;
+
+/**
+ * Statistics of the full-control checks of one or several algorithms
+ * 
+ * The statistics are accumulated over the checks of the algorithms they
+ * are given to (see FCCheck.setStatistics), once per check, and can be
+ * polled at any time. They can also be published as an MXBean, with
+ * ManagementFactory.getPlatformMBeanServer().registerMBean.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class FCCheckStatistics implements FCCheckStatisticsMXBean
+{
+	// Instance variables
+	private long checks, violations, pairs, transitions, closureHits, closureMisses;
+	private long maxFrontier, peakVisitedBytes, snapshotTime, explorationTime;
+	
+	/**
+	 * Creates new empty statistics
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, with all the statistics at 0
+	 */
+	public FCCheckStatistics(){}
+	
+	/**
+	 * Records the metrics of a check
+	 * 
+	 * @pre "metrics" != null
+	 * @post "metrics" have been added to these statistics
+	 */
+	synchronized void record (Metrics metrics)
+	{
+		checks++;
+		violations += metrics.verdict ? 0 : 1;
+		pairs += metrics.pairs;
+		transitions += metrics.transitions;
+		closureHits += metrics.closureHits;
+		closureMisses += metrics.closureMisses;
+		maxFrontier = Math.max (maxFrontier, metrics.maxFrontier);
+		peakVisitedBytes = Math.max (peakVisitedBytes, metrics.visitedBytes);
+		snapshotTime += metrics.snapshotTime;
+		explorationTime += metrics.explorationTime;
+	}
+	
+	@Override
+	public synchronized long getChecksCount()
+	{
+		return checks;
+	}
+	
+	@Override
+	public synchronized long getViolationsCount()
+	{
+		return violations;
+	}
+	
+	@Override
+	public synchronized long getPairsCount()
+	{
+		return pairs;
+	}
+	
+	@Override
+	public synchronized long getTransitionsCount()
+	{
+		return transitions;
+	}
+	
+	@Override
+	public synchronized long getClosureHits()
+	{
+		return closureHits;
+	}
+	
+	@Override
+	public synchronized long getClosureMisses()
+	{
+		return closureMisses;
+	}
+	
+	@Override
+	public synchronized long getMaxFrontier()
+	{
+		return maxFrontier;
+	}
+	
+	@Override
+	public synchronized long getPeakVisitedBytes()
+	{
+		return peakVisitedBytes;
+	}
+	
+	@Override
+	public synchronized long getSnapshotTime()
+	{
+		return snapshotTime;
+	}
+	
+	@Override
+	public synchronized long getExplorationTime()
+	{
+		return explorationTime;
+	}
+	
+	@Override
+	public synchronized void reset()
+	{
+		checks = violations = pairs = transitions = closureHits = closureMisses = 0;
+		maxFrontier = peakVisitedBytes = snapshotTime = explorationTime = 0;
+	}
+}
\ No newline at end of file
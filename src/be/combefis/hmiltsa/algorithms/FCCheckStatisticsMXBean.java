@@ -0,0 +1,110 @@
+// FCCheckStatisticsMXBean.java
+
+package be.combefis.hmiltsa.algorithms;
+
+/**
+ * Management interface of the statistics of full-control checks
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public interface FCCheckStatisticsMXBean
+{
+	/**
+	 * Gets the number of checks
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of recorded checks
+	 */
+	public long getChecksCount();
+	
+	/**
+	 * Gets the number of checks whose verdict was negative
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of recorded checks
+	 *       that found a violation of the full-control conditions
+	 */
+	public long getViolationsCount();
+	
+	/**
+	 * Gets the number of explored pairs
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of pairs of states
+	 *       whose conditions have been checked, over all the checks
+	 */
+	public long getPairsCount();
+	
+	/**
+	 * Gets the number of fired transitions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions of the product
+	 *       followed from the explored pairs, over all the checks
+	 */
+	public long getTransitionsCount();
+	
+	/**
+	 * Gets the number of hits of the cache of weakly enabled actions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of lookups of the weakly enabled
+	 *       actions of a state that found them already computed, over all the checks
+	 */
+	public long getClosureHits();
+	
+	/**
+	 * Gets the number of misses of the cache of weakly enabled actions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of tau-closure components whose
+	 *       weakly enabled actions had to be computed, over all the checks
+	 */
+	public long getClosureMisses();
+	
+	/**
+	 * Gets the largest frontier
+	 * 
+	 * @pre -
+	 * @post The returned value contains the largest number of pairs waiting to be
+	 *       explored during a sequential check
+	 */
+	public long getMaxFrontier();
+	
+	/**
+	 * Gets the peak memory of the visited pairs
+	 * 
+	 * @pre -
+	 * @post The returned value contains the largest number of bytes used by
+	 *       the set of visited pairs of a check, in memory or in the file of
+	 *       the external mode
+	 */
+	public long getPeakVisitedBytes();
+	
+	/**
+	 * Gets the time spent to prepare the models
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of nanoseconds spent to build
+	 *       the compact snapshots and the tau-closures of the models, over all the checks
+	 */
+	public long getSnapshotTime();
+	
+	/**
+	 * Gets the time spent to explore the products
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of nanoseconds spent
+	 *       to explore the products, over all the checks
+	 */
+	public long getExplorationTime();
+	
+	/**
+	 * Resets the statistics
+	 * 
+	 * @pre -
+	 * @post All the statistics are 0
+	 */
+	public void reset();
+}
\ No newline at end of file
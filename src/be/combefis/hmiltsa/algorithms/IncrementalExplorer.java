@@ -0,0 +1,370 @@
+// IncrementalExplorer.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.LTSListener;
+import be.combefis.hmiltsa.models.LongIndex;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Incremental exploration of the product used by the full-control algorithm
+ * 
+ * The whole reachable product is explored once and kept, together with the
+ * set of pairs violating the full-control conditions. The explorer listens
+ * to the system and to the mental model and records the source states of
+ * the transitions added to them. Since models only grow, the next check:
+ * - recomputes the conditions of the pairs with a state that can reach one
+ *   of these sources with internal transitions, the only states whose weakly
+ *   enabled actions may have changed
+ * - expands again the pairs with one of these sources, the only pairs that
+ *   may have new successors, and explores the new pairs from them
+ * The other pairs are neither expanded nor checked again.
+ * 
+ * The visited pairs are threaded in lists, one per system state and one per
+ * mental state, so that the pairs of the affected states are found without
+ * scanning the whole product. The indexed model of a model that has not
+ * changed (its snapshot, tau-closure and weakly enabled actions) is kept
+ * from one check to the next, while the one of a changed model is built
+ * again, snapshots being immutable.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class IncrementalExplorer implements LTSListener<State,Transition>
+{
+	// Instance variables
+	private final HMILTS system, mental;
+	private final Map<Object,Integer> alphabet;
+	private ModelIndex systemIndex, mentalIndex;
+	private final LongIndex visited;
+	private final BitSet violations;
+	private final BitSet systemSources, mentalSources;
+	private int[] systemFirst, mentalFirst, systemNext, mentalNext;
+	private int listed;
+	private boolean explored;
+	
+	/**
+	 * Creates a new incremental explorer
+	 * 
+	 * @pre "system", "mental" != null
+	 * @post An instance of this is created, listening to "system" and "mental",
+	 *       the product of which is not explored yet
+	 */
+	public IncrementalExplorer (HMILTS system, HMILTS mental)
+	{
+		this.system = system;
+		this.mental = mental;
+		alphabet = new HashMap<Object,Integer>();
+		visited = new LongIndex (1024);
+		violations = new BitSet();
+		systemSources = new BitSet();
+		mentalSources = new BitSet();
+		systemFirst = new int[16];
+		mentalFirst = new int[16];
+		systemNext = new int[1024];
+		mentalNext = new int[1024];
+		
+		system.addListener (this);
+		if (mental != system)
+		{
+			mental.addListener (this);
+		}
+	}
+	
+	/**
+	 * Gets the mental model of the explorer
+	 * 
+	 * @pre -
+	 * @post The returned value contains the mental model of this explorer
+	 */
+	public HMILTS getMental()
+	{
+		return mental;
+	}
+	
+	/**
+	 * Stops listening to the models
+	 * 
+	 * @pre -
+	 * @post This explorer is not notified of the changes of the models anymore
+	 */
+	public void detach()
+	{
+		system.removeListener (this);
+		if (mental != system)
+		{
+			mental.removeListener (this);
+		}
+	}
+	
+	@Override
+	public void stateAdded (LTS<State,Transition> lts, State s){}
+	
+	@Override
+	public void transitionAdded (LTS<State,Transition> lts, Transition t)
+	{
+		int source = lts.transitionSource (lts.transitionId (t));
+		if (lts == system)
+		{
+			systemSources.set (source);
+		}
+		if (lts == mental)
+		{
+			mentalSources.set (source);
+		}
+	}
+	
+	/**
+	 * Tests the full-control criterion on the current models
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if all the reachable pairs of the product
+	 *       of the system and the mental model satisfy the full-control conditions,
+	 *       and "metrics", if not null, contains the metrics of the pairs processed
+	 *       since the previous test
+	 */
+	public boolean isFullControl (Metrics metrics)
+	{
+		if (explored && systemSources.isEmpty() && mentalSources.isEmpty())
+		{
+			return violations.isEmpty();
+		}
+		
+		long start = metrics == null ? 0 : System.nanoTime();
+		Product product = product();
+		LongConsumer out = visited::add;
+		if (metrics != null)
+		{
+			long now = System.nanoTime();
+			metrics.snapshotTime = now - start;
+			start = now;
+			metrics.setVisited (visited);
+			out = metrics;
+			product.count();
+		}
+		
+		if (! explored)
+		{
+			visited.add (Product.INITIAL);
+			explore (product, 0, out, metrics);
+			systemSources.clear();
+			mentalSources.clear();
+			explored = true;
+		}
+		else
+		{
+			update (product, out, metrics);
+		}
+		list();
+		
+		if (metrics != null)
+		{
+			metrics.explorationTime = System.nanoTime() - start;
+			metrics.visitedBytes = visited.memory();
+			metrics.closure (product);
+		}
+		return violations.isEmpty();
+	}
+	
+	/**
+	 * Gets the product of the current models
+	 * 
+	 * @pre -
+	 * @post The returned value contains the product of the current models, the indexed
+	 *       model of the system (resp. mental model) being kept from the previous check
+	 *       if no transition has been added to it since
+	 */
+	private Product product()
+	{
+		if (systemIndex == null || ! systemSources.isEmpty())
+		{
+			systemIndex = new ModelIndex (system.freeze(), alphabet);
+		}
+		if (mentalIndex == null || ! mentalSources.isEmpty())
+		{
+			mentalIndex = new ModelIndex (mental.freeze(), alphabet);
+		}
+		return new Product (systemIndex, mentalIndex, alphabet);
+	}
+	
+	/**
+	 * Updates the product with the changes of the models
+	 * 
+	 * @pre "product", "out" != null
+	 *      "product" is the product of the current models
+	 *      "out" adds the pairs it accepts to visited
+	 *      the product has been explored before the changes
+	 * @post visited contains all the reachable pairs of the product, violations
+	 *       contains the indexes of those which violate the full-control conditions
+	 *       and no change is recorded anymore
+	 */
+	private void update (Product product, LongConsumer out, Metrics metrics)
+	{
+		BitSet checked = pairs (predecessors (product.getSystem().getLTS(), systemSources), systemFirst, systemNext);
+		checked.or (pairs (predecessors (product.getMental().getLTS(), mentalSources), mentalFirst, mentalNext));
+		for (int i = checked.nextSetBit (0); i >= 0; i = checked.nextSetBit (i + 1))
+		{
+			violations.set (i, ! product.isCompatible (visited.get (i)));
+		}
+		
+		BitSet expanded = pairs (systemSources, systemFirst, systemNext);
+		expanded.or (pairs (mentalSources, mentalFirst, mentalNext));
+		int size = visited.size();
+		for (int i = expanded.nextSetBit (0); i >= 0; i = expanded.nextSetBit (i + 1))
+		{
+			product.successors (visited.get (i), out);
+		}
+		systemSources.clear();
+		mentalSources.clear();
+		if (metrics != null)
+		{
+			metrics.pairs += checked.cardinality();
+		}
+		
+		explore (product, size, out, metrics);
+	}
+	
+	/**
+	 * Explores the product breadth-first, the index of visited pairs being the queue
+	 * 
+	 * @pre "product", "out" != null
+	 *      "out" adds the pairs it accepts to visited
+	 *      0 <= "from" <= visited.size()
+	 * @post The pairs of visited from index "from" have been checked, and expanded
+	 *       until no new pair is found
+	 */
+	private void explore (Product product, int from, LongConsumer out, Metrics metrics)
+	{
+		int i = from;
+		while (i < visited.size())
+		{
+			long p = visited.get (i);
+			if (! product.isCompatible (p))
+			{
+				violations.set (i);
+			}
+			product.successors (p, out);
+			i++;
+			if (metrics != null)
+			{
+				metrics.frontier (visited.size() - i);
+			}
+		}
+		if (metrics != null)
+		{
+			metrics.pairs += i - from;
+		}
+	}
+	
+	/**
+	 * Threads the pairs visited since the previous call in the lists of their states
+	 * 
+	 * @pre -
+	 * @post All the pairs of visited are in the list of their system state and in the
+	 *       list of their mental state (see pairs)
+	 */
+	private void list()
+	{
+		int size = visited.size();
+		if (size > systemNext.length)
+		{
+			systemNext = Arrays.copyOf (systemNext, Math.max (size, 2 * systemNext.length));
+			mentalNext = Arrays.copyOf (mentalNext, systemNext.length);
+		}
+		for (int i = listed; i < size; i++)
+		{
+			long p = visited.get (i);
+			systemFirst = link (systemFirst, systemNext, Product.system (p), i);
+			mentalFirst = link (mentalFirst, mentalNext, Product.mental (p), i);
+		}
+		listed = size;
+	}
+	
+	/**
+	 * Adds a pair to the list of a state
+	 * The list of s starts at "first"[s] - 1 and goes on at "next"[i] - 1, 0 ending it
+	 * 
+	 * @pre "first", "next" != null
+	 *      "s", "i" >= 0 and "i" < "next".length
+	 * @post The returned value contains "first", grown if needed to contain "s",
+	 *       in which "i" has been added at the head of the list of "s"
+	 */
+	private static int[] link (int[] first, int[] next, int s, int i)
+	{
+		if (s >= first.length)
+		{
+			first = Arrays.copyOf (first, Math.max (s + 1, 2 * first.length));
+		}
+		next[i] = first[s];
+		first[s] = i + 1;
+		return first;
+	}
+	
+	/**
+	 * Gets the visited pairs of some states
+	 * 
+	 * @pre "states", "first", "next" != null
+	 *      "first" and "next" are the lists of the pairs of the states (see link)
+	 * @post The returned value contains the indexes in visited of the listed pairs
+	 *       whose state is one of "states"
+	 */
+	private static BitSet pairs (BitSet states, int[] first, int[] next)
+	{
+		BitSet result = new BitSet();
+		for (int s = states.nextSetBit (0); s >= 0 && s < first.length; s = states.nextSetBit (s + 1))
+		{
+			for (int i = first[s] - 1; i >= 0; i = next[i] - 1)
+			{
+				result.set (i);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the states that can reach some states with internal transitions
+	 * 
+	 * @pre "lts", "states" != null
+	 * @post The returned value contains the states of "lts" from which one
+	 *       of "states" can be reached with zero or more tau transitions
+	 */
+	private static BitSet predecessors (CompactLTS<State,Transition> lts, BitSet states)
+	{
+		BitSet result = (BitSet) states.clone();
+		int[] stack = new int[Math.max (16, states.cardinality())];
+		int count = 0;
+		for (int s = states.nextSetBit (0); s >= 0; s = states.nextSetBit (s + 1))
+		{
+			stack[count++] = s;
+		}
+		
+		while (count > 0)
+		{
+			int s = stack[--count];
+			for (int i = lts.inStart (s, CompactLTS.TAU), end = lts.inEnd (s, CompactLTS.TAU); i < end; i++)
+			{
+				int r = lts.inSource (i);
+				if (! result.get (r))
+				{
+					result.set (r);
+					if (count == stack.length)
+					{
+						stack = Arrays.copyOf (stack, count * 2);
+					}
+					stack[count++] = r;
+				}
+			}
+		}
+		return result;
+	}
+}
\ No newline at end of file
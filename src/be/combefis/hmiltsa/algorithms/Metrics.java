@@ -0,0 +1,81 @@
+// Metrics.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.function.LongConsumer;
+
+import be.combefis.hmiltsa.models.LongIndex;
+
+/**
+ * Metrics of one full-control check
+ * 
+ * The metrics are only collected when the check is instrumented, the
+ * explorations receiving a null instance otherwise. Counters are updated
+ * by the exploration loops, the successors of the expanded pairs being
+ * counted by a consumer that adds them to the visited pairs.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class Metrics implements LongConsumer
+{
+	// Instance variables
+	long pairs, transitions, closureHits, closureMisses, maxFrontier, visitedBytes;
+	long snapshotTime, explorationTime;
+	boolean verdict;
+	private LongIndex visited;
+	
+	/**
+	 * Creates new empty metrics
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, with all its counters at 0
+	 */
+	public Metrics(){}
+	
+	/**
+	 * Sets the visited pairs the successors are added to
+	 * 
+	 * @pre "visited" != null
+	 * @post The pairs accepted by this consumer are counted and added to "visited"
+	 */
+	public void setVisited (LongIndex visited)
+	{
+		this.visited = visited;
+	}
+	
+	@Override
+	public void accept (long p)
+	{
+		transitions++;
+		visited.add (p);
+	}
+	
+	/**
+	 * Records the size of the frontier
+	 * 
+	 * @pre "frontier" >= 0
+	 * @post maxFrontier is at least "frontier"
+	 */
+	public void frontier (long frontier)
+	{
+		if (frontier > maxFrontier)
+		{
+			maxFrontier = frontier;
+		}
+	}
+	
+	/**
+	 * Records the use of the cache of the weakly enabled actions of a product
+	 * 
+	 * @pre "product" != null
+	 *      The use of the cache of "product" has been counted since the start of the check
+	 * @post closureMisses contains the number of components whose weakly enabled actions have
+	 *       been computed, and closureHits the number of lookups that found them already computed
+	 */
+	public void closure (Product product)
+	{
+		closureMisses = product.misses();
+		closureHits = product.hits();
+	}
+}
\ No newline at end of file
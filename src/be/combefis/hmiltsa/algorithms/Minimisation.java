@@ -0,0 +1,355 @@
+// Minimisation.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.TauClosure;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Algorithm to minimise an HMI-LTS modulo branching bisimulation
+ * 
+ * The strongly connected components of the internal transitions are first
+ * collapsed, since their states are branching bisimilar. The partition of
+ * the components is then refined with signatures: the signature of a
+ * component is the set of pairs (action, block) it can reach with one
+ * transition, possibly after internal transitions that stay in its block,
+ * internal transitions inside a block being ignored. Components with the
+ * same block and the same signature stay together, and the refinement
+ * stops when no block is split anymore. Commands and observations keep
+ * their identity, so that they are never mixed, whereas all the internal
+ * actions share the identifier TAU: they are not distinguished by the
+ * signatures, and the quotient has at most one internal transition between
+ * two blocks, labelled by the first internal action found between them.
+ * 
+ * Branching bisimilar states have the same weak traces and weakly enable
+ * the same actions, so that the full-control verdict is the same for the
+ * model and for its quotient.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class Minimisation
+{
+	// Instance variables
+	private final HMILTS model;
+	private int[] block;
+	private int blocksCount;
+	private HMILTS quotient;
+	private Map<State,State> mapping;
+	
+	/**
+	 * Creates a new minimisation algorithm
+	 * 
+	 * @pre "model" != null
+	 * @post An instance of this has been created, representing
+	 *       a minimisation algorithm for the specified "model"
+	 */
+	public Minimisation (HMILTS model)
+	{
+		this.model = model;
+	}
+	
+	/**
+	 * Gets the model of the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the model to minimise
+	 */
+	public HMILTS getModel()
+	{
+		return model;
+	}
+	
+	/**
+	 * Gets the minimised model
+	 * 
+	 * @pre -
+	 * @post The returned value contains the quotient of the model modulo branching
+	 *       bisimulation, each state being named after the first state of its class
+	 */
+	public HMILTS getQuotient()
+	{
+		if (quotient == null)
+		{
+			minimise();
+		}
+		return quotient;
+	}
+	
+	/**
+	 * Gets the mapping from the states of the model to the states of the quotient
+	 * 
+	 * @pre -
+	 * @post The returned value contains a map associating each state of the model
+	 *       with the state of the quotient representing its class
+	 */
+	public Map<State,State> getMapping()
+	{
+		if (quotient == null)
+		{
+			minimise();
+		}
+		return mapping;
+	}
+	
+	/**
+	 * Computes the quotient of the model
+	 * 
+	 * @pre -
+	 * @post quotient and mapping contain the quotient of the model
+	 *       and the mapping of its states
+	 */
+	private void minimise()
+	{
+		CompactLTS<State,Transition> lts = model.freeze();
+		TauClosure closure = lts.tauClosure();
+		refine (lts, closure);
+		
+		// One state per block, named after its first state
+		int n = lts.statesCount();
+		State[] states = new State[blocksCount];
+		for (int s = 0; s < n; s++)
+		{
+			int b = block[closure.component (s)];
+			if (states[b] == null)
+			{
+				states[b] = new State (lts.getState (s).getName());
+			}
+		}
+		
+		int initial = block[closure.component (0)];
+		quotient = new HMILTS (states[initial]);
+		for (int b = 0; b < blocksCount; b++)
+		{
+			if (b != initial)
+			{
+				quotient.addState (states[b]);
+			}
+		}
+		
+		// Transitions between blocks, without the internal transitions inside a block
+		Set<Long> tau = new HashSet<Long>();
+		Set<Edge> visible = new HashSet<Edge>();
+		for (int s = 0; s < n; s++)
+		{
+			int from = block[closure.component (s)];
+			for (int i = lts.outStart (s); i < lts.outEnd (s); i++)
+			{
+				int to = block[closure.component (lts.outTarget (i))];
+				Transition t = lts.getTransition (lts.outTransition (i));
+				if (lts.outAction (i) == CompactLTS.TAU)
+				{
+					if (from != to && tau.add (Product.pair (from, to)))
+					{
+						quotient.addTauTransition (new Transition (t.getAction()), states[from], states[to]);
+					}
+				}
+				else if (visible.add (new Edge (from, lts.outAction (i), to)))
+				{
+					quotient.addTransition (new Transition (t.getAction()), states[from], states[to]);
+				}
+			}
+		}
+		
+		Map<State,State> map = new HashMap<State,State>();
+		for (int s = 0; s < n; s++)
+		{
+			map.put (lts.getState (s), states[block[closure.component (s)]]);
+		}
+		mapping = Collections.unmodifiableMap (map);
+	}
+	
+	/**
+	 * Refines the partition of the tau components until it is stable
+	 * 
+	 * @pre "lts", "closure" != null
+	 *      "closure" is the tau-closure of "lts"
+	 * @post block[c] contains the block of component c in the coarsest branching
+	 *       bisimulation and blocksCount contains the number of blocks
+	 */
+	private void refine (CompactLTS<State,Transition> lts, TauClosure closure)
+	{
+		int count = closure.componentsCount();
+		block = new int[count];
+		blocksCount = 1;
+		
+		long[][] signatures = new long[count][];
+		long[] buffer = new long[16];
+		while (true)
+		{
+			// Components are processed so that internal successors come first
+			for (int c = 0; c < count; c++)
+			{
+				int size = 0;
+				for (int i = closure.componentStart (c); i < closure.componentEnd (c); i++)
+				{
+					int s = closure.componentState (i);
+					for (int j = lts.outStart (s); j < lts.outEnd (s); j++)
+					{
+						int d = closure.component (lts.outTarget (j));
+						int a = lts.outAction (j);
+						if (a != CompactLTS.TAU || block[d] != block[c])
+						{
+							buffer = grow (buffer, size + 1);
+							buffer[size++] = ((long) a << 32) | block[d];
+						}
+						else if (d != c)
+						{
+							// Inert internal transition, the signature of "d" is inherited
+							buffer = grow (buffer, size + signatures[d].length);
+							System.arraycopy (signatures[d], 0, buffer, size, signatures[d].length);
+							size += signatures[d].length;
+						}
+					}
+				}
+				signatures[c] = distinct (buffer, size);
+			}
+			
+			// New blocks, given by the old block and the signature
+			Map<Signature,Integer> blocks = new HashMap<Signature,Integer>();
+			int[] next = new int[count];
+			for (int c = 0; c < count; c++)
+			{
+				Signature key = new Signature (block[c], signatures[c]);
+				Integer b = blocks.get (key);
+				if (b == null)
+				{
+					b = blocks.size();
+					blocks.put (key, b);
+				}
+				next[c] = b;
+			}
+			
+			boolean stable = blocks.size() == blocksCount;
+			block = next;
+			blocksCount = blocks.size();
+			if (stable)
+			{
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Ensures that a buffer has a minimal capacity
+	 * 
+	 * @pre "buffer" != null
+	 *      "capacity" >= 0
+	 * @post The returned value contains "buffer", or a copy of it with at least "capacity" elements
+	 */
+	private static long[] grow (long[] buffer, int capacity)
+	{
+		return capacity <= buffer.length ? buffer : Arrays.copyOf (buffer, Math.max (capacity, buffer.length * 2));
+	}
+	
+	/**
+	 * Gets the distinct values of a buffer
+	 * 
+	 * @pre "buffer" != null
+	 *      0 <= "size" <= "buffer".length
+	 * @post The returned value contains the distinct values among the first "size"
+	 *       values of "buffer", sorted, and "buffer" has been sorted up to "size"
+	 */
+	private static long[] distinct (long[] buffer, int size)
+	{
+		Arrays.sort (buffer, 0, size);
+		int count = 0;
+		for (int i = 0; i < size; i++)
+		{
+			if (i == 0 || buffer[i] != buffer[i - 1])
+			{
+				buffer[count++] = buffer[i];
+			}
+		}
+		return Arrays.copyOf (buffer, count);
+	}
+	
+	/**
+	 * Signature of a component, with the block it belonged to
+	 */
+	private static final class Signature
+	{
+		// Instance variables
+		private final int block;
+		private final long[] pairs;
+		
+		/**
+		 * Creates a new signature
+		 * 
+		 * @pre "pairs" != null
+		 * @post An instance of this is created, representing the signature "pairs" in "block"
+		 */
+		public Signature (int block, long[] pairs)
+		{
+			this.block = block;
+			this.pairs = pairs;
+		}
+		
+		@Override
+		public boolean equals (Object o)
+		{
+			if (o instanceof Signature)
+			{
+				Signature s = (Signature) o;
+				return block == s.block && Arrays.equals (pairs, s.pairs);
+			}
+			return false;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return 31 * block + Arrays.hashCode (pairs);
+		}
+	}
+	
+	/**
+	 * Visible transition between two blocks
+	 */
+	private static final class Edge
+	{
+		// Instance variables
+		private final int from, action, to;
+		
+		/**
+		 * Creates a new transition
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, representing a transition
+		 *       from "from" to "to" with "action"
+		 */
+		public Edge (int from, int action, int to)
+		{
+			this.from = from;
+			this.action = action;
+			this.to = to;
+		}
+		
+		@Override
+		public boolean equals (Object o)
+		{
+			if (o instanceof Edge)
+			{
+				Edge e = (Edge) o;
+				return from == e.from && action == e.action && to == e.to;
+			}
+			return false;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return (from * 31 + action) * 31 + to;
+		}
+	}
+}
\ No newline at end of file
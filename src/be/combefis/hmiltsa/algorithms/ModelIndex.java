@@ -0,0 +1,287 @@
+// ModelIndex.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.IndexedLTS;
+import be.combefis.hmiltsa.models.SparseBitSet;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.TauClosure;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Model explored by the full-control algorithms, with the commands and
+ * observations weakly enabled in its states
+ * 
+ * Actions are identified in an alphabet shared between the system and the
+ * mental model, so that the actions enabled in both models can be compared.
+ * The weakly enabled actions are computed for each tau component, from the
+ * tau-closure of the model.
+ * 
+ * The model is usually a compact snapshot, whose transitions are visited
+ * by ranges, but can be any LTS read through IndexedLTS, such as an
+ * off-heap LTS, whose actions are then expected to be instances of Action.
+ * 
+ * The use of the cache of the weakly enabled actions is only counted once
+ * requested (see count), with adders since a prepared model can be read by
+ * several threads.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class ModelIndex
+{
+	// Instance variables
+	private final IndexedLTS lts;
+	private final CompactLTS<State,Transition> snapshot;
+	private final TauClosure closure;
+	private final int[] global, local;
+	private final int[][] commands, observations;
+	private LongAdder hits, misses;
+	
+	/**
+	 * Creates a new explored model
+	 * 
+	 * @pre "lts", "alphabet" != null
+	 * @post An instance of this is created, representing "lts", its visible
+	 *       actions have been added to the shared "alphabet"
+	 */
+	public ModelIndex (CompactLTS<State,Transition> lts, Map<Object,Integer> alphabet)
+	{
+		this (lts, lts, lts.tauClosure(), alphabet);
+	}
+	
+	/**
+	 * Creates a new explored model
+	 * 
+	 * @pre "lts", "alphabet" != null
+	 *      The actions of "lts" are instances of Action
+	 * @post An instance of this is created, representing "lts", whose tau-closure
+	 *       has been computed, its visible actions have been added to the shared "alphabet"
+	 */
+	public ModelIndex (IndexedLTS lts, Map<Object,Integer> alphabet)
+	{
+		this (lts, null, new TauClosure (lts), alphabet);
+	}
+	
+	/**
+	 * Creates a new explored model
+	 * 
+	 * @pre "lts", "closure", "alphabet" != null
+	 *      "snapshot" is null or "lts"
+	 *      "closure" is the tau-closure of "lts"
+	 * @post An instance of this is created, representing "lts", its visible
+	 *       actions have been added to the shared "alphabet"
+	 */
+	private ModelIndex (IndexedLTS lts, CompactLTS<State,Transition> snapshot, TauClosure closure, Map<Object,Integer> alphabet)
+	{
+		this.lts = lts;
+		this.snapshot = snapshot;
+		this.closure = closure;
+		global = new int[lts.actionsCount()];
+		global[CompactLTS.TAU] = -1;
+		for (int a = 1; a < lts.actionsCount(); a++)
+		{
+			Integer id = alphabet.get (lts.action (a));
+			if (id == null)
+			{
+				id = alphabet.size();
+				alphabet.put (lts.action (a), id);
+			}
+			global[a] = id;
+		}
+		
+		local = new int[alphabet.size()];
+		Arrays.fill (local, -1);
+		for (int a = 1; a < lts.actionsCount(); a++)
+		{
+			local[global[a]] = a;
+		}
+		
+		commands = new int[closure.componentsCount()][];
+		observations = new int[closure.componentsCount()][];
+	}
+	
+	/**
+	 * Gets the compact LTS of the model
+	 * 
+	 * @pre -
+	 * @post The returned value contains the compact LTS indexed by this model,
+	 *       or null if the model is not a compact snapshot
+	 */
+	public CompactLTS<State,Transition> getLTS()
+	{
+		return snapshot;
+	}
+	
+	/**
+	 * Gets the identifier in the shared alphabet of an action
+	 * 
+	 * @pre 0 <= "a" < lts.actionsCount()
+	 * @post The returned value contains the identifier of "a" in the shared
+	 *       alphabet, or -1 if "a" is TAU
+	 */
+	public int global (int a)
+	{
+		return global[a];
+	}
+	
+	/**
+	 * Gets the local identifier of an action of the shared alphabet
+	 * 
+	 * @pre "a" >= 0
+	 * @post The returned value contains the identifier of "a" in this model,
+	 *       or -1 if "a" does not label any transition of this model
+	 */
+	public int local (int a)
+	{
+		return a < local.length ? local[a] : -1;
+	}
+	
+	/**
+	 * Gets the commands weakly enabled in a state
+	 * 
+	 * @pre 0 <= "s" < lts.statesCount()
+	 * @post The returned value contains the sorted identifiers in the shared
+	 *       alphabet of the commands weakly enabled in "s"
+	 */
+	public int[] commands (int s)
+	{
+		int c = closure.component (s);
+		if (commands[c] == null)
+		{
+			computeWeakActions (c);
+		}
+		else if (hits != null)
+		{
+			hits.increment();
+		}
+		return commands[c];
+	}
+	
+	/**
+	 * Gets the observations weakly enabled in a state
+	 * 
+	 * @pre 0 <= "s" < lts.statesCount()
+	 * @post The returned value contains the sorted identifiers in the shared
+	 *       alphabet of the observations weakly enabled in "s"
+	 */
+	public int[] observations (int s)
+	{
+		int c = closure.component (s);
+		if (observations[c] == null)
+		{
+			computeWeakActions (c);
+		}
+		else if (hits != null)
+		{
+			hits.increment();
+		}
+		return observations[c];
+	}
+	
+	/**
+	 * Starts counting the use of the cache of the weakly enabled actions
+	 * 
+	 * @pre -
+	 * @post The lookups of the weakly enabled actions and their computations
+	 *       are counted from 0 (see hits and misses)
+	 */
+	public void count()
+	{
+		hits = new LongAdder();
+		misses = new LongAdder();
+	}
+	
+	/**
+	 * Gets the number of lookups that found the weakly enabled actions cached
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of calls to commands and observations
+	 *       that found the weakly enabled actions already computed since the last call to
+	 *       count, or 0 if the cache is not counted
+	 */
+	public long hits()
+	{
+		return hits == null ? 0 : hits.sum();
+	}
+	
+	/**
+	 * Gets the number of components whose weakly enabled actions have been computed
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of components whose weakly enabled
+	 *       actions have been computed, on a lookup or by prepare, since the last call
+	 *       to count, or 0 if the cache is not counted
+	 */
+	public long misses()
+	{
+		return misses == null ? 0 : misses.sum();
+	}
+	
+	/**
+	 * Computes the weakly enabled actions of all the components, in parallel
+	 * Once prepared, this model is only read and can be shared by several threads
+	 * 
+	 * @pre -
+	 * @post The commands and observations weakly enabled in every component
+	 *       have been computed
+	 */
+	public void prepare()
+	{
+		IntStream.range (0, commands.length).parallel().filter (c -> commands[c] == null).forEach (this::computeWeakActions);
+	}
+	
+	/**
+	 * Computes the actions weakly enabled in the states of a component,
+	 * from the visible transitions of the components it can reach
+	 * 
+	 * @pre 0 <= "c" < closure.componentsCount()
+	 * @post commands["c"] and observations["c"] contain the identifiers in the
+	 *       shared alphabet of the commands and observations weakly enabled in "c"
+	 */
+	private void computeWeakActions (int c)
+	{
+		BitSet cmds = new BitSet();
+		BitSet obs = new BitSet();
+		int[] enabled = new int[lts.actionsCount()];
+		SparseBitSet reachable = closure.reachableComponents (c);
+		for (int d = reachable.nextSetBit (0); d >= 0; d = reachable.nextSetBit (d + 1))
+		{
+			for (int i = closure.componentStart (d); i < closure.componentEnd (d); i++)
+			{
+				int s = closure.componentState (i);
+				for (int j = 0, count = lts.enabledActions (s, enabled); j < count; j++)
+				{
+					int a = enabled[j];
+					if (a == CompactLTS.TAU)
+					{
+						continue;
+					}
+					if (((Action) lts.action (a)).getType() == ActionType.COMMAND)
+					{
+						cmds.set (global[a]);
+					}
+					else
+					{
+						obs.set (global[a]);
+					}
+				}
+			}
+		}
+		commands[c] = cmds.stream().toArray();
+		observations[c] = obs.stream().toArray();
+		if (misses != null)
+		{
+			misses.increment();
+		}
+	}
+}
\ No newline at end of file
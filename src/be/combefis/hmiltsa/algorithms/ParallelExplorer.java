@@ -0,0 +1,164 @@
+// ParallelExplorer.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import be.combefis.hmiltsa.models.ConcurrentLongSet;
+
+/**
+ * Parallel exploration of the product used by the full-control algorithm
+ * 
+ * The frontier is split into batches of pairs, each batch being processed
+ * by a task of a work-stealing pool. The pairs discovered by a task are
+ * accumulated in a new batch that is forked as soon as it is full, so that
+ * idle threads can steal it. Visited pairs are shared in a concurrent set
+ * and all tasks stop as soon as one of them finds a violation.
+ * 
+ * Each task counts the pairs it checks and the transitions it fires, and
+ * adds its counts to the shared counters of the search when it completes.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class ParallelExplorer extends CountedCompleter<Void> implements LongConsumer
+{
+	// Constants
+	private static final long serialVersionUID = 1L;
+	private static final int BATCH = 256;
+	
+	// Instance variables
+	private final Search search;
+	private long[] pairs;
+	private int count;
+	private long checked, fired;
+	
+	/**
+	 * Creates a new task
+	 * 
+	 * @pre "search", "pairs" != null
+	 *      0 <= "count" <= "pairs".length
+	 * @post An instance of this is created, representing a task of "search", child of "parent",
+	 *       that explores the first "count" pairs of "pairs"
+	 */
+	private ParallelExplorer (ParallelExplorer parent, Search search, long[] pairs, int count)
+	{
+		super (parent);
+		this.search = search;
+		this.pairs = pairs;
+		this.count = count;
+	}
+	
+	/**
+	 * Explores a product in parallel
+	 * 
+	 * @pre "product" != null
+	 *      "parallelism" > 0
+	 * @post The returned value contains true if all the reachable pairs of "product"
+	 *       satisfy the full-control conditions, and "metrics", if not null, contains
+	 *       the metrics of the exploration
+	 */
+	public static boolean explore (Product product, int parallelism, Metrics metrics)
+	{
+		ForkJoinPool pool = new ForkJoinPool (parallelism);
+		try
+		{
+			product.getSystem().prepare();
+			product.getMental().prepare();
+			Search search = new Search (product, new ConcurrentLongSet (parallelism));
+			search.visited.add (Product.INITIAL);
+			pool.invoke (new ParallelExplorer (null, search, new long[] {Product.INITIAL}, 1));
+			if (metrics != null)
+			{
+				metrics.pairs = search.checked.sum();
+				metrics.transitions = search.fired.sum();
+				metrics.visitedBytes = search.visited.memory();
+				metrics.closure (product);
+			}
+			return ! search.violation;
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Override
+	public void compute()
+	{
+		while (count > 0 && ! search.violation)
+		{
+			long[] current = pairs;
+			int size = count;
+			pairs = new long[BATCH];
+			count = 0;
+			for (int i = 0; i < size && ! search.violation; i++)
+			{
+				checked++;
+				if (! search.product.isCompatible (current[i]))
+				{
+					search.violation = true;
+				}
+				else
+				{
+					search.product.successors (current[i], this);
+				}
+			}
+		}
+		search.checked.add (checked);
+		search.fired.add (fired);
+		tryComplete();
+	}
+	
+	@Override
+	public void accept (long p)
+	{
+		fired++;
+		if (search.visited.add (p))
+		{
+			pairs[count++] = p;
+			if (count == BATCH)
+			{
+				addToPendingCount (1);
+				new ParallelExplorer (this, search, pairs, count).fork();
+				pairs = new long[BATCH];
+				count = 0;
+			}
+		}
+	}
+	
+	/**
+	 * State shared by the tasks of an exploration
+	 * It stores:
+	 * - the explored product
+	 * - the set of visited pairs
+	 * - whether a violation has been found
+	 * - the numbers of checked pairs and fired transitions
+	 */
+	private static final class Search
+	{
+		// Instance variables
+		private final Product product;
+		private final ConcurrentLongSet visited;
+		private volatile boolean violation;
+		private final LongAdder checked, fired;
+		
+		/**
+		 * Creates a new search
+		 * 
+		 * @pre "product", "visited" != null
+		 * @post An instance of this is created, representing the exploration of "product"
+		 */
+		public Search (Product product, ConcurrentLongSet visited)
+		{
+			this.product = product;
+			this.visited = visited;
+			violation = false;
+			checked = new LongAdder();
+			fired = new LongAdder();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,606 @@
+// Product.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.Composition;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.IndexedLTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Synchronous product of a system and a mental model, explored by the
+ * full-control algorithms
+ * 
+ * A pair of states (s, m) is encoded in a long, with s in the 32 high bits
+ * and m in the 32 low bits. Internal moves of both models are interleaved
+ * and visible actions are synchronised, so that the reachable pairs are
+ * exactly the pairs of states reached by the same weak trace.
+ * 
+ * The system may also be a composition of components, whose states are
+ * then discovered on the fly, as the successors of the pairs are generated.
+ * Its inert internal moves allow a partial-order reduction: when a component
+ * can only move silently, this move commutes with all the other moves of the
+ * product and preserves the weakly enabled actions, so that it can be the
+ * only successor explored from the pair (see ampleSuccessors).
+ * 
+ * The system may finally be any LTS read through IndexedLTS, such as an
+ * off-heap LTS, whose transitions are then visited by identifier, one
+ * action at a time, instead of by ranges of a compact snapshot.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class Product
+{
+	// Constants
+	public static final long INITIAL = 0;
+	
+	// Instance variables
+	private final ModelIndex system, mental;
+	private final CompositionIndex composition;
+	private final CompactLTS<State,Transition> sys, men;
+	private final IndexedLTS indexed;
+	private final Map<Object,Integer> alphabet;
+	
+	/**
+	 * Creates the product of two models
+	 * 
+	 * @pre "system", "mental" != null
+	 * @post An instance of this is created, representing the product
+	 *       of compact snapshots of "system" and "mental"
+	 */
+	public Product (HMILTS system, HMILTS mental)
+	{
+		alphabet = new HashMap<Object,Integer>();
+		this.system = new ModelIndex (system.freeze(), alphabet);
+		this.mental = new ModelIndex (mental.freeze(), alphabet);
+		sys = this.system.getLTS();
+		men = this.mental.getLTS();
+		indexed = null;
+		composition = null;
+	}
+	
+	/**
+	 * Creates the product of an indexed system and a model
+	 * 
+	 * @pre "system", "alphabet", "mental" != null
+	 *      "alphabet" is the alphabet "system" has been indexed with
+	 * @post An instance of this is created, representing the product of "system" and
+	 *       "mental", whose actions are identified in a copy of "alphabet", so that
+	 *       "system" and "alphabet" are only read
+	 */
+	public Product (ModelIndex system, Map<Object,Integer> alphabet, CompactLTS<State,Transition> mental)
+	{
+		this.system = system;
+		this.alphabet = new HashMap<Object,Integer> (alphabet);
+		this.mental = new ModelIndex (mental, this.alphabet);
+		sys = system.getLTS();
+		men = mental;
+		indexed = null;
+		composition = null;
+	}
+	
+	/**
+	 * Creates the product of two indexed models
+	 * 
+	 * @pre "system", "mental", "alphabet" != null
+	 *      "system" and "mental" index compact snapshots
+	 *      "alphabet" is the alphabet both models have been indexed with
+	 * @post An instance of this is created, representing the product of "system"
+	 *       and "mental", whose actions are identified in "alphabet"
+	 */
+	public Product (ModelIndex system, ModelIndex mental, Map<Object,Integer> alphabet)
+	{
+		this.system = system;
+		this.mental = mental;
+		this.alphabet = alphabet;
+		sys = system.getLTS();
+		men = mental.getLTS();
+		indexed = null;
+		composition = null;
+	}
+	
+	/**
+	 * Creates the product of an LTS and a model
+	 * 
+	 * @pre "system", "mental" != null
+	 *      The actions of "system" are instances of Action
+	 * @post An instance of this is created, representing the product of "system",
+	 *       read through its identifiers, and of a compact snapshot of "mental"
+	 */
+	public Product (IndexedLTS system, HMILTS mental)
+	{
+		alphabet = new HashMap<Object,Integer>();
+		this.system = new ModelIndex (system, alphabet);
+		this.mental = new ModelIndex (mental.freeze(), alphabet);
+		men = this.mental.getLTS();
+		indexed = system;
+		sys = null;
+		composition = null;
+	}
+	
+	/**
+	 * Creates the product of a composition and a model
+	 * 
+	 * @pre "system", "mental" != null
+	 * @post An instance of this is created, representing the product of "system",
+	 *       explored on the fly, and of a compact snapshot of "mental"
+	 */
+	public Product (Composition system, HMILTS mental)
+	{
+		alphabet = new HashMap<Object,Integer>();
+		composition = new CompositionIndex (system, alphabet);
+		this.mental = new ModelIndex (mental.freeze(), alphabet);
+		men = this.mental.getLTS();
+		this.system = null;
+		sys = null;
+		indexed = null;
+	}
+	
+	/**
+	 * Gets the indexed system model
+	 * 
+	 * @pre -
+	 * @post The returned value contains the indexed system model of this product,
+	 *       or null if the system is a composition
+	 */
+	public ModelIndex getSystem()
+	{
+		return system;
+	}
+	
+	/**
+	 * Gets the indexed mental model
+	 * 
+	 * @pre -
+	 * @post The returned value contains the indexed mental model of this product
+	 */
+	public ModelIndex getMental()
+	{
+		return mental;
+	}
+	
+	/**
+	 * Starts counting the use of the caches of the weakly enabled actions
+	 * 
+	 * @pre -
+	 * @post The lookups of the weakly enabled actions of both models and their
+	 *       computations are counted from 0 (see hits and misses)
+	 */
+	public void count()
+	{
+		if (system != null)
+		{
+			system.count();
+		}
+		mental.count();
+	}
+	
+	/**
+	 * Gets the number of lookups that found the weakly enabled actions cached
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of lookups of the weakly enabled actions
+	 *       of both models that found them already computed since the last call to count
+	 */
+	public long hits()
+	{
+		return (composition != null ? composition.hits() : system.hits()) + mental.hits();
+	}
+	
+	/**
+	 * Gets the number of computations of weakly enabled actions
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of components of both models (or
+	 *       states of the composition) whose weakly enabled actions have been computed
+	 *       since the last call to count
+	 */
+	public long misses()
+	{
+		return (composition != null ? composition.misses() : system.misses()) + mental.misses();
+	}
+	
+	/**
+	 * Encodes a pair of states
+	 * 
+	 * @pre "s", "m" >= 0
+	 * @post The returned value contains the encoding of the pair ("s", "m")
+	 */
+	public static long pair (int s, int m)
+	{
+		return ((long) s << 32) | m;
+	}
+	
+	/**
+	 * Gets the system state of a pair
+	 * 
+	 * @pre "p" encodes a pair
+	 * @post The returned value contains the system state of "p"
+	 */
+	public static int system (long p)
+	{
+		return (int) (p >>> 32);
+	}
+	
+	/**
+	 * Gets the mental state of a pair
+	 * 
+	 * @pre "p" encodes a pair
+	 * @post The returned value contains the mental state of "p"
+	 */
+	public static int mental (long p)
+	{
+		return (int) p;
+	}
+	
+	/**
+	 * Tests whether a pair satisfies the full-control conditions
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 * @post The returned value contains true if the same commands are weakly
+	 *       enabled in both states of "p" and if the observations weakly enabled
+	 *       in the system state are weakly enabled in the mental state
+	 */
+	public boolean isCompatible (long p)
+	{
+		int s = system (p), m = mental (p);
+		if (composition != null)
+		{
+			return Arrays.equals (composition.commands (s), mental.commands (m)) && containsAll (mental.observations (m), composition.observations (s));
+		}
+		return Arrays.equals (system.commands (s), mental.commands (m)) && containsAll (mental.observations (m), system.observations (s));
+	}
+	
+	/**
+	 * Generates the successors of a pair
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 *      "out" != null
+	 * @post Every successor of "p" has been passed to "out", possibly several times
+	 */
+	public void successors (long p, LongConsumer out)
+	{
+		successors (p, out, out);
+	}
+	
+	/**
+	 * Generates the successors of a pair, separating internal and synchronised moves
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 *      "internal", "visible" != null
+	 * @post Every successor of "p" by an internal move of one of the models has been
+	 *       passed to "internal", and every successor by a move synchronising both models
+	 *       on a visible action to "visible", possibly several times
+	 */
+	public void successors (long p, LongConsumer internal, LongConsumer visible)
+	{
+		int s = system (p), m = mental (p);
+		if (composition != null)
+		{
+			composedSuccessors (s, m, internal, visible);
+			return;
+		}
+		if (indexed != null)
+		{
+			indexedSuccessors (s, m, internal, visible);
+			return;
+		}
+		
+		// Internal moves of the system and of the mental model
+		for (int j = sys.outStart (s), end = sys.outEnd (s, CompactLTS.TAU); j < end; j++)
+		{
+			internal.accept (pair (sys.outTarget (j), m));
+		}
+		for (int k = men.outStart (m), end = men.outEnd (m, CompactLTS.TAU); k < end; k++)
+		{
+			internal.accept (pair (s, men.outTarget (k)));
+		}
+		
+		// Synchronised moves on visible actions
+		for (int j = sys.outEnd (s, CompactLTS.TAU), end = sys.outEnd (s); j < end; j++)
+		{
+			int a = mental.local (system.global (sys.outAction (j)));
+			if (a >= 0)
+			{
+				for (int k = men.outStart (m, a), kEnd = men.outEnd (m, a); k < kEnd; k++)
+				{
+					visible.accept (pair (sys.outTarget (j), men.outTarget (k)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Generates a reduced set of successors of a pair, made of one inert internal move
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 *      "visited", "out" != null
+	 * @post The returned value contains true if the system is a composition with an inert
+	 *       internal move from the system state of "p" leading to a pair that is not
+	 *       "visited", in which case this pair has been passed to "out" as the only
+	 *       successor of "p" to explore, and false otherwise, nothing being passed to "out"
+	 */
+	public boolean ampleSuccessors (long p, LongPredicate visited, LongConsumer out)
+	{
+		if (composition == null)
+		{
+			return false;
+		}
+		
+		// The move is independent of all the others and invisible, the pairs that
+		// are already visited are fully expanded so that no cycle is left unexpanded
+		int t = composition.getComposition().inertSuccessor (system (p));
+		if (t < 0 || visited.test (pair (t, mental (p))))
+		{
+			return false;
+		}
+		out.accept (pair (t, mental (p)));
+		return true;
+	}
+	
+	/**
+	 * Gets the state of the system in a pair
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 * @post The returned value contains the system state of "p", or a state named
+	 *       after the states of the components if the system is a composition, or
+	 *       after its identifier if the system is read through IndexedLTS
+	 */
+	public State getSystemState (long p)
+	{
+		if (composition != null)
+		{
+			return new State (composition.getComposition().getStateName (system (p)));
+		}
+		return indexed != null ? new State (Integer.toString (system (p))) : sys.getState (system (p));
+	}
+	
+	/**
+	 * Gets the state of the mental model in a pair
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 * @post The returned value contains the mental state of "p"
+	 */
+	public State getMentalState (long p)
+	{
+		return men.getState (mental (p));
+	}
+	
+	/**
+	 * Gets the commands weakly enabled in the system state of a pair
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 * @post The returned value contains the sorted identifiers in the shared alphabet
+	 *       of the commands weakly enabled in the system state of "p"
+	 */
+	public int[] systemCommands (long p)
+	{
+		return composition != null ? composition.commands (system (p)) : system.commands (system (p));
+	}
+	
+	/**
+	 * Gets the observations weakly enabled in the system state of a pair
+	 * 
+	 * @pre "p" encodes a pair of this product
+	 * @post The returned value contains the sorted identifiers in the shared alphabet
+	 *       of the observations weakly enabled in the system state of "p"
+	 */
+	public int[] systemObservations (long p)
+	{
+		return composition != null ? composition.observations (system (p)) : system.observations (system (p));
+	}
+	
+	/**
+	 * Gets an action of the shared alphabet
+	 * 
+	 * @pre "a" is the identifier of an action in the shared alphabet
+	 * @post The returned value contains the action whose identifier is "a"
+	 */
+	public Action getAction (int a)
+	{
+		for (Map.Entry<Object,Integer> entry : alphabet.entrySet())
+		{
+			if (entry.getValue() == a)
+			{
+				return (Action) entry.getKey();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the action of a move between two pairs
+	 * 
+	 * @pre "p", "q" encode pairs of this product
+	 *      "q" is a successor of "p"
+	 * @post The returned value contains -1 if "q" can be reached from "p" by an internal
+	 *       move, and the identifier in the shared alphabet of an action synchronising
+	 *       both models from "p" to "q" otherwise
+	 */
+	public int step (long p, long q)
+	{
+		int s = system (p), m = mental (p), t = system (q), n = mental (q);
+		if (s == t)
+		{
+			for (int k = men.outStart (m), end = men.outEnd (m, CompactLTS.TAU); k < end; k++)
+			{
+				if (men.outTarget (k) == n)
+				{
+					return -1;
+				}
+			}
+		}
+		if (m == n && hasMove (s, -1, t))
+		{
+			return -1;
+		}
+		for (int k = men.outEnd (m, CompactLTS.TAU), end = men.outEnd (m); k < end; k++)
+		{
+			int a = mental.global (men.outAction (k));
+			if (men.outTarget (k) == n && hasMove (s, a, t))
+			{
+				return a;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Tests whether the system has a move between two states
+	 * 
+	 * @pre "s", "t" are system states of this product
+	 * @post The returned value contains true if the system can move from "s" to "t"
+	 *       with the action whose identifier in the shared alphabet is "a", or with
+	 *       an internal move if "a" is -1
+	 */
+	private boolean hasMove (int s, int a, int t)
+	{
+		if (composition != null)
+		{
+			int[] transitions = composition.getComposition().successors (s);
+			for (int i = 0; i < transitions.length; i += 2)
+			{
+				int b = transitions[i] == CompactLTS.TAU ? -1 : composition.global (transitions[i]);
+				if (b == a && transitions[i + 1] == t)
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		int l = a < 0 ? CompactLTS.TAU : system.local (a);
+		if (l >= 0 && indexed != null)
+		{
+			for (int j = indexed.firstOut (s, l); j >= 0; j = indexed.nextOut (j))
+			{
+				if (indexed.transitionTarget (j) == t)
+				{
+					return true;
+				}
+			}
+		}
+		else if (l >= 0)
+		{
+			for (int j = sys.outStart (s, l), end = sys.outEnd (s, l); j < end; j++)
+			{
+				if (sys.outTarget (j) == t)
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Generates the successors of a pair whose system state is a state of the composition
+	 * 
+	 * @pre ("s", "m") encodes a pair of this product
+	 *      "internal", "visible" != null
+	 * @post Every successor of ("s", "m") by an internal move has been passed to "internal",
+	 *       and every successor by a synchronised move to "visible", possibly several times
+	 */
+	private void composedSuccessors (int s, int m, LongConsumer internal, LongConsumer visible)
+	{
+		int[] transitions = composition.getComposition().successors (s);
+		for (int i = 0; i < transitions.length; i += 2)
+		{
+			int t = transitions[i + 1];
+			if (transitions[i] == CompactLTS.TAU)
+			{
+				internal.accept (pair (t, m));
+			}
+			else
+			{
+				int a = mental.local (composition.global (transitions[i]));
+				if (a >= 0)
+				{
+					for (int k = men.outStart (m, a), end = men.outEnd (m, a); k < end; k++)
+					{
+						visible.accept (pair (t, men.outTarget (k)));
+					}
+				}
+			}
+		}
+		for (int k = men.outStart (m), end = men.outEnd (m, CompactLTS.TAU); k < end; k++)
+		{
+			internal.accept (pair (s, men.outTarget (k)));
+		}
+	}
+	
+	/**
+	 * Generates the successors of a pair whose system is read through IndexedLTS
+	 * The visible actions are taken from the mental state, whose transitions are sorted
+	 * by action, so that the transitions of the system are only visited by action
+	 * 
+	 * @pre ("s", "m") encodes a pair of this product
+	 *      "internal", "visible" != null
+	 * @post Every successor of ("s", "m") by an internal move has been passed to "internal",
+	 *       and every successor by a synchronised move to "visible", possibly several times
+	 */
+	private void indexedSuccessors (int s, int m, LongConsumer internal, LongConsumer visible)
+	{
+		// Internal moves of the system and of the mental model
+		for (int j = indexed.firstOut (s, CompactLTS.TAU); j >= 0; j = indexed.nextOut (j))
+		{
+			internal.accept (pair (indexed.transitionTarget (j), m));
+		}
+		for (int k = men.outStart (m), end = men.outEnd (m, CompactLTS.TAU); k < end; k++)
+		{
+			internal.accept (pair (s, men.outTarget (k)));
+		}
+		
+		// Synchronised moves on visible actions, one range of actions of the mental state at a time
+		for (int k = men.outEnd (m, CompactLTS.TAU), end = men.outEnd (m); k < end;)
+		{
+			int b = men.outAction (k), kEnd = men.outEnd (m, b);
+			int a = system.local (mental.global (b));
+			if (a >= 0)
+			{
+				for (int j = indexed.firstOut (s, a); j >= 0; j = indexed.nextOut (j))
+				{
+					for (int i = k; i < kEnd; i++)
+					{
+						visible.accept (pair (indexed.transitionTarget (j), men.outTarget (i)));
+					}
+				}
+			}
+			k = kEnd;
+		}
+	}
+	
+	/**
+	 * Tests whether a sorted set contains another one
+	 * 
+	 * @pre "a", "b" != null
+	 *      "a" and "b" are sorted without duplicates
+	 * @post The returned value contains true if all the elements of "b" are in "a"
+	 */
+	static boolean containsAll (int[] a, int[] b)
+	{
+		int i = 0;
+		for (int x : b)
+		{
+			while (i < a.length && a[i] < x)
+			{
+				i++;
+			}
+			if (i == a.length || a[i] != x)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
\ No newline at end of file
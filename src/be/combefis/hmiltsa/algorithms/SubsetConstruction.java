@@ -0,0 +1,177 @@
+// SubsetConstruction.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LongIndex;
+import be.combefis.hmiltsa.models.SparseBitSet;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.TauClosure;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * On-the-fly subset construction of an HMI-LTS, over its weak transitions
+ * 
+ * A subset is a set of states of the model that is closed under internal
+ * transitions. Subsets are hash-consed, so that each distinct subset is
+ * allocated once and identified by a dense integer, the initial subset
+ * (the tau-closure of the initial state) having identifier 0. The successor
+ * of a subset with an action is computed the first time it is requested
+ * and then memoised.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class SubsetConstruction
+{
+	// Instance variables
+	private final CompactLTS<State,Transition> lts;
+	private final TauClosure closure;
+	private final SubsetTable subsets;
+	private final LongIndex memo;
+	private int[] successors;
+	private final int[] mark, buffer;
+	private int epoch;
+	
+	/**
+	 * Creates a new subset construction
+	 * 
+	 * @pre "model" != null
+	 * @post An instance of this is created, representing the subset
+	 *       construction of a compact snapshot of "model"
+	 */
+	public SubsetConstruction (HMILTS model)
+	{
+		this (model.freeze());
+	}
+	
+	/**
+	 * Creates a new subset construction
+	 * 
+	 * @pre "lts" != null
+	 * @post An instance of this is created, representing the subset construction of "lts"
+	 */
+	public SubsetConstruction (CompactLTS<State,Transition> lts)
+	{
+		this.lts = lts;
+		closure = lts.tauClosure();
+		subsets = new SubsetTable();
+		memo = new LongIndex (64);
+		successors = new int[64];
+		mark = new int[closure.componentsCount()];
+		buffer = new int[lts.statesCount()];
+		epoch = 0;
+		
+		epoch++;
+		int length = addClosure (closure.component (0), 0);
+		Arrays.sort (buffer, 0, length);
+		subsets.intern (buffer, length);
+	}
+	
+	/**
+	 * Gets the compact LTS of the construction
+	 * 
+	 * @pre -
+	 * @post The returned value contains the compact LTS whose subsets are constructed
+	 */
+	public CompactLTS<State,Transition> getLTS()
+	{
+		return lts;
+	}
+	
+	/**
+	 * Gets the number of subsets constructed so far
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of distinct subsets constructed so far
+	 */
+	public int subsetsCount()
+	{
+		return subsets.size();
+	}
+	
+	/**
+	 * Gets the states of a subset
+	 * 
+	 * @pre 0 <= "subset" < subsetsCount()
+	 * @post The returned value contains the sorted identifiers of the states
+	 *       of "subset", in an array that must not be modified
+	 */
+	public int[] getStates (int subset)
+	{
+		return subsets.get (subset);
+	}
+	
+	/**
+	 * Gets the successor of a subset with an action
+	 * 
+	 * @pre 0 <= "subset" < subsetsCount()
+	 *      0 < "action" < getLTS().actionsCount()
+	 * @post The returned value contains the identifier of the subset of the states
+	 *       reached from "subset" with "action" followed by internal transitions,
+	 *       or -1 if "action" cannot be fired from "subset"
+	 */
+	public int successor (int subset, int action)
+	{
+		long key = ((long) subset << 32) | action;
+		int index = memo.add (key);
+		if (index < 0)
+		{
+			return successors[-1 - index];
+		}
+		
+		epoch++;
+		int length = 0;
+		for (int s : subsets.get (subset))
+		{
+			for (int i = lts.outStart (s, action), end = lts.outEnd (s, action); i < end; i++)
+			{
+				length = addClosure (closure.component (lts.outTarget (i)), length);
+			}
+		}
+		Arrays.sort (buffer, 0, length);
+		int result = length == 0 ? -1 : subsets.intern (buffer, length);
+		
+		if (index == successors.length)
+		{
+			successors = Arrays.copyOf (successors, index * 2);
+		}
+		successors[index] = result;
+		return result;
+	}
+	
+	/**
+	 * Adds the states of the components reachable from a component to the buffer
+	 * 
+	 * @pre 0 <= "c" < closure.componentsCount()
+	 *      0 <= "length" <= buffer.length
+	 * @post The states of the components reachable from "c" and not marked
+	 *       with the current epoch have been added to the buffer after
+	 *       position "length", these components have been marked,
+	 *       and the returned value contains the new length of the buffer
+	 */
+	private int addClosure (int c, int length)
+	{
+		if (mark[c] == epoch)
+		{
+			return length;
+		}
+		
+		SparseBitSet reachable = closure.reachableComponents (c);
+		for (int d = reachable.nextSetBit (0); d >= 0; d = reachable.nextSetBit (d + 1))
+		{
+			if (mark[d] != epoch)
+			{
+				mark[d] = epoch;
+				for (int i = closure.componentStart (d); i < closure.componentEnd (d); i++)
+				{
+					buffer[length++] = closure.componentState (i);
+				}
+			}
+		}
+		return length;
+	}
+}
\ No newline at end of file
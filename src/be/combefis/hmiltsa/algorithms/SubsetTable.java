@@ -0,0 +1,151 @@
+// SubsetTable.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Hash-consing table of sets of integers, each distinct set being stored
+ * once and given a dense identifier (0, 1, 2...)
+ * 
+ * Sets are represented by sorted arrays. The array of a set is only
+ * allocated the first time the set is interned, so that looking up a set
+ * that is already in the table does not allocate anything.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class SubsetTable
+{
+	// Instance variables
+	private int[][] sets;
+	private int[] hashes;
+	private int[] table;
+	private int size;
+	
+	/**
+	 * Creates a new empty table
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, without any set
+	 */
+	public SubsetTable()
+	{
+		sets = new int[16][];
+		hashes = new int[16];
+		table = new int[32];
+		size = 0;
+	}
+	
+	/**
+	 * Gets the number of sets of the table
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of sets of this table
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Gets the set with a given identifier
+	 * 
+	 * @pre 0 <= "id" < size()
+	 * @post The returned value contains the sorted array of the set "id",
+	 *       which must not be modified
+	 */
+	public int[] get (int id)
+	{
+		return sets[id];
+	}
+	
+	/**
+	 * Interns a set
+	 * 
+	 * @pre "elements" != null
+	 *      0 <= "length" <= "elements".length
+	 *      the first "length" values of "elements" are sorted without duplicates
+	 * @post The returned value contains the identifier of the set made of the
+	 *       first "length" values of "elements", which has been added to this
+	 *       table (with a copy of "elements") if needed
+	 */
+	public int intern (int[] elements, int length)
+	{
+		int hash = 1;
+		for (int i = 0; i < length; i++)
+		{
+			hash = 31 * hash + elements[i];
+		}
+		hash ^= hash >>> 16;
+		
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		for (; table[slot] != 0; slot = (slot + 1) & mask)
+		{
+			int id = table[slot] - 1;
+			if (hashes[id] == hash && equals (sets[id], elements, length))
+			{
+				return id;
+			}
+		}
+		
+		if (size == sets.length)
+		{
+			sets = Arrays.copyOf (sets, size * 2);
+			hashes = Arrays.copyOf (hashes, size * 2);
+		}
+		sets[size] = Arrays.copyOf (elements, length);
+		hashes[size] = hash;
+		table[slot] = ++size;
+		if (size * 2 > table.length)
+		{
+			rehash();
+		}
+		return size - 1;
+	}
+	
+	/**
+	 * Tests whether an array is equal to the beginning of another one
+	 * 
+	 * @pre "set", "elements" != null
+	 *      0 <= "length" <= "elements".length
+	 * @post The returned value contains true if "set" is equal to the first "length" values of "elements"
+	 */
+	private static boolean equals (int[] set, int[] elements, int length)
+	{
+		if (set.length != length)
+		{
+			return false;
+		}
+		for (int i = 0; i < length; i++)
+		{
+			if (set[i] != elements[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Doubles the size of the hash table
+	 * 
+	 * @pre -
+	 * @post The hash table has been doubled and contains all the sets of this table
+	 */
+	private void rehash()
+	{
+		table = new int[table.length * 2];
+		int mask = table.length - 1;
+		for (int id = 0; id < size; id++)
+		{
+			int slot = hashes[id] & mask;
+			while (table[slot] != 0)
+			{
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = id + 1;
+		}
+	}
+}
\ No newline at end of file
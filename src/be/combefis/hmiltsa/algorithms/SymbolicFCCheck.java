@@ -0,0 +1,328 @@
+// SymbolicFCCheck.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import be.combefis.hmiltsa.bdd.BDD;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Algorithm to check the full-control property symbolically, with BDDs
+ * 
+ * States are encoded in binary with their identifier in compact snapshots
+ * and the visible actions of both models are encoded with a shared code,
+ * code 0 standing for the internal actions. The transition relations of the
+ * models are encoded as BDDs over the bits of the source state, of the action
+ * and of the destination state, the bits of a state and of its successor being
+ * interleaved. The algorithm then works with sets of states and of pairs:
+ * - the actions weakly enabled in the states of a model are the least fixpoint
+ *   of the enabled actions and of their internal predecessors
+ * - the bad pairs are those that violate the full-control conditions (see FCCheck)
+ * - the reachable pairs are computed breadth-first, from the pair of initial
+ *   states, a whole frontier being processed at once by relational products
+ * The check stops as soon as a frontier contains a bad pair.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class SymbolicFCCheck
+{
+	// Instance variables
+	private final HMILTS system;
+	
+	/**
+	 * Creates a new symbolic full-control check algorithm
+	 * 
+	 * @pre "system" != null
+	 * @post An instance of this has been created, representing a symbolic
+	 *       full-control algorithm to analyse the specified "system"
+	 */
+	public SymbolicFCCheck (HMILTS system)
+	{
+		this.system = system;
+	}
+	
+	/**
+	 * Gets the system model of the algorithm
+	 * 
+	 * @pre -
+	 * @post The returned value contains the system model
+	 *       linked to this algorithm
+	 */
+	public HMILTS getSystemModel()
+	{
+		return system;
+	}
+	
+	/**
+	 * Tests the full-control criterion
+	 * 
+	 * @pre "mental" != null
+	 * @post The returned value contains true if the specified "mental" model
+	 *       allows full-control of the system linked to this algorithm
+	 */
+	public boolean isFullControl (HMILTS mental)
+	{
+		return new Encoding (system.freeze(), mental.freeze()).isFullControl();
+	}
+	
+	/**
+	 * Gets the number of bits needed to encode values
+	 * 
+	 * @pre "n" > 0
+	 * @post The returned value contains the number of bits needed to encode 0 to "n" - 1, at least 1
+	 */
+	private static int bits (int n)
+	{
+		return Math.max (1, 32 - Integer.numberOfLeadingZeros (n - 1));
+	}
+	
+	/**
+	 * Symbolic encoding of the product of two models
+	 * It stores:
+	 * - the BDD manager
+	 * - the variables of the actions and of the states of both models, unprimed and primed,
+	 *   and the cubes of the unprimed and of the primed ones
+	 * - the maps renaming the primed variables of each model into the unprimed ones
+	 * - the visible and internal transition relations of both models
+	 * - the sets of command and observation codes
+	 */
+	private static final class Encoding
+	{
+		// Instance variables
+		private final BDD bdd;
+		private final int[] actions, systemVars, systemPrimed, mentalVars, mentalPrimed;
+		private final int actionCube, systemCube, systemPrimedCube, mentalCube, mentalPrimedCube;
+		private final int[] systemRename, mentalRename;
+		private final int systemVisible, systemTau, mentalVisible, mentalTau;
+		private final int commands, observations;
+		
+		/**
+		 * Creates a new encoding
+		 * 
+		 * @pre "sys", "men" != null
+		 * @post An instance of this is created, encoding "sys" and "men"
+		 */
+		public Encoding (CompactLTS<State,Transition> sys, CompactLTS<State,Transition> men)
+		{
+			// Shared codes of the visible actions
+			Map<Object,Integer> codes = new HashMap<Object,Integer>();
+			int[] systemCodes = codes (sys, codes), mentalCodes = codes (men, codes);
+			
+			// Actions first, then the interleaved bits of the system and of the mental model
+			int a = bits (codes.size() + 1), s = bits (sys.statesCount()), m = bits (men.statesCount());
+			bdd = new BDD (a + 2 * s + 2 * m);
+			actions = range (0, a, 1);
+			systemVars = range (a, s, 2);
+			systemPrimed = range (a + 1, s, 2);
+			mentalVars = range (a + 2 * s, m, 2);
+			mentalPrimed = range (a + 2 * s + 1, m, 2);
+			actionCube = bdd.cube (actions);
+			systemCube = bdd.cube (systemVars);
+			systemPrimedCube = bdd.cube (systemPrimed);
+			mentalCube = bdd.cube (mentalVars);
+			mentalPrimedCube = bdd.cube (mentalPrimed);
+			systemRename = rename (systemPrimed, systemVars);
+			mentalRename = rename (mentalPrimed, mentalVars);
+			
+			int commandCodes = BDD.FALSE, observationCodes = BDD.FALSE;
+			for (Map.Entry<Object,Integer> entry : codes.entrySet())
+			{
+				int code = bdd.encode (entry.getValue(), actions);
+				if (((Action) entry.getKey()).getType() == ActionType.COMMAND)
+				{
+					commandCodes = bdd.or (commandCodes, code);
+				}
+				else
+				{
+					observationCodes = bdd.or (observationCodes, code);
+				}
+			}
+			commands = commandCodes;
+			observations = observationCodes;
+			
+			int[] systemRelations = relations (sys, systemCodes, systemVars, systemPrimed);
+			systemVisible = systemRelations[0];
+			systemTau = systemRelations[1];
+			int[] mentalRelations = relations (men, mentalCodes, mentalVars, mentalPrimed);
+			mentalVisible = mentalRelations[0];
+			mentalTau = mentalRelations[1];
+		}
+		
+		/**
+		 * Gives codes to the visible actions of a model
+		 * 
+		 * @pre "lts", "codes" != null
+		 * @post The visible actions of "lts" have been given a code in "codes", from 1, if they
+		 *       had none, and the returned value contains the code of each action of "lts"
+		 */
+		private static int[] codes (CompactLTS<State,Transition> lts, Map<Object,Integer> codes)
+		{
+			int[] result = new int[lts.actionsCount()];
+			for (int a = 1; a < lts.actionsCount(); a++)
+			{
+				Integer code = codes.get (lts.getAction (a));
+				if (code == null)
+				{
+					code = codes.size() + 1;
+					codes.put (lts.getAction (a), code);
+				}
+				result[a] = code;
+			}
+			return result;
+		}
+		
+		/**
+		 * Gets a range of variables
+		 * 
+		 * @pre "count" >= 0
+		 * @post The returned value contains the "count" variables "from", "from" + "step"...
+		 */
+		private static int[] range (int from, int count, int step)
+		{
+			int[] result = new int[count];
+			for (int i = 0; i < count; i++)
+			{
+				result[i] = from + i * step;
+			}
+			return result;
+		}
+		
+		/**
+		 * Gets a renaming of variables
+		 * 
+		 * @pre "from", "to" != null
+		 *      "from".length == "to".length
+		 * @post The returned value contains the map of the variables of the manager
+		 *       renaming "from"[i] into "to"[i] and leaving the other variables unchanged
+		 */
+		private int[] rename (int[] from, int[] to)
+		{
+			int[] result = new int[bdd.varsCount()];
+			for (int v = 0; v < result.length; v++)
+			{
+				result[v] = v;
+			}
+			for (int i = 0; i < from.length; i++)
+			{
+				result[from[i]] = to[i];
+			}
+			return result;
+		}
+		
+		/**
+		 * Encodes the transitions of a model
+		 * 
+		 * @pre "lts", "codes", "vars", "primed" != null
+		 *      "codes" contains the code of each action of "lts"
+		 * @post The returned value contains the relation of the visible transitions,
+		 *       over the actions, "vars" and "primed", and the relation of the internal
+		 *       transitions, over "vars" and "primed"
+		 */
+		private int[] relations (CompactLTS<State,Transition> lts, int[] codes, int[] vars, int[] primed)
+		{
+			int visible = BDD.FALSE, tau = BDD.FALSE;
+			int[] targets = new int[lts.statesCount()];
+			for (int s = 0; s < lts.statesCount(); s++)
+			{
+				targets[s] = bdd.encode (s, primed);
+			}
+			for (int s = 0; s < lts.statesCount(); s++)
+			{
+				int internal = BDD.FALSE, external = BDD.FALSE;
+				for (int i = lts.outStart (s); i < lts.outEnd (s); i++)
+				{
+					int a = lts.outAction (i);
+					if (a == CompactLTS.TAU)
+					{
+						internal = bdd.or (internal, targets[lts.outTarget (i)]);
+					}
+					else
+					{
+						external = bdd.or (external, bdd.and (bdd.encode (codes[a], actions), targets[lts.outTarget (i)]));
+					}
+				}
+				int source = bdd.encode (s, vars);
+				tau = bdd.or (tau, bdd.and (source, internal));
+				visible = bdd.or (visible, bdd.and (source, external));
+			}
+			return new int[] {visible, tau};
+		}
+		
+		/**
+		 * Computes the actions weakly enabled in the states of a model
+		 * 
+		 * @pre "visible", "tau" are the relations of the model, "primedCube" is the cube of its primed variables
+		 *      "rename" renames the unprimed variables of the model into the primed ones
+		 * @post The returned value contains the relation between the states of the model and
+		 *       the visible actions they weakly enable
+		 */
+		private int weaklyEnabled (int visible, int tau, int primedCube, int[] rename)
+		{
+			int enabled = bdd.exists (visible, primedCube);
+			int result = enabled;
+			while (true)
+			{
+				int next = bdd.or (enabled, bdd.andExists (tau, bdd.replace (result, rename), primedCube));
+				if (next == result)
+				{
+					return result;
+				}
+				result = next;
+			}
+		}
+		
+		/**
+		 * Tests the full-control criterion on the product
+		 * 
+		 * @pre -
+		 * @post The returned value contains true if all the reachable pairs of the product
+		 *       satisfy the full-control conditions
+		 */
+		public boolean isFullControl()
+		{
+			int systemWeak = weaklyEnabled (systemVisible, systemTau, systemPrimedCube, rename (systemVars, systemPrimed));
+			int mentalWeak = weaklyEnabled (mentalVisible, mentalTau, mentalPrimedCube, rename (mentalVars, mentalPrimed));
+			int commandsDiffer = bdd.and (commands, bdd.xor (systemWeak, mentalWeak));
+			int observationMissing = bdd.and (observations, bdd.diff (systemWeak, mentalWeak));
+			int bad = bdd.exists (bdd.or (commandsDiffer, observationMissing), actionCube);
+			
+			int initial = bdd.and (bdd.encode (0, systemVars), bdd.encode (0, mentalVars));
+			int reached = initial, frontier = initial;
+			while (frontier != BDD.FALSE)
+			{
+				if (bdd.and (frontier, bad) != BDD.FALSE)
+				{
+					return false;
+				}
+				frontier = bdd.diff (successors (frontier), reached);
+				reached = bdd.or (reached, frontier);
+			}
+			return true;
+		}
+		
+		/**
+		 * Computes the successors of a set of pairs
+		 * 
+		 * @pre "pairs" is a set of pairs over the unprimed variables
+		 * @post The returned value contains the set of the pairs that can be reached from
+		 *       "pairs" with an internal transition of one model or a visible action of both
+		 */
+		private int successors (int pairs)
+		{
+			int systemMoves = bdd.replace (bdd.andExists (pairs, systemTau, systemCube), systemRename);
+			int mentalMoves = bdd.replace (bdd.andExists (pairs, mentalTau, mentalCube), mentalRename);
+			int half = bdd.andExists (pairs, systemVisible, systemCube);
+			int both = bdd.andExists (half, mentalVisible, bdd.and (mentalCube, actionCube));
+			int synchronised = bdd.replace (bdd.replace (both, systemRename), mentalRename);
+			return bdd.or (bdd.or (systemMoves, mentalMoves), synchronised);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,298 @@
+// VerdictCache.java
+
+package be.combefis.hmiltsa.algorithms;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import be.combefis.hmiltsa.models.HMILTS;
+
+/**
+ * Persistent cache of full-control verdicts, keyed by the fingerprints of
+ * the system and of the mental model (see HMILTS.fingerprint)
+ * 
+ * The verdicts are kept in memory, in least recently used order, and the
+ * least recently used one is evicted when the cache is full. Each verdict
+ * stored is appended to a log in the directory of the cache, one line per
+ * verdict with both fingerprints and the verdict, so that replaying the log
+ * restores the verdicts and their order. A lookup only reorders the verdicts
+ * in memory, without writing anything: the order is saved when the log is
+ * rewritten with the cached verdicts, in least recently used order, which
+ * is done when it becomes twice as large as the cache and when the cache is
+ * closed after lookups that found a verdict. If the cache is not closed, the
+ * verdicts are kept but the order given by the last lookups is lost.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class VerdictCache implements Closeable
+{
+	// Constants
+	private static final String LOG = "verdicts.log";
+	
+	// Instance variables
+	private final Path directory;
+	private final int capacity;
+	private final LinkedHashMap<String,Boolean> verdicts;
+	private FileChannel log;
+	private int records;
+	private boolean reordered;
+	private long hits, misses;
+	
+	/**
+	 * Opens a cache of verdicts
+	 * 
+	 * @pre "directory" != null
+	 *      "capacity" > 0
+	 * @post An instance of this is created, representing the cache of at most "capacity"
+	 *       verdicts stored in "directory", which has been created if it did not exist
+	 * @throws IOException If "directory" cannot be created, or its log cannot be read or opened
+	 */
+	public VerdictCache (Path directory, int capacity) throws IOException
+	{
+		if (directory == null || capacity <= 0)
+		{
+			throw new InvalidParameterException ("A cache needs a directory and a positive capacity");
+		}
+		this.directory = directory;
+		this.capacity = capacity;
+		verdicts = new LinkedHashMap<String,Boolean> (16, 0.75f, true);
+		
+		Files.createDirectories (directory);
+		Path file = directory.resolve (LOG);
+		if (Files.exists (file))
+		{
+			try (BufferedReader in = Files.newBufferedReader (file, StandardCharsets.UTF_8))
+			{
+				String line;
+				while ((line = in.readLine()) != null)
+				{
+					// A line truncated by an interrupted write is ignored
+					int space = line.lastIndexOf (' ');
+					if (line.indexOf (' ') < space && (line.endsWith (" 0") || line.endsWith (" 1")))
+					{
+						remember (line.substring (0, space), line.charAt (space + 1) == '1');
+						records++;
+					}
+				}
+			}
+		}
+		log = FileChannel.open (file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+	
+	/**
+	 * Gets the directory of the cache
+	 * 
+	 * @pre -
+	 * @post The returned value contains the directory where this cache is stored
+	 */
+	public Path getDirectory()
+	{
+		return directory;
+	}
+	
+	/**
+	 * Gets the capacity of the cache
+	 * 
+	 * @pre -
+	 * @post The returned value contains the maximal number of verdicts of this cache
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+	
+	/**
+	 * Gets the number of verdicts in the cache
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of verdicts stored in this cache
+	 */
+	public synchronized int size()
+	{
+		return verdicts.size();
+	}
+	
+	/**
+	 * Gets the number of lookups answered by the cache
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of lookups which found a verdict
+	 *       in this cache since it has been opened
+	 */
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of lookups not answered by the cache
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of lookups which found no verdict
+	 *       in this cache since it has been opened
+	 */
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+	
+	/**
+	 * Gets a verdict from the cache
+	 * 
+	 * @pre "system", "mental" != null
+	 * @post The returned value contains the cached verdict for the models with fingerprints
+	 *       "system" and "mental", which is now the most recently used, or null if there is none
+	 */
+	public synchronized Boolean get (String system, String mental)
+	{
+		String key = system + " " + mental;
+		Boolean verdict = verdicts.get (key);
+		if (verdict != null)
+		{
+			hits++;
+			reordered = true;
+		}
+		else
+		{
+			misses++;
+		}
+		return verdict;
+	}
+	
+	/**
+	 * Stores a verdict in the cache
+	 * 
+	 * @pre "system", "mental" != null
+	 * @post The verdict for the models with fingerprints "system" and "mental" is "verdict",
+	 *       as the most recently used, the least recently used verdict having been evicted
+	 *       if the cache was full
+	 * @throws IOException If the verdict cannot be written to the log
+	 */
+	public synchronized void put (String system, String mental, boolean verdict) throws IOException
+	{
+		String key = system + " " + mental;
+		remember (key, verdict);
+		append (key, verdict);
+	}
+	
+	/**
+	 * Tests the full-control criterion, using the cached verdict if there is one
+	 * 
+	 * @pre "check", "mental" != null
+	 * @post The returned value contains check.isFullControl("mental"), which has been
+	 *       computed and stored in this cache only if it was not there yet; the verdicts
+	 *       for systems that are not HMI-LTSs (see FCCheck.getSystemModel) and the ones
+	 *       of checks in bitstate mode, which may miss violations, are always computed
+	 *       and never stored
+	 * @throws IOException If a new verdict cannot be written to the log
+	 */
+	public boolean isFullControl (FCCheck check, HMILTS mental) throws IOException
+	{
+		HMILTS system = check.getSystemModel();
+		if (system == null || check.getBitstateMemory() > 0)
+		{
+			return check.isFullControl (mental);
+		}
+		
+		String s = system.fingerprint(), m = mental.fingerprint();
+		Boolean verdict = get (s, m);
+		if (verdict != null)
+		{
+			return verdict;
+		}
+		boolean result = check.isFullControl (mental);
+		put (s, m, result);
+		return result;
+	}
+	
+	/**
+	 * Closes the cache
+	 * 
+	 * @pre -
+	 * @post The log has been rewritten with the cached verdicts if lookups have changed
+	 *       their order since it was last rewritten, and it has been closed
+	 * @throws IOException If the log cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (reordered)
+		{
+			compact();
+		}
+		log.close();
+	}
+	
+	/**
+	 * Stores a verdict in memory
+	 * 
+	 * @pre "key" != null
+	 * @post The verdict for "key" is "verdict", as the most recently used, the least
+	 *       recently used verdict having been evicted if there were too many
+	 */
+	private void remember (String key, boolean verdict)
+	{
+		verdicts.put (key, verdict);
+		if (verdicts.size() > capacity)
+		{
+			verdicts.remove (verdicts.keySet().iterator().next());
+		}
+	}
+	
+	/**
+	 * Appends a verdict to the log, rewriting it if it is too large
+	 * 
+	 * @pre "key" != null
+	 * @post The verdict "verdict" for "key" has been appended to the log, and the
+	 *       log has been rewritten with the cached verdicts if it was too large
+	 * @throws IOException If the log cannot be written
+	 */
+	private void append (String key, boolean verdict) throws IOException
+	{
+		log.write (ByteBuffer.wrap ((key + (verdict ? " 1\n" : " 0\n")).getBytes (StandardCharsets.UTF_8)));
+		records++;
+		if (records > 2 * capacity)
+		{
+			compact();
+		}
+	}
+	
+	/**
+	 * Rewrites the log with the cached verdicts
+	 * 
+	 * @pre -
+	 * @post The log contains one line per cached verdict, in least recently used order,
+	 *       and has replaced the previous log at once
+	 * @throws IOException If the log cannot be written
+	 */
+	private void compact() throws IOException
+	{
+		Path file = directory.resolve (LOG);
+		Path temporary = directory.resolve (LOG + ".tmp");
+		try (BufferedWriter out = Files.newBufferedWriter (temporary, StandardCharsets.UTF_8))
+		{
+			for (Map.Entry<String,Boolean> entry : verdicts.entrySet())
+			{
+				out.write (entry.getKey() + (entry.getValue() ? " 1\n" : " 0\n"));
+			}
+		}
+		log.close();
+		Files.move (temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log = FileChannel.open (file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		records = verdicts.size();
+		reordered = false;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,616 @@
+// BDD.java
+
+package be.combefis.hmiltsa.bdd;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manager of Reduced Ordered Binary Decision Diagrams (BDD)
+ * 
+ * A BDD is represented by the identifier of its root node, nodes being
+ * shared by all the BDDs of the manager. Identifiers FALSE (0) and TRUE (1)
+ * are the two terminal nodes and the other nodes are stored in arrays, with
+ * their variable and their two children. A unique table ensures that two
+ * nodes never have the same variable and children, so that two BDDs
+ * represent the same function if and only if they are the same identifier.
+ * Variables are numbered from 0, in their order in the diagrams.
+ * 
+ * The results of the operations are memorised in a direct-mapped cache,
+ * each entry being overwritten by the next result with the same hash.
+ * Nodes are never freed: a manager is meant to be used for one computation
+ * and then discarded.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class BDD
+{
+	// Constants
+	public static final int FALSE = 0;
+	public static final int TRUE = 1;
+	private static final int AND = 1, OR = 2, XOR = 3, EXISTS = 4, AND_EXISTS = 5, REPLACE = 6;
+	
+	// Instance variables
+	private final int varsCount;
+	private int[] var, low, high;
+	private int count;
+	private int[] buckets, next;
+	private int[] cacheOp, cacheF, cacheG, cacheH, cacheResult;
+	private int replacements;
+	
+	/**
+	 * Creates a new manager
+	 * 
+	 * @pre "varsCount" >= 0
+	 * @post An instance of this is created, representing a manager of BDDs
+	 *       over variables 0 to "varsCount" - 1
+	 */
+	public BDD (int varsCount)
+	{
+		if (varsCount < 0)
+		{
+			throw new InvalidParameterException ("The number of variables cannot be negative");
+		}
+		this.varsCount = varsCount;
+		int capacity = 1 << 10;
+		var = new int[capacity];
+		low = new int[capacity];
+		high = new int[capacity];
+		next = new int[capacity];
+		buckets = new int[capacity];
+		Arrays.fill (buckets, -1);
+		allocateCache (capacity);
+		
+		// Terminal nodes, whose variable is after all the other ones
+		var[FALSE] = var[TRUE] = varsCount;
+		count = 2;
+	}
+	
+	/**
+	 * Gets the number of variables of the manager
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of variables of this manager
+	 */
+	public int varsCount()
+	{
+		return varsCount;
+	}
+	
+	/**
+	 * Gets the number of nodes of the manager
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of nodes created by this manager,
+	 *       terminal nodes included
+	 */
+	public int nodesCount()
+	{
+		return count;
+	}
+	
+	/**
+	 * Gets the BDD of a variable
+	 * 
+	 * @pre 0 <= "v" < varsCount()
+	 * @post The returned value contains the BDD which is true when "v" is true
+	 */
+	public int var (int v)
+	{
+		checkVar (v);
+		return node (v, FALSE, TRUE);
+	}
+	
+	/**
+	 * Gets the BDD of the negation of a variable
+	 * 
+	 * @pre 0 <= "v" < varsCount()
+	 * @post The returned value contains the BDD which is true when "v" is false
+	 */
+	public int nvar (int v)
+	{
+		checkVar (v);
+		return node (v, TRUE, FALSE);
+	}
+	
+	/**
+	 * Gets the conjunction of variables
+	 * 
+	 * @pre "vars" != null
+	 *      the elements of "vars" are between 0 and varsCount() - 1
+	 * @post The returned value contains the BDD which is true when all
+	 *       the variables of "vars" are true
+	 */
+	public int cube (int[] vars)
+	{
+		int[] sorted = vars.clone();
+		Arrays.sort (sorted);
+		int result = TRUE;
+		for (int i = sorted.length - 1; i >= 0; i--)
+		{
+			checkVar (sorted[i]);
+			if (i == sorted.length - 1 || sorted[i] != sorted[i + 1])
+			{
+				result = node (sorted[i], FALSE, result);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the BDD of a value encoded in binary
+	 * 
+	 * @pre "vars" != null
+	 *      the elements of "vars" are distinct and between 0 and varsCount() - 1
+	 *      0 <= "value" < 2^"vars".length
+	 * @post The returned value contains the BDD which is true when variable "vars"[i]
+	 *       is bit i of "value", for every i
+	 */
+	public int encode (int value, int[] vars)
+	{
+		int result = TRUE;
+		for (int i = 0; i < vars.length; i++)
+		{
+			result = and (result, ((value >>> i) & 1) != 0 ? var (vars[i]) : nvar (vars[i]));
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the negation of a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 * @post The returned value contains the BDD of "not f"
+	 */
+	public int not (int f)
+	{
+		return apply (XOR, f, TRUE);
+	}
+	
+	/**
+	 * Gets the conjunction of two BDDs
+	 * 
+	 * @pre "f", "g" are BDDs of this manager
+	 * @post The returned value contains the BDD of "f and g"
+	 */
+	public int and (int f, int g)
+	{
+		return apply (AND, f, g);
+	}
+	
+	/**
+	 * Gets the disjunction of two BDDs
+	 * 
+	 * @pre "f", "g" are BDDs of this manager
+	 * @post The returned value contains the BDD of "f or g"
+	 */
+	public int or (int f, int g)
+	{
+		return apply (OR, f, g);
+	}
+	
+	/**
+	 * Gets the exclusive disjunction of two BDDs
+	 * 
+	 * @pre "f", "g" are BDDs of this manager
+	 * @post The returned value contains the BDD of "f xor g"
+	 */
+	public int xor (int f, int g)
+	{
+		return apply (XOR, f, g);
+	}
+	
+	/**
+	 * Gets the difference of two BDDs
+	 * 
+	 * @pre "f", "g" are BDDs of this manager
+	 * @post The returned value contains the BDD of "f and not g"
+	 */
+	public int diff (int f, int g)
+	{
+		return apply (AND, f, not (g));
+	}
+	
+	/**
+	 * Applies a binary operator to two BDDs
+	 * 
+	 * @pre "op" is AND, OR or XOR
+	 *      "f", "g" are BDDs of this manager
+	 * @post The returned value contains the BDD of "f op g"
+	 */
+	private int apply (int op, int f, int g)
+	{
+		// Terminal cases
+		switch (op)
+		{
+			case AND:
+				if (f == FALSE || g == FALSE)
+				{
+					return FALSE;
+				}
+				if (f == TRUE || f == g)
+				{
+					return g;
+				}
+				if (g == TRUE)
+				{
+					return f;
+				}
+				break;
+			case OR:
+				if (f == TRUE || g == TRUE)
+				{
+					return TRUE;
+				}
+				if (f == FALSE || f == g)
+				{
+					return g;
+				}
+				if (g == FALSE)
+				{
+					return f;
+				}
+				break;
+			default:
+				if (f == g)
+				{
+					return FALSE;
+				}
+				if (f == FALSE)
+				{
+					return g;
+				}
+				if (g == FALSE)
+				{
+					return f;
+				}
+				if (f == TRUE && g == TRUE)
+				{
+					return FALSE;
+				}
+		}
+		
+		// The operators are commutative
+		if (f > g)
+		{
+			int tmp = f;
+			f = g;
+			g = tmp;
+		}
+		int slot = slot (op, f, g, 0);
+		if (cacheOp[slot] == op && cacheF[slot] == f && cacheG[slot] == g)
+		{
+			return cacheResult[slot];
+		}
+		
+		int v = Math.min (var[f], var[g]);
+		int l = apply (op, var[f] == v ? low[f] : f, var[g] == v ? low[g] : g);
+		int h = apply (op, var[f] == v ? high[f] : f, var[g] == v ? high[g] : g);
+		return store (op, f, g, 0, node (v, l, h));
+	}
+	
+	/**
+	 * Quantifies existentially variables of a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 *      "cube" is a conjunction of variables (see cube)
+	 * @post The returned value contains the BDD of "exists vars: f",
+	 *       where vars are the variables of "cube"
+	 */
+	public int exists (int f, int cube)
+	{
+		if (f == FALSE || f == TRUE)
+		{
+			return f;
+		}
+		while (var[cube] < var[f])
+		{
+			cube = high[cube];
+		}
+		if (cube == TRUE)
+		{
+			return f;
+		}
+		
+		int slot = slot (EXISTS, f, cube, 0);
+		if (cacheOp[slot] == EXISTS && cacheF[slot] == f && cacheG[slot] == cube)
+		{
+			return cacheResult[slot];
+		}
+		int result;
+		if (var[cube] == var[f])
+		{
+			int l = exists (low[f], high[cube]);
+			result = l == TRUE ? TRUE : or (l, exists (high[f], high[cube]));
+		}
+		else
+		{
+			result = node (var[f], exists (low[f], cube), exists (high[f], cube));
+		}
+		return store (EXISTS, f, cube, 0, result);
+	}
+	
+	/**
+	 * Quantifies existentially variables of a conjunction of two BDDs,
+	 * without building the conjunction (relational product)
+	 * 
+	 * @pre "f", "g" are BDDs of this manager
+	 *      "cube" is a conjunction of variables (see cube)
+	 * @post The returned value contains the BDD of "exists vars: f and g",
+	 *       where vars are the variables of "cube"
+	 */
+	public int andExists (int f, int g, int cube)
+	{
+		if (f == FALSE || g == FALSE)
+		{
+			return FALSE;
+		}
+		if (f == TRUE || f == g)
+		{
+			return exists (g, cube);
+		}
+		if (g == TRUE)
+		{
+			return exists (f, cube);
+		}
+		if (f > g)
+		{
+			int tmp = f;
+			f = g;
+			g = tmp;
+		}
+		
+		int v = Math.min (var[f], var[g]);
+		while (var[cube] < v)
+		{
+			cube = high[cube];
+		}
+		if (cube == TRUE)
+		{
+			return and (f, g);
+		}
+		
+		int slot = slot (AND_EXISTS, f, g, cube);
+		if (cacheOp[slot] == AND_EXISTS && cacheF[slot] == f && cacheG[slot] == g && cacheH[slot] == cube)
+		{
+			return cacheResult[slot];
+		}
+		int f0 = var[f] == v ? low[f] : f, f1 = var[f] == v ? high[f] : f;
+		int g0 = var[g] == v ? low[g] : g, g1 = var[g] == v ? high[g] : g;
+		int result;
+		if (var[cube] == v)
+		{
+			int l = andExists (f0, g0, high[cube]);
+			result = l == TRUE ? TRUE : or (l, andExists (f1, g1, high[cube]));
+		}
+		else
+		{
+			result = node (v, andExists (f0, g0, cube), andExists (f1, g1, cube));
+		}
+		return store (AND_EXISTS, f, g, cube, result);
+	}
+	
+	/**
+	 * Renames the variables of a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 *      "map" != null
+	 *      "map".length == varsCount()
+	 *      the elements of "map" are between 0 and varsCount() - 1
+	 *      "map" is injective on the variables of "f"
+	 * @post The returned value contains the BDD obtained from "f" by replacing
+	 *       each variable v by variable "map"[v]
+	 */
+	public int replace (int f, int[] map)
+	{
+		if (map.length != varsCount)
+		{
+			throw new InvalidParameterException ("The map must give a variable for each variable");
+		}
+		return replace (f, map, ++replacements);
+	}
+	
+	/**
+	 * Renames the variables of a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 *      "map" is a renaming of the variables of "f" identified by "id"
+	 * @post The returned value contains the BDD obtained from "f" by replacing
+	 *       each variable v by variable "map"[v]
+	 */
+	private int replace (int f, int[] map, int id)
+	{
+		if (f == FALSE || f == TRUE)
+		{
+			return f;
+		}
+		int slot = slot (REPLACE, f, id, 0);
+		if (cacheOp[slot] == REPLACE && cacheF[slot] == f && cacheG[slot] == id)
+		{
+			return cacheResult[slot];
+		}
+		
+		// The renamed variable may move, it is combined with the renamed children
+		int v = map[var[f]];
+		int l = replace (low[f], map, id), h = replace (high[f], map, id);
+		int result = v < var[l] && v < var[h] ? node (v, l, h) : or (and (nvar (v), l), and (var (v), h));
+		return store (REPLACE, f, id, 0, result);
+	}
+	
+	/**
+	 * Counts the assignments satisfying a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 * @post The returned value contains the number of assignments
+	 *       of the variables of this manager that satisfy "f"
+	 */
+	public double satCount (int f)
+	{
+		return Math.scalb (satCount (f, new HashMap<Integer,Double>()), var[f]);
+	}
+	
+	/**
+	 * Counts the assignments satisfying a BDD
+	 * 
+	 * @pre "f" is a BDD of this manager
+	 *      "counts" != null
+	 * @post The returned value contains the number of assignments of the variables from
+	 *       the one of "f" which satisfy "f", and "counts" memorises the counts of the nodes
+	 */
+	private double satCount (int f, Map<Integer,Double> counts)
+	{
+		if (f == FALSE || f == TRUE)
+		{
+			return f;
+		}
+		Double result = counts.get (f);
+		if (result == null)
+		{
+			double l = Math.scalb (satCount (low[f], counts), var[low[f]] - var[f] - 1);
+			double h = Math.scalb (satCount (high[f], counts), var[high[f]] - var[f] - 1);
+			result = l + h;
+			counts.put (f, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the node with a variable and two children, which is created if needed
+	 * 
+	 * @pre 0 <= "v" < varsCount()
+	 *      "l", "h" are nodes whose variables are greater than "v"
+	 * @post The returned value contains the node for "if v then h else l"
+	 */
+	private int node (int v, int l, int h)
+	{
+		if (l == h)
+		{
+			return l;
+		}
+		int hash = hash (v, l, h, 0) & (buckets.length - 1);
+		for (int n = buckets[hash]; n >= 0; n = next[n])
+		{
+			if (var[n] == v && low[n] == l && high[n] == h)
+			{
+				return n;
+			}
+		}
+		
+		if (count == var.length)
+		{
+			grow();
+			hash = hash (v, l, h, 0) & (buckets.length - 1);
+		}
+		int n = count++;
+		var[n] = v;
+		low[n] = l;
+		high[n] = h;
+		next[n] = buckets[hash];
+		buckets[hash] = n;
+		return n;
+	}
+	
+	/**
+	 * Doubles the capacity of the node table and of the cache
+	 * 
+	 * @pre -
+	 * @post The node table can contain twice as many nodes, and the cache is empty
+	 */
+	private void grow()
+	{
+		int capacity = var.length * 2;
+		if (capacity < 0)
+		{
+			throw new IllegalStateException ("Too many BDD nodes");
+		}
+		var = Arrays.copyOf (var, capacity);
+		low = Arrays.copyOf (low, capacity);
+		high = Arrays.copyOf (high, capacity);
+		next = new int[capacity];
+		buckets = new int[capacity];
+		Arrays.fill (buckets, -1);
+		for (int n = 2; n < count; n++)
+		{
+			int hash = hash (var[n], low[n], high[n], 0) & (capacity - 1);
+			next[n] = buckets[hash];
+			buckets[hash] = n;
+		}
+		allocateCache (capacity);
+	}
+	
+	/**
+	 * Allocates an empty cache
+	 * 
+	 * @pre "capacity" is a power of 2
+	 * @post The cache is empty and has "capacity" entries
+	 */
+	private void allocateCache (int capacity)
+	{
+		cacheOp = new int[capacity];
+		cacheF = new int[capacity];
+		cacheG = new int[capacity];
+		cacheH = new int[capacity];
+		cacheResult = new int[capacity];
+	}
+	
+	/**
+	 * Gets the entry of the cache of an operation
+	 * 
+	 * @pre -
+	 * @post The returned value contains the index of the entry of the cache for "op" on "f", "g", "h"
+	 */
+	private int slot (int op, int f, int g, int h)
+	{
+		return hash (op, f, g, h) & (cacheOp.length - 1);
+	}
+	
+	/**
+	 * Stores the result of an operation in the cache
+	 * 
+	 * @pre -
+	 * @post "result" has been stored in the cache for "op" on "f", "g", "h"
+	 *       and the returned value contains "result"
+	 */
+	private int store (int op, int f, int g, int h, int result)
+	{
+		// The entry is found again, since the cache grows with the node table
+		int slot = slot (op, f, g, h);
+		cacheOp[slot] = op;
+		cacheF[slot] = f;
+		cacheG[slot] = g;
+		cacheH[slot] = h;
+		cacheResult[slot] = result;
+		return result;
+	}
+	
+	/**
+	 * Hashes four integers
+	 * 
+	 * @pre -
+	 * @post The returned value contains a hash of "a", "b", "c" and "d"
+	 */
+	private static int hash (int a, int b, int c, int d)
+	{
+		int h = a * 0x9E3779B1 + b;
+		h = h * 0x85EBCA77 + c;
+		h = h * 0xC2B2AE3D + d;
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * Checks a variable
+	 * 
+	 * @pre -
+	 * @post An InvalidParameterException has been thrown if "v" is not a variable of this manager
+	 */
+	private void checkVar (int v)
+	{
+		if (v < 0 || v >= varsCount)
+		{
+			throw new InvalidParameterException ("The specified variable (" + v + ") does not belong to this manager");
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+// HMILTSGenerator.java
+
+package be.combefis.hmiltsa.generators;
+
+import java.security.InvalidParameterException;
+import java.util.Random;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTSBuilder;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Seeded generator of random HMI-LTSs
+ * 
+ * A generated HMI-LTS has states named with a prefix followed by their number,
+ * the initial state having number 0. Every state is reachable from the initial
+ * state: state i (i > 0) is first given an incoming transition from a state
+ * with a smaller number, the other transitions having a random source and
+ * destination. Each transition is internal with a given probability (tau ratio),
+ * and is otherwise labelled with a command, with a given probability (command
+ * ratio), or with an observation. A deterministic HMI-LTS has no internal
+ * transition and no state with two outgoing transitions with the same action,
+ * transitions that cannot be added without breaking this being dropped. Two
+ * generators with the same seed and the same parameters generate the same
+ * HMI-LTSs.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class HMILTSGenerator
+{
+	// Instance variables
+	private final Random random;
+	private int statesCount, actionsCount;
+	private double branchingFactor, tauRatio, commandRatio;
+	private String prefix;
+	private boolean deterministic;
+	
+	/**
+	 * Creates a new generator
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, representing a generator seeded with "seed",
+	 *       generating 100 states with a branching factor of 2, a tau ratio of 0.1,
+	 *       a command ratio of 0.5, 4 visible actions, states prefixed with "S"
+	 *       and nondeterministic HMI-LTSs
+	 */
+	public HMILTSGenerator (long seed)
+	{
+		random = new Random (seed);
+		statesCount = 100;
+		actionsCount = 4;
+		branchingFactor = 2;
+		tauRatio = 0.1;
+		commandRatio = 0.5;
+		prefix = "S";
+		deterministic = false;
+	}
+	
+	/**
+	 * Sets the number of states of the generated HMI-LTSs
+	 * 
+	 * @pre "statesCount" > 0
+	 * @post The number of states has been set to "statesCount"
+	 */
+	public void setStatesCount (int statesCount)
+	{
+		if (statesCount <= 0)
+		{
+			throw new InvalidParameterException ("The number of states must be positive");
+		}
+		this.statesCount = statesCount;
+	}
+	
+	/**
+	 * Sets the number of visible actions of the generated HMI-LTSs
+	 * 
+	 * @pre "actionsCount" > 0
+	 * @post The number of visible actions has been set to "actionsCount"
+	 */
+	public void setActionsCount (int actionsCount)
+	{
+		if (actionsCount <= 0)
+		{
+			throw new InvalidParameterException ("The number of actions must be positive");
+		}
+		this.actionsCount = actionsCount;
+	}
+	
+	/**
+	 * Sets the branching factor of the generated HMI-LTSs
+	 * 
+	 * @pre "branchingFactor" >= 1
+	 * @post The average number of outgoing transitions per state has been set to "branchingFactor"
+	 */
+	public void setBranchingFactor (double branchingFactor)
+	{
+		if (! (branchingFactor >= 1))
+		{
+			throw new InvalidParameterException ("The branching factor must be at least 1");
+		}
+		this.branchingFactor = branchingFactor;
+	}
+	
+	/**
+	 * Sets the tau ratio of the generated HMI-LTSs
+	 * 
+	 * @pre 0 <= "tauRatio" <= 1
+	 * @post The probability for a transition to be internal has been set to "tauRatio"
+	 */
+	public void setTauRatio (double tauRatio)
+	{
+		if (! (tauRatio >= 0 && tauRatio <= 1))
+		{
+			throw new InvalidParameterException ("The tau ratio must be between 0 and 1");
+		}
+		this.tauRatio = tauRatio;
+	}
+	
+	/**
+	 * Sets the command ratio of the generated HMI-LTSs
+	 * 
+	 * @pre 0 <= "commandRatio" <= 1
+	 * @post The probability for a visible transition to be labelled
+	 *       with a command has been set to "commandRatio"
+	 */
+	public void setCommandRatio (double commandRatio)
+	{
+		if (! (commandRatio >= 0 && commandRatio <= 1))
+		{
+			throw new InvalidParameterException ("The command ratio must be between 0 and 1");
+		}
+		this.commandRatio = commandRatio;
+	}
+	
+	/**
+	 * Sets the prefix of the names of the states of the generated HMI-LTSs
+	 * 
+	 * @pre "prefix" != null
+	 * @post The prefix of the names of the states has been set to "prefix"
+	 */
+	public void setPrefix (String prefix)
+	{
+		if (prefix == null)
+		{
+			throw new InvalidParameterException ("The prefix cannot be null");
+		}
+		this.prefix = prefix;
+	}
+	
+	/**
+	 * Sets whether the generated HMI-LTSs are deterministic
+	 * 
+	 * @pre -
+	 * @post The generated HMI-LTSs are deterministic if "deterministic" is true,
+	 *       the tau ratio being then ignored
+	 */
+	public void setDeterministic (boolean deterministic)
+	{
+		this.deterministic = deterministic;
+	}
+	
+	/**
+	 * Generates a random HMI-LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains a new random HMI-LTS with the parameters of this generator
+	 *       and about statesCount * branchingFactor transitions (at most if it is deterministic)
+	 */
+	public HMILTS generate()
+	{
+		// Visible actions are named "c" or "o" followed by their number
+		Action[] commands = new Action[actionsCount], observations = new Action[actionsCount];
+		for (int i = 0; i < actionsCount; i++)
+		{
+			commands[i] = new Action ("c" + i, ActionType.COMMAND);
+			observations[i] = new Action ("o" + i, ActionType.OBSERVATION);
+		}
+		Action tau = new Action ("tau", ActionType.TAU);
+		
+		long transitionsCount = Math.max (statesCount - 1, Math.round (statesCount * branchingFactor));
+		LTSBuilder<State,Transition> builder = new LTSBuilder<State,Transition> (statesCount, (int) Math.min (Integer.MAX_VALUE - 8, transitionsCount));
+		for (int s = 0; s < statesCount; s++)
+		{
+			builder.addState (new State (prefix + s));
+		}
+		
+		// used[s * 2 * actionsCount + i] tells whether visible action i is enabled in s
+		Action[] visible = new Action[2 * actionsCount];
+		System.arraycopy (commands, 0, visible, 0, actionsCount);
+		System.arraycopy (observations, 0, visible, actionsCount, actionsCount);
+		boolean[] used = deterministic ? new boolean[statesCount * visible.length] : null;
+		
+		for (long t = 0; t < transitionsCount; t++)
+		{
+			int to = t < statesCount - 1 ? (int) t + 1 : random.nextInt (statesCount);
+			int from = t < statesCount - 1 ? random.nextInt ((int) t + 1) : random.nextInt (statesCount);
+			int a;
+			if (! deterministic && random.nextDouble() < tauRatio)
+			{
+				a = -1;
+			}
+			else
+			{
+				a = (random.nextDouble() < commandRatio ? 0 : actionsCount) + random.nextInt (actionsCount);
+			}
+			
+			if (deterministic)
+			{
+				// Another action, or for the spanning transitions the last state, which has no outgoing transition yet
+				int i = 0;
+				while (i < visible.length && used[from * visible.length + (a + i) % visible.length])
+				{
+					i++;
+				}
+				if (i == visible.length)
+				{
+					if (t >= statesCount - 1)
+					{
+						continue;
+					}
+					from = (int) t;
+					i = 0;
+				}
+				a = (a + i) % visible.length;
+				used[from * visible.length + a] = true;
+			}
+			builder.addTransition (new Transition (a < 0 ? tau : visible[a]), from, to);
+		}
+		return builder.build (HMILTS::new);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,683 @@
+// AutLoader.java
+
+package be.combefis.hmiltsa.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTSBuilder;
+import be.combefis.hmiltsa.models.OffHeapLTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.SymbolTable;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Loader of HMI-LTSs stored in the Aldebaran (.aut) format
+ * 
+ * An Aldebaran file, as written by CADP or exported by LTSA from FSP
+ * specifications, starts with a header "des (initial, transitions, states)"
+ * followed by one line "(from, label, to)" per transition, states being
+ * numbered from 0 and labels being possibly quoted. States are named after
+ * their number.
+ * 
+ * The file is memory-mapped and parsed byte by byte, without creating a
+ * String per line: a String is only created the first time a label is met,
+ * labels being interned in a table of bytes. The type of the action of a label
+ * is given by a naming convention: the tau label denotes internal actions,
+ * labels starting with the command (observation) prefix denote commands
+ * (observations) and the other labels have the default type.
+ * 
+ * Models too large for the heap can be loaded in an OffHeapLTS instead.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class AutLoader
+{
+	// Constants
+	private static final long WINDOW = 1L << 30;
+	
+	// Instance variables
+	private final SymbolTable symbols;
+	private String tauLabel, commandPrefix, observationPrefix;
+	private ActionType defaultType;
+	
+	/**
+	 * Creates a new loader
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, with its own symbol table, "tau" as tau label,
+	 *       "cmd_" as command prefix, "obs_" as observation prefix and COMMAND as default type
+	 */
+	public AutLoader()
+	{
+		this (new SymbolTable());
+	}
+	
+	/**
+	 * Creates a new loader
+	 * 
+	 * @pre "symbols" != null
+	 * @post An instance of this is created, interning states and actions in "symbols",
+	 *       with "tau" as tau label, "cmd_" as command prefix, "obs_" as observation
+	 *       prefix and COMMAND as default type
+	 */
+	public AutLoader (SymbolTable symbols)
+	{
+		this.symbols = symbols;
+		tauLabel = "tau";
+		commandPrefix = "cmd_";
+		observationPrefix = "obs_";
+		defaultType = ActionType.COMMAND;
+	}
+	
+	/**
+	 * Gets the symbol table of the loader
+	 * 
+	 * @pre -
+	 * @post The returned value contains the symbol table in which states and actions are interned
+	 */
+	public SymbolTable getSymbols()
+	{
+		return symbols;
+	}
+	
+	/**
+	 * Sets the label of internal actions
+	 * 
+	 * @pre "tauLabel" != null
+	 * @post Labels equal to "tauLabel" are mapped to TAU actions
+	 */
+	public void setTauLabel (String tauLabel)
+	{
+		if (tauLabel == null)
+		{
+			throw new InvalidParameterException ("The tau label cannot be null");
+		}
+		this.tauLabel = tauLabel;
+	}
+	
+	/**
+	 * Sets the prefix of commands
+	 * 
+	 * @pre "commandPrefix" != null
+	 * @post Labels starting with "commandPrefix" are mapped to COMMAND actions
+	 */
+	public void setCommandPrefix (String commandPrefix)
+	{
+		if (commandPrefix == null)
+		{
+			throw new InvalidParameterException ("The command prefix cannot be null");
+		}
+		this.commandPrefix = commandPrefix;
+	}
+	
+	/**
+	 * Sets the prefix of observations
+	 * 
+	 * @pre "observationPrefix" != null
+	 * @post Labels starting with "observationPrefix" are mapped to OBSERVATION actions
+	 */
+	public void setObservationPrefix (String observationPrefix)
+	{
+		if (observationPrefix == null)
+		{
+			throw new InvalidParameterException ("The observation prefix cannot be null");
+		}
+		this.observationPrefix = observationPrefix;
+	}
+	
+	/**
+	 * Sets the type of the actions whose label follows no convention
+	 * 
+	 * @pre "defaultType" != null
+	 * @post Labels that are not the tau label and that start with no prefix
+	 *       are mapped to actions of type "defaultType"
+	 */
+	public void setDefaultType (ActionType defaultType)
+	{
+		if (defaultType == null)
+		{
+			throw new InvalidParameterException ("The default type cannot be null");
+		}
+		this.defaultType = defaultType;
+	}
+	
+	/**
+	 * Gets the type of the action of a label
+	 * 
+	 * @pre "label" != null
+	 * @post The returned value contains the type of the action of "label"
+	 *       according to the naming convention of this loader, the tau label
+	 *       being checked first and the longest matching prefix being used
+	 */
+	public ActionType getType (String label)
+	{
+		if (label.equals (tauLabel))
+		{
+			return ActionType.TAU;
+		}
+		boolean command = label.startsWith (commandPrefix), observation = label.startsWith (observationPrefix);
+		if (command && observation)
+		{
+			return commandPrefix.length() >= observationPrefix.length() ? ActionType.COMMAND : ActionType.OBSERVATION;
+		}
+		return command ? ActionType.COMMAND : observation ? ActionType.OBSERVATION : defaultType;
+	}
+	
+	/**
+	 * Loads an HMI-LTS from an Aldebaran file
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains the HMI-LTS stored in "file"
+	 * @throws IOException If "file" cannot be read or is not a well-formed Aldebaran file
+	 */
+	public HMILTS load (Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open (file, StandardOpenOption.READ))
+		{
+			return parse (new Input (channel));
+		}
+	}
+	
+	/**
+	 * Loads an HMI-LTS from an Aldebaran file, in off-heap memory
+	 * The initial state is numbered 0, the states numbered below it in the file are
+	 * numbered one more than in the file and the ones above it keep their number, and
+	 * the actions are the ones of the HMI-LTS that would be loaded by load
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains the LTS stored in "file", whose memory must be
+	 *       released by closing it
+	 * @throws IOException If "file" cannot be read or is not a well-formed Aldebaran file
+	 */
+	public OffHeapLTS loadOffHeap (Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open (file, StandardOpenOption.READ))
+		{
+			Input in = new Input (channel);
+			OffHeapLTS lts = new OffHeapLTS();
+			try
+			{
+				parse (in, lts);
+				return lts;
+			}
+			catch (IOException | RuntimeException exception)
+			{
+				lts.close();
+				throw exception;
+			}
+		}
+	}
+	
+	/**
+	 * Parses an HMI-LTS
+	 * 
+	 * @pre "in" != null
+	 * @post The returned value contains the HMI-LTS read from "in"
+	 * @throws IOException If "in" cannot be read or is not a well-formed Aldebaran file
+	 */
+	private HMILTS parse (Input in) throws IOException
+	{
+		Header header = new Header (in);
+		int initial = header.initial, statesCount = header.statesCount;
+		
+		// The initial state is added first to the builder, the other ones keep their order
+		LTSBuilder<State,Transition> builder = new LTSBuilder<State,Transition> (statesCount, (int) Math.min (header.transitionsCount, in.size / 7));
+		builder.addState (symbols.state (Integer.toString (initial)));
+		for (int s = 0; s < statesCount; s++)
+		{
+			if (s != initial)
+			{
+				builder.addState (symbols.state (Integer.toString (s)));
+			}
+		}
+		
+		// Transitions
+		Labels labels = new Labels();
+		int[] edge = new int[2];
+		long count = 0;
+		in.skipSpaces();
+		while (in.peek() >= 0)
+		{
+			Action action = readTransition (in, labels, header, edge);
+			builder.addTransition (new Transition (action), edge[0], edge[1]);
+			count++;
+		}
+		header.check (in, count);
+		return builder.build (HMILTS::new);
+	}
+	
+	/**
+	 * Parses an LTS in off-heap memory
+	 * 
+	 * @pre "in", "lts" != null
+	 *      "lts" only contains its initial state
+	 * @post The states and transitions read from "in" have been added to "lts"
+	 * @throws IOException If "in" cannot be read or is not a well-formed Aldebaran file
+	 */
+	private void parse (Input in, OffHeapLTS lts) throws IOException
+	{
+		Header header = new Header (in);
+		for (int s = 1; s < header.statesCount; s++)
+		{
+			lts.addState();
+		}
+		
+		Labels labels = new Labels();
+		int[] edge = new int[2];
+		long count = 0;
+		in.skipSpaces();
+		while (in.peek() >= 0)
+		{
+			Action action = readTransition (in, labels, header, edge);
+			int a = action.getType() == ActionType.TAU ? CompactLTS.TAU : lts.addAction (action);
+			lts.addTransition (edge[0], a, edge[1]);
+			count++;
+		}
+		header.check (in, count);
+	}
+	
+	/**
+	 * Reads a transition
+	 * 
+	 * @pre "in", "labels", "header" != null
+	 *      "edge".length >= 2
+	 *      the next byte of "in" is not a space
+	 * @post The returned value contains the action of the transition read from "in",
+	 *       "edge" contains the identifiers of its source and destination (see id)
+	 *       and the spaces after the transition have been skipped
+	 * @throws IOException If "in" cannot be read or does not contain a well-formed transition
+	 */
+	private static Action readTransition (Input in, Labels labels, Header header, int[] edge) throws IOException
+	{
+		in.expect ('(');
+		int from = in.readInt();
+		in.expect (',');
+		Action action = labels.get (in.readLabel());
+		in.expect (',');
+		int to = in.readInt();
+		in.expect (')');
+		if (from >= header.statesCount || to >= header.statesCount)
+		{
+			throw in.error ("the states must be smaller than the number of states");
+		}
+		edge[0] = id (from, header.initial);
+		edge[1] = id (to, header.initial);
+		in.skipSpaces();
+		return action;
+	}
+	
+	/**
+	 * Gets the identifier in the builder of a state of the file
+	 * 
+	 * @pre "s", "initial" >= 0
+	 * @post The returned value contains the identifier of state "s" when state "initial"
+	 *       is added first and the other states are added in increasing order
+	 */
+	private static int id (int s, int initial)
+	{
+		return s == initial ? 0 : s < initial ? s + 1 : s;
+	}
+	
+	/**
+	 * Header of an Aldebaran file
+	 * It stores:
+	 * - the initial state
+	 * - the announced number of transitions
+	 * - the number of states
+	 */
+	private static final class Header
+	{
+		// Instance variables
+		private final int initial, statesCount;
+		private final long transitionsCount;
+		
+		/**
+		 * Reads a header
+		 * 
+		 * @pre "in" != null
+		 * @post An instance of this is created, representing the header read from "in"
+		 * @throws IOException If "in" cannot be read or does not start with a well-formed header
+		 */
+		public Header (Input in) throws IOException
+		{
+			in.skipSpaces();
+			in.expect ('d');
+			in.expect ('e');
+			in.expect ('s');
+			in.skipSpaces();
+			in.expect ('(');
+			initial = in.readInt();
+			in.expect (',');
+			transitionsCount = in.readInt();
+			in.expect (',');
+			statesCount = in.readInt();
+			in.expect (')');
+			if (initial >= statesCount)
+			{
+				throw in.error ("the initial state must be smaller than the number of states");
+			}
+		}
+		
+		/**
+		 * Checks the number of transitions announced by the header
+		 * 
+		 * @pre "in" != null
+		 * @post An IOException has been thrown if "count" is not the announced number of transitions
+		 * @throws IOException If "count" is not the announced number of transitions
+		 */
+		public void check (Input in, long count) throws IOException
+		{
+			if (count != transitionsCount)
+			{
+				throw in.error ("the header announces " + transitionsCount + " transitions but the file contains " + count);
+			}
+		}
+	}
+	
+	/**
+	 * Memory-mapped input, read byte by byte
+	 * It stores:
+	 * - the channel of the file and its size
+	 * - the mapped window of the file and its offset in the file
+	 * - a buffer with the bytes of the last label read
+	 * - the current line number
+	 */
+	private static final class Input
+	{
+		// Instance variables
+		private final FileChannel channel;
+		private final long size;
+		private MappedByteBuffer buffer;
+		private long offset;
+		private byte[] label;
+		private int labelLength, line;
+		
+		/**
+		 * Creates a new input
+		 * 
+		 * @pre "channel" != null
+		 * @post An instance of this is created, reading "channel" from its beginning
+		 * @throws IOException If "channel" cannot be mapped
+		 */
+		public Input (FileChannel channel) throws IOException
+		{
+			this.channel = channel;
+			size = channel.size();
+			offset = 0;
+			buffer = channel.map (FileChannel.MapMode.READ_ONLY, 0, Math.min (size, WINDOW));
+			label = new byte[64];
+			line = 1;
+		}
+		
+		/**
+		 * Gets the next byte, without consuming it
+		 * 
+		 * @pre -
+		 * @post The returned value contains the next byte (between 0 and 255), or -1 at the end of the file
+		 * @throws IOException If the next window of the file cannot be mapped
+		 */
+		public int peek() throws IOException
+		{
+			if (! buffer.hasRemaining())
+			{
+				long next = offset + buffer.limit();
+				if (next == size)
+				{
+					return -1;
+				}
+				offset = next;
+				buffer = channel.map (FileChannel.MapMode.READ_ONLY, offset, Math.min (size - offset, WINDOW));
+			}
+			return buffer.get (buffer.position()) & 0xFF;
+		}
+		
+		/**
+		 * Consumes the next byte
+		 * 
+		 * @pre peek() >= 0
+		 * @post The returned value contains the next byte, which has been consumed
+		 */
+		private int next() throws IOException
+		{
+			int b = peek();
+			buffer.position (buffer.position() + 1);
+			if (b == '\n')
+			{
+				line++;
+			}
+			return b;
+		}
+		
+		/**
+		 * Skips the white spaces
+		 * 
+		 * @pre -
+		 * @post The white spaces (including line breaks) starting at the current position have been consumed
+		 * @throws IOException If the next window of the file cannot be mapped
+		 */
+		public void skipSpaces() throws IOException
+		{
+			for (int b = peek(); b == ' ' || b == '\t' || b == '\r' || b == '\n'; b = peek())
+			{
+				next();
+			}
+		}
+		
+		/**
+		 * Consumes an expected character, possibly preceded by spaces
+		 * 
+		 * @pre -
+		 * @post The spaces and "c" have been consumed
+		 * @throws IOException If the next character is not "c"
+		 */
+		public void expect (char c) throws IOException
+		{
+			skipSpaces();
+			if (peek() != c)
+			{
+				throw error ("'" + c + "' expected");
+			}
+			next();
+		}
+		
+		/**
+		 * Reads a non-negative integer, possibly preceded by spaces
+		 * 
+		 * @pre -
+		 * @post The returned value contains the integer that has been consumed
+		 * @throws IOException If there is no integer or if it is too large
+		 */
+		public int readInt() throws IOException
+		{
+			skipSpaces();
+			int b = peek();
+			if (b < '0' || b > '9')
+			{
+				throw error ("integer expected");
+			}
+			long value = 0;
+			for (; b >= '0' && b <= '9'; b = peek())
+			{
+				value = value * 10 + (next() - '0');
+				if (value > Integer.MAX_VALUE)
+				{
+					throw error ("integer too large");
+				}
+			}
+			return (int) value;
+		}
+		
+		/**
+		 * Reads a label, quoted or not, possibly preceded by spaces
+		 * 
+		 * @pre -
+		 * @post The bytes of the label that has been consumed, without its quotes
+		 *       or its trailing spaces, are in the label buffer and the returned value
+		 *       contains this input
+		 * @throws IOException If the label is empty or is not terminated
+		 */
+		public Input readLabel() throws IOException
+		{
+			skipSpaces();
+			labelLength = 0;
+			if (peek() == '"')
+			{
+				next();
+				for (int b = peek(); b != '"'; b = peek())
+				{
+					if (b < 0 || b == '\n')
+					{
+						throw error ("unterminated label");
+					}
+					append (next());
+				}
+				next();
+			}
+			else
+			{
+				for (int b = peek(); b != ','; b = peek())
+				{
+					if (b < 0 || b == '\n')
+					{
+						throw error ("',' expected");
+					}
+					append (next());
+				}
+				while (labelLength > 0 && (label[labelLength - 1] == ' ' || label[labelLength - 1] == '\t'))
+				{
+					labelLength--;
+				}
+				if (labelLength == 0)
+				{
+					throw error ("label expected");
+				}
+			}
+			return this;
+		}
+		
+		/**
+		 * Appends a byte to the label buffer
+		 * 
+		 * @pre -
+		 * @post "b" has been added at the end of the label buffer
+		 */
+		private void append (int b)
+		{
+			if (labelLength == label.length)
+			{
+				label = Arrays.copyOf (label, labelLength * 2);
+			}
+			label[labelLength++] = (byte) b;
+		}
+		
+		/**
+		 * Creates an error at the current line
+		 * 
+		 * @pre "message" != null
+		 * @post The returned value contains an exception with "message" and the current line
+		 */
+		public IOException error (String message)
+		{
+			return new IOException ("Line " + line + ": " + message);
+		}
+	}
+	
+	/**
+	 * Table of the labels met so far, indexed by their bytes
+	 * It stores:
+	 * - the bytes, the hash code and the action of each label
+	 * - an open addressing table of label numbers (shifted by one, 0 denoting a free slot)
+	 */
+	private final class Labels
+	{
+		// Instance variables
+		private byte[][] keys;
+		private int[] hashes;
+		private Action[] actions;
+		private int[] table;
+		private int size;
+		
+		/**
+		 * Creates a new empty table
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, without any label
+		 */
+		public Labels()
+		{
+			keys = new byte[16][];
+			hashes = new int[16];
+			actions = new Action[16];
+			table = new int[32];
+			size = 0;
+		}
+		
+		/**
+		 * Gets the action of the last label read
+		 * 
+		 * @pre "in" != null
+		 * @post The returned value contains the action of the label in the buffer of "in",
+		 *       which has been created and added to this table if it was not in it
+		 */
+		public Action get (Input in)
+		{
+			byte[] label = in.label;
+			int length = in.labelLength;
+			int hash = 1;
+			for (int i = 0; i < length; i++)
+			{
+				hash = 31 * hash + label[i];
+			}
+			
+			int mask = table.length - 1;
+			int slot = hash & mask;
+			for (; table[slot] != 0; slot = (slot + 1) & mask)
+			{
+				int id = table[slot] - 1;
+				if (hashes[id] == hash && Arrays.equals (keys[id], 0, keys[id].length, label, 0, length))
+				{
+					return actions[id];
+				}
+			}
+			
+			String name = new String (label, 0, length, StandardCharsets.UTF_8);
+			if (size == keys.length)
+			{
+				keys = Arrays.copyOf (keys, size * 2);
+				hashes = Arrays.copyOf (hashes, size * 2);
+				actions = Arrays.copyOf (actions, size * 2);
+			}
+			keys[size] = Arrays.copyOf (label, length);
+			hashes[size] = hash;
+			actions[size] = symbols.action (name, getType (name));
+			table[slot] = ++size;
+			if (size * 2 > table.length)
+			{
+				table = new int[table.length * 2];
+				mask = table.length - 1;
+				for (int id = 0; id < size; id++)
+				{
+					int s = hashes[id] & mask;
+					while (table[s] != 0)
+					{
+						s = (s + 1) & mask;
+					}
+					table[s] = id + 1;
+				}
+			}
+			return actions[size - 1];
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,906 @@
+// MappedLTS.java
+
+package be.combefis.hmiltsa.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.IndexedLTS;
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.LTSBuilder;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Read-only LTS stored in a memory-mapped binary file
+ * 
+ * The file contains the compact snapshot of an LTS (see CompactLTS): the
+ * outgoing and ingoing transitions in compressed sparse row form, with the
+ * same identifiers, followed by a string table with the names of the states
+ * and the labels of the transitions and, for an HMI-LTS, the type of the
+ * action of each label. Every section is read in place through views of the
+ * mapped file, so that opening a file does not depend on its size.
+ * 
+ * The LTS is also read through IndexedLTS, so that it can be checked in
+ * place (see FCCheck), without being loaded in the heap. Its transitions
+ * are then identified by their position in the outgoing transitions, and
+ * its actions are the ones of the HMI-LTS it has been written from (or
+ * their labels if it was not an HMI-LTS). The source of a transition and
+ * the ingoing transitions are found by binary searches in the ranges of
+ * the states.
+ * 
+ * All the values are stored in little-endian order, as follows (the ints are
+ * aligned on 4 bytes):
+ * - header: MAGIC, VERSION, flags (HMI = 1), number of states n, number of
+ *   transitions m, number of actions A (TAU included), number of labels L,
+ *   size of the state names, size of the labels
+ * - outStart (n + 1), outTarget (m), outAction (m), outTransition (m)
+ * - inStart (n + 1), inSource (m), inAction (m), inTransition (m)
+ * - label of each transition (m), tau transitions bitmap ((m + 31) / 32)
+ * - label of each action (A, -1 for TAU)
+ * - offsets of the state names (n + 1), offsets of the labels (L + 1)
+ * - type of each label (L bytes, ordinals of ActionType, only for an HMI-LTS)
+ * - state names and labels, encoded in UTF-8
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class MappedLTS implements IndexedLTS
+{
+	// Constants
+	public static final int MAGIC = 0x53544C48;
+	public static final int VERSION = 1;
+	private static final int HMI = 1;
+	private static final int HEADER = 9;
+	
+	// Instance variables
+	private final boolean hmi;
+	private final int statesCount, transitionsCount, actionsCount, labelsCount;
+	private final IntBuffer outStart, outTarget, outAction, outTransition;
+	private final IntBuffer inStart, inSource, inAction, inTransition;
+	private final IntBuffer transitionLabel, tau, actionLabel, stateOffsets, labelOffsets;
+	private final ByteBuffer labelTypes, stateNames, labelNames;
+	private final Object[] actions;
+	private final Map<Object,Integer> actionIds;
+	
+	/**
+	 * Creates a new LTS from a mapped file
+	 * 
+	 * @pre "buffer" != null
+	 * @post An instance of this is created, representing the LTS stored in "buffer"
+	 * @throws IOException If "buffer" does not contain an LTS in the supported format
+	 */
+	private MappedLTS (ByteBuffer buffer) throws IOException
+	{
+		buffer.order (ByteOrder.LITTLE_ENDIAN);
+		if (buffer.capacity() < 4 * HEADER || buffer.getInt (0) != MAGIC)
+		{
+			throw new IOException ("Not an LTS file");
+		}
+		if (buffer.getInt (4) != VERSION)
+		{
+			throw new IOException ("Unsupported version of LTS file: " + buffer.getInt (4));
+		}
+		hmi = (buffer.getInt (8) & HMI) != 0;
+		int n = statesCount = buffer.getInt (12);
+		int m = transitionsCount = buffer.getInt (16);
+		actionsCount = buffer.getInt (20);
+		labelsCount = buffer.getInt (24);
+		int stateBytes = buffer.getInt (28), labelBytes = buffer.getInt (32);
+		
+		long size = size (n, m, actionsCount, labelsCount, hmi, stateBytes, labelBytes);
+		if (n <= 0 || m < 0 || actionsCount <= 0 || labelsCount < 0 || stateBytes < 0 || labelBytes < 0 || size != buffer.capacity())
+		{
+			throw new IOException ("Corrupted LTS file");
+		}
+		
+		int position = 4 * HEADER;
+		outStart = ints (buffer, position, n + 1);
+		outTarget = ints (buffer, position += 4 * (n + 1), m);
+		outAction = ints (buffer, position += 4 * m, m);
+		outTransition = ints (buffer, position += 4 * m, m);
+		inStart = ints (buffer, position += 4 * m, n + 1);
+		inSource = ints (buffer, position += 4 * (n + 1), m);
+		inAction = ints (buffer, position += 4 * m, m);
+		inTransition = ints (buffer, position += 4 * m, m);
+		transitionLabel = ints (buffer, position += 4 * m, m);
+		tau = ints (buffer, position += 4 * m, (m + 31) >>> 5);
+		actionLabel = ints (buffer, position += 4 * ((m + 31) >>> 5), actionsCount);
+		stateOffsets = ints (buffer, position += 4 * actionsCount, n + 1);
+		labelOffsets = ints (buffer, position += 4 * (n + 1), labelsCount + 1);
+		labelTypes = bytes (buffer, position += 4 * (labelsCount + 1), hmi ? labelsCount : 0);
+		stateNames = bytes (buffer, position += hmi ? labelsCount : 0, stateBytes);
+		labelNames = bytes (buffer, position + stateBytes, labelBytes);
+		
+		// The actions are created once, as the ones of the written LTS
+		actions = new Object[actionsCount];
+		actionIds = new HashMap<Object,Integer>();
+		for (int a = 1; a < actionsCount; a++)
+		{
+			int l = actionLabel.get (a);
+			if (l < 0 || l >= labelsCount)
+			{
+				throw new IOException ("Corrupted LTS file");
+			}
+			actions[a] = hmi ? new Action (labelName (l), labelType (l)) : labelName (l);
+			actionIds.put (actions[a], a);
+		}
+	}
+	
+	/**
+	 * Gets the size of a file
+	 * 
+	 * @pre -
+	 * @post The returned value contains the size in bytes of a file storing an LTS with the specified
+	 *       numbers of states, transitions, actions and labels and sizes of the string tables
+	 */
+	private static long size (int n, int m, int actions, int labels, boolean hmi, int stateBytes, int labelBytes)
+	{
+		long ints = HEADER + 2 * (n + 1L) + 7L * m + ((m + 31L) >>> 5) + actions + (n + 1L) + (labels + 1L);
+		return 4 * ints + (hmi ? labels : 0) + stateBytes + labelBytes;
+	}
+	
+	/**
+	 * Gets a view of ints of a buffer
+	 * 
+	 * @pre "buffer" != null
+	 *      the ints are inside "buffer"
+	 * @post The returned value contains a view of the "count" ints starting at "position" in "buffer"
+	 */
+	private static IntBuffer ints (ByteBuffer buffer, int position, int count)
+	{
+		return bytes (buffer, position, 4 * count).order (ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+	}
+	
+	/**
+	 * Gets a view of bytes of a buffer
+	 * 
+	 * @pre "buffer" != null
+	 *      the bytes are inside "buffer"
+	 * @post The returned value contains a view of the "count" bytes starting at "position" in "buffer"
+	 */
+	private static ByteBuffer bytes (ByteBuffer buffer, int position, int count)
+	{
+		return buffer.duplicate().position (position).limit (position + count).slice();
+	}
+	
+	/**
+	 * Opens an LTS file
+	 * 
+	 * @pre "file" != null
+	 * @post The returned value contains the LTS stored in "file", which has been mapped in memory
+	 * @throws IOException If "file" cannot be mapped or does not contain an LTS in the supported format
+	 */
+	public static MappedLTS open (Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open (file, StandardOpenOption.READ))
+		{
+			if (channel.size() > Integer.MAX_VALUE)
+			{
+				throw new IOException ("LTS files larger than 2 GiB are not supported");
+			}
+			return new MappedLTS (channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+	
+	/**
+	 * Writes an LTS in a file
+	 * The states are named after their toString() and the transitions are labelled with their
+	 * toString(), which is the name of their action for an HMI-LTS. For an HMI-LTS, the type of
+	 * the action of each label is also written.
+	 * 
+	 * @pre "lts", "file" != null
+	 * @post The compact snapshot of "lts" has been written in "file", which has been replaced
+	 * @throws IOException If "file" cannot be written
+	 */
+	public static <S,T> void write (LTS<S,T> lts, Path file) throws IOException
+	{
+		CompactLTS<S,T> compact = lts.freeze();
+		boolean hmi = lts instanceof HMILTS;
+		int n = compact.statesCount(), m = compact.transitionsCount(), actions = compact.actionsCount();
+		
+		// String tables
+		byte[][] stateNames = new byte[n][];
+		int stateBytes = 0;
+		for (int s = 0; s < n; s++)
+		{
+			stateNames[s] = String.valueOf (compact.getState (s)).getBytes (StandardCharsets.UTF_8);
+			stateBytes += stateNames[s].length;
+		}
+		
+		Map<String,Integer> labelIds = new HashMap<String,Integer>();
+		int[] transitionLabel = new int[m];
+		byte[][] labelNames = new byte[m][];
+		byte[] labelTypes = new byte[m];
+		int labelBytes = 0;
+		for (int t = 0; t < m; t++)
+		{
+			T transition = compact.getTransition (t);
+			String label = String.valueOf (transition);
+			Integer id = labelIds.get (label);
+			if (id == null)
+			{
+				id = labelIds.size();
+				labelIds.put (label, id);
+				labelNames[id] = label.getBytes (StandardCharsets.UTF_8);
+				labelBytes += labelNames[id].length;
+				if (hmi)
+				{
+					labelTypes[id] = (byte) ((Transition) transition).getAction().getType().ordinal();
+				}
+			}
+			transitionLabel[t] = id;
+		}
+		int labels = labelIds.size();
+		
+		long size = size (n, m, actions, labels, hmi, stateBytes, labelBytes);
+		if (size > Integer.MAX_VALUE)
+		{
+			throw new IOException ("LTS files larger than 2 GiB are not supported");
+		}
+		
+		try (FileChannel channel = FileChannel.open (file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			MappedByteBuffer buffer = channel.map (FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.order (ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt (MAGIC).putInt (VERSION).putInt (hmi ? HMI : 0);
+			buffer.putInt (n).putInt (m).putInt (actions).putInt (labels).putInt (stateBytes).putInt (labelBytes);
+			
+			// Outgoing and ingoing transitions
+			for (int s = 0; s <= n; s++)
+			{
+				buffer.putInt (s < n ? compact.outStart (s) : m);
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.outTarget (i));
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.outAction (i));
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.outTransition (i));
+			}
+			for (int s = 0; s <= n; s++)
+			{
+				buffer.putInt (s < n ? compact.inStart (s) : m);
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.inSource (i));
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.inAction (i));
+			}
+			for (int i = 0; i < m; i++)
+			{
+				buffer.putInt (compact.inTransition (i));
+			}
+			
+			// Labels of the transitions and of the actions
+			for (int t = 0; t < m; t++)
+			{
+				buffer.putInt (transitionLabel[t]);
+			}
+			for (int w = 0; w < (m + 31) >>> 5; w++)
+			{
+				int word = 0;
+				for (int t = w << 5; t < Math.min (m, (w + 1) << 5); t++)
+				{
+					if (lts.isTauTransition (compact.getTransition (t)))
+					{
+						word |= 1 << t;
+					}
+				}
+				buffer.putInt (word);
+			}
+			buffer.putInt (-1);
+			for (int a = 1; a < actions; a++)
+			{
+				buffer.putInt (labelIds.get (String.valueOf (compact.getAction (a))));
+			}
+			
+			// String tables
+			int offset = 0;
+			for (int s = 0; s <= n; s++)
+			{
+				buffer.putInt (offset);
+				offset += s < n ? stateNames[s].length : 0;
+			}
+			offset = 0;
+			for (int l = 0; l <= labels; l++)
+			{
+				buffer.putInt (offset);
+				offset += l < labels ? labelNames[l].length : 0;
+			}
+			if (hmi)
+			{
+				buffer.put (labelTypes, 0, labels);
+			}
+			for (byte[] name : stateNames)
+			{
+				buffer.put (name);
+			}
+			for (int l = 0; l < labels; l++)
+			{
+				buffer.put (labelNames[l]);
+			}
+			buffer.force();
+		}
+	}
+	
+	/**
+	 * Tests whether the LTS is an HMI-LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if this LTS has been written from an HMI-LTS,
+	 *       the types of the actions of its labels being then available
+	 */
+	public boolean isHMI()
+	{
+		return hmi;
+	}
+	
+	/**
+	 * Gets the number of states of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of this LTS
+	 */
+	@Override
+	public int statesCount()
+	{
+		return statesCount;
+	}
+	
+	/**
+	 * Gets the number of transitions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions of this LTS
+	 */
+	@Override
+	public int transitionsCount()
+	{
+		return transitionsCount;
+	}
+	
+	/**
+	 * Gets the number of actions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of actions of this LTS, TAU included
+	 */
+	@Override
+	public int actionsCount()
+	{
+		return actionsCount;
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a", which is an
+	 *       Action for an HMI-LTS and its label otherwise, or null if "a" is TAU
+	 */
+	@Override
+	public Object action (int a)
+	{
+		return actions[a];
+	}
+	
+	/**
+	 * Gets the identifier of an action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of the visible action "a",
+	 *       or -1 if it is not an action of this LTS
+	 */
+	@Override
+	public int actionId (Object a)
+	{
+		Integer id = actionIds.get (a);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * Gets the number of distinct labels of the transitions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of labels of this LTS
+	 */
+	public int labelsCount()
+	{
+		return labelsCount;
+	}
+	
+	/**
+	 * Gets the name of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the name of "s", state 0 being the initial state
+	 */
+	public String stateName (int s)
+	{
+		return string (stateNames, stateOffsets, s);
+	}
+	
+	/**
+	 * Gets a label
+	 * 
+	 * @pre 0 <= "l" < labelsCount()
+	 * @post The returned value contains the label "l"
+	 */
+	public String labelName (int l)
+	{
+		return string (labelNames, labelOffsets, l);
+	}
+	
+	/**
+	 * Gets the type of the action of a label
+	 * 
+	 * @pre 0 <= "l" < labelsCount()
+	 * @post The returned value contains the type of the action of "l",
+	 *       or null if this LTS is not an HMI-LTS
+	 */
+	public ActionType labelType (int l)
+	{
+		return hmi ? ActionType.values()[labelTypes.get (l)] : null;
+	}
+	
+	/**
+	 * Gets the label of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the label of "t"
+	 */
+	public int transitionLabel (int t)
+	{
+		return transitionLabel.get (t);
+	}
+	
+	/**
+	 * Gets the label of an action
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the label of "a", or -1 if "a" is TAU
+	 */
+	public int actionLabel (int a)
+	{
+		return actionLabel.get (a);
+	}
+	
+	/**
+	 * Tests whether a transition is a tau transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains true if "t" has been added as a tau transition
+	 */
+	public boolean isTauTransition (int t)
+	{
+		return (tau.get (t >>> 5) & (1 << t)) != 0;
+	}
+	
+	/**
+	 * Gets the position of the first outgoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position of the first outgoing transition of "s"
+	 */
+	public int outStart (int s)
+	{
+		return outStart.get (s);
+	}
+	
+	/**
+	 * Gets the position following the last outgoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position following the last outgoing transition of "s"
+	 */
+	public int outEnd (int s)
+	{
+		return outStart.get (s + 1);
+	}
+	
+	/**
+	 * Gets the position of the first outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position of the first outgoing transition of "s" with "a",
+	 *       the transitions of "s" with "a" are at positions outStart("s", "a") to outEnd("s", "a") - 1
+	 */
+	public int outStart (int s, int a)
+	{
+		return lowerBound (outAction, outStart.get (s), outStart.get (s + 1), a);
+	}
+	
+	/**
+	 * Gets the position following the last outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position following the last outgoing transition of "s" with "a"
+	 */
+	public int outEnd (int s, int a)
+	{
+		return lowerBound (outAction, outStart.get (s), outStart.get (s + 1), a + 1);
+	}
+	
+	/**
+	 * Gets the destination of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the destination of the outgoing transition at position "i"
+	 */
+	public int outTarget (int i)
+	{
+		return outTarget.get (i);
+	}
+	
+	/**
+	 * Gets the action of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the action of the outgoing transition at position "i"
+	 */
+	public int outAction (int i)
+	{
+		return outAction.get (i);
+	}
+	
+	/**
+	 * Gets the identifier of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the identifier of the outgoing transition at position "i"
+	 */
+	public int outTransition (int i)
+	{
+		return outTransition.get (i);
+	}
+	
+	/**
+	 * Gets the position of the first ingoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position of the first ingoing transition of "s"
+	 */
+	public int inStart (int s)
+	{
+		return inStart.get (s);
+	}
+	
+	/**
+	 * Gets the position following the last ingoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position following the last ingoing transition of "s"
+	 */
+	public int inEnd (int s)
+	{
+		return inStart.get (s + 1);
+	}
+	
+	/**
+	 * Gets the position of the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position of the first ingoing transition of "s" with "a"
+	 */
+	public int inStart (int s, int a)
+	{
+		return lowerBound (inAction, inStart.get (s), inStart.get (s + 1), a);
+	}
+	
+	/**
+	 * Gets the position following the last ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position following the last ingoing transition of "s" with "a"
+	 */
+	public int inEnd (int s, int a)
+	{
+		return lowerBound (inAction, inStart.get (s), inStart.get (s + 1), a + 1);
+	}
+	
+	/**
+	 * Gets the source of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the source of the ingoing transition at position "i"
+	 */
+	public int inSource (int i)
+	{
+		return inSource.get (i);
+	}
+	
+	/**
+	 * Gets the action of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the action of the ingoing transition at position "i"
+	 */
+	public int inAction (int i)
+	{
+		return inAction.get (i);
+	}
+	
+	/**
+	 * Gets the identifier of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the identifier of the ingoing transition at position "i"
+	 */
+	public int inTransition (int i)
+	{
+		return inTransition.get (i);
+	}
+	
+	/**
+	 * Gets the source of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the source state of the outgoing transition at position "t"
+	 */
+	@Override
+	public int transitionSource (int t)
+	{
+		int from = 0, to = statesCount;
+		while (to - from > 1)
+		{
+			int middle = (from + to) >>> 1;
+			if (outStart.get (middle) <= t)
+			{
+				from = middle;
+			}
+			else
+			{
+				to = middle;
+			}
+		}
+		return from;
+	}
+	
+	/**
+	 * Gets the destination of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the destination of the outgoing transition at position "t"
+	 */
+	@Override
+	public int transitionTarget (int t)
+	{
+		return outTarget.get (t);
+	}
+	
+	/**
+	 * Gets the action of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the action of the outgoing transition at position "t"
+	 */
+	@Override
+	public int transitionAction (int t)
+	{
+		return outAction.get (t);
+	}
+	
+	/**
+	 * Gets the first outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position of the first outgoing transition
+	 *       of "s" with "a", or -1 if there is none
+	 */
+	@Override
+	public int firstOut (int s, int a)
+	{
+		int i = outStart (s, a);
+		return i < outStart.get (s + 1) && outAction.get (i) == a ? i : -1;
+	}
+	
+	/**
+	 * Gets the next outgoing transition with the same source and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the position of the next outgoing transition with
+	 *       the source and the action of the one at position "t", or -1 if there is none
+	 */
+	@Override
+	public int nextOut (int t)
+	{
+		// The source is only searched when the next position has the same action
+		int i = t + 1;
+		return i < transitionsCount && outAction.get (i) == outAction.get (t) && i < outStart.get (transitionSource (t) + 1) ? i : -1;
+	}
+	
+	/**
+	 * Gets the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position in the outgoing transitions of the
+	 *       first transition to "s" with "a", or -1 if there is none
+	 */
+	@Override
+	public int firstIn (int s, int a)
+	{
+		int j = inStart (s, a);
+		return j < inStart.get (s + 1) && inAction.get (j) == a ? position (j) : -1;
+	}
+	
+	/**
+	 * Gets the next ingoing transition with the same destination and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the position in the outgoing transitions of the next
+	 *       transition with the destination and the action of the one at position "t",
+	 *       or -1 if there is none
+	 */
+	@Override
+	public int nextIn (int t)
+	{
+		int s = outTarget.get (t), a = outAction.get (t), id = outTransition.get (t);
+		int end = inEnd (s, a);
+		int j = inStart (s, a);
+		while (inTransition.get (j) != id)
+		{
+			j++;
+		}
+		return j + 1 < end ? position (j + 1) : -1;
+	}
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      "result" != null
+	 *      "result".length >= actionsCount()
+	 * @post The identifiers of the distinct actions of the outgoing transitions of "s",
+	 *       TAU included, have been stored at the beginning of "result" and the returned
+	 *       value contains their number
+	 */
+	@Override
+	public int enabledActions (int s, int[] result)
+	{
+		int count = 0;
+		for (int i = outStart.get (s); i < outStart.get (s + 1); i++)
+		{
+			int a = outAction.get (i);
+			if (count == 0 || result[count - 1] != a)
+			{
+				result[count++] = a;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the position in the outgoing transitions of an ingoing transition
+	 * 
+	 * @pre 0 <= "j" < transitionsCount()
+	 * @post The returned value contains the position in the outgoing transitions
+	 *       of the ingoing transition at position "j"
+	 */
+	private int position (int j)
+	{
+		int s = inSource.get (j), a = inAction.get (j), id = inTransition.get (j);
+		int i = outStart (s, a);
+		while (outTransition.get (i) != id)
+		{
+			i++;
+		}
+		return i;
+	}
+	
+	/**
+	 * Builds an HMI-LTS from the LTS
+	 * 
+	 * @pre isHMI()
+	 * @post The returned value contains a new HMI-LTS with the states and the transitions of this LTS,
+	 *       with the same identifiers
+	 */
+	public HMILTS toHMILTS()
+	{
+		if (! hmi)
+		{
+			throw new UnsupportedOperationException ("The types of the actions are only stored for HMI-LTSs");
+		}
+		
+		LTSBuilder<State,Transition> builder = new LTSBuilder<State,Transition> (statesCount, transitionsCount);
+		for (int s = 0; s < statesCount; s++)
+		{
+			builder.addState (new State (stateName (s)));
+		}
+		
+		Action[] actions = new Action[labelsCount];
+		for (int l = 0; l < labelsCount; l++)
+		{
+			actions[l] = new Action (labelName (l), labelType (l));
+		}
+		int[] from = new int[transitionsCount], to = new int[transitionsCount];
+		for (int s = 0; s < statesCount; s++)
+		{
+			for (int i = outStart (s); i < outEnd (s); i++)
+			{
+				from[outTransition (i)] = s;
+				to[outTransition (i)] = outTarget (i);
+			}
+		}
+		for (int t = 0; t < transitionsCount; t++)
+		{
+			Transition transition = new Transition (actions[transitionLabel (t)]);
+			if (isTauTransition (t))
+			{
+				builder.addTauTransition (transition, from[t], to[t]);
+			}
+			else
+			{
+				builder.addTransition (transition, from[t], to[t]);
+			}
+		}
+		return builder.build (HMILTS::new);
+	}
+	
+	/**
+	 * Decodes a string of a string table
+	 * 
+	 * @pre "bytes", "offsets" != null
+	 *      0 <= "i" < "offsets".limit() - 1
+	 * @post The returned value contains the string "i" of the table
+	 */
+	private static String string (ByteBuffer bytes, IntBuffer offsets, int i)
+	{
+		int from = offsets.get (i), to = offsets.get (i + 1);
+		byte[] result = new byte[to - from];
+		bytes.get (from, result);
+		return new String (result, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Finds the first position of a range with an action greater than or equal to a key
+	 * 
+	 * @pre "actions" != null
+	 *      the values of "actions" between "from" and "to" - 1 are sorted
+	 * @post The returned value contains the first position i between "from" and "to"
+	 *       such that "actions"[i] >= "key", or "to" if there is none
+	 */
+	private static int lowerBound (IntBuffer actions, int from, int to, int key)
+	{
+		while (from < to)
+		{
+			int middle = (from + to) >>> 1;
+			if (actions.get (middle) < key)
+			{
+				from = middle + 1;
+			}
+			else
+			{
+				to = middle;
+			}
+		}
+		return from;
+	}
+}
\ No newline at end of file
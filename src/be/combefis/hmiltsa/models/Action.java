@@ -6,13 +6,14 @@ package be.combefis.hmiltsa.models;
  * Action that is used to label the transitions of an HMI-LTS
  * 
  *  @author Sébastien Combéfis
- *  @version February 28, 2015
+ *  @version October 18, 2026
  */
 public final class Action
 {
 	// Instance variables
 	private final String name;
 	private final ActionType type;
+	private final int id;
 	
 	/**
 	 * Creates a new action
@@ -21,9 +22,23 @@ public final class Action
 	 * @post An instance of this is created with the specified "name" and "type"
 	 */
 	public Action (String name, ActionType type)
+	{
+		this (name, type, -1);
+	}
+	
+	/**
+	 * Creates a new interned action
+	 * 
+	 * @pre "name", "type" != null
+	 *      "id" >= 0
+	 * @post An instance of this is created with the specified "name" and "type"
+	 *       and with the identifier "id" in its symbol table
+	 */
+	Action (String name, ActionType type, int id)
 	{
 		this.name = name;
 		this.type = type;
+		this.id = id;
 	}
 	
 	/**
@@ -48,6 +63,18 @@ public final class Action
 		return type;
 	}
 	
+	/**
+	 * Gets the identifier of the action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the dense identifier of this action
+	 *       in the symbol table that created it, or -1 if it has not been interned
+	 */
+	public int getId()
+	{
+		return id;
+	}
+	
 	@Override
 	public String toString()
 	{
@@ -64,4 +91,10 @@ public final class Action
 		}
 		return false;
 	}
+	
+	@Override
+	public int hashCode()
+	{
+		return name.hashCode();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,596 @@
+// CompactLTS.java
+
+package be.combefis.hmiltsa.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable compact snapshot of an LTS, obtained with LTS.freeze()
+ * 
+ * States, actions and transitions are identified by dense integers. States
+ * and transitions keep the identifiers they have in the LTS, the initial
+ * state having identifier 0. Actions are numbered from 1 in the order in
+ * which they first appear, identifier TAU (0) being reserved for all the
+ * internal transitions. The transitions are stored in compressed sparse
+ * row form: the outgoing (resp. ingoing) transitions of a state are
+ * contiguous and sorted by action, so that the transitions of a state with
+ * a given action form a contiguous range.
+ * 
+ * The transitions can also be visited by identifier, through IndexedLTS,
+ * the position of each transition in both orders being recorded.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class CompactLTS<S,T> implements IndexedLTS
+{
+	// Constants
+	public static final int TAU = 0;
+	
+	// Instance variables
+	private final Object[] states, transitions, actions;
+	private final Map<Object,Integer> actionsMap;
+	private final int[] outStart, outTarget, outAction, outTransition;
+	private final int[] inStart, inSource, inAction, inTransition;
+	private final int[] source, outPosition, inPosition;
+	private final long[] tau;
+	private volatile TauClosure closure;
+	
+	/**
+	 * Creates a new compact LTS
+	 * 
+	 * @pre "states", "transitions", "actions", "from", "to", "action" != null
+	 *      "actions"[TAU] == null
+	 *      "from", "to" and "action" have the same length as "transitions"
+	 *      the values of "from" and "to" are identifiers of "states"
+	 *      the values of "action" are identifiers of "actions"
+	 * @post An instance of this is created, representing the LTS with the
+	 *       specified states and actions and whose transition i is labelled
+	 *       "transitions"[i] and goes from "from"[i] to "to"[i] with "action"[i]
+	 */
+	CompactLTS (Object[] states, Object[] transitions, Object[] actions, int[] from, int[] to, int[] action)
+	{
+		this.states = states;
+		this.transitions = transitions;
+		this.actions = actions;
+		
+		actionsMap = new HashMap<Object,Integer>();
+		for (int a = 1; a < actions.length; a++)
+		{
+			actionsMap.put (actions[a], a);
+		}
+		
+		int m = transitions.length;
+		source = from;
+		tau = new long[(m + 63) >>> 6];
+		for (int t = 0; t < m; t++)
+		{
+			if (action[t] == TAU)
+			{
+				tau[t >>> 6] |= 1L << t;
+			}
+		}
+		
+		// Transitions sorted by action, then stably by source (resp. destination)
+		int[] byAction = sort (identity (m), action, actions.length);
+		outStart = new int[states.length + 1];
+		outTransition = sort (byAction, from, outStart);
+		outTarget = new int[m];
+		outAction = new int[m];
+		outPosition = new int[m];
+		for (int i = 0; i < m; i++)
+		{
+			outTarget[i] = to[outTransition[i]];
+			outAction[i] = action[outTransition[i]];
+			outPosition[outTransition[i]] = i;
+		}
+		
+		inStart = new int[states.length + 1];
+		inTransition = sort (byAction, to, inStart);
+		inSource = new int[m];
+		inAction = new int[m];
+		inPosition = new int[m];
+		for (int i = 0; i < m; i++)
+		{
+			inSource[i] = from[inTransition[i]];
+			inAction[i] = action[inTransition[i]];
+			inPosition[inTransition[i]] = i;
+		}
+	}
+	
+	/**
+	 * Gets the identity permutation
+	 * 
+	 * @pre "n" >= 0
+	 * @post The returned value contains the array [0, 1, ..., "n" - 1]
+	 */
+	private static int[] identity (int n)
+	{
+		int[] result = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			result[i] = i;
+		}
+		return result;
+	}
+	
+	/**
+	 * Stably sorts transitions according to a key, with a counting sort
+	 * 
+	 * @pre "order", "key" != null
+	 *      the values of "key" are between 0 and "keys" - 1
+	 * @post The returned value contains the elements of "order" stably sorted by "key"
+	 */
+	private static int[] sort (int[] order, int[] key, int keys)
+	{
+		return sort (order, key, new int[keys + 1]);
+	}
+	
+	/**
+	 * Stably sorts transitions according to a key, with a counting sort
+	 * 
+	 * @pre "order", "key", "start" != null
+	 *      the values of "key" are between 0 and "start".length - 2
+	 * @post The returned value contains the elements of "order" stably sorted by "key",
+	 *       "start"[k] contains the position of the first element with key k
+	 *       and "start"["start".length - 1] contains the number of elements
+	 */
+	private static int[] sort (int[] order, int[] key, int[] start)
+	{
+		for (int t : order)
+		{
+			start[key[t] + 1]++;
+		}
+		for (int k = 1; k < start.length; k++)
+		{
+			start[k] += start[k - 1];
+		}
+		
+		int[] next = start.clone();
+		int[] result = new int[order.length];
+		for (int t : order)
+		{
+			result[next[key[t]]++] = t;
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the number of states of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of this LTS
+	 */
+	@Override
+	public int statesCount()
+	{
+		return states.length;
+	}
+	
+	/**
+	 * Gets the number of transitions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions of this LTS
+	 */
+	@Override
+	public int transitionsCount()
+	{
+		return transitions.length;
+	}
+	
+	/**
+	 * Gets the number of actions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of actions of this LTS,
+	 *       including the TAU action
+	 */
+	@Override
+	public int actionsCount()
+	{
+		return actions.length;
+	}
+	
+	/**
+	 * Gets the state with a given identifier
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the state whose identifier is "s"
+	 */
+	@SuppressWarnings ("unchecked")
+	public S getState (int s)
+	{
+		return (S) states[s];
+	}
+	
+	/**
+	 * Gets the transition with a given identifier
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the transition whose identifier is "t"
+	 */
+	@SuppressWarnings ("unchecked")
+	public T getTransition (int t)
+	{
+		return (T) transitions[t];
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a",
+	 *       or null if "a" is TAU
+	 */
+	public Object getAction (int a)
+	{
+		return actions[a];
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a",
+	 *       or null if "a" is TAU (see getAction)
+	 */
+	@Override
+	public Object action (int a)
+	{
+		return actions[a];
+	}
+	
+	/**
+	 * Gets the identifier of an action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of the visible action "a",
+	 *       or -1 if "a" does not label any visible transition of this LTS
+	 */
+	@Override
+	public int actionId (Object a)
+	{
+		Integer id = actionsMap.get (a);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * Tests whether a transition is internal
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains true if the transition "t" is labelled with TAU
+	 */
+	public boolean isTauTransition (int t)
+	{
+		return (tau[t >>> 6] & (1L << t)) != 0;
+	}
+	
+	/**
+	 * Gets the tau-closure of the LTS
+	 * The closure is computed at the first call and then cached
+	 * 
+	 * @pre -
+	 * @post The returned value contains the tau-closure of this LTS
+	 */
+	public TauClosure tauClosure()
+	{
+		TauClosure result = closure;
+		if (result == null)
+		{
+			result = new TauClosure (this);
+			closure = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the position of the first outgoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position of the first outgoing transition of "s",
+	 *       the outgoing transitions of "s" are at positions outStart("s") to outEnd("s") - 1
+	 */
+	public int outStart (int s)
+	{
+		return outStart[s];
+	}
+	
+	/**
+	 * Gets the position following the last outgoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position following the last outgoing transition of "s"
+	 */
+	public int outEnd (int s)
+	{
+		return outStart[s + 1];
+	}
+	
+	/**
+	 * Gets the position of the first outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position of the first outgoing transition
+	 *       of "s" with action "a", the outgoing transitions of "s" with action "a"
+	 *       are at positions outStart("s", "a") to outEnd("s", "a") - 1
+	 */
+	public int outStart (int s, int a)
+	{
+		return lowerBound (outAction, outStart[s], outStart[s + 1], a);
+	}
+	
+	/**
+	 * Gets the position following the last outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position following the last outgoing
+	 *       transition of "s" with action "a"
+	 */
+	public int outEnd (int s, int a)
+	{
+		return lowerBound (outAction, outStart[s], outStart[s + 1], a + 1);
+	}
+	
+	/**
+	 * Gets the destination of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the destination state of the outgoing transition at position "i"
+	 */
+	public int outTarget (int i)
+	{
+		return outTarget[i];
+	}
+	
+	/**
+	 * Gets the action of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the action of the outgoing transition at position "i"
+	 */
+	public int outAction (int i)
+	{
+		return outAction[i];
+	}
+	
+	/**
+	 * Gets the identifier of an outgoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the identifier of the outgoing transition at position "i"
+	 */
+	public int outTransition (int i)
+	{
+		return outTransition[i];
+	}
+	
+	/**
+	 * Gets the position of the first ingoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position of the first ingoing transition of "s",
+	 *       the ingoing transitions of "s" are at positions inStart("s") to inEnd("s") - 1
+	 */
+	public int inStart (int s)
+	{
+		return inStart[s];
+	}
+	
+	/**
+	 * Gets the position following the last ingoing transition of a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the position following the last ingoing transition of "s"
+	 */
+	public int inEnd (int s)
+	{
+		return inStart[s + 1];
+	}
+	
+	/**
+	 * Gets the position of the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position of the first ingoing transition
+	 *       of "s" with action "a", the ingoing transitions of "s" with action "a"
+	 *       are at positions inStart("s", "a") to inEnd("s", "a") - 1
+	 */
+	public int inStart (int s, int a)
+	{
+		return lowerBound (inAction, inStart[s], inStart[s + 1], a);
+	}
+	
+	/**
+	 * Gets the position following the last ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the position following the last ingoing
+	 *       transition of "s" with action "a"
+	 */
+	public int inEnd (int s, int a)
+	{
+		return lowerBound (inAction, inStart[s], inStart[s + 1], a + 1);
+	}
+	
+	/**
+	 * Gets the source of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the source state of the ingoing transition at position "i"
+	 */
+	public int inSource (int i)
+	{
+		return inSource[i];
+	}
+	
+	/**
+	 * Gets the action of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the action of the ingoing transition at position "i"
+	 */
+	public int inAction (int i)
+	{
+		return inAction[i];
+	}
+	
+	/**
+	 * Gets the identifier of an ingoing transition
+	 * 
+	 * @pre 0 <= "i" < transitionsCount()
+	 * @post The returned value contains the identifier of the ingoing transition at position "i"
+	 */
+	public int inTransition (int i)
+	{
+		return inTransition[i];
+	}
+	
+	/**
+	 * Gets the source of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the source state of the transition "t"
+	 */
+	@Override
+	public int transitionSource (int t)
+	{
+		return source[t];
+	}
+	
+	/**
+	 * Gets the destination of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the destination state of the transition "t"
+	 */
+	@Override
+	public int transitionTarget (int t)
+	{
+		return outTarget[outPosition[t]];
+	}
+	
+	/**
+	 * Gets the action of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the action of the transition "t", TAU if it is internal
+	 */
+	@Override
+	public int transitionAction (int t)
+	{
+		return outAction[outPosition[t]];
+	}
+	
+	/**
+	 * Gets the first outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the identifier of the transition at position
+	 *       outStart("s", "a"), or -1 if "s" has no outgoing transition with "a"
+	 */
+	@Override
+	public int firstOut (int s, int a)
+	{
+		int i = outStart (s, a);
+		return i < outStart[s + 1] && outAction[i] == a ? outTransition[i] : -1;
+	}
+	
+	/**
+	 * Gets the next outgoing transition with the same source and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the transition following "t"
+	 *       in the range of its source and action, or -1 if "t" is the last one
+	 */
+	@Override
+	public int nextOut (int t)
+	{
+		int i = outPosition[t] + 1;
+		return i < outStart[source[t] + 1] && outAction[i] == outAction[i - 1] ? outTransition[i] : -1;
+	}
+	
+	/**
+	 * Gets the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the identifier of the transition at position
+	 *       inStart("s", "a"), or -1 if "s" has no ingoing transition with "a"
+	 */
+	@Override
+	public int firstIn (int s, int a)
+	{
+		int i = inStart (s, a);
+		return i < inStart[s + 1] && inAction[i] == a ? inTransition[i] : -1;
+	}
+	
+	/**
+	 * Gets the next ingoing transition with the same destination and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the transition following "t"
+	 *       in the range of its destination and action, or -1 if "t" is the last one
+	 */
+	@Override
+	public int nextIn (int t)
+	{
+		int i = inPosition[t] + 1;
+		return i < inStart[transitionTarget (t) + 1] && inAction[i] == inAction[i - 1] ? inTransition[i] : -1;
+	}
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      "result" != null
+	 *      "result".length >= actionsCount()
+	 * @post The identifiers of the actions of the outgoing transitions of "s", TAU included,
+	 *       have been stored in increasing order at the beginning of "result" and the
+	 *       returned value contains their number
+	 */
+	@Override
+	public int enabledActions (int s, int[] result)
+	{
+		int count = 0;
+		for (int i = outStart[s], end = outStart[s + 1]; i < end; i++)
+		{
+			if (count == 0 || outAction[i] != result[count - 1])
+			{
+				result[count++] = outAction[i];
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Finds the first position of a sorted range whose value is at least a key
+	 * 
+	 * @pre "values" != null
+	 *      "values" is sorted between positions "from" and "to" - 1
+	 * @post The returned value contains the smallest position i between "from" and "to"
+	 *       such that "values"[i] >= "key", or "to" if there is no such position
+	 */
+	private static int lowerBound (int[] values, int from, int to, int key)
+	{
+		while (from < to)
+		{
+			int middle = (from + to) >>> 1;
+			if (values[middle] < key)
+			{
+				from = middle + 1;
+			}
+			else
+			{
+				to = middle;
+			}
+		}
+		return from;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,503 @@
+// Composition.java
+
+package be.combefis.hmiltsa.models;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parallel composition of HMI-LTSs, explored on the fly
+ * 
+ * The components synchronise on their shared actions: a visible action is
+ * taken by all the components whose alphabet contains it at the same time,
+ * and by them only. Internal moves of the components are interleaved.
+ * 
+ * The states of the composition are tuples of states of the components,
+ * given dense identifiers (0 being the initial state) in the order in which
+ * they are discovered. Only the states reached by successors(int) are ever
+ * created, so that the composition never builds the Cartesian product of
+ * its components. The successors of the states can be cached, so that they
+ * are only computed once.
+ * 
+ * An internal move of a component is inert when it is the only outgoing
+ * transition of the state of this component: it is then independent of
+ * all the moves of the other components and does not change the actions
+ * weakly enabled in the composition, which makes it a candidate for the
+ * partial-order reduction of the explorations (see inertSuccessor).
+ * 
+ * A composition is not thread-safe.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class Composition
+{
+	// Constants
+	public static final int INITIAL = 0;
+	
+	// Instance variables
+	private final HMILTS[] components;
+	private final CompactLTS<State,Transition>[] lts;
+	private final List<Object> actions;
+	private final int[][] global, local, participants;
+	private int[] tuples, table;
+	private int count;
+	private int[][] cache;
+	private boolean caching;
+	private final int[] current, next;
+	private int[] buffer;
+	private int size;
+	
+	/**
+	 * Creates the composition of HMI-LTSs
+	 * 
+	 * @pre "components" != null and contains at least one HMI-LTS
+	 *      "components" does not contain null
+	 * @post An instance of this is created, representing the parallel composition
+	 *       of compact snapshots of "components", with caching enabled
+	 */
+	@SuppressWarnings ("unchecked")
+	public Composition (HMILTS... components)
+	{
+		if (components == null || components.length == 0 || Arrays.asList (components).contains (null))
+		{
+			throw new InvalidParameterException ("A composition needs at least one component and no null component");
+		}
+		this.components = components.clone();
+		int k = components.length;
+		lts = (CompactLTS<State,Transition>[]) new CompactLTS<?,?>[k];
+		
+		// Shared alphabet of the components, TAU being reserved
+		Map<Object,Integer> ids = new HashMap<Object,Integer>();
+		actions = new ArrayList<Object>();
+		actions.add (null);
+		global = new int[k][];
+		for (int c = 0; c < k; c++)
+		{
+			lts[c] = components[c].freeze();
+			global[c] = new int[lts[c].actionsCount()];
+			Arrays.fill (global[c], -1);
+			for (int a = 1; a < lts[c].actionsCount(); a++)
+			{
+				Object action = lts[c].getAction (a);
+				if (components[c].getAlphabet().contains (action))
+				{
+					Integer id = ids.get (action);
+					if (id == null)
+					{
+						id = actions.size();
+						ids.put (action, id);
+						actions.add (action);
+					}
+					global[c][a] = id;
+				}
+			}
+		}
+		
+		// Components taking part in each action
+		local = new int[k][actions.size()];
+		int[] counts = new int[actions.size()];
+		for (int c = 0; c < k; c++)
+		{
+			Arrays.fill (local[c], -1);
+			for (int a = 1; a < global[c].length; a++)
+			{
+				if (global[c][a] >= 0)
+				{
+					local[c][global[c][a]] = a;
+					counts[global[c][a]]++;
+				}
+			}
+		}
+		participants = new int[actions.size()][];
+		for (int a = 0; a < actions.size(); a++)
+		{
+			participants[a] = new int[counts[a]];
+			int i = 0;
+			for (int c = 0; c < k; c++)
+			{
+				if (local[c][a] >= 0)
+				{
+					participants[a][i++] = c;
+				}
+			}
+		}
+		
+		tuples = new int[16 * k];
+		table = new int[32];
+		count = 0;
+		cache = new int[16][];
+		caching = true;
+		current = new int[k];
+		next = new int[k];
+		buffer = new int[16];
+		intern (current);
+	}
+	
+	/**
+	 * Gets the number of components of the composition
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of components of this composition
+	 */
+	public int componentsCount()
+	{
+		return components.length;
+	}
+	
+	/**
+	 * Gets a component of the composition
+	 * 
+	 * @pre 0 <= "c" < componentsCount()
+	 * @post The returned value contains the component "c" of this composition
+	 */
+	public HMILTS getComponent (int c)
+	{
+		return components[c];
+	}
+	
+	/**
+	 * Tests whether the successors of the states are cached
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if the successors of the states
+	 *       of this composition are only computed once
+	 */
+	public boolean isCaching()
+	{
+		return caching;
+	}
+	
+	/**
+	 * Sets whether the successors of the states are cached
+	 * 
+	 * @pre -
+	 * @post The successors of the states of this composition will be cached if "caching"
+	 *       is true, and otherwise the cached successors have been released
+	 */
+	public void setCaching (boolean caching)
+	{
+		this.caching = caching;
+		if (! caching)
+		{
+			Arrays.fill (cache, null);
+		}
+	}
+	
+	/**
+	 * Gets the number of states of the composition discovered so far
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of this composition
+	 *       which have been reached by successors(int) so far, including the initial state
+	 */
+	public int statesCount()
+	{
+		return count;
+	}
+	
+	/**
+	 * Gets the state of a component in a state of the composition
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "c" < componentsCount()
+	 * @post The returned value contains the state of the component "c" in the state "s"
+	 */
+	public State getState (int s, int c)
+	{
+		return lts[c].getState (tuples[s * components.length + c]);
+	}
+	
+	/**
+	 * Gets the name of a state of the composition
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the names of the states of the components
+	 *       in "s", separated by commas and between parentheses
+	 */
+	public String getStateName (int s)
+	{
+		StringBuilder builder = new StringBuilder ("(");
+		for (int c = 0; c < components.length; c++)
+		{
+			builder.append (c == 0 ? "" : ",").append (getState (s, c).getName());
+		}
+		return builder.append (")").toString();
+	}
+	
+	/**
+	 * Gets the number of actions of the composition
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of actions of this composition,
+	 *       including the TAU action
+	 */
+	public int actionsCount()
+	{
+		return actions.size();
+	}
+	
+	/**
+	 * Gets an action of the composition
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action with identifier "a",
+	 *       or null if "a" is CompactLTS.TAU
+	 */
+	public Object getAction (int a)
+	{
+		return actions.get (a);
+	}
+	
+	/**
+	 * Gets the successors of a state of the composition
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the transitions from "s", the action of the i-th
+	 *       transition at index 2i and its destination at index 2i + 1, the internal moves
+	 *       (labelled CompactLTS.TAU) coming first, and the destinations have been added
+	 *       to the states of this composition; the returned array must not be modified
+	 */
+	public int[] successors (int s)
+	{
+		if (s < cache.length && cache[s] != null)
+		{
+			return cache[s];
+		}
+		
+		int k = components.length;
+		System.arraycopy (tuples, s * k, current, 0, k);
+		System.arraycopy (current, 0, next, 0, k);
+		size = 0;
+		
+		// Internal moves of each component
+		for (int c = 0; c < k; c++)
+		{
+			for (int j = lts[c].outStart (current[c]), end = lts[c].outEnd (current[c], CompactLTS.TAU); j < end; j++)
+			{
+				next[c] = lts[c].outTarget (j);
+				add (CompactLTS.TAU, intern (next));
+			}
+			next[c] = current[c];
+		}
+		
+		// Visible moves, each action being handled by the first component taking part in it
+		for (int c = 0; c < k; c++)
+		{
+			int j = lts[c].outEnd (current[c], CompactLTS.TAU), end = lts[c].outEnd (current[c]);
+			while (j < end)
+			{
+				int a = global[c][lts[c].outAction (j)];
+				if (a >= 0 && participants[a][0] == c && isEnabled (a))
+				{
+					synchronise (a, 0);
+				}
+				j = lts[c].outEnd (current[c], lts[c].outAction (j));
+			}
+		}
+		
+		int[] result = Arrays.copyOf (buffer, size);
+		if (caching)
+		{
+			if (s >= cache.length)
+			{
+				cache = Arrays.copyOf (cache, Math.max (s + 1, 2 * cache.length));
+			}
+			cache[s] = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the destination of an inert internal move from a state of the composition
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the destination of the internal move of the first
+	 *       component whose state in "s" has this move as its only outgoing transition,
+	 *       which has been added to the states of this composition, or -1 if there is none
+	 */
+	public int inertSuccessor (int s)
+	{
+		int k = components.length;
+		for (int c = 0; c < k; c++)
+		{
+			int x = tuples[s * k + c];
+			int j = lts[c].outStart (x);
+			if (lts[c].outEnd (x) == j + 1 && lts[c].outEnd (x, CompactLTS.TAU) == j + 1)
+			{
+				System.arraycopy (tuples, s * k, next, 0, k);
+				next[c] = lts[c].outTarget (j);
+				return intern (next);
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Gets the reachable part of the composition as an HMI-LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains an HMI-LTS with the reachable states and the
+	 *       transitions of this composition, each state being named after the states
+	 *       of the components, and each internal move being labelled with an internal action
+	 */
+	public HMILTS toHMILTS()
+	{
+		Action tau = new Action ("tau", ActionType.TAU);
+		List<State> states = new ArrayList<State>();
+		states.add (new State (getStateName (INITIAL)));
+		HMILTS result = new HMILTS (states.get (INITIAL));
+		for (int s = 0; s < count; s++)
+		{
+			int[] out = successors (s);
+			while (states.size() < count)
+			{
+				states.add (new State (getStateName (states.size())));
+				result.addState (states.get (states.size() - 1));
+			}
+			for (int i = 0; i < out.length; i += 2)
+			{
+				Action action = out[i] == CompactLTS.TAU ? tau : (Action) getAction (out[i]);
+				result.addTransition (new Transition (action), states.get (s), states.get (out[i + 1]));
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Tests whether a visible action is enabled in the current state
+	 * 
+	 * @pre 0 < "a" < actionsCount()
+	 * @post The returned value contains true if all the components taking part in "a"
+	 *       can take it from their state in current
+	 */
+	private boolean isEnabled (int a)
+	{
+		for (int c : participants[a])
+		{
+			if (lts[c].outStart (current[c], local[c][a]) == lts[c].outEnd (current[c], local[c][a]))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Adds the synchronised moves on a visible action from the current state
+	 * 
+	 * @pre 0 < "a" < actionsCount()
+	 *      0 <= "i" <= participants["a"].length
+	 *      next contains the destinations of the first "i" components taking part in "a",
+	 *      and the states of current for the other components
+	 * @post A transition with "a" to each combination of the destinations of the
+	 *       remaining components taking part in "a" has been added to buffer
+	 */
+	private void synchronise (int a, int i)
+	{
+		if (i == participants[a].length)
+		{
+			add (a, intern (next));
+			return;
+		}
+		
+		int c = participants[a][i];
+		for (int j = lts[c].outStart (current[c], local[c][a]), end = lts[c].outEnd (current[c], local[c][a]); j < end; j++)
+		{
+			next[c] = lts[c].outTarget (j);
+			synchronise (a, i + 1);
+		}
+		next[c] = current[c];
+	}
+	
+	/**
+	 * Adds a transition to the buffer
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 *      0 <= "t" < statesCount()
+	 * @post The transition with "a" to "t" has been added at the end of buffer
+	 */
+	private void add (int a, int t)
+	{
+		if (size + 2 > buffer.length)
+		{
+			buffer = Arrays.copyOf (buffer, 2 * buffer.length);
+		}
+		buffer[size++] = a;
+		buffer[size++] = t;
+	}
+	
+	/**
+	 * Gets the identifier of a state of the composition, adding it if needed
+	 * 
+	 * @pre "tuple" != null
+	 *      "tuple" contains one state for each component
+	 * @post The returned value contains the identifier of the state "tuple",
+	 *       which has been added to this composition if it was not there yet
+	 */
+	private int intern (int[] tuple)
+	{
+		int k = components.length;
+		int mask = table.length - 1;
+		for (int i = hash (tuple) & mask; ; i = (i + 1) & mask)
+		{
+			if (table[i] == 0)
+			{
+				if (2 * (count + 1) > table.length)
+				{
+					rehash();
+					return intern (tuple);
+				}
+				if ((count + 1) * k > tuples.length)
+				{
+					tuples = Arrays.copyOf (tuples, 2 * tuples.length);
+				}
+				System.arraycopy (tuple, 0, tuples, count * k, k);
+				table[i] = ++count;
+				return count - 1;
+			}
+			if (Arrays.equals (tuples, (table[i] - 1) * k, table[i] * k, tuple, 0, k))
+			{
+				return table[i] - 1;
+			}
+		}
+	}
+	
+	/**
+	 * Doubles the size of the hash table of the states
+	 * 
+	 * @pre -
+	 * @post table is twice as large and contains all the states of this composition
+	 */
+	private void rehash()
+	{
+		int k = components.length;
+		table = new int[2 * table.length];
+		int mask = table.length - 1;
+		for (int s = 0; s < count; s++)
+		{
+			int i = hash (Arrays.copyOfRange (tuples, s * k, (s + 1) * k)) & mask;
+			while (table[i] != 0)
+			{
+				i = (i + 1) & mask;
+			}
+			table[i] = s + 1;
+		}
+	}
+	
+	/**
+	 * Computes the hash of a state of the composition
+	 * 
+	 * @pre "tuple" != null
+	 * @post The returned value contains a hash of "tuple", with mixed bits
+	 */
+	private static int hash (int[] tuple)
+	{
+		int h = Arrays.hashCode (tuple) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
\ No newline at end of file
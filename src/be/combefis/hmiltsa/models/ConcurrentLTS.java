@@ -0,0 +1,388 @@
+// ConcurrentLTS.java
+
+package be.combefis.hmiltsa.models;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Labelled Transition System (LTS) that can be filled by several threads
+ * - S labels the states
+ * - T labels the transitions
+ * 
+ * States and transitions can be added concurrently, with the preconditions
+ * of LTS.addState, addTransition and addTauTransition being checked at once:
+ * states and transitions are recorded in concurrent sets, which only lock a
+ * bin of their table on insertion, and tau transitions are recorded by pair
+ * of states in a set updated with compare-and-set. The states are given
+ * identifiers in the order of their addition, the first one being the
+ * initial state. Each thread appends its transitions to its own buffer, so
+ * that threads do not share anything else.
+ * 
+ * Once all the threads are done, the LTS is sealed into a compact snapshot
+ * or into an LTS, built in one pass as by LTSBuilder, and cannot be changed
+ * anymore. The transitions added by a thread keep their order, the buffers
+ * of the threads being concatenated in the order of their first transition.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class ConcurrentLTS<S,T>
+{
+	// Instance variables
+	private final Map<S,Integer> stateIds;
+	private final AtomicInteger statesCount;
+	private final Set<T> transitions;
+	private final ConcurrentLongSet tauPairs;
+	private final ThreadLocal<Buffer> buffer;
+	private final Queue<Buffer> buffers;
+	private volatile boolean sealed;
+	
+	/**
+	 * Creates a new concurrent LTS with one state
+	 * 
+	 * @pre "s" != null
+	 * @post A new instance of this is created, representing an LTS with "s" as initial state,
+	 *       sized for as many threads as available processors
+	 */
+	public ConcurrentLTS (S s)
+	{
+		this (s, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a new concurrent LTS with one state
+	 * 
+	 * @pre "s" != null
+	 *      "concurrency" > 0
+	 * @post A new instance of this is created, representing an LTS with "s" as initial state,
+	 *       sized for "concurrency" threads
+	 */
+	public ConcurrentLTS (S s, int concurrency)
+	{
+		if (concurrency <= 0)
+		{
+			throw new InvalidParameterException ("The concurrency must be positive");
+		}
+		stateIds = new ConcurrentHashMap<S,Integer> (16, 0.75f, concurrency);
+		statesCount = new AtomicInteger();
+		transitions = ConcurrentHashMap.newKeySet();
+		tauPairs = new ConcurrentLongSet (concurrency);
+		buffers = new ConcurrentLinkedQueue<Buffer>();
+		buffer = ThreadLocal.withInitial (this::newBuffer);
+		
+		addState (s);
+	}
+	
+	/**
+	 * Creates the buffer of a thread
+	 * 
+	 * @pre -
+	 * @post The returned value contains a new empty buffer, which has been added to buffers
+	 */
+	private Buffer newBuffer()
+	{
+		Buffer b = new Buffer();
+		buffers.add (b);
+		return b;
+	}
+	
+	/**
+	 * Gets the number of states of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states added to this LTS
+	 */
+	public int statesCount()
+	{
+		return statesCount.get();
+	}
+	
+	/**
+	 * Gets the number of transitions of the LTS
+	 * 
+	 * @pre no transition is being added
+	 * @post The returned value contains the number of transitions added to this LTS
+	 */
+	public int transitionsCount()
+	{
+		int count = 0;
+		for (Buffer b : buffers)
+		{
+			count += b.count;
+		}
+		return count;
+	}
+	
+	/**
+	 * Adds a state to the LTS
+	 * 
+	 * @pre "s" != null
+	 *      "s" is not a state of this LTS
+	 *      this LTS is not sealed
+	 * @post The specified state "s" has been added to this LTS and the returned value
+	 *       contains its identifier
+	 */
+	public int addState (S s)
+	{
+		checkOpen();
+		if (s == null)
+		{
+			throw new InvalidParameterException ("Cannot add a null state to an LTS");
+		}
+		int[] id = {-1};
+		stateIds.computeIfAbsent (s, key -> id[0] = statesCount.getAndIncrement());
+		if (id[0] < 0)
+		{
+			throw new InvalidParameterException ("The specified state (" + s + ") already belongs to this LTS");
+		}
+		return id[0];
+	}
+	
+	/**
+	 * Tests whether a state belongs to the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if "s" has been added to this LTS
+	 */
+	public boolean hasState (S s)
+	{
+		return s != null && stateIds.containsKey (s);
+	}
+	
+	/**
+	 * Adds a transition to the LTS
+	 * 
+	 * @pre "t", "from", "to" != null
+	 *      "from" and "to" are states from this LTS
+	 *      "t" is not a transition of this LTS
+	 *      this LTS is not sealed
+	 * @post A transition with "t" has been added to this LTS, with "from" as source state
+	 *       and "to" as destination state
+	 */
+	public void addTransition (T t, S from, S to)
+	{
+		addTransition (t, from, to, false);
+	}
+	
+	/**
+	 * Adds a tau transition to the LTS
+	 * 
+	 * @pre "t", "from", "to" != null
+	 *      "from" and "to" are states from this LTS
+	 *      "t" is not a transition of this LTS
+	 *      there is no tau transition between "from" and "to" yet
+	 *      this LTS is not sealed
+	 * @post A tau transition with "t" has been added to this LTS, with "from" as source state
+	 *       and "to" as destination state
+	 */
+	public void addTauTransition (T t, S from, S to)
+	{
+		addTransition (t, from, to, true);
+	}
+	
+	/**
+	 * Adds a transition to the LTS
+	 * 
+	 * @pre "t", "from", "to" != null
+	 *      "from" and "to" are states from this LTS
+	 *      "t" is not a transition of this LTS
+	 *      if "tau" is true, there cannot be a tau transition between "from" and "to"
+	 *      this LTS is not sealed
+	 * @post A transition with "t" has been added to the buffer of the current thread,
+	 *       with "from" as source state and "to" as destination state
+	 *       if "tau" is true, the added transition is a tau transition
+	 */
+	private void addTransition (T t, S from, S to, boolean tau)
+	{
+		checkOpen();
+		if (t == null)
+		{
+			throw new InvalidParameterException ("Cannot add a null transition to an LTS");
+		}
+		Integer fromId = from == null ? null : stateIds.get (from);
+		Integer toId = to == null ? null : stateIds.get (to);
+		if (fromId == null || toId == null)
+		{
+			throw new InvalidParameterException ("The two specified states do not both belongs to this LTS");
+		}
+		if (! transitions.add (t))
+		{
+			throw new InvalidParameterException ("The specified transition (" + t + ") already belongs to this LTS");
+		}
+		if (tau && ! tauPairs.add (((long) fromId << 32) | toId))
+		{
+			transitions.remove (t);
+			throw new InvalidParameterException ("There is already a tau transition between the two specified states in this LTS");
+		}
+		buffer.get().add (t, fromId, toId, tau);
+	}
+	
+	/**
+	 * Seals the LTS into a compact snapshot
+	 * 
+	 * @pre no state or transition is being added
+	 *      this LTS is not sealed
+	 * @post This LTS is sealed and the returned value contains a compact snapshot of it
+	 */
+	public CompactLTS<S,T> seal()
+	{
+		return seal (LTS<S,T>::new).freeze();
+	}
+	
+	/**
+	 * Seals the LTS into an LTS
+	 * 
+	 * @pre "factory" != null
+	 *      "factory" creates an LTS with only the specified state
+	 *      no state or transition is being added
+	 *      this LTS is not sealed
+	 * @post This LTS is sealed and the returned value contains an LTS created by "factory"
+	 *       from the initial state, with the states and the transitions of this LTS
+	 */
+	@SuppressWarnings ("unchecked")
+	public <L extends LTS<S,T>> L seal (Function<S,L> factory)
+	{
+		checkOpen();
+		sealed = true;
+		
+		int n = statesCount.get(), m = transitionsCount();
+		Object[] states = new Object[n];
+		for (Map.Entry<S,Integer> entry : stateIds.entrySet())
+		{
+			states[entry.getValue()] = entry.getKey();
+		}
+		Object[] newTransitions = new Object[m];
+		int[] from = new int[m], to = new int[m];
+		long[] tau = new long[(m + 63) >>> 6];
+		int offset = 0;
+		for (Buffer b : buffers)
+		{
+			System.arraycopy (b.transitions, 0, newTransitions, offset, b.count);
+			System.arraycopy (b.from, 0, from, offset, b.count);
+			System.arraycopy (b.to, 0, to, offset, b.count);
+			for (int i = 0; i < b.count; i++)
+			{
+				if ((b.tau[i >>> 6] & (1L << i)) != 0)
+				{
+					tau[(offset + i) >>> 6] |= 1L << (offset + i);
+				}
+			}
+			offset += b.count;
+			
+			// The buffer stays reachable from its thread through the thread-local variable
+			b.release();
+		}
+		buffers.clear();
+		buffer.remove();
+		
+		L lts = factory.apply ((S) states[0]);
+		lts.addAll ((S[]) states, n, (T[]) newTransitions, from, to, tau, m);
+		return lts;
+	}
+	
+	/**
+	 * Tests whether the LTS is sealed
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if this LTS has been sealed
+	 */
+	public boolean isSealed()
+	{
+		return sealed;
+	}
+	
+	/**
+	 * Checks that the LTS is not sealed
+	 * 
+	 * @pre -
+	 * @post An IllegalStateException has been thrown if this LTS is sealed
+	 */
+	private void checkOpen()
+	{
+		if (sealed)
+		{
+			throw new IllegalStateException ("The LTS has been sealed");
+		}
+	}
+	
+	/**
+	 * Transitions added by a thread
+	 * It stores:
+	 * - the transitions, their source and their destination
+	 * - the tau transitions, as a set of bits
+	 * - the number of transitions
+	 */
+	private static final class Buffer
+	{
+		// Instance variables
+		private Object[] transitions;
+		private int[] from, to;
+		private long[] tau;
+		private int count;
+		
+		/**
+		 * Creates a new empty buffer
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, without any transition
+		 */
+		public Buffer()
+		{
+			transitions = new Object[64];
+			from = new int[64];
+			to = new int[64];
+			tau = new long[1];
+			count = 0;
+		}
+		
+		/**
+		 * Adds a transition to the buffer
+		 * 
+		 * @pre "t" != null
+		 * @post A transition with "t" from "from" to "to" has been added to this buffer,
+		 *       as a tau transition if "isTau" is true
+		 */
+		public void add (Object t, int from, int to, boolean isTau)
+		{
+			if (count == transitions.length)
+			{
+				int capacity = count * 2;
+				transitions = Arrays.copyOf (transitions, capacity);
+				this.from = Arrays.copyOf (this.from, capacity);
+				this.to = Arrays.copyOf (this.to, capacity);
+				tau = Arrays.copyOf (tau, (capacity + 63) >>> 6);
+			}
+			transitions[count] = t;
+			this.from[count] = from;
+			this.to[count] = to;
+			if (isTau)
+			{
+				tau[count >>> 6] |= 1L << count;
+			}
+			count++;
+		}
+		
+		/**
+		 * Releases the transitions of the buffer
+		 * 
+		 * @pre -
+		 * @post The arrays of this buffer have been released, and it is empty
+		 */
+		public void release()
+		{
+			transitions = null;
+			from = null;
+			to = null;
+			tau = null;
+			count = 0;
+		}
+	}
+}
\ No newline at end of file
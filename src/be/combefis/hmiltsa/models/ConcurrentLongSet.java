@@ -0,0 +1,244 @@
+// ConcurrentLongSet.java
+
+package be.combefis.hmiltsa.models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of non-negative long keys that can be shared by several threads
+ * 
+ * Keys are spread over segments according to their hash. Each segment is
+ * an open addressing table in which keys are inserted with a compare-and-set,
+ * without taking any lock, so that insertions in a segment do not block each
+ * other. When a table is doubled, each of its slots is atomically replaced by
+ * a MOVED mark as it is copied, so that a concurrent insertion either lands
+ * before the copy of its slot, and is copied, or meets the mark, and then
+ * waits for the new table to be published before trying again. Only the
+ * insertions that meet the mark, and the doublings themselves, wait on the
+ * lock of the segment.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class ConcurrentLongSet
+{
+	// Constants
+	private static final long MOVED = -1;
+	
+	// Instance variables
+	private final Segment[] segments;
+	private final int shift;
+	
+	/**
+	 * Creates a new empty set
+	 * 
+	 * @pre "concurrency" > 0
+	 * @post An instance of this is created, without any key and with enough
+	 *       segments for "concurrency" threads
+	 */
+	public ConcurrentLongSet (int concurrency)
+	{
+		int count = Integer.highestOneBit (Math.max (1, concurrency * 8) * 2 - 1);
+		segments = new Segment[count];
+		for (int i = 0; i < count; i++)
+		{
+			segments[i] = new Segment();
+		}
+		shift = 32 - Integer.numberOfTrailingZeros (count);
+	}
+	
+	/**
+	 * Adds a key to the set
+	 * 
+	 * @pre "key" >= 0
+	 * @post "key" has been added to this set and the returned value
+	 *       contains true if it was not in this set before
+	 */
+	public boolean add (long key)
+	{
+		int hash = LongIndex.hash (key);
+		return segments[shift == 32 ? 0 : hash >>> shift].add (key + 1, hash);
+	}
+	
+	/**
+	 * Gets the number of keys of the set
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of keys of this set
+	 */
+	public long size()
+	{
+		long size = 0;
+		for (Segment segment : segments)
+		{
+			size += segment.count.get();
+		}
+		return size;
+	}
+	
+	/**
+	 * Gets the memory used by the set
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of bytes of the tables of this set
+	 */
+	public long memory()
+	{
+		long memory = 0;
+		for (Segment segment : segments)
+		{
+			memory += 8L * segment.table.length();
+		}
+		return memory;
+	}
+	
+	/**
+	 * Segment of the set
+	 * It stores:
+	 * - an open addressing table of keys (shifted by one, 0 denoting a free slot
+	 *   and MOVED a slot copied to a bigger table)
+	 * - the number of keys in the table
+	 * - a lock held while the table is doubled
+	 */
+	private static final class Segment
+	{
+		// Instance variables
+		private volatile AtomicLongArray table;
+		private final AtomicInteger count;
+		private final StampedLock lock;
+		
+		/**
+		 * Creates a new empty segment
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, without any key
+		 */
+		public Segment()
+		{
+			table = new AtomicLongArray (64);
+			count = new AtomicInteger();
+			lock = new StampedLock();
+		}
+		
+		/**
+		 * Adds a key to the segment
+		 * 
+		 * @pre "key" > 0
+		 * @post "key" has been added to this segment and the returned value
+		 *       contains true if it was not in this segment before
+		 */
+		public boolean add (long key, int hash)
+		{
+			while (true)
+			{
+				AtomicLongArray t = table;
+				int result = insert (t, key, hash);
+				if (result > 0)
+				{
+					if (count.incrementAndGet() * 2 > t.length())
+					{
+						grow();
+					}
+					return true;
+				}
+				if (result == 0)
+				{
+					return false;
+				}
+				if (result == -1)
+				{
+					grow();
+				}
+				else
+				{
+					// The table is being doubled, the new one is published when the lock is released
+					lock.unlockRead (lock.readLock());
+				}
+			}
+		}
+		
+		/**
+		 * Inserts a key in a table
+		 * 
+		 * @pre "t" != null
+		 *      "key" > 0
+		 * @post The returned value contains 1 if "key" has been inserted in "t",
+		 *       0 if it was already in "t", -1 if "t" is full and -2 if "t" is
+		 *       being copied to a bigger table
+		 */
+		private static int insert (AtomicLongArray t, long key, int hash)
+		{
+			int mask = t.length() - 1;
+			int slot = hash & mask;
+			for (int probes = 0; probes <= mask; )
+			{
+				long current = t.get (slot);
+				if (current == key)
+				{
+					return 0;
+				}
+				if (current == MOVED)
+				{
+					return -2;
+				}
+				if (current == 0)
+				{
+					if (t.compareAndSet (slot, 0, key))
+					{
+						return 1;
+					}
+				}
+				else
+				{
+					slot = (slot + 1) & mask;
+					probes++;
+				}
+			}
+			return -1;
+		}
+		
+		/**
+		 * Doubles the table of the segment, if it is more than half full
+		 * 
+		 * @pre -
+		 * @post The table of this segment is at most half full
+		 */
+		private void grow()
+		{
+			long stamp = lock.writeLock();
+			try
+			{
+				AtomicLongArray t = table;
+				if (count.get() * 2 <= t.length())
+				{
+					return;
+				}
+				
+				// Each slot is marked as it is copied, the keys inserted meanwhile in the slots
+				// that are not copied yet being copied with them
+				AtomicLongArray bigger = new AtomicLongArray (t.length() * 2);
+				int mask = bigger.length() - 1;
+				for (int i = 0; i < t.length(); i++)
+				{
+					long key = t.getAndSet (i, MOVED);
+					if (key != 0)
+					{
+						int slot = LongIndex.hash (key - 1) & mask;
+						while (bigger.get (slot) != 0)
+						{
+							slot = (slot + 1) & mask;
+						}
+						bigger.set (slot, key);
+					}
+				}
+				table = bigger;
+			}
+			finally
+			{
+				lock.unlockWrite (stamp);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -2,6 +2,13 @@
 
 package be.combefis.hmiltsa.models;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -9,13 +16,21 @@ import java.util.Set;
 /**
  * Human-Machine Interaction Labelled Transition System (HMI-LTS)
  * 
+ * The fingerprint of an HMI-LTS identifies its structure: it is a SHA-256
+ * digest of its initial state, its states and its transitions, described
+ * by the names of their states and by the names and types of their actions.
+ * These descriptions are sorted before being digested, so that the same
+ * HMI-LTS built in another order has the same fingerprint.
+ * 
  * @author Sébastien Combéfis
- * @version March 5, 2015
+ * @version October 18, 2026
  */
 public final class HMILTS extends LTS<State,Transition>
 {
 	// Instance variables
 	private final Set<Action> alphabet;
+	private CompactLTS<State,Transition> fingerprinted;
+	private String fingerprint;
 	
 	/**
 	 * Creates a new HMI-LTS with one state
@@ -35,21 +50,136 @@ public final class HMILTS extends LTS<State,Transition>
 	{
 		super.handleTransition (t);
 		
-		Action action = t.getAction();
-		if (action.getType() != ActionType.TAU)
+		if (! isInternal (t))
 		{
-			alphabet.add (action);
+			alphabet.add (t.getAction());
 		}
 	}
 	
+	/**
+	 * Tests whether a transition of the HMI-LTS is internal
+	 * 
+	 * @pre "t" != null
+	 *      "t" is a transition from this HMI-LTS
+	 * @post The returned value contains true if "t" is a tau transition
+	 *       or if it is labelled with a TAU action
+	 */
+	public boolean isInternal (Transition t)
+	{
+		return isTauTransition (t) || isTauAction (t);
+	}
+	
+	@Override
+	protected Object actionOf (Transition t)
+	{
+		return t.getAction();
+	}
+	
+	@Override
+	protected boolean isTauAction (Transition t)
+	{
+		return t.getAction().getType() == ActionType.TAU;
+	}
+	
 	/**
 	 * Gets the alphabet of the HMI-LTS
 	 * 
 	 * @pre -
-	 * @post The returned value contains the alphabet of this HMI-LTS
+	 * @post The returned value contains the alphabet of this HMI-LTS, that is,
+	 *       the actions of its transitions which are not internal
 	 */
 	public Set<Action> getAlphabet()
 	{
 		return Collections.unmodifiableSet (alphabet);
 	}
+	
+	/**
+	 * Gets the fingerprint of the HMI-LTS
+	 * The fingerprint is cached until this HMI-LTS is modified
+	 * 
+	 * @pre -
+	 * @post The returned value contains the hexadecimal SHA-256 fingerprint of the
+	 *       structure of this HMI-LTS, which does not depend on the order in which
+	 *       its states and transitions have been added
+	 */
+	public String fingerprint()
+	{
+		CompactLTS<State,Transition> lts = freeze();
+		if (fingerprinted != lts)
+		{
+			fingerprint = digest (lts);
+			fingerprinted = lts;
+		}
+		return fingerprint;
+	}
+	
+	/**
+	 * Computes the fingerprint of a compact HMI-LTS
+	 * 
+	 * @pre "lts" != null
+	 * @post The returned value contains the hexadecimal SHA-256 digest of the sorted
+	 *       descriptions of the states and transitions of "lts", preceded by its initial state
+	 */
+	private static String digest (CompactLTS<State,Transition> lts)
+	{
+		try
+		{
+			byte[][] records = new byte[lts.statesCount() + lts.transitionsCount()][];
+			int count = 0;
+			for (int s = 0; s < lts.statesCount(); s++)
+			{
+				records[count++] = record (lts.getState (s).getName());
+				for (int i = lts.outStart (s); i < lts.outEnd (s); i++)
+				{
+					Action a = lts.getTransition (lts.outTransition (i)).getAction();
+					boolean internal = lts.outAction (i) == CompactLTS.TAU;
+					records[count++] = record (lts.getState (s).getName(), a.getName(), a.getType().name(), internal ? "tau" : "", lts.getState (lts.outTarget (i)).getName());
+				}
+			}
+			Arrays.sort (records, Arrays::compare);
+			
+			MessageDigest digest = MessageDigest.getInstance ("SHA-256");
+			digest.update (record (lts.getState (0).getName()));
+			for (byte[] r : records)
+			{
+				digest.update (r);
+			}
+			StringBuilder builder = new StringBuilder();
+			for (byte b : digest.digest())
+			{
+				builder.append (String.format ("%02x", b));
+			}
+			return builder.toString();
+		}
+		catch (NoSuchAlgorithmException exception)
+		{
+			throw new IllegalStateException ("SHA-256 is not available", exception);
+		}
+	}
+	
+	/**
+	 * Encodes a description
+	 * 
+	 * @pre "fields" != null and does not contain null
+	 * @post The returned value contains the number of "fields" followed by each
+	 *       of them in modified UTF-8, preceded by its length
+	 */
+	private static byte[] record (String... fields)
+	{
+		try
+		{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream (bytes);
+			out.writeByte (fields.length);
+			for (String field : fields)
+			{
+				out.writeUTF (field);
+			}
+			return bytes.toByteArray();
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException (exception);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+// IndexedLTS.java
+
+package be.combefis.hmiltsa.models;
+
+/**
+ * Read access to a Labelled Transition System (LTS) through identifiers
+ * 
+ * States, actions and transitions are identified by dense integers, state
+ * 0 being the initial state. Actions are numbered from 1, identifier TAU
+ * (0) being shared by all the internal transitions. The outgoing (resp.
+ * ingoing) transitions of a state with a given action are visited with:
+ * for (int t = firstOut (s, a); t >= 0; t = nextOut (t))
+ * 
+ * Both the compact snapshots (see CompactLTS) and the off-heap LTSs (see
+ * OffHeapLTS) provide this access, so that the algorithms written against
+ * it, such as the full-control check, can be used with both.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public interface IndexedLTS
+{
+	/**
+	 * Gets the number of states of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of this LTS
+	 */
+	public int statesCount();
+	
+	/**
+	 * Gets the number of transitions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions of this LTS
+	 */
+	public int transitionsCount();
+	
+	/**
+	 * Gets the number of actions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of action identifiers of this LTS, TAU included
+	 */
+	public int actionsCount();
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a", or null if "a" is TAU
+	 */
+	public Object action (int a);
+	
+	/**
+	 * Gets the identifier of an action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of the visible action "a",
+	 *       or -1 if it is not an action of this LTS
+	 */
+	public int actionId (Object a);
+	
+	/**
+	 * Gets the source of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the source state of transition "t"
+	 */
+	public int transitionSource (int t);
+	
+	/**
+	 * Gets the destination of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the destination state of transition "t"
+	 */
+	public int transitionTarget (int t);
+	
+	/**
+	 * Gets the action of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the action of transition "t",
+	 *       TAU if it is internal
+	 */
+	public int transitionAction (int t);
+	
+	/**
+	 * Gets the first outgoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the identifier of the first transition
+	 *       from "s" with action "a", or -1 if there is none
+	 */
+	public int firstOut (int s, int a);
+	
+	/**
+	 * Gets the next outgoing transition with the same source and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       source and the action of "t", or -1 if there is none
+	 */
+	public int nextOut (int t);
+	
+	/**
+	 * Gets the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 * @post The returned value contains the identifier of the first transition
+	 *       to "s" with action "a", or -1 if there is none
+	 */
+	public int firstIn (int s, int a);
+	
+	/**
+	 * Gets the next ingoing transition with the same destination and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       destination and the action of "t", or -1 if there is none
+	 */
+	public int nextIn (int t);
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      "result" != null
+	 *      "result".length >= actionsCount()
+	 * @post The identifiers of the distinct actions of the outgoing transitions of "s",
+	 *       TAU included, have been stored at the beginning of "result" and the returned
+	 *       value contains their number
+	 */
+	public int enabledActions (int s, int[] result);
+}
\ No newline at end of file
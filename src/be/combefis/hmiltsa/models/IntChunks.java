@@ -0,0 +1,198 @@
+// IntChunks.java
+
+package be.combefis.hmiltsa.models;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable array of integers stored off-heap
+ * 
+ * The integers are stored in chunks of the same size, each chunk being a
+ * direct buffer that is allocated when the array grows past it. Chunks are
+ * never moved, so that growing does not copy the integers, and they are
+ * released as soon as the array is freed, without waiting for the garbage
+ * collector, when the platform allows it.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+final class IntChunks
+{
+	// Constants
+	private static final Cleaner CLEANER = Cleaner.create();
+	
+	// Instance variables
+	private final int shift, mask;
+	private IntBuffer[] chunks;
+	private ByteBuffer[] buffers;
+	private int count;
+	
+	/**
+	 * Creates a new empty array
+	 * 
+	 * @pre 0 <= "chunkBits" <= 28
+	 * @post An instance of this is created, without any chunk, whose chunks
+	 *       will contain 2^"chunkBits" integers
+	 */
+	public IntChunks (int chunkBits)
+	{
+		shift = chunkBits;
+		mask = (1 << chunkBits) - 1;
+		chunks = new IntBuffer[16];
+		buffers = new ByteBuffer[16];
+		count = 0;
+	}
+	
+	/**
+	 * Gets the capacity of the array
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of integers that can be stored
+	 *       in the allocated chunks of this array
+	 */
+	public long capacity()
+	{
+		return (long) count << shift;
+	}
+	
+	/**
+	 * Ensures that the array can store a number of integers
+	 * 
+	 * @pre "capacity" >= 0
+	 *      this array has not been freed
+	 * @post Chunks have been allocated so that this array can store
+	 *       at least "capacity" integers, all initialised to 0
+	 */
+	public void ensureCapacity (long capacity)
+	{
+		if (chunks == null)
+		{
+			throw new IllegalStateException ("The off-heap memory has been freed");
+		}
+		while (capacity() < capacity)
+		{
+			if (count == chunks.length)
+			{
+				chunks = Arrays.copyOf (chunks, count * 2);
+				buffers = Arrays.copyOf (buffers, count * 2);
+			}
+			buffers[count] = ByteBuffer.allocateDirect (4 << shift).order (ByteOrder.nativeOrder());
+			chunks[count] = buffers[count].asIntBuffer();
+			count++;
+		}
+	}
+	
+	/**
+	 * Gets an integer of the array
+	 * 
+	 * @pre 0 <= "i" < capacity()
+	 * @post The returned value contains the integer at index "i" of this array
+	 */
+	public int get (int i)
+	{
+		return chunks[i >>> shift].get (i & mask);
+	}
+	
+	/**
+	 * Sets an integer of the array
+	 * 
+	 * @pre 0 <= "i" < capacity()
+	 * @post The integer at index "i" of this array is "value"
+	 */
+	public void set (int i, int value)
+	{
+		chunks[i >>> shift].put (i & mask, value);
+	}
+	
+	/**
+	 * Frees the array
+	 * 
+	 * @pre -
+	 * @post The chunks of this array have been released, and the array cannot be used anymore
+	 */
+	public void free()
+	{
+		if (chunks != null)
+		{
+			for (int c = 0; c < count; c++)
+			{
+				CLEANER.clean (buffers[c]);
+			}
+			chunks = null;
+			buffers = null;
+			count = 0;
+		}
+	}
+	
+	/**
+	 * Releaser of the memory of direct buffers
+	 * It stores:
+	 * - the object and the method of the platform able to release a direct buffer,
+	 *   or null if the platform does not offer one, the memory then being released
+	 *   by the garbage collector
+	 */
+	private static final class Cleaner
+	{
+		// Instance variables
+		private final Object unsafe;
+		private final Method invokeCleaner;
+		
+		/**
+		 * Creates a new releaser
+		 * 
+		 * @pre -
+		 * @post An instance of this is created, with the given method of the platform
+		 */
+		private Cleaner (Object unsafe, Method invokeCleaner)
+		{
+			this.unsafe = unsafe;
+			this.invokeCleaner = invokeCleaner;
+		}
+		
+		/**
+		 * Creates the releaser of the platform
+		 * 
+		 * @pre -
+		 * @post The returned value contains a releaser using sun.misc.Unsafe.invokeCleaner
+		 *       if it is available, and otherwise a releaser that does nothing
+		 */
+		public static Cleaner create()
+		{
+			try
+			{
+				Class<?> type = Class.forName ("sun.misc.Unsafe");
+				Field field = type.getDeclaredField ("theUnsafe");
+				field.setAccessible (true);
+				return new Cleaner (field.get (null), type.getMethod ("invokeCleaner", ByteBuffer.class));
+			}
+			catch (ReflectiveOperationException | RuntimeException exception)
+			{
+				return new Cleaner (null, null);
+			}
+		}
+		
+		/**
+		 * Releases the memory of a direct buffer
+		 * 
+		 * @pre "buffer" != null
+		 *      "buffer" is a direct buffer which is not used anymore
+		 * @post The memory of "buffer" has been released, if possible
+		 */
+		public void clean (ByteBuffer buffer)
+		{
+			if (invokeCleaner != null)
+			{
+				try
+				{
+					invokeCleaner.invoke (unsafe, buffer);
+				}
+				catch (ReflectiveOperationException | RuntimeException exception){}
+			}
+		}
+	}
+}
\ No newline at end of file
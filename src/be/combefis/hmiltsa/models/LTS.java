@@ -3,27 +3,48 @@
 package be.combefis.hmiltsa.models;
 
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Generic Labelled Transition System (LTS)
  * - S labels the states
  * - T labels the transitions
  * 
+ * The actions of the transitions (see actionOf) are given dense identifiers
+ * (1, 2, 3...) in the order in which they first appear, identifier TAU (0)
+ * being shared by all the internal transitions, as in compact snapshots.
+ * The transitions of each state are indexed by action in primitive arrays:
+ * the outgoing (resp. ingoing) transitions of a state with a given action
+ * form a list threaded through an array, whose head is found with one
+ * lookup in a table keyed by the state and the action.
+ * 
+ * Each state and transition added after the creation of the LTS is first
+ * handled by the hooks (see handleState and handleTransition) and then
+ * notified to the registered listeners, in their order of registration.
+ * 
  * @author Sébastien Combéfis
- * @version March 5, 2015
+ * @version October 18, 2026
  */
 public class LTS<S,T>
 {
 	// Instance variables
 	private S initialState;
-	private final Set<State<S,T>> states;
-	private final Set<Transition<S,T>> transitions;
-	private final Map<S,State<S,T>> statesMap;
-	private final Map<T,Transition<S,T>> transitionsMap;
+	private final ArrayList<State<S,T>> states;
+	private final ArrayList<Transition<S,T>> transitions;
+	private Map<S,State<S,T>> statesMap;
+	private Map<T,Transition<S,T>> transitionsMap;
+	private final Map<Object,Integer> actionIds;
+	private final List<Object> actions;
+	private int[] from, to, action;
+	private final Index out, in;
+	private final LongIndex tauPairs;
+	private CompactLTS<S,T> snapshot;
+	private final List<LTSListener<S,T>> listeners;
 	
 	/**
 	 * Creates a new LTS with one state
@@ -34,12 +55,50 @@ public class LTS<S,T>
 	public LTS (S s)
 	{
 		initialState = s;
-		states = new HashSet<State<S,T>>();
-		transitions = new HashSet<Transition<S,T>>();
+		states = new ArrayList<State<S,T>>();
+		transitions = new ArrayList<Transition<S,T>>();
 		statesMap = new HashMap<S,State<S,T>>();
 		transitionsMap = new HashMap<T,Transition<S,T>>();
+		actionIds = new HashMap<Object,Integer>();
+		actions = new ArrayList<Object>();
+		actions.add (null);
+		from = new int[16];
+		to = new int[16];
+		action = new int[16];
+		out = new Index();
+		in = new Index();
+		tauPairs = new LongIndex (16);
+		listeners = new ArrayList<LTSListener<S,T>>();
 		
-		addState (s);
+		insertState (s);
+	}
+	
+	/**
+	 * Registers a listener to the LTS
+	 * 
+	 * @pre "listener" != null
+	 * @post "listener" will be notified of the states and transitions
+	 *       added to this LTS from now on
+	 */
+	public final void addListener (LTSListener<S,T> listener)
+	{
+		if (listener == null)
+		{
+			throw new InvalidParameterException ("Cannot register a null listener to an LTS");
+		}
+		listeners.add (listener);
+	}
+	
+	/**
+	 * Unregisters a listener from the LTS
+	 * 
+	 * @pre -
+	 * @post "listener" will not be notified of the changes of this LTS anymore,
+	 *       if it was registered more than once, only one registration is removed
+	 */
+	public final void removeListener (LTSListener<S,T> listener)
+	{
+		listeners.remove (listener);
 	}
 	
 	/**
@@ -83,6 +142,19 @@ public class LTS<S,T>
 	 * @post The specified state "s" has been added to this LTS
 	 */
 	public final void addState (S s)
+	{
+		insertState (s);
+		stateAdded (s);
+	}
+	
+	/**
+	 * Inserts a state in the LTS, without notifying it
+	 * 
+	 * @pre "s" != null
+	 *      "s" is not a state of this LTS
+	 * @post The specified state "s" has been added to this LTS
+	 */
+	private void insertState (S s)
 	{
 		if (s == null)
 		{
@@ -93,27 +165,44 @@ public class LTS<S,T>
 			throw new InvalidParameterException ("The specified state (" + s + ") already belongs to this LTS");
 		}
 		
-		State<S,T> newState = new State<S,T> (s);
+		State<S,T> newState = new State<S,T> (s, states.size());
 		states.add (newState);
 		statesMap.put (s, newState);
+		snapshot = null;
 	}
 	
 	/**
 	 * Hook to handle a state that has been added to the LTS
 	 * 
 	 * @pre "s" != null
-	 *      "s" belongs to this LTS
+	 *      "s" belongs to this LTS and is not its initial state
 	 * @post The state "s" that has been added to this LTS has been handled
 	 */
 	public void handleState (S s){}
 	
+	/**
+	 * Handles and notifies a state that has been added to the LTS
+	 * 
+	 * @pre "s" != null
+	 *      "s" belongs to this LTS and is not its initial state
+	 * @post "s" has been handled by handleState and notified to the listeners of this LTS
+	 */
+	private void stateAdded (S s)
+	{
+		handleState (s);
+		for (int i = 0; i < listeners.size(); i++)
+		{
+			listeners.get (i).stateAdded (this, s);
+		}
+	}
+	
 	/**
 	 * Adds a transition to the LTS
 	 * 
 	 * @pre "t", "from", "to" != null
 	 *      "from" and "to" are states from this LTS
-	 *      "t" is not a transition of this LTS 
-	 * @post A transition with "t" has been added to this LTS, with "from" as source state 
+	 *      "t" is not a transition of this LTS
+	 * @post A transition with "t" has been added to this LTS, with "from" as source state
 	 *       and "to" as destination state
 	 */
 	public final void addTransition (T t, S from, S to)
@@ -128,7 +217,7 @@ public class LTS<S,T>
 	 *      "from" and "to" are states from this LTS
 	 *      "t" is not a transition of this LTS
 	 *      there is no tau transition between "from" and "to" yet
-	 * @post A tau transition with "t" has been added to this LTS, with "from" as source state 
+	 * @post A tau transition with "t" has been added to this LTS, with "from" as source state
 	 *       and "to" as destination state
 	 */
 	public final void addTauTransition (T t, S from, S to)
@@ -153,7 +242,9 @@ public class LTS<S,T>
 		{
 			throw new InvalidParameterException ("Cannot add a null transition to an LTS");
 		}
-		if (! (statesMap.containsKey (from) && statesMap.containsKey (to)))
+		State<S,T> fromState = statesMap.get (from);
+		State<S,T> toState = statesMap.get (to);
+		if (fromState == null || toState == null)
 		{
 			throw new InvalidParameterException ("The two specified states do not both belongs to this LTS");
 		}
@@ -161,27 +252,164 @@ public class LTS<S,T>
 		{
 			throw new InvalidParameterException ("The specified transition (" + t + ") already belongs to this LTS");
 		}
-		if (tau && hasTauTransition (from, to))
+		long pair = ((long) fromState.id << 32) | toState.id;
+		if (tau && tauPairs.indexOf (pair) >= 0)
 		{
 			throw new InvalidParameterException ("There is already a tau transition between the two specified states in this LTS");
 		}
 		
-		State<S,T> fromState = statesMap.get (from);
-		State<S,T> toState = statesMap.get (to);
+		int id = transitions.size();
 		Transition<S,T> newTransition;
+		int a;
 		if (tau)
 		{
-			newTransition = new TauTransition<S,T> (fromState, toState);
+			newTransition = new TauTransition<S,T> (t, id);
+			tauPairs.add (pair);
+			a = CompactLTS.TAU;
 		}
 		else
 		{
-			newTransition = new Transition<S,T> (t, fromState, toState);
+			newTransition = new Transition<S,T> (t, id);
+			a = isTauAction (t) ? CompactLTS.TAU : intern (actionOf (t));
+		}
+		
+		if (id == this.from.length)
+		{
+			this.from = Arrays.copyOf (this.from, id * 2);
+			this.to = Arrays.copyOf (this.to, id * 2);
+			action = Arrays.copyOf (action, id * 2);
 		}
+		this.from[id] = fromState.id;
+		this.to[id] = toState.id;
+		action[id] = a;
+		out.add (fromState.id, a, id);
+		in.add (toState.id, a, id);
 		
 		transitions.add (newTransition);
-		fromState.addOutTransition (newTransition);
-		toState.addInTransition (newTransition);
 		transitionsMap.put (t, newTransition);
+		snapshot = null;
+		transitionAdded (t);
+	}
+	
+	/**
+	 * Adds states and transitions to the LTS, in bulk (see LTSBuilder)
+	 * 
+	 * @pre this LTS only contains its initial state, which is "newStates"[0]
+	 *      the values of "from" and "to" are between 0 and "statesCount" - 1
+	 *      there are no two tau transitions between the same states
+	 * @post The first "statesCount" states of "newStates" and the first "transitionsCount"
+	 *       transitions of "newTransitions" have been added to this LTS, with the same identifiers,
+	 *       transition i going from "from"[i] to "to"[i] and being a tau transition if bit i
+	 *       of "tau" is set
+	 */
+	final void addAll (S[] newStates, int statesCount, T[] newTransitions, int[] from, int[] to, long[] tau, int transitionsCount)
+	{
+		// Tables sized for all the states and transitions
+		int m = transitionsCount;
+		statesMap = resize (statesMap, statesCount);
+		transitionsMap = resize (transitionsMap, m);
+		states.ensureCapacity (statesCount);
+		transitions.ensureCapacity (m);
+		out.reserve (m);
+		in.reserve (m);
+		
+		for (int s = 1; s < statesCount; s++)
+		{
+			State<S,T> newState = new State<S,T> (newStates[s], s);
+			if (statesMap.put (newStates[s], newState) != null)
+			{
+				throw new InvalidParameterException ("The specified state (" + newStates[s] + ") already belongs to this LTS");
+			}
+			states.add (newState);
+		}
+		
+		this.from = Arrays.copyOf (from, Math.max (16, m));
+		this.to = Arrays.copyOf (to, Math.max (16, m));
+		action = new int[this.from.length];
+		Object lastAction = null;
+		int lastId = CompactLTS.TAU;
+		for (int id = 0; id < m; id++)
+		{
+			T t = newTransitions[id];
+			Transition<S,T> newTransition;
+			if ((tau[id >>> 6] & (1L << id)) != 0)
+			{
+				newTransition = new TauTransition<S,T> (t, id);
+				tauPairs.add (((long) from[id] << 32) | to[id]);
+				action[id] = CompactLTS.TAU;
+			}
+			else
+			{
+				newTransition = new Transition<S,T> (t, id);
+				if (isTauAction (t))
+				{
+					action[id] = CompactLTS.TAU;
+				}
+				else
+				{
+					// Consecutive transitions often share the same action instance
+					Object a = actionOf (t);
+					if (a != lastAction)
+					{
+						lastAction = a;
+						lastId = intern (a);
+					}
+					action[id] = lastId;
+				}
+			}
+			if (transitionsMap.put (t, newTransition) != null)
+			{
+				throw new InvalidParameterException ("The specified transition (" + t + ") already belongs to this LTS");
+			}
+			transitions.add (newTransition);
+			out.add (from[id], action[id], id);
+			in.add (to[id], action[id], id);
+		}
+		snapshot = null;
+		
+		// Notifications, once the LTS is complete
+		for (int s = 1; s < statesCount; s++)
+		{
+			stateAdded (newStates[s]);
+		}
+		for (int id = 0; id < m; id++)
+		{
+			transitionAdded (newTransitions[id]);
+		}
+	}
+	
+	/**
+	 * Resizes a hash map for a number of entries
+	 * 
+	 * @pre "map" != null
+	 *      "count" >= 0
+	 * @post The returned value contains a map with the entries of "map"
+	 *       and able to store "count" entries without being resized
+	 */
+	private static <K,V> Map<K,V> resize (Map<K,V> map, int count)
+	{
+		Map<K,V> result = new HashMap<K,V> ((int) Math.min (1 << 30, count * 4L / 3 + 1));
+		result.putAll (map);
+		return result;
+	}
+	
+	/**
+	 * Gets the identifier of an action, which is created if needed
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of "a", which has
+	 *       been added to the actions of this LTS if it was not one of them
+	 */
+	private int intern (Object a)
+	{
+		Integer id = actionIds.get (a);
+		if (id == null)
+		{
+			id = actions.size();
+			actions.add (a);
+			actionIds.put (a, id);
+		}
+		return id;
 	}
 	
 	/**
@@ -193,6 +421,22 @@ public class LTS<S,T>
 	 */
 	public void handleTransition (T t){}
 	
+	/**
+	 * Handles and notifies a transition that has been added to the LTS
+	 * 
+	 * @pre "t" != null
+	 *      "t" belongs to this LTS
+	 * @post "t" has been handled by handleTransition and notified to the listeners of this LTS
+	 */
+	private void transitionAdded (T t)
+	{
+		handleTransition (t);
+		for (int i = 0; i < listeners.size(); i++)
+		{
+			listeners.get (i).transitionAdded (this, t);
+		}
+	}
+	
 	/**
 	 * Tests whether there exists a tau transition between two states
 	 * 
@@ -203,154 +447,679 @@ public class LTS<S,T>
 	 */
 	public final boolean hasTauTransition (S from, S to)
 	{
-		for (Transition<S,T> s : statesMap.get (from).out)
+		return tauPairs.indexOf (((long) stateId (from) << 32) | stateId (to)) >= 0;
+	}
+	
+	/**
+	 * Tests whether a state belongs to the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if "s" is a state of this LTS
+	 */
+	public final boolean hasState (S s)
+	{
+		return statesMap.containsKey (s);
+	}
+	
+	/**
+	 * Gets the outgoing transitions of a state
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the transitions of this LTS
+	 *       with "s" as source state, grouped by action
+	 */
+	public final List<T> outTransitions (S s)
+	{
+		int id = stateId (s);
+		List<T> result = new ArrayList<T>();
+		for (int k = out.firstKey (id); k >= 0; k = out.nextKey (k))
+		{
+			for (int t = out.first (k); t >= 0; t = out.next (t))
+			{
+				result.add (transitions.get (t).transition);
+			}
+		}
+		return Collections.unmodifiableList (result);
+	}
+	
+	/**
+	 * Gets the successors of a state with an action
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the destinations of the non-internal transitions
+	 *       of this LTS with "s" as source state and labelled with "a" (see actionOf)
+	 */
+	public final List<S> successors (S s, Object a)
+	{
+		int id = actionId (a);
+		return id <= CompactLTS.TAU ? Collections.<S>emptyList() : states (out, stateId (s), id, to);
+	}
+	
+	/**
+	 * Gets the predecessors of a state with an action
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the sources of the non-internal transitions
+	 *       of this LTS with "s" as destination state and labelled with "a" (see actionOf)
+	 */
+	public final List<S> predecessors (S s, Object a)
+	{
+		int id = actionId (a);
+		return id <= CompactLTS.TAU ? Collections.<S>emptyList() : states (in, stateId (s), id, from);
+	}
+	
+	/**
+	 * Gets the successors of a state with internal transitions
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the destinations of the tau transitions and of the
+	 *       transitions with an internal action of this LTS with "s" as source state
+	 */
+	public final List<S> tauSuccessors (S s)
+	{
+		return states (out, stateId (s), CompactLTS.TAU, to);
+	}
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the distinct actions (see actionOf) of the
+	 *       non-internal transitions of this LTS with "s" as source state
+	 */
+	public final List<Object> enabledActions (S s)
+	{
+		List<Object> result = new ArrayList<Object>();
+		for (int k = out.firstKey (stateId (s)); k >= 0; k = out.nextKey (k))
 		{
-			if (s instanceof TauTransition && s.to.state.equals (to))
+			if (out.action (k) != CompactLTS.TAU)
 			{
-				return true;
+				result.add (actions.get (out.action (k)));
 			}
 		}
+		return Collections.unmodifiableList (result);
+	}
+	
+	/**
+	 * Gets the states at one end of the transitions of a state with an action
+	 * 
+	 * @pre "index" is out or in
+	 *      0 <= "s" < statesCount()
+	 *      "ends" is to (for out) or from (for in)
+	 * @post The returned value contains the states "ends"[t] for the transitions t
+	 *       of "s" with action "a" in "index"
+	 */
+	private List<S> states (Index index, int s, int a, int[] ends)
+	{
+		List<S> result = new ArrayList<S>();
+		for (int t = index.first (s, a); t >= 0; t = index.next (t))
+		{
+			result.add (states.get (ends[t]).state);
+		}
+		return Collections.unmodifiableList (result);
+	}
+	
+	/**
+	 * Gets the destination state of a transition
+	 * 
+	 * @pre "t" != null
+	 *      "t" is a transition from this LTS
+	 * @post The returned value contains the destination state of "t"
+	 */
+	public final S getDestination (T t)
+	{
+		return states.get (to[lookup (t).id]).state;
+	}
+	
+	/**
+	 * Tests whether a transition is a tau transition
+	 * 
+	 * @pre "t" != null
+	 *      "t" is a transition from this LTS
+	 * @post The returned value contains true if "t" has been added
+	 *       as a tau transition to this LTS
+	 */
+	public final boolean isTauTransition (T t)
+	{
+		return lookup (t) instanceof TauTransition;
+	}
+	
+	/**
+	 * Gets the identifier of a state
+	 * States are numbered densely (0, 1, 2...) in the order they have been added,
+	 * the initial state having identifier 0
+	 * 
+	 * @pre "s" != null
+	 *      "s" is a state from this LTS
+	 * @post The returned value contains the identifier of "s" in this LTS
+	 */
+	public final int stateId (S s)
+	{
+		State<S,T> state = statesMap.get (s);
+		if (state == null)
+		{
+			throw new InvalidParameterException ("The specified state (" + s + ") does not belong to this LTS");
+		}
+		return state.id;
+	}
+	
+	/**
+	 * Gets the state with a given identifier
+	 * 
+	 * @pre 0 <= "id" < statesCount()
+	 * @post The returned value contains the state of this LTS whose identifier is "id"
+	 */
+	public final S state (int id)
+	{
+		return states.get (id).state;
+	}
+	
+	/**
+	 * Gets the identifier of a transition
+	 * Transitions are numbered densely (0, 1, 2...) in the order they have been added
+	 * 
+	 * @pre "t" != null
+	 *      "t" is a transition from this LTS
+	 * @post The returned value contains the identifier of "t" in this LTS
+	 */
+	public final int transitionId (T t)
+	{
+		return lookup (t).id;
+	}
+	
+	/**
+	 * Gets the transition with a given identifier
+	 * 
+	 * @pre 0 <= "id" < transitionsCount()
+	 * @post The returned value contains the transition of this LTS whose identifier is "id"
+	 */
+	public final T transition (int id)
+	{
+		return transitions.get (id).transition;
+	}
+	
+	/**
+	 * Gets the number of actions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of action identifiers of this LTS, TAU included
+	 */
+	public final int actionsCount()
+	{
+		return actions.size();
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a", or null if "a" is TAU
+	 */
+	public final Object action (int a)
+	{
+		return actions.get (a);
+	}
+	
+	/**
+	 * Gets the identifier of an action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of the action "a" (see actionOf),
+	 *       or -1 if no non-internal transition of this LTS is labelled with "a"
+	 */
+	public final int actionId (Object a)
+	{
+		Integer id = actionIds.get (a);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * Gets the source of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the source state of transition "t"
+	 */
+	public final int transitionSource (int t)
+	{
+		return from[t];
+	}
+	
+	/**
+	 * Gets the destination of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the destination state of transition "t"
+	 */
+	public final int transitionTarget (int t)
+	{
+		return to[t];
+	}
+	
+	/**
+	 * Gets the action of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the action of transition "t",
+	 *       TAU if it is internal
+	 */
+	public final int transitionAction (int t)
+	{
+		return action[t];
+	}
+	
+	/**
+	 * Gets the first outgoing transition of a state with an action
+	 * The outgoing transitions of "s" with "a" are visited with:
+	 * for (int t = firstOut (s, a); t >= 0; t = nextOut (t))
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the identifier of the first transition
+	 *       from "s" with action "a", or -1 if there is none
+	 */
+	public final int firstOut (int s, int a)
+	{
+		return out.first (s, a);
+	}
+	
+	/**
+	 * Gets the next outgoing transition with the same source and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       source and the action of "t", or -1 if there is none
+	 */
+	public final int nextOut (int t)
+	{
+		return out.next (t);
+	}
+	
+	/**
+	 * Gets the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 * @post The returned value contains the identifier of the first transition
+	 *       to "s" with action "a", or -1 if there is none
+	 */
+	public final int firstIn (int s, int a)
+	{
+		return in.first (s, a);
+	}
+	
+	/**
+	 * Gets the next ingoing transition with the same destination and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       destination and the action of "t", or -1 if there is none
+	 */
+	public final int nextIn (int t)
+	{
+		return in.next (t);
+	}
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      "result" != null
+	 *      "result".length >= actionsCount()
+	 * @post The identifiers of the actions of the outgoing transitions of "s", TAU included,
+	 *       have been stored at the beginning of "result" and the returned value contains their number
+	 */
+	public final int enabledActions (int s, int[] result)
+	{
+		int count = 0;
+		for (int k = out.firstKey (s); k >= 0; k = out.nextKey (k))
+		{
+			result[count++] = out.action (k);
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the action of a transition
+	 * Transitions with the same action are grouped together in compact snapshots
+	 * 
+	 * @pre "t" != null
+	 * @post The returned value contains the action labelling "t", which is "t" itself by default
+	 */
+	protected Object actionOf (T t)
+	{
+		return t;
+	}
+	
+	/**
+	 * Tests whether the action of a transition is internal
+	 * 
+	 * @pre "t" != null
+	 * @post The returned value contains true if the action labelling "t"
+	 *       is internal, which is never the case by default
+	 */
+	protected boolean isTauAction (T t)
+	{
 		return false;
 	}
 	
+	/**
+	 * Gets an immutable compact snapshot of the LTS
+	 * The snapshot is cached until this LTS is modified
+	 * 
+	 * @pre -
+	 * @post The returned value contains a compact snapshot of the current states,
+	 *       actions and transitions of this LTS, with the same identifiers, where
+	 *       tau transitions and transitions with an internal action are labelled TAU
+	 */
+	public final CompactLTS<S,T> freeze()
+	{
+		if (snapshot == null)
+		{
+			int m = transitions.size();
+			Object[] stateLabels = new Object[states.size()];
+			for (State<S,T> state : states)
+			{
+				stateLabels[state.id] = state.state;
+			}
+			Object[] transitionLabels = new Object[m];
+			for (Transition<S,T> transition : transitions)
+			{
+				transitionLabels[transition.id] = transition.transition;
+			}
+			snapshot = new CompactLTS<S,T> (stateLabels, transitionLabels, actions.toArray(), Arrays.copyOf (from, m), Arrays.copyOf (to, m), Arrays.copyOf (action, m));
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Gets the tau-closure of the LTS
+	 * The closure is cached with the compact snapshot, until this LTS is modified
+	 * 
+	 * @pre -
+	 * @post The returned value contains the tau-closure of freeze()
+	 */
+	public final TauClosure tauClosure()
+	{
+		return freeze().tauClosure();
+	}
+	
+	/**
+	 * Gets the internal representation of a transition
+	 * 
+	 * @pre "t" != null
+	 *      "t" is a transition from this LTS
+	 * @post The returned value contains the internal transition for "t"
+	 */
+	private Transition<S,T> lookup (T t)
+	{
+		Transition<S,T> transition = transitionsMap.get (t);
+		if (transition == null)
+		{
+			throw new InvalidParameterException ("The specified transition (" + t + ") does not belong to this LTS");
+		}
+		return transition;
+	}
+	
 	/**
 	 * State of the LTS
 	 * It stores:
 	 * - an S object (the state)
-	 * - a set of outgoing transitions T
-	 * - a set of ingoing transitions T
+	 * - its identifier
 	 */
 	private final static class State<S,T>
 	{
 		// Instance variables
 		private final S state;
-		private final Set<Transition<S,T>> in, out;
+		private final int id;
 		
 		/**
 		 * Creates a new state
 		 * 
 		 * @pre "s" != null
+		 *      "id" >= 0
 		 * @post An instance of this is created, representing a state with "s"
+		 *       and identifier "id"
 		 */
-		public State (S s)
+		public State (S s, int id)
 		{
 			state = s;
-			in = new HashSet<Transition<S,T>>();
-			out = new HashSet<Transition<S,T>>();
+			this.id = id;
 		}
 		
+		@Override
+		public String toString()
+		{
+			return state.toString();
+		}
+	}
+	
+	/**
+	 * Transition of the LTS
+	 * It stores:
+	 * - a T object (the transition)
+	 * - its identifier, which indexes its source, destination and action
+	 */
+	private static class Transition<S,T>
+	{
+		// Instance variables
+		private final T transition;
+		private final int id;
+		
 		/**
-		 * Adds an ingoing transition
+		 * Creates a new transition
 		 * 
-		 * @pre t != null
-		 *      The destination of "t" is this state
-		 * @post The specified transition has been added to the ingoing transitions of this state
+		 * @pre "t" != null
+		 *      "id" >= 0
+		 * @post An instance of this is created representing a transition with "t"
+		 *       and identifier "id"
 		 */
-		public void addInTransition (Transition<S,T> t)
+		public Transition (T t, int id)
 		{
-			in.add (t);
+			transition = t;
+			this.id = id;
 		}
 		
+		@Override
+		public String toString()
+		{
+			return transition.toString();
+		}
+	}
+	
+	/**
+	 * Tau transition of the LTS
+	 * It stores:
+	 * - a T object (the transition)
+	 * - its identifier, which indexes its source, destination and action
+	 */
+	private static class TauTransition<S,T> extends Transition<S,T>
+	{
 		/**
-		 * Adds an outgoing transition
+		 * Creates a new tau transition
 		 * 
-		 * @pre t != null
-		 *      The source of "t" is this state
-		 * @post The specified transition has been added to the outgoing transitions of this state
+		 * @pre "t" != null
+		 *      "id" >= 0
+		 * @post An instance of this is created, representing a tau transition with "t"
+		 *       and identifier "id"
 		 */
-		public void addOutTransition (Transition<S,T> t)
+		public TauTransition (T t, int id)
 		{
-			out.add (t);
+			super (t, id);
 		}
 		
 		@Override
 		public String toString()
 		{
-			return state.toString();
+			return "tau";
 		}
 	}
 	
 	/**
-	 * Transition of the LTS
+	 * Index of the transitions of the states by action, in one direction
 	 * It stores:
-	 * - a T object (the transition)
-	 * - the source state
-	 * - the destination state
+	 * - a table of keys (state, action), each key being given a dense index
+	 * - for each key: its action, its first and last transitions and the next key of its state
+	 * - for each state: its first and last keys
+	 * - for each transition: the next transition with the same key
+	 * All the references are shifted by one in the arrays, 0 denoting no reference.
 	 */
-	private static class Transition<S,T>
+	private static final class Index
 	{
 		// Instance variables
-		private final T transition;
-		private final State<S,T> from, to;
+		private LongIndex keys;
+		private int[] head, tail, nextKey;
+		private int[] firstKey, lastKey;
+		private int[] next;
 		
 		/**
-		 * Creates a new transition with specified source and destination
+		 * Creates a new empty index
 		 * 
-		 * @pre "t", "from", "to" != null
-		 * @post An instance of this is created representing a transition with "t"
-		 *       and specified source "from" and destination "to" states
+		 * @pre -
+		 * @post An instance of this is created, without any transition
 		 */
-		public Transition (T t, State<S,T> from, State<S,T> to)
+		public Index()
 		{
-			transition = t;
-			this.from = from;
-			this.to = to;
+			keys = new LongIndex (16);
+			head = new int[16];
+			tail = new int[16];
+			nextKey = new int[16];
+			firstKey = new int[16];
+			lastKey = new int[16];
+			next = new int[16];
 		}
 		
 		/**
-		 * Gets the source state of the transition
+		 * Prepares the index for a number of transitions
 		 * 
-		 * @pre -
-		 * @post The returned value contains the source state of this transition
+		 * @pre this index is empty
+		 *      "count" >= 0
+		 * @post This index can store "count" transitions without growing
 		 */
-		public State<S,T> getSource()
+		public void reserve (int count)
 		{
-			return from;
+			int capacity = Math.max (16, count);
+			keys = new LongIndex (capacity);
+			head = new int[capacity];
+			tail = new int[capacity];
+			nextKey = new int[capacity];
+			next = new int[capacity];
 		}
 		
 		/**
-		 * Gets the destination state of the transition
+		 * Adds a transition to the index
 		 * 
-		 * @pre -
-		 * @post The returned value contains the destination state of this transition
+		 * @pre "s", "a" >= 0
+		 *      "t" is the number of transitions already added
+		 * @post Transition "t" has been added at the end of the transitions of "s" with "a"
 		 */
-		public State<S,T> getDestination()
+		public void add (int s, int a, int t)
 		{
-			return to;
+			if (t == next.length)
+			{
+				next = Arrays.copyOf (next, t * 2);
+			}
+			if (s >= firstKey.length)
+			{
+				firstKey = Arrays.copyOf (firstKey, Math.max (s + 1, firstKey.length * 2));
+				lastKey = Arrays.copyOf (lastKey, firstKey.length);
+			}
+			
+			int k = keys.add (((long) s << 32) | a);
+			if (k >= 0)
+			{
+				if (k == head.length)
+				{
+					head = Arrays.copyOf (head, k * 2);
+					tail = Arrays.copyOf (tail, k * 2);
+					nextKey = Arrays.copyOf (nextKey, k * 2);
+				}
+				if (lastKey[s] == 0)
+				{
+					firstKey[s] = k + 1;
+				}
+				else
+				{
+					nextKey[lastKey[s] - 1] = k + 1;
+				}
+				lastKey[s] = k + 1;
+				head[k] = t + 1;
+			}
+			else
+			{
+				k = -1 - k;
+				next[tail[k] - 1] = t + 1;
+			}
+			tail[k] = t + 1;
 		}
 		
-		@Override
-		public String toString()
+		/**
+		 * Gets the first transition of a state with an action
+		 * 
+		 * @pre "s", "a" >= 0
+		 * @post The returned value contains the first transition of "s" with "a", or -1 if there is none
+		 */
+		public int first (int s, int a)
 		{
-			return transition.toString();
+			int k = keys.indexOf (((long) s << 32) | a);
+			return k < 0 ? -1 : head[k] - 1;
 		}
-	}
-	
-	/**
-	 * Tau transition of the LTS
-	 * It stores:
-	 * - a T object (the transition)
-	 * - the source state
-	 * - the destination state
-	 */
-	private static class TauTransition<S,T> extends Transition<S,T>
-	{
+		
 		/**
-		 * Creates a new tau transition with specified source and destination
+		 * Gets the first transition of a key
 		 * 
-		 * @pre "from", "to" != null
-		 * @post An instance of this is created, representing a transition with "t"
-		 *       and specified source "from" and destination "to" states
+		 * @pre 0 <= "k" < number of keys
+		 * @post The returned value contains the first transition with key "k"
 		 */
-		public TauTransition (State<S,T> from, State<S,T> to)
+		public int first (int k)
 		{
-			super (null, from, to);
+			return head[k] - 1;
 		}
 		
-		@Override
-		public String toString()
+		/**
+		 * Gets the next transition with the same key as a transition
+		 * 
+		 * @pre "t" has been added to this index
+		 * @post The returned value contains the transition following "t" with the same key, or -1 if there is none
+		 */
+		public int next (int t)
 		{
-			return "tau";
+			return next[t] - 1;
+		}
+		
+		/**
+		 * Gets the first key of a state
+		 * 
+		 * @pre "s" >= 0
+		 * @post The returned value contains the first key of "s", or -1 if it has no transition
+		 */
+		public int firstKey (int s)
+		{
+			return s < firstKey.length ? firstKey[s] - 1 : -1;
+		}
+		
+		/**
+		 * Gets the next key of the same state as a key
+		 * 
+		 * @pre 0 <= "k" < number of keys
+		 * @post The returned value contains the key following "k" with the same state, or -1 if there is none
+		 */
+		public int nextKey (int k)
+		{
+			return nextKey[k] - 1;
+		}
+		
+		/**
+		 * Gets the action of a key
+		 * 
+		 * @pre 0 <= "k" < number of keys
+		 * @post The returned value contains the action of "k"
+		 */
+		public int action (int k)
+		{
+			return (int) keys.get (k);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,357 @@
+// LTSBuilder.java
+
+package be.combefis.hmiltsa.models;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Builder of large LTSs
+ * 
+ * States and transitions are accumulated in arrays, states being identified
+ * by the order in which they have been added (the first one being the
+ * initial state), and the LTS is created in one pass by build(). The
+ * preconditions of LTS.addState, addTransition and addTauTransition are
+ * checked by build() only: the identifiers of the states are checked while
+ * they are stored, the tau transitions are sorted by pair of states to find
+ * duplicates and the duplicate states and transitions are found while the
+ * LTS is filled.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class LTSBuilder<S,T>
+{
+	// Instance variables
+	private Object[] states, transitions;
+	private int[] from, to;
+	private long[] tau;
+	private int statesCount, transitionsCount;
+	private Map<S,Integer> stateIds;
+	
+	/**
+	 * Creates a new empty builder
+	 * 
+	 * @pre "expectedStates", "expectedTransitions" >= 0
+	 * @post An instance of this is created, without any state or transition,
+	 *       and able to store "expectedStates" states and "expectedTransitions"
+	 *       transitions before growing
+	 */
+	public LTSBuilder (int expectedStates, int expectedTransitions)
+	{
+		if (expectedStates < 0 || expectedTransitions < 0)
+		{
+			throw new InvalidParameterException ("The expected numbers of states and transitions cannot be negative");
+		}
+		states = new Object[Math.max (1, expectedStates)];
+		transitions = new Object[Math.max (1, expectedTransitions)];
+		from = new int[transitions.length];
+		to = new int[transitions.length];
+		tau = new long[(transitions.length + 63) >>> 6];
+		statesCount = 0;
+		transitionsCount = 0;
+	}
+	
+	/**
+	 * Gets the number of states added to the builder
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states added to this builder
+	 */
+	public int statesCount()
+	{
+		return statesCount;
+	}
+	
+	/**
+	 * Gets the number of transitions added to the builder
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions added to this builder
+	 */
+	public int transitionsCount()
+	{
+		return transitionsCount;
+	}
+	
+	/**
+	 * Adds a state
+	 * 
+	 * @pre "s" != null
+	 * @post "s" has been added to this builder and the returned value
+	 *       contains its identifier, which is statesCount() - 1
+	 */
+	public int addState (S s)
+	{
+		if (s == null)
+		{
+			throw new InvalidParameterException ("Cannot add a null state to an LTS");
+		}
+		if (statesCount == states.length)
+		{
+			states = Arrays.copyOf (states, statesCount * 2);
+		}
+		states[statesCount] = s;
+		if (stateIds != null)
+		{
+			stateIds.put (s, statesCount);
+		}
+		return statesCount++;
+	}
+	
+	/**
+	 * Adds states
+	 * 
+	 * @pre "states" != null
+	 * @post The states of "states" have been added to this builder, in order
+	 */
+	public void addStates (S[] states)
+	{
+		for (S s : states)
+		{
+			addState (s);
+		}
+	}
+	
+	/**
+	 * Adds states
+	 * 
+	 * @pre "states" != null
+	 * @post The states of "states" have been added to this builder, in order
+	 */
+	public void addStates (Stream<? extends S> states)
+	{
+		states.sequential().forEachOrdered (this::addState);
+	}
+	
+	/**
+	 * Adds a transition
+	 * 
+	 * @pre "t" != null
+	 *      "from", "to" are identifiers of states of this builder when build() is called
+	 * @post A transition with "t" from state "from" to state "to" has been added to this builder
+	 */
+	public void addTransition (T t, int from, int to)
+	{
+		add (t, from, to, false);
+	}
+	
+	/**
+	 * Adds a tau transition
+	 * 
+	 * @pre "t" != null
+	 *      "from", "to" are identifiers of states of this builder when build() is called
+	 * @post A tau transition with "t" from state "from" to state "to" has been added to this builder
+	 */
+	public void addTauTransition (T t, int from, int to)
+	{
+		add (t, from, to, true);
+	}
+	
+	/**
+	 * Adds a transition between two states given by their label
+	 * The states are looked up by label, which costs two hash lookups
+	 * 
+	 * @pre "t", "from", "to" != null
+	 *      "from" and "to" have been added to this builder
+	 * @post A transition with "t" from "from" to "to" has been added to this builder
+	 */
+	public void addTransition (T t, S from, S to)
+	{
+		add (t, stateId (from), stateId (to), false);
+	}
+	
+	/**
+	 * Adds a tau transition between two states given by their label
+	 * The states are looked up by label, which costs two hash lookups
+	 * 
+	 * @pre "t", "from", "to" != null
+	 *      "from" and "to" have been added to this builder
+	 * @post A tau transition with "t" from "from" to "to" has been added to this builder
+	 */
+	public void addTauTransition (T t, S from, S to)
+	{
+		add (t, stateId (from), stateId (to), true);
+	}
+	
+	/**
+	 * Adds transitions
+	 * 
+	 * @pre "transitions", "from", "to" != null
+	 *      "transitions", "from" and "to" have the same length
+	 * @post For each i, a transition with "transitions"[i] from state "from"[i]
+	 *       to state "to"[i] has been added to this builder
+	 */
+	public void addTransitions (T[] transitions, int[] from, int[] to)
+	{
+		if (transitions.length != from.length || transitions.length != to.length)
+		{
+			throw new InvalidParameterException ("The transitions, sources and destinations must have the same length");
+		}
+		ensureCapacity (transitionsCount + transitions.length);
+		for (int i = 0; i < transitions.length; i++)
+		{
+			add (transitions[i], from[i], to[i], false);
+		}
+	}
+	
+	/**
+	 * Adds transitions
+	 * 
+	 * @pre "transitions", "from", "to" != null
+	 *      "transitions", "from" and "to" have the same number of elements
+	 * @post For each i, a transition with the i-th element of "transitions" from the
+	 *       i-th state of "from" to the i-th state of "to" has been added to this builder
+	 */
+	public void addTransitions (Stream<? extends T> transitions, IntStream from, IntStream to)
+	{
+		Iterator<? extends T> t = transitions.sequential().iterator();
+		PrimitiveIterator.OfInt f = from.sequential().iterator(), d = to.sequential().iterator();
+		while (t.hasNext() && f.hasNext() && d.hasNext())
+		{
+			add (t.next(), f.nextInt(), d.nextInt(), false);
+		}
+		if (t.hasNext() || f.hasNext() || d.hasNext())
+		{
+			throw new InvalidParameterException ("The transitions, sources and destinations must have the same length");
+		}
+	}
+	
+	/**
+	 * Builds an LTS
+	 * 
+	 * @pre statesCount() > 0
+	 * @post The returned value contains a new LTS with the states and the transitions
+	 *       of this builder, with the same identifiers
+	 */
+	public LTS<S,T> build()
+	{
+		return build (LTS<S,T>::new);
+	}
+	
+	/**
+	 * Builds an LTS of a given class
+	 * 
+	 * @pre statesCount() > 0
+	 *      "factory" creates an empty LTS from its initial state (for example HMILTS::new)
+	 * @post The returned value contains a new LTS created by "factory" with the states
+	 *       and the transitions of this builder, with the same identifiers
+	 */
+	@SuppressWarnings ("unchecked")
+	public <L extends LTS<S,T>> L build (Function<S,L> factory)
+	{
+		if (statesCount == 0)
+		{
+			throw new InvalidParameterException ("An LTS must have an initial state");
+		}
+		
+		// Identifiers of states, and tau transitions sorted by pair of states
+		int tauCount = 0;
+		for (int t = 0; t < transitionsCount; t++)
+		{
+			if (from[t] < 0 || from[t] >= statesCount || to[t] < 0 || to[t] >= statesCount)
+			{
+				throw new InvalidParameterException ("The two states of the transition (" + transitions[t] + ") do not both belongs to this LTS");
+			}
+			if ((tau[t >>> 6] & (1L << t)) != 0)
+			{
+				tauCount++;
+			}
+		}
+		long[] pairs = new long[tauCount];
+		tauCount = 0;
+		for (int t = 0; t < transitionsCount; t++)
+		{
+			if ((tau[t >>> 6] & (1L << t)) != 0)
+			{
+				pairs[tauCount++] = ((long) from[t] << 32) | to[t];
+			}
+		}
+		Arrays.sort (pairs);
+		for (int i = 1; i < pairs.length; i++)
+		{
+			if (pairs[i] == pairs[i - 1])
+			{
+				throw new InvalidParameterException ("There is already a tau transition between the two specified states in this LTS");
+			}
+		}
+		
+		L lts = factory.apply ((S) states[0]);
+		lts.addAll ((S[]) states, statesCount, (T[]) transitions, from, to, tau, transitionsCount);
+		return lts;
+	}
+	
+	/**
+	 * Gets the identifier of a state
+	 * 
+	 * @pre "s" != null
+	 * @post The returned value contains the identifier of "s" in this builder
+	 */
+	@SuppressWarnings ("unchecked")
+	private int stateId (S s)
+	{
+		if (stateIds == null)
+		{
+			stateIds = new HashMap<S,Integer> (statesCount * 2);
+			for (int i = 0; i < statesCount; i++)
+			{
+				stateIds.put ((S) states[i], i);
+			}
+		}
+		Integer id = stateIds.get (s);
+		if (id == null)
+		{
+			throw new InvalidParameterException ("The specified state (" + s + ") does not belong to this LTS");
+		}
+		return id;
+	}
+	
+	/**
+	 * Adds a transition
+	 * 
+	 * @pre -
+	 * @post A transition with "t" from state "from" to state "to" has been added
+	 *       to this builder, which is a tau transition if "isTau" is true
+	 */
+	private void add (T t, int from, int to, boolean isTau)
+	{
+		if (t == null)
+		{
+			throw new InvalidParameterException ("Cannot add a null transition to an LTS");
+		}
+		ensureCapacity (transitionsCount + 1);
+		int id = transitionsCount++;
+		transitions[id] = t;
+		this.from[id] = from;
+		this.to[id] = to;
+		if (isTau)
+		{
+			tau[id >>> 6] |= 1L << id;
+		}
+	}
+	
+	/**
+	 * Ensures that the builder can store a number of transitions without growing
+	 * 
+	 * @pre "capacity" >= 0
+	 * @post This builder can store "capacity" transitions
+	 */
+	private void ensureCapacity (int capacity)
+	{
+		if (capacity > transitions.length)
+		{
+			int length = Math.max (capacity, transitions.length * 2);
+			transitions = Arrays.copyOf (transitions, length);
+			from = Arrays.copyOf (from, length);
+			to = Arrays.copyOf (to, length);
+			tau = Arrays.copyOf (tau, (length + 63) >>> 6);
+		}
+	}
+}
\ No newline at end of file
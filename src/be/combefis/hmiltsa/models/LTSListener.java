@@ -0,0 +1,34 @@
+// LTSListener.java
+
+package be.combefis.hmiltsa.models;
+
+/**
+ * Listener of the changes of an LTS
+ * 
+ * A listener registered to an LTS (see LTS.addListener) is notified of each
+ * state and transition added to it, once the LTS has been updated, so that
+ * the added element can already be queried from the LTS.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public interface LTSListener<S,T>
+{
+	/**
+	 * Notifies that a state has been added to an LTS
+	 * 
+	 * @pre "lts", "s" != null
+	 *      "s" is a state of "lts"
+	 * @post The addition of the state "s" to "lts" has been handled
+	 */
+	public void stateAdded (LTS<S,T> lts, S s);
+	
+	/**
+	 * Notifies that a transition has been added to an LTS
+	 * 
+	 * @pre "lts", "t" != null
+	 *      "t" is a transition of "lts"
+	 * @post The addition of the transition "t" to "lts" has been handled
+	 */
+	public void transitionAdded (LTS<S,T> lts, T t);
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+// LongIndex.java
+
+package be.combefis.hmiltsa.models;
+
+import java.util.Arrays;
+
+/**
+ * Set of long keys, each key being given a dense index (0, 1, 2...)
+ * in the order in which it has been added
+ * 
+ * Keys are stored in an array in insertion order and an open addressing
+ * table maps them to their index, so that no object is allocated per key.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class LongIndex
+{
+	// Instance variables
+	private long[] keys;
+	private int[] table;
+	private int size;
+	
+	/**
+	 * Creates a new empty index
+	 * 
+	 * @pre "capacity" > 0
+	 * @post An instance of this is created, without any key and
+	 *       able to store "capacity" keys before growing
+	 */
+	public LongIndex (int capacity)
+	{
+		keys = new long[capacity];
+		table = new int[Integer.highestOneBit (Math.max (2, capacity) * 2 - 1) * 2];
+		size = 0;
+	}
+	
+	/**
+	 * Gets the number of keys of the index
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of keys of this index
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Gets the memory used by the index
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of bytes of the arrays of this index
+	 */
+	public long memory()
+	{
+		return 8L * keys.length + 4L * table.length;
+	}
+	
+	/**
+	 * Gets the key with a given index
+	 * 
+	 * @pre 0 <= "i" < size()
+	 * @post The returned value contains the key whose index is "i"
+	 */
+	public long get (int i)
+	{
+		return keys[i];
+	}
+	
+	/**
+	 * Gets the index of a key
+	 * 
+	 * @pre -
+	 * @post The returned value contains the index of "key", or -1 if "key" is not in this index
+	 */
+	public int indexOf (long key)
+	{
+		int mask = table.length - 1;
+		for (int slot = hash (key) & mask; table[slot] != 0; slot = (slot + 1) & mask)
+		{
+			int i = table[slot] - 1;
+			if (keys[i] == key)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Tests whether a key is in the index
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if "key" is in this index
+	 */
+	public boolean contains (long key)
+	{
+		return indexOf (key) >= 0;
+	}
+	
+	/**
+	 * Adds a key to the index
+	 * 
+	 * @pre -
+	 * @post If "key" was not in this index, it has been added with index size() - 1
+	 *       and the returned value contains that index. Otherwise, the returned value
+	 *       contains -1 - i where i is the index of "key"
+	 */
+	public int add (long key)
+	{
+		int mask = table.length - 1;
+		int slot = hash (key) & mask;
+		for (; table[slot] != 0; slot = (slot + 1) & mask)
+		{
+			int i = table[slot] - 1;
+			if (keys[i] == key)
+			{
+				return -1 - i;
+			}
+		}
+		
+		if (size == keys.length)
+		{
+			keys = Arrays.copyOf (keys, Math.max (16, size + (size >> 1)));
+		}
+		keys[size] = key;
+		table[slot] = ++size;
+		if (size * 2 > table.length)
+		{
+			rehash();
+		}
+		return size - 1;
+	}
+	
+	/**
+	 * Doubles the size of the hash table
+	 * 
+	 * @pre -
+	 * @post The hash table has been doubled and contains all the keys of this index
+	 */
+	private void rehash()
+	{
+		table = new int[table.length * 2];
+		int mask = table.length - 1;
+		for (int i = 0; i < size; i++)
+		{
+			int slot = hash (keys[i]) & mask;
+			while (table[slot] != 0)
+			{
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = i + 1;
+		}
+	}
+	
+	/**
+	 * Hashes a key
+	 * 
+	 * @pre -
+	 * @post The returned value contains a well-mixed hash code of "key"
+	 */
+	public static int hash (long key)
+	{
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+}
\ No newline at end of file
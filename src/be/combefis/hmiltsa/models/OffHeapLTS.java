@@ -0,0 +1,506 @@
+// OffHeapLTS.java
+
+package be.combefis.hmiltsa.models;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Labelled Transition System (LTS) whose states and transitions are stored off-heap
+ * 
+ * States and transitions are only identified by their numbers, in the order
+ * in which they have been added, state 0 being the initial state. Actions
+ * are the only objects of the LTS: they are given dense identifiers (1, 2,
+ * 3...), identifier TAU (0) being shared by all the internal transitions,
+ * as in LTS. The LTS is read through IndexedLTS, as compact snapshots,
+ * so that the algorithms written against this interface, such as the
+ * full-control check, can be used with both.
+ * 
+ * The source, destination and action of the transitions and the lists of
+ * the outgoing and ingoing transitions of the states are stored in arrays
+ * of integers made of direct buffers allocated chunk by chunk as the LTS
+ * grows, so that the heap only contains a few objects per chunk whatever
+ * the size of the LTS. The lists of a state contain all its transitions, in
+ * their order of addition, and are filtered by action when they are visited.
+ * The memory is released as soon as the LTS is closed.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class OffHeapLTS implements IndexedLTS, AutoCloseable
+{
+	// Constants
+	private static final int CHUNK_BITS = 16;
+	private static final int TAU_TRANSITION = -1;
+	
+	// Instance variables
+	private final IntChunks firstOut, lastOut, firstIn, lastIn;
+	private final IntChunks source, target, action, nextOut, nextIn;
+	private final Map<Object,Integer> actionIds;
+	private final List<Object> actions;
+	private int statesCount, transitionsCount;
+	private boolean closed;
+	
+	/**
+	 * Creates a new LTS with one state
+	 * 
+	 * @pre -
+	 * @post A new instance of this is created, representing an LTS
+	 *       with only its initial state 0
+	 */
+	public OffHeapLTS()
+	{
+		firstOut = new IntChunks (CHUNK_BITS);
+		lastOut = new IntChunks (CHUNK_BITS);
+		firstIn = new IntChunks (CHUNK_BITS);
+		lastIn = new IntChunks (CHUNK_BITS);
+		source = new IntChunks (CHUNK_BITS);
+		target = new IntChunks (CHUNK_BITS);
+		action = new IntChunks (CHUNK_BITS);
+		nextOut = new IntChunks (CHUNK_BITS);
+		nextIn = new IntChunks (CHUNK_BITS);
+		actionIds = new HashMap<Object,Integer>();
+		actions = new ArrayList<Object>();
+		actions.add (null);
+		
+		addState();
+	}
+	
+	/**
+	 * Gets the number of states of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states of this LTS
+	 */
+	@Override
+	public int statesCount()
+	{
+		return statesCount;
+	}
+	
+	/**
+	 * Gets the number of transitions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of transitions of this LTS
+	 */
+	@Override
+	public int transitionsCount()
+	{
+		return transitionsCount;
+	}
+	
+	/**
+	 * Adds a state to the LTS
+	 * 
+	 * @pre this LTS is not closed
+	 * @post A new state has been added to this LTS and the returned value contains its identifier
+	 */
+	public int addState()
+	{
+		ensureOpen();
+		if (statesCount == Integer.MAX_VALUE)
+		{
+			throw new IllegalStateException ("Too many states in the LTS");
+		}
+		long capacity = statesCount + 1L;
+		firstOut.ensureCapacity (capacity);
+		lastOut.ensureCapacity (capacity);
+		firstIn.ensureCapacity (capacity);
+		lastIn.ensureCapacity (capacity);
+		return statesCount++;
+	}
+	
+	/**
+	 * Adds an action to the LTS
+	 * 
+	 * @pre "a" != null
+	 * @post The returned value contains the identifier of "a", which has
+	 *       been added to the actions of this LTS if it was not one of them
+	 */
+	public int addAction (Object a)
+	{
+		if (a == null)
+		{
+			throw new InvalidParameterException ("Cannot add a null action to an LTS");
+		}
+		Integer id = actionIds.get (a);
+		if (id == null)
+		{
+			id = actions.size();
+			actions.add (a);
+			actionIds.put (a, id);
+		}
+		return id;
+	}
+	
+	/**
+	 * Adds a transition to the LTS
+	 * 
+	 * @pre 0 <= "from", "to" < statesCount()
+	 *      0 <= "a" < actionsCount()
+	 *      this LTS is not closed
+	 * @post A transition with action "a" has been added to this LTS, with "from" as source state
+	 *       and "to" as destination state, and the returned value contains its identifier
+	 */
+	public int addTransition (int from, int a, int to)
+	{
+		if (a < 0 || a >= actions.size())
+		{
+			throw new InvalidParameterException ("The specified action (" + a + ") does not belong to this LTS");
+		}
+		return insert (from, a, to);
+	}
+	
+	/**
+	 * Adds a tau transition to the LTS
+	 * 
+	 * @pre 0 <= "from", "to" < statesCount()
+	 *      there is no tau transition between "from" and "to" yet
+	 *      this LTS is not closed
+	 * @post A tau transition has been added to this LTS, with "from" as source state
+	 *       and "to" as destination state, and the returned value contains its identifier
+	 */
+	public int addTauTransition (int from, int to)
+	{
+		ensureOpen();
+		checkState (from);
+		checkState (to);
+		if (hasTauTransition (from, to))
+		{
+			throw new InvalidParameterException ("There is already a tau transition between the two specified states in this LTS");
+		}
+		return insert (from, TAU_TRANSITION, to);
+	}
+	
+	/**
+	 * Inserts a transition in the LTS
+	 * 
+	 * @pre "a" is TAU_TRANSITION or between 0 and actionsCount() - 1
+	 * @post A transition with stored action "a" has been added at the end of the lists
+	 *       of "from" and "to", and the returned value contains its identifier
+	 */
+	private int insert (int from, int a, int to)
+	{
+		ensureOpen();
+		checkState (from);
+		checkState (to);
+		if (transitionsCount == Integer.MAX_VALUE)
+		{
+			throw new IllegalStateException ("Too many transitions in the LTS");
+		}
+		
+		int t = transitionsCount;
+		long capacity = t + 1L;
+		source.ensureCapacity (capacity);
+		target.ensureCapacity (capacity);
+		action.ensureCapacity (capacity);
+		nextOut.ensureCapacity (capacity);
+		nextIn.ensureCapacity (capacity);
+		source.set (t, from);
+		target.set (t, to);
+		action.set (t, a);
+		append (firstOut, lastOut, nextOut, from, t);
+		append (firstIn, lastIn, nextIn, to, t);
+		return transitionsCount++;
+	}
+	
+	/**
+	 * Appends a transition to the list of a state
+	 * 
+	 * @pre "first", "last", "next" != null
+	 *      the transitions are stored with one added, 0 meaning none
+	 * @post "t" is the last transition of the list of "s" threaded through "next"
+	 */
+	private static void append (IntChunks first, IntChunks last, IntChunks next, int s, int t)
+	{
+		int tail = last.get (s);
+		if (tail == 0)
+		{
+			first.set (s, t + 1);
+		}
+		else
+		{
+			next.set (tail - 1, t + 1);
+		}
+		last.set (s, t + 1);
+	}
+	
+	/**
+	 * Checks that a state belongs to the LTS
+	 * 
+	 * @pre -
+	 * @post An InvalidParameterException has been thrown if "s" is not a state of this LTS
+	 */
+	private void checkState (int s)
+	{
+		if (s < 0 || s >= statesCount)
+		{
+			throw new InvalidParameterException ("The specified state (" + s + ") does not belong to this LTS");
+		}
+	}
+	
+	/**
+	 * Checks that the LTS is not closed
+	 * 
+	 * @pre -
+	 * @post An IllegalStateException has been thrown if this LTS is closed
+	 */
+	private void ensureOpen()
+	{
+		if (closed)
+		{
+			throw new IllegalStateException ("The LTS has been closed");
+		}
+	}
+	
+	/**
+	 * Tests whether there exists a tau transition between two states
+	 * 
+	 * @pre 0 <= "from", "to" < statesCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains true if there is a tau transition
+	 *       with "from" as source state and "to" as destination state in this LTS
+	 */
+	public boolean hasTauTransition (int from, int to)
+	{
+		for (int t = firstOut.get (from) - 1; t >= 0; t = nextOut.get (t) - 1)
+		{
+			if (action.get (t) == TAU_TRANSITION && target.get (t) == to)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Tests whether a transition is a tau transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains true if "t" has been added as a tau transition
+	 */
+	public boolean isTauTransition (int t)
+	{
+		return action.get (t) == TAU_TRANSITION;
+	}
+	
+	/**
+	 * Gets the number of actions of the LTS
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of action identifiers of this LTS, TAU included
+	 */
+	@Override
+	public int actionsCount()
+	{
+		return actions.size();
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "a" < actionsCount()
+	 * @post The returned value contains the action whose identifier is "a", or null if "a" is TAU
+	 */
+	@Override
+	public Object action (int a)
+	{
+		return actions.get (a);
+	}
+	
+	/**
+	 * Gets the identifier of an action
+	 * 
+	 * @pre -
+	 * @post The returned value contains the identifier of the action "a",
+	 *       or -1 if it is not an action of this LTS
+	 */
+	@Override
+	public int actionId (Object a)
+	{
+		Integer id = actionIds.get (a);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * Gets the source of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the source state of transition "t"
+	 */
+	@Override
+	public int transitionSource (int t)
+	{
+		return source.get (t);
+	}
+	
+	/**
+	 * Gets the destination of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the destination state of transition "t"
+	 */
+	@Override
+	public int transitionTarget (int t)
+	{
+		return target.get (t);
+	}
+	
+	/**
+	 * Gets the action of a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the action of transition "t",
+	 *       TAU if it is internal
+	 */
+	@Override
+	public int transitionAction (int t)
+	{
+		return Math.max (CompactLTS.TAU, action.get (t));
+	}
+	
+	/**
+	 * Gets the first outgoing transition of a state with an action
+	 * The outgoing transitions of "s" with "a" are visited with:
+	 * for (int t = firstOut (s, a); t >= 0; t = nextOut (t))
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the first transition
+	 *       from "s" with action "a", or -1 if there is none
+	 */
+	@Override
+	public int firstOut (int s, int a)
+	{
+		return find (nextOut, firstOut.get (s) - 1, a);
+	}
+	
+	/**
+	 * Gets the next outgoing transition with the same source and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       source and the action of "t", or -1 if there is none
+	 */
+	@Override
+	public int nextOut (int t)
+	{
+		return find (nextOut, nextOut.get (t) - 1, transitionAction (t));
+	}
+	
+	/**
+	 * Gets the first ingoing transition of a state with an action
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the first transition
+	 *       to "s" with action "a", or -1 if there is none
+	 */
+	@Override
+	public int firstIn (int s, int a)
+	{
+		return find (nextIn, firstIn.get (s) - 1, a);
+	}
+	
+	/**
+	 * Gets the next ingoing transition with the same destination and action as a transition
+	 * 
+	 * @pre 0 <= "t" < transitionsCount()
+	 *      this LTS is not closed
+	 * @post The returned value contains the identifier of the next transition with the
+	 *       destination and the action of "t", or -1 if there is none
+	 */
+	@Override
+	public int nextIn (int t)
+	{
+		return find (nextIn, nextIn.get (t) - 1, transitionAction (t));
+	}
+	
+	/**
+	 * Finds the first transition with an action in a list
+	 * 
+	 * @pre "next" != null
+	 *      "t" is -1 or a transition of the list threaded through "next"
+	 * @post The returned value contains the first transition with action "a"
+	 *       in the list from "t" included, or -1 if there is none
+	 */
+	private int find (IntChunks next, int t, int a)
+	{
+		while (t >= 0 && transitionAction (t) != a)
+		{
+			t = next.get (t) - 1;
+		}
+		return t;
+	}
+	
+	/**
+	 * Gets the actions enabled in a state
+	 * 
+	 * @pre 0 <= "s" < statesCount()
+	 *      "result" != null
+	 *      "result".length >= actionsCount()
+	 *      this LTS is not closed
+	 * @post The identifiers of the actions of the outgoing transitions of "s", TAU included,
+	 *       have been stored at the beginning of "result", in the order of their first transition,
+	 *       and the returned value contains their number
+	 */
+	@Override
+	public int enabledActions (int s, int[] result)
+	{
+		int count = 0;
+		for (int t = firstOut.get (s) - 1; t >= 0; t = nextOut.get (t) - 1)
+		{
+			int a = transitionAction (t);
+			int i = 0;
+			while (i < count && result[i] != a)
+			{
+				i++;
+			}
+			if (i == count)
+			{
+				result[count++] = a;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Tests whether the LTS is closed
+	 * 
+	 * @pre -
+	 * @post The returned value contains true if the memory of this LTS has been released
+	 */
+	public boolean isClosed()
+	{
+		return closed;
+	}
+	
+	/**
+	 * Closes the LTS
+	 * 
+	 * @pre -
+	 * @post The off-heap memory of this LTS has been released and it cannot
+	 *       be queried or changed anymore, closing it again having no effect
+	 */
+	@Override
+	public void close()
+	{
+		if (! closed)
+		{
+			closed = true;
+			for (IntChunks array : new IntChunks[] {firstOut, lastOut, firstIn, lastIn, source, target, action, nextOut, nextIn})
+			{
+				array.free();
+			}
+		}
+	}
+}
\ No newline at end of file
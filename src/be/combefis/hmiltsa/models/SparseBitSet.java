@@ -0,0 +1,152 @@
+// SparseBitSet.java
+
+package be.combefis.hmiltsa.models;
+
+/**
+ * Immutable compressed set of non-negative integers
+ * 
+ * Integers are grouped by 64 in words and only the non-empty words are
+ * stored, together with their position, sorted by position.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class SparseBitSet
+{
+	// Instance variables
+	private final int[] positions;
+	private final long[] words;
+	private final int cardinality;
+	
+	/**
+	 * Creates a new compressed set
+	 * 
+	 * @pre "positions", "words" != null
+	 *      "positions" and "words" have the same length
+	 *      "positions" is sorted without duplicates and "words" contains no 0
+	 * @post An instance of this is created, containing the integers 64 * "positions"[i] + j
+	 *       such that the bit j of "words"[i] is set
+	 */
+	SparseBitSet (int[] positions, long[] words)
+	{
+		this.positions = positions;
+		this.words = words;
+		int count = 0;
+		for (long word : words)
+		{
+			count += Long.bitCount (word);
+		}
+		cardinality = count;
+	}
+	
+	/**
+	 * Gets the number of elements of the set
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of integers in this set
+	 */
+	public int cardinality()
+	{
+		return cardinality;
+	}
+	
+	/**
+	 * Tests whether an integer belongs to the set
+	 * 
+	 * @pre "i" >= 0
+	 * @post The returned value contains true if "i" is in this set
+	 */
+	public boolean get (int i)
+	{
+		int w = find (i >>> 6);
+		return w >= 0 && (words[w] & (1L << i)) != 0;
+	}
+	
+	/**
+	 * Gets the smallest element of the set greater than or equal to an integer
+	 * 
+	 * @pre "i" >= 0
+	 * @post The returned value contains the smallest integer of this set
+	 *       which is greater than or equal to "i", or -1 if there is none
+	 */
+	public int nextSetBit (int i)
+	{
+		int w = find (i >>> 6);
+		if (w >= 0)
+		{
+			long word = words[w] & (-1L << i);
+			if (word != 0)
+			{
+				return (positions[w] << 6) + Long.numberOfTrailingZeros (word);
+			}
+			w++;
+		}
+		else
+		{
+			w = -1 - w;
+		}
+		return w < words.length ? (positions[w] << 6) + Long.numberOfTrailingZeros (words[w]) : -1;
+	}
+	
+	/**
+	 * Gets the number of non-empty words of the set
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of words stored by this set
+	 */
+	int wordsCount()
+	{
+		return words.length;
+	}
+	
+	/**
+	 * Gets the position of a non-empty word of the set
+	 * 
+	 * @pre 0 <= "w" < wordsCount()
+	 * @post The returned value contains the position of the word "w" of this set
+	 */
+	int position (int w)
+	{
+		return positions[w];
+	}
+	
+	/**
+	 * Gets a non-empty word of the set
+	 * 
+	 * @pre 0 <= "w" < wordsCount()
+	 * @post The returned value contains the word "w" of this set
+	 */
+	long word (int w)
+	{
+		return words[w];
+	}
+	
+	/**
+	 * Finds a word from its position
+	 * 
+	 * @pre "position" >= 0
+	 * @post The returned value contains the index of the word at "position"
+	 *       if it is stored, or -1 - i where i is the index at which it would be inserted
+	 */
+	private int find (int position)
+	{
+		int from = 0, to = positions.length - 1;
+		while (from <= to)
+		{
+			int middle = (from + to) >>> 1;
+			if (positions[middle] < position)
+			{
+				from = middle + 1;
+			}
+			else if (positions[middle] > position)
+			{
+				to = middle - 1;
+			}
+			else
+			{
+				return middle;
+			}
+		}
+		return -1 - from;
+	}
+}
\ No newline at end of file
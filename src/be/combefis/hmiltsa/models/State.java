@@ -6,12 +6,13 @@ package be.combefis.hmiltsa.models;
  * State of an HMI-LTS
  * 
  * @author Sébastien Combéfis
- * @version February 27, 2015
+ * @version October 18, 2026
  */
 public final class State
 {
 	// Instance variables
 	private final String name;
+	private final int id;
 	
 	/**
 	 * Creates a new state
@@ -20,8 +21,22 @@ public final class State
 	 * @post An instance of this is created, representing a state with the specified "name"
 	 */
 	public State (String name)
+	{
+		this (name, -1);
+	}
+	
+	/**
+	 * Creates a new interned state
+	 * 
+	 * @pre "name" != null
+	 *      "id" >= 0
+	 * @post An instance of this is created, representing a state with the specified "name"
+	 *       and with the identifier "id" in its symbol table
+	 */
+	State (String name, int id)
 	{
 		this.name = name;
+		this.id = id;
 	}
 	
 	/**
@@ -35,6 +50,18 @@ public final class State
 		return name;
 	}
 	
+	/**
+	 * Gets the identifier of the state
+	 * 
+	 * @pre -
+	 * @post The returned value contains the dense identifier of this state
+	 *       in the symbol table that created it, or -1 if it has not been interned
+	 */
+	public int getId()
+	{
+		return id;
+	}
+	
 	@Override
 	public String toString()
 	{
@@ -51,4 +78,10 @@ public final class State
 		}
 		return false;
 	}
+	
+	@Override
+	public int hashCode()
+	{
+		return name.hashCode();
+	}
 }
\ No newline at end of file
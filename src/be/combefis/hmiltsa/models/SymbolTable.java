@@ -0,0 +1,173 @@
+// SymbolTable.java
+
+package be.combefis.hmiltsa.models;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symbol table interning the states and actions of HMI-LTSs
+ * 
+ * Each name is mapped to one canonical instance, which receives a dense
+ * identifier (0, 1, 2...) in the order in which it has been interned.
+ * Algorithms can therefore use these identifiers to index arrays instead
+ * of hashing names.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class SymbolTable
+{
+	// Instance variables
+	private final Map<String,State> statesMap;
+	private final Map<String,Action> actionsMap;
+	private final List<State> states;
+	private final List<Action> actions;
+	
+	/**
+	 * Creates a new empty symbol table
+	 * 
+	 * @pre -
+	 * @post An instance of this is created, without any symbol
+	 */
+	public SymbolTable()
+	{
+		statesMap = new HashMap<String,State>();
+		actionsMap = new HashMap<String,Action>();
+		states = new ArrayList<State>();
+		actions = new ArrayList<Action>();
+	}
+	
+	/**
+	 * Gets the canonical state with a given name
+	 * 
+	 * @pre "name" != null
+	 * @post The returned value contains the state of this table named "name",
+	 *       it has been created with the next free identifier if needed
+	 */
+	public State state (String name)
+	{
+		if (name == null)
+		{
+			throw new InvalidParameterException ("Cannot intern a state with a null name");
+		}
+		
+		State s = statesMap.get (name);
+		if (s == null)
+		{
+			s = new State (name, states.size());
+			states.add (s);
+			statesMap.put (name, s);
+		}
+		return s;
+	}
+	
+	/**
+	 * Gets the canonical action with a given name
+	 * 
+	 * @pre "name", "type" != null
+	 *      if an action named "name" has already been interned, its type is "type"
+	 * @post The returned value contains the action of this table named "name",
+	 *       it has been created with the next free identifier if needed
+	 */
+	public Action action (String name, ActionType type)
+	{
+		if (name == null || type == null)
+		{
+			throw new InvalidParameterException ("Cannot intern an action with a null name or type");
+		}
+		
+		Action a = actionsMap.get (name);
+		if (a == null)
+		{
+			a = new Action (name, type, actions.size());
+			actions.add (a);
+			actionsMap.put (name, a);
+		}
+		else if (a.getType() != type)
+		{
+			throw new InvalidParameterException ("The action (" + name + ") has already been interned with type " + a.getType());
+		}
+		return a;
+	}
+	
+	/**
+	 * Gets the canonical instance of a state
+	 * 
+	 * @pre "s" != null
+	 * @post The returned value contains the state of this table equal to "s"
+	 */
+	public State intern (State s)
+	{
+		int id = s.getId();
+		if (id >= 0 && id < states.size() && states.get (id) == s)
+		{
+			return s;
+		}
+		return state (s.getName());
+	}
+	
+	/**
+	 * Gets the canonical instance of an action
+	 * 
+	 * @pre "a" != null
+	 *      if an action equal to "a" has already been interned, it has the same type as "a"
+	 * @post The returned value contains the action of this table equal to "a"
+	 */
+	public Action intern (Action a)
+	{
+		int id = a.getId();
+		if (id >= 0 && id < actions.size() && actions.get (id) == a)
+		{
+			return a;
+		}
+		return action (a.getName(), a.getType());
+	}
+	
+	/**
+	 * Gets the state with a given identifier
+	 * 
+	 * @pre 0 <= "id" < statesCount()
+	 * @post The returned value contains the state of this table whose identifier is "id"
+	 */
+	public State getState (int id)
+	{
+		return states.get (id);
+	}
+	
+	/**
+	 * Gets the action with a given identifier
+	 * 
+	 * @pre 0 <= "id" < actionsCount()
+	 * @post The returned value contains the action of this table whose identifier is "id"
+	 */
+	public Action getAction (int id)
+	{
+		return actions.get (id);
+	}
+	
+	/**
+	 * Gets the number of states of the table
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of states interned in this table
+	 */
+	public int statesCount()
+	{
+		return states.size();
+	}
+	
+	/**
+	 * Gets the number of actions of the table
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of actions interned in this table
+	 */
+	public int actionsCount()
+	{
+		return actions.size();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+// TauClosure.java
+
+package be.combefis.hmiltsa.models;
+
+import java.util.Arrays;
+
+/**
+ * Reflexive and transitive closure of the TAU transitions of an LTS
+ * 
+ * The strongly connected components of the TAU transitions are first
+ * collapsed with Tarjan's algorithm. Components are numbered in the order
+ * in which Tarjan's algorithm completes them, so that a TAU transition
+ * always goes from a component to a component with a smaller or equal
+ * identifier. The components reachable from each component are then
+ * computed over the resulting acyclic graph, in increasing order of
+ * identifier, and stored as compressed bitsets.
+ * 
+ * The closure of a compact snapshot is cached by the snapshot (see
+ * CompactLTS.tauClosure), the closure of another LTS being computed
+ * each time it is created.
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TauClosure
+{
+	// Instance variables
+	private final int[] component, componentStart, componentStates;
+	private final SparseBitSet[] reachable;
+	
+	/**
+	 * Creates the tau-closure of an LTS
+	 * 
+	 * @pre "lts" != null
+	 * @post An instance of this is created, representing the tau-closure of "lts"
+	 */
+	public TauClosure (IndexedLTS lts)
+	{
+		int n = lts.statesCount();
+		component = new int[n];
+		int count = tarjan (lts);
+		
+		// States grouped by component
+		componentStart = new int[count + 1];
+		for (int s = 0; s < n; s++)
+		{
+			componentStart[component[s] + 1]++;
+		}
+		for (int c = 1; c <= count; c++)
+		{
+			componentStart[c] += componentStart[c - 1];
+		}
+		componentStates = new int[n];
+		int[] next = Arrays.copyOf (componentStart, count);
+		for (int s = 0; s < n; s++)
+		{
+			componentStates[next[component[s]]++] = s;
+		}
+		
+		// Reachable components, successors having smaller identifiers
+		reachable = new SparseBitSet[count];
+		long[] scratch = new long[(count + 63) >>> 6];
+		int[] touched = new int[scratch.length];
+		for (int c = 0; c < count; c++)
+		{
+			int size = 0;
+			scratch[c >>> 6] |= 1L << c;
+			touched[size++] = c >>> 6;
+			for (int i = componentStart[c]; i < componentStart[c + 1]; i++)
+			{
+				int s = componentStates[i];
+				for (int j = lts.firstOut (s, CompactLTS.TAU); j >= 0; j = lts.nextOut (j))
+				{
+					int d = component[lts.transitionTarget (j)];
+					if (d != c)
+					{
+						SparseBitSet set = reachable[d];
+						for (int w = 0; w < set.wordsCount(); w++)
+						{
+							int position = set.position (w);
+							if (scratch[position] == 0)
+							{
+								touched[size++] = position;
+							}
+							scratch[position] |= set.word (w);
+						}
+					}
+				}
+			}
+			
+			Arrays.sort (touched, 0, size);
+			int[] positions = Arrays.copyOf (touched, size);
+			long[] words = new long[size];
+			for (int w = 0; w < size; w++)
+			{
+				words[w] = scratch[positions[w]];
+				scratch[positions[w]] = 0;
+			}
+			reachable[c] = new SparseBitSet (positions, words);
+		}
+	}
+	
+	/**
+	 * Computes the strongly connected components of the TAU transitions
+	 * with an iterative version of Tarjan's algorithm
+	 * 
+	 * @pre "lts" != null
+	 * @post component[s] contains the identifier of the component of state s,
+	 *       components being numbered in order of completion, and the returned
+	 *       value contains the number of components
+	 */
+	private int tarjan (IndexedLTS lts)
+	{
+		int n = lts.statesCount();
+		int[] index = new int[n], low = new int[n];
+		int[] stack = new int[n], callStack = new int[n], edge = new int[n];
+		boolean[] onStack = new boolean[n];
+		int counter = 0, count = 0, top = 0;
+		
+		for (int root = 0; root < n; root++)
+		{
+			if (index[root] != 0)
+			{
+				continue;
+			}
+			
+			int depth = 0;
+			callStack[depth] = root;
+			edge[depth] = lts.firstOut (root, CompactLTS.TAU);
+			index[root] = low[root] = ++counter;
+			stack[top++] = root;
+			onStack[root] = true;
+			while (depth >= 0)
+			{
+				int s = callStack[depth];
+				if (edge[depth] >= 0)
+				{
+					int t = lts.transitionTarget (edge[depth]);
+					edge[depth] = lts.nextOut (edge[depth]);
+					if (index[t] == 0)
+					{
+						depth++;
+						callStack[depth] = t;
+						edge[depth] = lts.firstOut (t, CompactLTS.TAU);
+						index[t] = low[t] = ++counter;
+						stack[top++] = t;
+						onStack[t] = true;
+					}
+					else if (onStack[t])
+					{
+						low[s] = Math.min (low[s], index[t]);
+					}
+				}
+				else
+				{
+					if (low[s] == index[s])
+					{
+						int t;
+						do
+						{
+							t = stack[--top];
+							onStack[t] = false;
+							component[t] = count;
+						}
+						while (t != s);
+						count++;
+					}
+					depth--;
+					if (depth >= 0)
+					{
+						int parent = callStack[depth];
+						low[parent] = Math.min (low[parent], low[s]);
+					}
+				}
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the number of components
+	 * 
+	 * @pre -
+	 * @post The returned value contains the number of strongly connected
+	 *       components of the TAU transitions
+	 */
+	public int componentsCount()
+	{
+		return reachable.length;
+	}
+	
+	/**
+	 * Gets the component of a state
+	 * 
+	 * @pre 0 <= "s" < number of states of the LTS
+	 * @post The returned value contains the identifier of the component of "s"
+	 */
+	public int component (int s)
+	{
+		return component[s];
+	}
+	
+	/**
+	 * Gets the position of the first state of a component
+	 * 
+	 * @pre 0 <= "c" < componentsCount()
+	 * @post The returned value contains the position of the first state of "c",
+	 *       the states of "c" are at positions componentStart("c") to componentEnd("c") - 1
+	 */
+	public int componentStart (int c)
+	{
+		return componentStart[c];
+	}
+	
+	/**
+	 * Gets the position following the last state of a component
+	 * 
+	 * @pre 0 <= "c" < componentsCount()
+	 * @post The returned value contains the position following the last state of "c"
+	 */
+	public int componentEnd (int c)
+	{
+		return componentStart[c + 1];
+	}
+	
+	/**
+	 * Gets the state at a given position
+	 * 
+	 * @pre 0 <= "i" < number of states of the LTS
+	 * @post The returned value contains the state at position "i"
+	 */
+	public int componentState (int i)
+	{
+		return componentStates[i];
+	}
+	
+	/**
+	 * Gets the components reachable from a component
+	 * 
+	 * @pre 0 <= "c" < componentsCount()
+	 * @post The returned value contains the identifiers of the components
+	 *       that can be reached from "c" with zero or more TAU transitions
+	 */
+	public SparseBitSet reachableComponents (int c)
+	{
+		return reachable[c];
+	}
+	
+	/**
+	 * Tests whether a state can reach another one with TAU transitions
+	 * 
+	 * @pre 0 <= "from", "to" < number of states of the LTS
+	 * @post The returned value contains true if "to" can be reached
+	 *       from "from" with zero or more TAU transitions
+	 */
+	public boolean reaches (int from, int to)
+	{
+		return reachable[component[from]].get (component[to]);
+	}
+}
\ No newline at end of file
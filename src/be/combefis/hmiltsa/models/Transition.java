@@ -5,8 +5,11 @@ package be.combefis.hmiltsa.models;
 /**
  * Transition of an HMI-LTS
  * 
+ * Several transitions of an HMI-LTS can be labelled with the same action,
+ * so that two transitions are only equal if they are the same object
+ * 
  * @author Sébastien Combéfis
- * @version February 28, 2015
+ * @version October 18, 2026
  */
 public final class Transition
 {
@@ -40,15 +43,4 @@ public final class Transition
 	{
 		return action.toString();
 	}
-	
-	@Override
-	public boolean equals (Object o)
-	{
-		if (o instanceof Transition)
-		{
-			Transition t = (Transition) o;
-			return action.equals (t.action);
-		}
-		return false;
-	}
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+// TestAutLoader.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.io.AutLoader;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.OffHeapLTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the AutLoader class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestAutLoader
+{
+	// Instance variables
+	private Path file;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		file = Files.createTempFile ("hmiltsa", ".aut");
+	}
+	
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists (file);
+	}
+	
+	/**
+	 * Loads an HMI-LTS from a text
+	 * 
+	 * @pre "content" != null
+	 * @post The returned value contains the HMI-LTS loaded from "content" with "loader"
+	 */
+	private HMILTS load (AutLoader loader, String content) throws IOException
+	{
+		Files.write (file, content.getBytes (StandardCharsets.UTF_8));
+		return loader.load (file);
+	}
+	
+	@Test
+	public void testLoad() throws IOException
+	{
+		HMILTS lts = load (new AutLoader(), "des (1, 4, 3)\n(1, \"cmd_press\", 2)\r\n(2,obs_beep , 0)\n  (0, tau, 1)\n(2, \"cmd_press\", 1)");
+		assertEquals (3, lts.statesCount());
+		assertEquals (4, lts.transitionsCount());
+		assertEquals (new State ("1"), lts.initialState());
+		
+		Transition press = lts.transition (0);
+		assertEquals (new Action ("cmd_press", ActionType.COMMAND), press.getAction());
+		assertEquals (new State ("2"), lts.getDestination (press));
+		Transition beep = lts.transition (1);
+		assertEquals (new Action ("obs_beep", ActionType.OBSERVATION), beep.getAction());
+		assertEquals (new State ("0"), lts.getDestination (beep));
+		assertEquals (ActionType.TAU, lts.transition (2).getAction().getType());
+		
+		// Labels are interned
+		assertSame (press.getAction(), lts.transition (3).getAction());
+		assertEquals (2, lts.getAlphabet().size());
+	}
+	
+	@Test
+	public void testLoadOffHeap() throws IOException
+	{
+		// The initial state is numbered 0 and the other states keep their order
+		AutLoader loader = new AutLoader();
+		HMILTS model = load (loader, "des (1, 4, 3)\n(1, \"cmd_press\", 2)\n(2, obs_beep, 0)\n(0, tau, 1)\n(2, \"cmd_press\", 1)");
+		try (OffHeapLTS lts = loader.loadOffHeap (file))
+		{
+			assertEquals (3, lts.statesCount());
+			assertEquals (4, lts.transitionsCount());
+			for (int t = 0; t < lts.transitionsCount(); t++)
+			{
+				assertEquals (model.transitionSource (t), lts.transitionSource (t));
+				assertEquals (model.transitionTarget (t), lts.transitionTarget (t));
+				assertEquals (model.action (model.transitionAction (t)), lts.action (lts.transitionAction (t)));
+			}
+			assertEquals (CompactLTS.TAU, lts.transitionAction (2));
+		}
+	}
+	
+	@Test
+	public void testNamingConvention() throws IOException
+	{
+		AutLoader loader = new AutLoader();
+		loader.setTauLabel ("i");
+		loader.setCommandPrefix ("?");
+		loader.setObservationPrefix ("!");
+		loader.setDefaultType (ActionType.OBSERVATION);
+		assertEquals (ActionType.TAU, loader.getType ("i"));
+		assertEquals (ActionType.COMMAND, loader.getType ("?press"));
+		assertEquals (ActionType.OBSERVATION, loader.getType ("!beep"));
+		assertEquals (ActionType.OBSERVATION, loader.getType ("tau"));
+		
+		HMILTS lts = load (loader, "des (0, 2, 2)\n(0, \"?a, b\", 1)\n(1, i, 0)\n");
+		assertEquals (new Action ("?a, b", ActionType.COMMAND), lts.transition (0).getAction());
+		assertEquals (ActionType.TAU, lts.transition (1).getAction().getType());
+		assertSame (lts.transition (0).getAction(), loader.getSymbols().getAction (0));
+	}
+	
+	@Test
+	public void testErrors() throws IOException
+	{
+		String[] contents = {
+			"",
+			"des (0, 1, 1)\n(0, a, 0",
+			"des (0, 2, 1)\n(0, a, 0)\n",
+			"des (0, 1, 1)\n(0, a, 1)\n",
+			"des (2, 0, 1)\n",
+			"des (0, 1, 1)\n(0, \"a, 0)\n",
+			"des (0, 1, 1)\n(0, , 0)\n",
+			"des (0, 1, 99999999999)\n"
+		};
+		for (String content : contents)
+		{
+			try
+			{
+				load (new AutLoader(), content);
+				fail();
+			}
+			catch (IOException exception){}
+			try
+			{
+				new AutLoader().loadOffHeap (file).close();
+				fail();
+			}
+			catch (IOException exception){}
+		}
+	}
+}
\ No newline at end of file
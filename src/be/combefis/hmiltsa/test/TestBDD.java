@@ -0,0 +1,124 @@
+// TestBDD.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.bdd.BDD;
+
+/**
+ * Test class of the BDD class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestBDD
+{
+	// Instance variables
+	private BDD bdd;
+	private int x, y, z;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		bdd = new BDD (4);
+		x = bdd.var (0);
+		y = bdd.var (1);
+		z = bdd.var (2);
+	}
+	
+	@Test
+	public void testOperators()
+	{
+		// Equivalent formulas are the same node
+		assertEquals (bdd.not (bdd.and (x, y)), bdd.or (bdd.not (x), bdd.not (y)));
+		assertEquals (bdd.xor (x, y), bdd.or (bdd.diff (x, y), bdd.diff (y, x)));
+		assertEquals (x, bdd.not (bdd.not (x)));
+		assertEquals (bdd.nvar (1), bdd.not (y));
+		assertEquals (BDD.FALSE, bdd.and (x, bdd.not (x)));
+		assertEquals (BDD.TRUE, bdd.or (x, bdd.not (x)));
+		assertEquals (bdd.and (bdd.and (x, y), z), bdd.cube (new int[] {2, 0, 1, 2}));
+		assertEquals (bdd.and (bdd.not (x), y), bdd.encode (2, new int[] {0, 1}));
+		
+		// Assignments are counted over all the variables
+		assertEquals (16.0, bdd.satCount (BDD.TRUE), 0);
+		assertEquals (0.0, bdd.satCount (BDD.FALSE), 0);
+		assertEquals (12.0, bdd.satCount (bdd.or (x, z)), 0);
+		assertEquals (4.0, bdd.satCount (bdd.and (y, bdd.var (3))), 0);
+		
+		// Variables must exist
+		try
+		{
+			bdd.var (4);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testQuantification()
+	{
+		int f = bdd.or (bdd.and (x, y), bdd.and (bdd.not (x), z));
+		assertEquals (bdd.or (y, z), bdd.exists (f, bdd.var (0)));
+		assertEquals (BDD.TRUE, bdd.exists (f, bdd.cube (new int[] {0, 1, 2})));
+		assertEquals (f, bdd.exists (f, bdd.var (3)));
+		
+		// The relational product is the quantified conjunction
+		Random random = new Random (42);
+		for (int round = 0; round < 100; round++)
+		{
+			int g = randomFormula (random, 4), h = randomFormula (random, 4);
+			int cube = bdd.cube (new int[] {random.nextInt (4), random.nextInt (4)});
+			assertEquals (bdd.exists (bdd.and (g, h), cube), bdd.andExists (g, h, cube));
+		}
+	}
+	
+	@Test
+	public void testReplace()
+	{
+		// Renaming to later or earlier variables
+		assertEquals (bdd.and (y, bdd.not (z)), bdd.replace (bdd.and (x, bdd.not (y)), new int[] {1, 2, 2, 3}));
+		assertEquals (bdd.or (x, bdd.var (3)), bdd.replace (bdd.or (bdd.var (3), z), new int[] {0, 1, 0, 3}));
+		int f = bdd.xor (x, bdd.and (y, z));
+		assertEquals (bdd.xor (bdd.var (3), bdd.and (z, y)), bdd.replace (f, new int[] {3, 2, 1, 0}));
+		
+		try
+		{
+			bdd.replace (f, new int[] {0});
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	/**
+	 * Generates a random formula
+	 * 
+	 * @pre "random" != null
+	 *      "depth" >= 0
+	 * @post The returned value contains the BDD of a random formula over the variables
+	 *       of bdd, with at most "depth" levels of operators
+	 */
+	private int randomFormula (Random random, int depth)
+	{
+		if (depth == 0 || random.nextInt (4) == 0)
+		{
+			int v = bdd.var (random.nextInt (bdd.varsCount()));
+			return random.nextBoolean() ? v : bdd.not (v);
+		}
+		int f = randomFormula (random, depth - 1), g = randomFormula (random, depth - 1);
+		switch (random.nextInt (3))
+		{
+			case 0:
+				return bdd.and (f, g);
+			case 1:
+				return bdd.or (f, g);
+			default:
+				return bdd.xor (f, g);
+		}
+	}
+}
\ No newline at end of file
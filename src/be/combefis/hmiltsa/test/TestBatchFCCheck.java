@@ -0,0 +1,108 @@
+// TestBatchFCCheck.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.BatchFCCheck;
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the BatchFCCheck class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestBatchFCCheck
+{
+	@Test
+	public void testBatch()
+	{
+		// Each verdict must be the one of a separate check
+		Random random = new Random (42);
+		HMILTS system = TestFCCheck.randomModel (random, "S", 3);
+		List<HMILTS> mentals = new ArrayList<HMILTS>();
+		for (int i = 0; i < 200; i++)
+		{
+			mentals.add (i % 10 == 0 ? system : TestFCCheck.randomModel (random, "M", 1 + random.nextInt (4)));
+		}
+		mentals.add (mentals.get (1));
+		
+		BatchFCCheck batch = new BatchFCCheck (system);
+		assertSame (system, batch.getSystemModel());
+		batch.setParallelism (4);
+		assertEquals (4, batch.getParallelism());
+		boolean[] verdicts = batch.isFullControl (mentals);
+		assertEquals (mentals.size(), verdicts.length);
+		int count = 0;
+		for (int i = 0; i < mentals.size(); i++)
+		{
+			assertEquals (new FCCheck (system).isFullControl (mentals.get (i)), verdicts[i]);
+			assertEquals (verdicts[i], batch.isFullControl (mentals.get (i)));
+			count += verdicts[i] ? 1 : 0;
+		}
+		assertEquals (verdicts[1], verdicts[mentals.size() - 1]);
+		assertTrue (count > 0 && count < mentals.size());
+		assertEquals (0, batch.isFullControl (Collections.<HMILTS>emptyList()).length);
+	}
+	
+	@Test
+	public void testSnapshot()
+	{
+		// S0 -press-> S1, the system being extended after the creation of the batch
+		Action press = new Action ("press", ActionType.COMMAND);
+		Action alarm = new Action ("alarm", ActionType.OBSERVATION);
+		HMILTS system = new HMILTS (new State ("S0"));
+		system.addState (new State ("S1"));
+		system.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		HMILTS mental = new HMILTS (new State ("M0"));
+		mental.addState (new State ("M1"));
+		mental.addTransition (new Transition (press), new State ("M0"), new State ("M1"));
+		
+		BatchFCCheck batch = new BatchFCCheck (system);
+		system.addTransition (new Transition (alarm), new State ("S1"), new State ("S0"));
+		assertTrue (batch.isFullControl (mental));
+		assertFalse (new FCCheck (system).isFullControl (mental));
+	}
+	
+	@Test
+	public void testErrors()
+	{
+		try
+		{
+			new BatchFCCheck (null);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		BatchFCCheck batch = new BatchFCCheck (new HMILTS (new State ("S0")));
+		try
+		{
+			batch.setParallelism (0);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		for (List<HMILTS> mentals : Arrays.asList (null, Arrays.asList (new HMILTS (new State ("M0")), null)))
+		{
+			try
+			{
+				batch.isFullControl (mentals);
+				fail();
+			}
+			catch (IllegalArgumentException exception){}
+		}
+	}
+}
\ No newline at end of file
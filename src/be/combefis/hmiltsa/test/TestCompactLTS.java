@@ -0,0 +1,178 @@
+// TestCompactLTS.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the CompactLTS class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestCompactLTS
+{
+	// Instance variables
+	private LTS<String,String> lts;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		lts = new LTS<String,String> ("S0");
+		lts.addState ("S1");
+		lts.addState ("S2");
+		lts.addTransition ("T0", "S0", "S1");
+		lts.addTauTransition ("T1", "S0", "S2");
+		lts.addTransition ("T2", "S2", "S0");
+		lts.addTransition ("T3", "S0", "S0");
+	}
+	
+	@Test
+	public void testCounts()
+	{
+		CompactLTS<String,String> compact = lts.freeze();
+		assertEquals (3, compact.statesCount());
+		assertEquals (4, compact.transitionsCount());
+		
+		// Three visible actions plus TAU
+		assertEquals (4, compact.actionsCount());
+		assertEquals ("S0", compact.getState (0));
+		assertEquals ("T2", compact.getTransition (2));
+	}
+	
+	@Test
+	public void testOutTransitions()
+	{
+		CompactLTS<String,String> compact = lts.freeze();
+		
+		// S0 has three outgoing transitions, the tau one first
+		assertEquals (3, compact.outEnd (0) - compact.outStart (0));
+		int first = compact.outStart (0);
+		assertEquals (CompactLTS.TAU, compact.outAction (first));
+		assertEquals (2, compact.outTarget (first));
+		assertEquals (1, compact.outTransition (first));
+		assertTrue (compact.isTauTransition (1));
+		assertFalse (compact.isTauTransition (0));
+		
+		// Range of the transitions of S0 with a given action
+		int t3 = compact.actionId ("T3");
+		assertEquals (1, compact.outEnd (0, t3) - compact.outStart (0, t3));
+		assertEquals (0, compact.outTarget (compact.outStart (0, t3)));
+		assertEquals (0, compact.outEnd (1, t3) - compact.outStart (1, t3));
+		assertEquals (-1, compact.actionId ("T4"));
+	}
+	
+	@Test
+	public void testInTransitions()
+	{
+		CompactLTS<String,String> compact = lts.freeze();
+		
+		// S0 is reached from S2 and from itself
+		assertEquals (2, compact.inEnd (0) - compact.inStart (0));
+		int t2 = compact.actionId ("T2");
+		assertEquals (2, compact.inSource (compact.inStart (0, t2)));
+		assertEquals (1, compact.inEnd (2, CompactLTS.TAU) - compact.inStart (2, CompactLTS.TAU));
+	}
+	
+	@Test
+	public void testSnapshot()
+	{
+		// The snapshot is cached until the LTS is modified
+		CompactLTS<String,String> compact = lts.freeze();
+		assertSame (compact, lts.freeze());
+		lts.addState ("S3");
+		assertNotSame (compact, lts.freeze());
+		assertEquals (3, compact.statesCount());
+		assertEquals (4, lts.freeze().statesCount());
+	}
+	
+	@Test
+	public void testActions()
+	{
+		// Transitions of an HMI-LTS are grouped by action
+		Action press = new Action ("press", ActionType.COMMAND);
+		HMILTS hmi = new HMILTS (new State ("S0"));
+		hmi.addState (new State ("S1"));
+		hmi.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		hmi.addTransition (new Transition (press), new State ("S0"), new State ("S0"));
+		hmi.addTransition (new Transition (new Action ("i", ActionType.TAU)), new State ("S1"), new State ("S0"));
+		
+		CompactLTS<State,Transition> compact = hmi.freeze();
+		assertEquals (2, compact.actionsCount());
+		int a = compact.actionId (press);
+		assertEquals (2, compact.outEnd (0, a) - compact.outStart (0, a));
+		assertEquals (1, compact.outEnd (1, CompactLTS.TAU) - compact.outStart (1, CompactLTS.TAU));
+	}
+	
+	@Test
+	public void testIdentifiers()
+	{
+		// The transitions visited by identifier are the ones of the LTS
+		HMILTSGenerator generator = new HMILTSGenerator (7);
+		generator.setStatesCount (2000);
+		generator.setBranchingFactor (3);
+		HMILTS model = generator.generate();
+		CompactLTS<State,Transition> compact = model.freeze();
+		assertEquals (model.actionsCount(), compact.actionsCount());
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			assertEquals (model.transitionSource (t), compact.transitionSource (t));
+			assertEquals (model.transitionTarget (t), compact.transitionTarget (t));
+			assertEquals (model.transitionAction (t), compact.transitionAction (t));
+		}
+		
+		int n = model.transitionsCount() + model.actionsCount();
+		int[] expected = new int[n], actual = new int[n];
+		for (int s = 0; s < model.statesCount(); s++)
+		{
+			for (int a = 0; a < model.actionsCount(); a++)
+			{
+				assertEquals (model.action (a), compact.action (a));
+				int count = 0, other = 0;
+				for (int t = model.firstOut (s, a); t >= 0; t = model.nextOut (t))
+				{
+					expected[count++] = t;
+				}
+				for (int t = compact.firstOut (s, a); t >= 0; t = compact.nextOut (t))
+				{
+					actual[other++] = t;
+				}
+				assertEquals (count, other);
+				Arrays.sort (expected, 0, count);
+				assertArrayEquals (Arrays.copyOf (expected, count), Arrays.copyOf (actual, count));
+				
+				count = 0;
+				other = 0;
+				for (int t = model.firstIn (s, a); t >= 0; t = model.nextIn (t))
+				{
+					expected[count++] = t;
+				}
+				for (int t = compact.firstIn (s, a); t >= 0; t = compact.nextIn (t))
+				{
+					actual[other++] = t;
+				}
+				assertEquals (count, other);
+				Arrays.sort (expected, 0, count);
+				assertArrayEquals (Arrays.copyOf (expected, count), Arrays.copyOf (actual, count));
+			}
+			int count = model.enabledActions (s, expected);
+			assertEquals (count, compact.enabledActions (s, actual));
+			Arrays.sort (expected, 0, count);
+			assertArrayEquals (Arrays.copyOf (expected, count), Arrays.copyOf (actual, count));
+		}
+	}
+}
\ No newline at end of file
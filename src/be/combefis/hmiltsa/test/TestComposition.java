@@ -0,0 +1,245 @@
+// TestComposition.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.algorithms.FCCheckStatistics;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.Composition;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the Composition class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestComposition
+{
+	// Instance variables
+	private Action press, release, beep, internal;
+	private HMILTS button, lamp;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		press = new Action ("press", ActionType.COMMAND);
+		release = new Action ("release", ActionType.COMMAND);
+		beep = new Action ("beep", ActionType.OBSERVATION);
+		internal = new Action ("internal", ActionType.TAU);
+		
+		// B0 -press-> B1 -release-> B0
+		button = new HMILTS (new State ("B0"));
+		button.addState (new State ("B1"));
+		button.addTransition (new Transition (press), new State ("B0"), new State ("B1"));
+		button.addTransition (new Transition (release), new State ("B1"), new State ("B0"));
+		
+		// L0 -press-> L1 -internal-> L2 -beep-> L0
+		lamp = new HMILTS (new State ("L0"));
+		lamp.addState (new State ("L1"));
+		lamp.addState (new State ("L2"));
+		lamp.addTransition (new Transition (press), new State ("L0"), new State ("L1"));
+		lamp.addTransition (new Transition (internal), new State ("L1"), new State ("L2"));
+		lamp.addTransition (new Transition (beep), new State ("L2"), new State ("L0"));
+	}
+	
+	@Test
+	public void testSuccessors()
+	{
+		Composition composition = new Composition (button, lamp);
+		assertEquals (2, composition.componentsCount());
+		assertSame (lamp, composition.getComponent (1));
+		assertEquals (1, composition.statesCount());
+		assertEquals (new State ("B0"), composition.getState (Composition.INITIAL, 0));
+		assertEquals (new State ("L0"), composition.getState (Composition.INITIAL, 1));
+		
+		// Both components take "press" together
+		int[] out = composition.successors (Composition.INITIAL);
+		assertEquals (2, out.length);
+		assertEquals (press, composition.getAction (out[0]));
+		assertEquals (new State ("B1"), composition.getState (out[1], 0));
+		assertEquals (new State ("L1"), composition.getState (out[1], 1));
+		
+		// The internal move and "release" are interleaved
+		out = composition.successors (out[1]);
+		assertEquals (4, out.length);
+		assertEquals (CompactLTS.TAU, out[0]);
+		assertEquals (new State ("L2"), composition.getState (out[1], 1));
+		assertEquals (release, composition.getAction (out[2]));
+		assertEquals (new State ("B0"), composition.getState (out[3], 0));
+		assertEquals (new State ("L1"), composition.getState (out[3], 1));
+		
+		// The cached successors are the same
+		assertTrue (composition.isCaching());
+		assertSame (out, composition.successors (1));
+		composition.setCaching (false);
+		assertFalse (composition.isCaching());
+		assertNotSame (out, composition.successors (1));
+		assertArrayEquals (out, composition.successors (1));
+	}
+	
+	@Test
+	public void testReachable()
+	{
+		// Only the reachable tuples are created, not the Cartesian product
+		HMILTS[] counters = new HMILTS[3];
+		for (int c = 0; c < counters.length; c++)
+		{
+			counters[c] = new HMILTS (new State ("C0"));
+			for (int s = 1; s < 10; s++)
+			{
+				counters[c].addState (new State ("C" + s));
+				counters[c].addTransition (new Transition (press), new State ("C" + (s - 1)), new State ("C" + s));
+			}
+		}
+		Composition composition = new Composition (counters);
+		HMILTS product = composition.toHMILTS();
+		assertEquals (10, composition.statesCount());
+		assertEquals (10, product.statesCount());
+		assertEquals (9, product.transitionsCount());
+		assertTrue (product.hasState (new State ("(C9,C9,C9)")));
+		
+		// The composition with the mental model is reachable, not the system alone
+		FCCheck check = new FCCheck (new Composition (counters));
+		assertNull (check.getSystemModel());
+		assertNotNull (check.getComposition());
+		assertTrue (check.isFullControl (counters[0]));
+		assertEquals (10, check.getComposition().statesCount());
+	}
+	
+	@Test
+	public void testFullControl()
+	{
+		// The composition must give the same verdict as its materialised product
+		Random random = new Random (42);
+		int verdicts = 0;
+		for (int round = 0; round < 100; round++)
+		{
+			HMILTS[] components = new HMILTS[1 + random.nextInt (3)];
+			for (int c = 0; c < components.length; c++)
+			{
+				components[c] = TestFCCheck.randomModel (random, "S", 1 + random.nextInt (6));
+			}
+			Composition composition = new Composition (components);
+			composition.setCaching (random.nextBoolean());
+			HMILTS product = new Composition (components).toHMILTS();
+			HMILTS mental = random.nextBoolean() ? product : TestFCCheck.randomModel (random, "M", 1 + random.nextInt (6));
+			
+			boolean verdict = new FCCheck (composition).isFullControl (mental);
+			assertEquals (new FCCheck (product).isFullControl (mental), verdict);
+			verdicts += verdict ? 1 : 0;
+		}
+		assertTrue (verdicts > 0 && verdicts < 100);
+	}
+	
+	@Test
+	public void testPartialOrderReduction()
+	{
+		// Three components with three independent internal moves each
+		HMILTS[] chains = new HMILTS[3];
+		for (int c = 0; c < chains.length; c++)
+		{
+			chains[c] = new HMILTS (new State ("X0"));
+			for (int s = 1; s < 4; s++)
+			{
+				chains[c].addState (new State ("X" + s));
+				chains[c].addTransition (new Transition (internal), new State ("X" + (s - 1)), new State ("X" + s));
+			}
+		}
+		HMILTS mental = new HMILTS (new State ("M0"));
+		
+		// Only one interleaving of the internal moves is explored
+		FCCheckStatistics statistics = new FCCheckStatistics();
+		FCCheck check = new FCCheck (new Composition (chains));
+		check.setStatistics (statistics);
+		assertFalse (check.isPartialOrderReduction());
+		assertTrue (check.isFullControl (mental));
+		assertEquals (64, statistics.getPairsCount());
+		statistics.reset();
+		check.setPartialOrderReduction (true);
+		assertTrue (check.isPartialOrderReduction());
+		assertTrue (check.isFullControl (mental));
+		assertEquals (10, statistics.getPairsCount());
+		
+		// The verdict is the same with and without reduction
+		Random random = new Random (42);
+		int verdicts = 0;
+		for (int round = 0; round < 200; round++)
+		{
+			HMILTS[] components = new HMILTS[1 + random.nextInt (3)];
+			for (int c = 0; c < components.length; c++)
+			{
+				components[c] = randomComponent (random, 1 + random.nextInt (5));
+			}
+			HMILTS other = random.nextBoolean() ? new Composition (components).toHMILTS() : randomComponent (random, 1 + random.nextInt (5));
+			FCCheck reduced = new FCCheck (new Composition (components));
+			reduced.setPartialOrderReduction (true);
+			boolean verdict = reduced.isFullControl (other);
+			assertEquals (new FCCheck (new Composition (components)).isFullControl (other), verdict);
+			verdicts += verdict ? 1 : 0;
+		}
+		assertTrue (verdicts > 0 && verdicts < 200);
+	}
+	
+	@Test
+	public void testErrors()
+	{
+		// A composition needs at least one component
+		for (HMILTS[] components : Arrays.asList (null, new HMILTS[0], new HMILTS[] {button, null}))
+		{
+			try
+			{
+				new Composition (components);
+				fail();
+			}
+			catch (IllegalArgumentException exception){}
+		}
+	}
+	
+	/**
+	 * Generates a random HMI-LTS in which many states can only move silently
+	 * 
+	 * @pre "random" != null
+	 *      "n" > 0
+	 * @post The returned value contains an HMI-LTS with "n" states, a third of them
+	 *       having one internal transition and the others up to two random transitions
+	 */
+	private static HMILTS randomComponent (Random random, int n)
+	{
+		Action[] actions = {
+			new Action ("c0", ActionType.COMMAND),
+			new Action ("c1", ActionType.COMMAND),
+			new Action ("o0", ActionType.OBSERVATION),
+			new Action ("o1", ActionType.OBSERVATION),
+			new Action ("tau", ActionType.TAU)
+		};
+		HMILTS lts = new HMILTS (new State ("S0"));
+		for (int s = 1; s < n; s++)
+		{
+			lts.addState (new State ("S" + s));
+		}
+		for (int s = 0; s < n; s++)
+		{
+			int count = random.nextInt (3) == 0 ? 1 : random.nextInt (3);
+			boolean inert = count == 1 && random.nextBoolean();
+			for (int t = 0; t < count; t++)
+			{
+				Action action = inert ? actions[actions.length - 1] : actions[random.nextInt (actions.length)];
+				lts.addTransition (new Transition (action), new State ("S" + s), new State ("S" + random.nextInt (n)));
+			}
+		}
+		return lts;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+// TestConcurrentLTS.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.ConcurrentLTS;
+import be.combefis.hmiltsa.models.LTS;
+
+/**
+ * Test class of the ConcurrentLTS class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestConcurrentLTS
+{
+	// Instance variables
+	private ConcurrentLTS<String,String> lts;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		lts = new ConcurrentLTS<String,String> ("S0", 4);
+	}
+	
+	@Test
+	public void testAdd()
+	{
+		assertEquals (1, lts.addState ("S1"));
+		assertEquals (2, lts.addState ("S2"));
+		assertTrue (lts.hasState ("S2"));
+		assertFalse (lts.hasState ("S3"));
+		lts.addTransition ("T0", "S0", "S1");
+		lts.addTauTransition ("T1", "S1", "S2");
+		lts.addTransition ("T2", "S1", "S2");
+		assertEquals (3, lts.statesCount());
+		assertEquals (3, lts.transitionsCount());
+		
+		// Same preconditions as LTS
+		String[][] invalid = {{null, "S0", "S1"}, {"T3", "S0", "S3"}, {"T3", null, "S1"}, {"T0", "S0", "S1"}};
+		for (String[] t : invalid)
+		{
+			try
+			{
+				lts.addTransition (t[0], t[1], t[2]);
+				fail();
+			}
+			catch (IllegalArgumentException exception){}
+		}
+		try
+		{
+			lts.addTauTransition ("T3", "S1", "S2");
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		for (String s : new String[] {null, "S1"})
+		{
+			try
+			{
+				lts.addState (s);
+				fail();
+			}
+			catch (IllegalArgumentException exception){}
+		}
+		
+		// The refused tau transition can be added as a visible one
+		lts.addTransition ("T3", "S1", "S2");
+		
+		LTS<String,String> sealed = lts.seal (LTS<String,String>::new);
+		assertTrue (lts.isSealed());
+		assertEquals ("S0", sealed.initialState());
+		assertEquals (4, sealed.transitionsCount());
+		assertEquals (1, sealed.transitionId ("T1"));
+		assertTrue (sealed.isTauTransition ("T1"));
+		assertTrue (sealed.hasTauTransition ("S1", "S2"));
+		assertEquals ("S2", sealed.getDestination ("T3"));
+		
+		// A sealed LTS cannot be changed
+		try
+		{
+			lts.addState ("S3");
+			fail();
+		}
+		catch (IllegalStateException exception){}
+		try
+		{
+			lts.seal();
+			fail();
+		}
+		catch (IllegalStateException exception){}
+	}
+	
+	@Test
+	public void testConcurrentAdd() throws InterruptedException
+	{
+		// Each thread adds its own states and transitions, and tries to add shared tau transitions
+		final int threadsCount = 4, n = 2000;
+		final AtomicInteger refused = new AtomicInteger();
+		Thread[] threads = new Thread[threadsCount];
+		for (int i = 0; i < threadsCount; i++)
+		{
+			final int thread = i;
+			threads[i] = new Thread (() -> addAll (thread, n, refused));
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertEquals (1 + threadsCount * n, lts.statesCount());
+		assertEquals ((threadsCount - 1) * n, refused.get());
+		
+		CompactLTS<String,String> snapshot = lts.seal();
+		assertEquals (1 + threadsCount * n, snapshot.statesCount());
+		assertEquals (threadsCount * n + n, snapshot.transitionsCount());
+		for (int s = 1; s < snapshot.statesCount(); s++)
+		{
+			// One visible transition from the initial state, and one tau transition for states of thread 0
+			assertEquals (snapshot.getState (s).startsWith ("0.") ? 2 : 1, snapshot.inEnd (s) - snapshot.inStart (s));
+			assertEquals (0, snapshot.inSource (snapshot.inStart (s)));
+		}
+		assertEquals (n, snapshot.outEnd (0, CompactLTS.TAU) - snapshot.outStart (0, CompactLTS.TAU));
+	}
+	
+	/**
+	 * Adds states and transitions from a thread
+	 * 
+	 * @pre "refused" != null
+	 * @post States "thread".0 to "thread".("n" - 1) have been added to lts, each with a transition
+	 *       from S0, and the thread tried to add a tau transition from S0 to each state 0.i,
+	 *       "refused" being incremented for each one which was already added
+	 */
+	private void addAll (int thread, int n, AtomicInteger refused)
+	{
+		for (int i = 0; i < n; i++)
+		{
+			String s = thread + "." + i;
+			lts.addState (s);
+			lts.addTransition ("T" + s, "S0", s);
+		}
+		for (int i = 0; i < n; i++)
+		{
+			while (! lts.hasState ("0." + i))
+			{
+				Thread.yield();
+			}
+			try
+			{
+				lts.addTauTransition ("tau" + thread + "." + i, "S0", "0." + i);
+			}
+			catch (IllegalArgumentException exception)
+			{
+				refused.incrementAndGet();
+			}
+		}
+	}
+}
\ No newline at end of file
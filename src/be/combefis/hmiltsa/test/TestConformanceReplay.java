@@ -0,0 +1,184 @@
+// TestConformanceReplay.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.ConformanceReplay;
+import be.combefis.hmiltsa.algorithms.Divergence;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the ConformanceReplay class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestConformanceReplay
+{
+	// Instance variables
+	private Path directory;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory ("hmiltsa");
+	}
+	
+	@After
+	public void tearDown() throws Exception
+	{
+		try (Stream<Path> files = Files.walk (directory))
+		{
+			files.sorted (Comparator.reverseOrder()).forEach (file -> file.toFile().delete());
+		}
+	}
+	
+	@Test
+	public void testReplay() throws IOException
+	{
+		// S0 -press-> S1 -internal-> S2 -beep-> S0, S1 -press-> S0
+		Action press = new Action ("press", ActionType.COMMAND);
+		Action beep = new Action ("beep", ActionType.OBSERVATION);
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (new Action ("internal", ActionType.TAU)), new State ("S1"), new State ("S2"));
+		model.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		model.addTransition (new Transition (press), new State ("S1"), new State ("S0"));
+		
+		Path file = directory.resolve ("sessions.log");
+		Files.write (file, Arrays.asList ("press beep press", "", "press  press\tbeep", "press beep beep press", "  press unknown", "beep"));
+		ConformanceReplay replay = new ConformanceReplay (model);
+		assertSame (model, replay.getModel());
+		assertEquals (2, replay.statesCount());
+		List<Divergence> divergences = replay.replay (file);
+		assertEquals (4, divergences.size());
+		
+		// The beep is refused, the model being in S0 after two presses
+		Divergence d = divergences.get (0);
+		assertEquals (file, d.getFile());
+		assertEquals (3, d.getSession());
+		assertEquals (2, d.getEvent());
+		assertEquals ("beep", d.getLabel());
+		assertEquals (Arrays.asList (new State ("S0")), d.getStates());
+		
+		// The second beep is refused after press beep, and an unknown label after press
+		assertEquals (4, divergences.get (1).getSession());
+		assertEquals (2, divergences.get (1).getEvent());
+		assertEquals (5, divergences.get (2).getSession());
+		assertEquals (1, divergences.get (2).getEvent());
+		assertEquals ("unknown", divergences.get (2).getLabel());
+		assertEquals (Arrays.asList (new State ("S1"), new State ("S2")), divergences.get (2).getStates());
+		assertEquals (6, divergences.get (3).getSession());
+		assertEquals (0, divergences.get (3).getEvent());
+	}
+	
+	@Test
+	public void testParallel() throws IOException
+	{
+		// Random walks conform to the model, unless a label is added at their end
+		Random random = new Random (42);
+		HMILTS model = TestFCCheck.randomModel (random, "S", 30);
+		CompactLTS<State,Transition> lts = model.freeze();
+		List<Path> files = new ArrayList<Path>();
+		int[] expected = new int[8];
+		for (int f = 0; f < expected.length; f++)
+		{
+			List<String> lines = new ArrayList<String>();
+			for (int l = 0; l < 500; l++)
+			{
+				StringBuilder session = new StringBuilder();
+				int s = 0;
+				for (int step = 0; step < 20 && lts.outEnd (s) > lts.outStart (s); step++)
+				{
+					int i = lts.outStart (s) + random.nextInt (lts.outEnd (s) - lts.outStart (s));
+					if (lts.outAction (i) != CompactLTS.TAU)
+					{
+						session.append (((Action) lts.getAction (lts.outAction (i))).getName()).append (' ');
+					}
+					s = lts.outTarget (i);
+				}
+				if (random.nextInt (10) == 0)
+				{
+					session.append ("unknown");
+					expected[f]++;
+				}
+				lines.add (session.toString());
+			}
+			files.add (directory.resolve ("sessions" + f + ".log"));
+			Files.write (files.get (f), lines);
+		}
+		
+		ConformanceReplay replay = new ConformanceReplay (model);
+		replay.setParallelism (4);
+		assertEquals (4, replay.getParallelism());
+		List<Divergence> divergences = replay.replay (files);
+		int count = 0;
+		for (int f = 0; f < expected.length; f++)
+		{
+			List<Divergence> sequential = replay.replay (files.get (f));
+			assertEquals (expected[f], sequential.size());
+			for (Divergence d : sequential)
+			{
+				assertEquals ("unknown", d.getLabel());
+				Divergence p = divergences.get (count++);
+				assertEquals (d.getFile(), p.getFile());
+				assertEquals (d.getSession(), p.getSession());
+				assertEquals (d.getEvent(), p.getEvent());
+			}
+		}
+		assertEquals (count, divergences.size());
+	}
+	
+	@Test
+	public void testErrors() throws IOException
+	{
+		try
+		{
+			new ConformanceReplay (null);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		ConformanceReplay replay = new ConformanceReplay (new HMILTS (new State ("S0")));
+		try
+		{
+			replay.setParallelism (0);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		try
+		{
+			replay.replay ((List<Path>) null);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		try
+		{
+			replay.replay (Arrays.asList (directory.resolve ("missing.log")));
+			fail();
+		}
+		catch (IOException exception){}
+	}
+}
\ No newline at end of file
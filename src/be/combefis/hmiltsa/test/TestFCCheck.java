@@ -0,0 +1,668 @@
+// TestFCCheck.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.Counterexample;
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.algorithms.FCCheckStatistics;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.Composition;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.IndexedLTS;
+import be.combefis.hmiltsa.models.OffHeapLTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the FCCheck class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestFCCheck
+{
+	// Instance variables
+	private State s0, s1, s2, m0, m1, m2;
+	private Action press, release, beep, internal;
+	private HMILTS system;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		s0 = new State ("S0");
+		s1 = new State ("S1");
+		s2 = new State ("S2");
+		m0 = new State ("M0");
+		m1 = new State ("M1");
+		m2 = new State ("M2");
+		press = new Action ("press", ActionType.COMMAND);
+		release = new Action ("release", ActionType.COMMAND);
+		beep = new Action ("beep", ActionType.OBSERVATION);
+		internal = new Action ("internal", ActionType.TAU);
+		
+		// S0 -press-> S1 -beep-> S2 -release-> S0
+		system = new HMILTS (s0);
+		system.addState (s1);
+		system.addState (s2);
+		system.addTransition (new Transition (press), s0, s1);
+		system.addTransition (new Transition (beep), s1, s2);
+		system.addTransition (new Transition (release), s2, s0);
+	}
+	
+	@Test
+	public void testSameModel()
+	{
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (new Action ("press", ActionType.COMMAND)), m0, m1);
+		mental.addTransition (new Transition (new Action ("beep", ActionType.OBSERVATION)), m1, m2);
+		mental.addTransition (new Transition (new Action ("release", ActionType.COMMAND)), m2, m0);
+		assertTrue (new FCCheck (system).isFullControl (mental));
+	}
+	
+	@Test
+	public void testMissingCommand()
+	{
+		// The mental model does not know that "release" is available after "beep"
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (beep), m1, m2);
+		assertFalse (new FCCheck (system).isFullControl (mental));
+	}
+	
+	@Test
+	public void testExtraCommand()
+	{
+		// The mental model believes that "release" is available initially
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (release), m0, m0);
+		mental.addTransition (new Transition (beep), m1, m2);
+		mental.addTransition (new Transition (release), m2, m0);
+		assertFalse (new FCCheck (system).isFullControl (mental));
+	}
+	
+	@Test
+	public void testObservations()
+	{
+		// An observation unknown to the mental model breaks full-control
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addTransition (new Transition (press), m0, m1);
+		assertFalse (new FCCheck (system).isFullControl (mental));
+		
+		// An observation that never occurs in the system is harmless
+		mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (beep), m1, m2);
+		mental.addTransition (new Transition (new Action ("alarm", ActionType.OBSERVATION)), m1, m1);
+		mental.addTransition (new Transition (release), m2, m0);
+		assertTrue (new FCCheck (system).isFullControl (mental));
+	}
+	
+	@Test
+	public void testTauTransitions()
+	{
+		// S0 -tau-> S1 -press-> S2 and S0 -internal-> S2 (no visible action in S2)
+		HMILTS weak = new HMILTS (s0);
+		weak.addState (s1);
+		weak.addState (s2);
+		weak.addTauTransition (new Transition (internal), s0, s1);
+		weak.addTransition (new Transition (press), s1, s2);
+		weak.addTransition (new Transition (internal), s0, s2);
+		
+		// The system may silently lose "press", the mental model cannot predict it
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addTransition (new Transition (press), m0, m1);
+		assertFalse (new FCCheck (weak).isFullControl (mental));
+		
+		// Without the silent move to S2, "press" is weakly enabled initially
+		weak = new HMILTS (s0);
+		weak.addState (s1);
+		weak.addState (s2);
+		weak.addTauTransition (new Transition (internal), s0, s1);
+		weak.addTransition (new Transition (press), s1, s2);
+		assertTrue (new FCCheck (weak).isFullControl (mental));
+	}
+	
+	@Test
+	public void testNondeterminism()
+	{
+		// After "press", the system either allows "release" or not
+		HMILTS nondet = new HMILTS (s0);
+		nondet.addState (s1);
+		nondet.addState (s2);
+		nondet.addTransition (new Transition (press), s0, s1);
+		nondet.addTransition (new Transition (press), s0, s2);
+		nondet.addTransition (new Transition (release), s1, s0);
+		
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (release), m1, m0);
+		assertFalse (new FCCheck (nondet).isFullControl (mental));
+	}
+	
+	@Test
+	public void testParallel()
+	{
+		// The parallel exploration must give the same verdict as the sequential one
+		Random random = new Random (42);
+		for (int round = 0; round < 40; round++)
+		{
+			HMILTS sys = randomModel (random, "S", 1 + random.nextInt (round < 20 ? 4 : 200));
+			HMILTS mental = random.nextBoolean() ? sys : randomModel (random, "M", 1 + random.nextInt (20));
+			FCCheck sequential = new FCCheck (sys);
+			FCCheck parallel = new FCCheck (sys);
+			parallel.setParallelism (4);
+			assertEquals (sequential.isFullControl (mental), parallel.isFullControl (mental));
+		}
+		
+		// The parallelism must be positive
+		try
+		{
+			new FCCheck (system).setParallelism (0);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testIncremental()
+	{
+		// After each edit, the incremental check must give the same verdict as a new check
+		Random random = new Random (42);
+		Action[] actions = {
+			new Action ("c0", ActionType.COMMAND),
+			new Action ("c1", ActionType.COMMAND),
+			new Action ("o0", ActionType.OBSERVATION),
+			new Action ("tau", ActionType.TAU)
+		};
+		HMILTS sys = new HMILTS (new State ("S0"));
+		HMILTS mental = new HMILTS (new State ("M0"));
+		FCCheck check = new FCCheck (sys);
+		check.setIncremental (true);
+		assertTrue (check.isIncremental());
+		
+		int verdicts = 0;
+		for (int edit = 0; edit < 400; edit++)
+		{
+			// Most edits are made to both models, so that they often stay equivalent
+			int side = random.nextInt (10);
+			int n = Math.max (sys.statesCount(), mental.statesCount());
+			int from = random.nextInt (n), to = random.nextInt (n + 1);
+			Action action = actions[random.nextInt (actions.length)];
+			if (side != 0)
+			{
+				edit (sys, "S", from, to, action, random.nextInt (8) == 0);
+			}
+			if (side != 1)
+			{
+				edit (mental, "M", from, to, action, random.nextInt (8) == 0);
+			}
+			
+			boolean verdict = check.isFullControl (mental);
+			assertEquals (new FCCheck (sys).isFullControl (mental), verdict);
+			verdicts += verdict ? 1 : 0;
+		}
+		assertTrue (verdicts > 0 && verdicts < 400);
+		
+		// A different mental model is explored from scratch
+		HMILTS other = TestFCCheck.randomModel (random, "M", 10);
+		assertEquals (new FCCheck (sys).isFullControl (other), check.isFullControl (other));
+		check.setIncremental (false);
+		assertFalse (check.isIncremental());
+		assertEquals (new FCCheck (sys).isFullControl (mental), check.isFullControl (mental));
+	}
+	
+	@Test
+	public void testBitstate()
+	{
+		// With a large bit array, the verdict is the exact one
+		Random random = new Random (42);
+		int verdicts = 0;
+		for (int round = 0; round < 100; round++)
+		{
+			HMILTS sys = randomModel (random, "S", 1 + random.nextInt (round < 50 ? 4 : 100));
+			HMILTS mental = random.nextBoolean() ? sys : randomModel (random, "M", 1 + random.nextInt (20));
+			FCCheck check = new FCCheck (sys);
+			assertEquals (0, check.getBitstateMemory());
+			check.setBitstateMemory (1 << 20);
+			assertEquals (1 << 20, check.getBitstateMemory());
+			boolean verdict = check.isFullControl (mental);
+			assertEquals (new FCCheck (sys).isFullControl (mental), verdict);
+			assertTrue (check.getOmissionProbability() < 1e-6);
+			verdicts += verdict ? 1 : 0;
+		}
+		assertTrue (verdicts > 0 && verdicts < 100);
+		
+		// With a tiny bit array, pairs are likely to be skipped, which is reported
+		HMILTS sys = new HMILTS (new State ("S0"));
+		HMILTS mental = new HMILTS (new State ("M0"));
+		for (int s = 1; s < 200; s++)
+		{
+			sys.addState (new State ("S" + s));
+			sys.addTransition (new Transition (internal), new State ("S" + (s - 1)), new State ("S" + s));
+			mental.addState (new State ("M" + s));
+			mental.addTransition (new Transition (internal), new State ("M" + (s - 1)), new State ("M" + s));
+		}
+		FCCheck check = new FCCheck (sys);
+		assertTrue (check.isFullControl (mental));
+		assertEquals (0, check.getOmissionProbability(), 0);
+		check.setBitstateMemory (8);
+		assertTrue (check.isFullControl (mental));
+		assertTrue (check.getOmissionProbability() > 0.5);
+		
+		// A path longer than the bound of the budget leaves pairs unexplored, which is reported
+		HMILTS single = new HMILTS (new State ("M0"));
+		check.setBitstateMemory (1 << 13);
+		assertTrue (check.isFullControl (single));
+		assertEquals (1, check.getOmissionProbability(), 0);
+		check.setBitstateMemory (1 << 20);
+		assertTrue (check.isFullControl (single));
+		assertTrue (check.getOmissionProbability() < 1e-6);
+		
+		// The memory budget cannot be negative
+		try
+		{
+			check.setBitstateMemory (-1);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testExternal() throws Exception
+	{
+		// With a tiny buffer, the layers are split in many runs, and the verdict is the exact one
+		Path directory = Files.createTempDirectory ("hmiltsa");
+		Random random = new Random (42);
+		int verdicts = 0;
+		for (int round = 0; round < 100; round++)
+		{
+			HMILTS sys = randomModel (random, "S", 1 + random.nextInt (round < 50 ? 4 : 100));
+			HMILTS mental = random.nextBoolean() ? sys : randomModel (random, "M", 1 + random.nextInt (20));
+			FCCheck check = new FCCheck (sys);
+			assertNull (check.getExternalDirectory());
+			check.setExternalMemory (directory, 8);
+			assertEquals (directory, check.getExternalDirectory());
+			assertEquals (8, check.getExternalMemory());
+			FCCheckStatistics statistics = new FCCheckStatistics();
+			check.setStatistics (statistics);
+			boolean verdict = check.isFullControl (mental);
+			assertEquals (new FCCheck (sys).isFullControl (mental), verdict);
+			verdicts += verdict ? 1 : 0;
+			
+			// The file of the visited pairs holds all the pairs once the product is explored
+			if (verdict)
+			{
+				assertEquals (8 * statistics.getPairsCount(), statistics.getPeakVisitedBytes());
+			}
+		}
+		assertTrue (verdicts > 0 && verdicts < 100);
+		
+		// The temporary files are deleted after each check
+		try (Stream<Path> files = Files.list (directory))
+		{
+			assertEquals (0, files.count());
+		}
+		Files.delete (directory);
+		
+		// The memory budget must be positive
+		FCCheck check = new FCCheck (system);
+		check.setExternalMemory (null, 0);
+		assertEquals (0, check.getExternalMemory());
+		try
+		{
+			check.setExternalMemory (directory, 0);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testExternalFiles() throws Exception
+	{
+		// S0 -internal-> Si -press-> S0, the layers being split in many runs
+		HMILTS wide = new HMILTS (new State ("S0"));
+		for (int s = 1; s <= 10; s++)
+		{
+			wide.addState (new State ("S" + s));
+			wide.addTransition (new Transition (internal), new State ("S0"), new State ("S" + s));
+			wide.addTransition (new Transition (press), new State ("S" + s), new State ("S0"));
+		}
+		Path directory = Files.createTempDirectory ("hmiltsa");
+		FCCheck check = new FCCheck (wide);
+		check.setExternalMemory (directory, 128);
+		assertTrue (check.isFullControl (wide));
+		
+		// The files of the exhausted runs are closed
+		UnixOperatingSystemMXBean system = (UnixOperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+		long before = system.getOpenFileDescriptorCount();
+		for (int i = 0; i < 5; i++)
+		{
+			assertTrue (check.isFullControl (wide));
+		}
+		assertTrue (system.getOpenFileDescriptorCount() <= before);
+		Files.delete (directory);
+	}
+	
+	@Test
+	public void testIndexed()
+	{
+		// A system read through its identifiers, compact or off-heap, gives the same verdicts
+		Random random = new Random (42);
+		for (int round = 0; round < 40; round++)
+		{
+			HMILTS sys = randomModel (random, "S", 1 + random.nextInt (round < 20 ? 4 : 200));
+			HMILTS mental = random.nextBoolean() ? sys : randomModel (random, "M", 1 + random.nextInt (20));
+			CompactLTS<State,Transition> compact = sys.freeze();
+			try (OffHeapLTS offHeap = new OffHeapLTS())
+			{
+				for (int s = 1; s < compact.statesCount(); s++)
+				{
+					offHeap.addState();
+				}
+				for (int a = 1; a < compact.actionsCount(); a++)
+				{
+					offHeap.addAction (compact.action (a));
+				}
+				for (int t = 0; t < compact.transitionsCount(); t++)
+				{
+					int from = compact.transitionSource (t), to = compact.transitionTarget (t);
+					if (compact.transitionAction (t) != CompactLTS.TAU)
+					{
+						offHeap.addTransition (from, compact.transitionAction (t), to);
+					}
+					else if (! offHeap.hasTauTransition (from, to))
+					{
+						offHeap.addTauTransition (from, to);
+					}
+				}
+				
+				boolean expected = new FCCheck (sys).isFullControl (mental);
+				Counterexample counterexample = new FCCheck (sys).getCounterexample (mental);
+				for (IndexedLTS lts : Arrays.asList (compact, offHeap))
+				{
+					FCCheck check = new FCCheck (lts);
+					assertSame (lts, check.getIndexedSystem());
+					assertNull (check.getSystemModel());
+					assertEquals (expected, check.isFullControl (mental));
+					check.setParallelism (4);
+					assertEquals (expected, check.isFullControl (mental));
+					
+					// Incremental checks do not apply, the system being checked from scratch
+					check.setIncremental (true);
+					assertEquals (expected, check.isFullControl (mental));
+					Counterexample other = check.getCounterexample (mental);
+					assertEquals (expected, other == null);
+					if (other != null)
+					{
+						assertEquals (counterexample.getTrace().size(), other.getTrace().size());
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testCounterexample()
+	{
+		// The release command is missing after press and beep
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (internal), m1, m2);
+		mental.addTransition (new Transition (beep), m2, m0);
+		mental.addTransition (new Transition (beep), m1, m2);
+		Counterexample counterexample = new FCCheck (system).getCounterexample (mental);
+		assertEquals (Arrays.asList (press, beep), counterexample.getTrace());
+		assertEquals (s2, counterexample.getSystemState());
+		assertEquals (m2, counterexample.getMentalState());
+		assertEquals (Arrays.asList (release), counterexample.getCommands());
+		assertTrue (counterexample.getObservations().isEmpty());
+		
+		// The beep observation is missing after press, also in a composed system
+		HMILTS missing = new HMILTS (m0);
+		missing.addState (m1);
+		missing.addTransition (new Transition (press), m0, m1);
+		for (FCCheck check : Arrays.asList (new FCCheck (system), new FCCheck (new Composition (system))))
+		{
+			counterexample = check.getCounterexample (missing);
+			assertEquals (Arrays.asList (press), counterexample.getTrace());
+			assertEquals ("S1", counterexample.getSystemState().getName().replaceAll ("[()]", ""));
+			assertEquals (m1, counterexample.getMentalState());
+			assertTrue (counterexample.getCommands().isEmpty());
+			assertEquals (Arrays.asList (beep), counterexample.getObservations());
+		}
+		
+		// The stop command is missing after press press, and reset after release and two
+		// internal moves, which is the trace with the fewest visible actions
+		Action reset = new Action ("reset", ActionType.COMMAND), stop = new Action ("stop", ActionType.COMMAND);
+		HMILTS sys = new HMILTS (s0);
+		sys.addState (s1);
+		sys.addState (s2);
+		sys.addState (new State ("S3"));
+		sys.addTransition (new Transition (press), s0, s1);
+		sys.addTransition (new Transition (press), s1, s2);
+		sys.addTransition (new Transition (release), s0, new State ("S3"));
+		sys.addTransition (new Transition (reset), new State ("S3"), s0);
+		HMILTS men = new HMILTS (m0);
+		for (String m : Arrays.asList ("M1", "M2", "M3", "M4", "M5"))
+		{
+			men.addState (new State (m));
+		}
+		men.addTransition (new Transition (press), m0, m1);
+		men.addTransition (new Transition (press), m1, m2);
+		men.addTransition (new Transition (stop), m2, m0);
+		men.addTransition (new Transition (release), m0, new State ("M3"));
+		men.addTransition (new Transition (reset), new State ("M3"), m0);
+		men.addTransition (new Transition (internal), new State ("M3"), new State ("M4"));
+		men.addTransition (new Transition (internal), new State ("M4"), new State ("M5"));
+		men.addTransition (new Transition (reset), new State ("M4"), m0);
+		counterexample = new FCCheck (sys).getCounterexample (men);
+		assertEquals (Arrays.asList (release), counterexample.getTrace());
+		assertEquals (new State ("S3"), counterexample.getSystemState());
+		assertEquals (new State ("M5"), counterexample.getMentalState());
+		assertEquals (Arrays.asList (reset), counterexample.getCommands());
+		
+		// There is a counterexample exactly when the criterion does not hold
+		Random random = new Random (42);
+		for (int round = 0; round < 100; round++)
+		{
+			sys = randomModel (random, "S", 1 + random.nextInt (20));
+			men = random.nextBoolean() ? sys : randomModel (random, "M", 1 + random.nextInt (20));
+			FCCheck check = new FCCheck (sys);
+			assertEquals (check.isFullControl (men), check.getCounterexample (men) == null);
+		}
+	}
+	
+	@Test
+	public void testStatistics() throws Exception
+	{
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addState (m2);
+		mental.addTransition (new Transition (press), m0, m1);
+		mental.addTransition (new Transition (beep), m1, m2);
+		mental.addTransition (new Transition (release), m2, m0);
+		HMILTS missing = new HMILTS (m0);
+		missing.addState (m1);
+		missing.addTransition (new Transition (press), m0, m1);
+		
+		// Checks are not recorded without statistics
+		FCCheck check = new FCCheck (system);
+		assertNull (check.getStatistics());
+		FCCheckStatistics statistics = new FCCheckStatistics();
+		check.setStatistics (statistics);
+		assertSame (statistics, check.getStatistics());
+		
+		// Three pairs, each one with one successor, the commands of each state being
+		// computed (a miss) and its observations then found in the cache (a hit)
+		assertTrue (check.isFullControl (mental));
+		assertEquals (1, statistics.getChecksCount());
+		assertEquals (0, statistics.getViolationsCount());
+		assertEquals (3, statistics.getPairsCount());
+		assertEquals (3, statistics.getTransitionsCount());
+		assertEquals (6, statistics.getClosureHits());
+		assertEquals (6, statistics.getClosureMisses());
+		assertTrue (statistics.getPeakVisitedBytes() > 0);
+		assertTrue (statistics.getSnapshotTime() > 0 && statistics.getExplorationTime() > 0);
+		
+		// The parallel exploration counts the same pairs and transitions
+		check.setParallelism (2);
+		assertFalse (check.isFullControl (missing));
+		assertEquals (2, statistics.getChecksCount());
+		assertEquals (1, statistics.getViolationsCount());
+		statistics.reset();
+		assertEquals (0, statistics.getChecksCount());
+		assertTrue (check.isFullControl (mental));
+		assertEquals (3, statistics.getPairsCount());
+		assertEquals (3, statistics.getTransitionsCount());
+		
+		// The parallel exploration computes all the weakly enabled actions beforehand
+		assertEquals (12, statistics.getClosureHits());
+		assertEquals (6, statistics.getClosureMisses());
+		
+		// The statistics can be published as an MXBean
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName ("be.combefis.hmiltsa:type=FCCheckStatistics,name=test");
+		server.registerMBean (statistics, name);
+		try
+		{
+			assertEquals (3L, server.getAttribute (name, "PairsCount"));
+		}
+		finally
+		{
+			server.unregisterMBean (name);
+		}
+		
+		check.setStatistics (null);
+		assertTrue (check.isFullControl (mental));
+		assertEquals (1, statistics.getChecksCount());
+	}
+	
+	@Test
+	public void testEvents() throws Exception
+	{
+		HMILTS mental = new HMILTS (m0);
+		mental.addState (m1);
+		mental.addTransition (new Transition (press), m0, m1);
+		
+		// One event per check, with its metrics, when the event is enabled
+		Path file = Files.createTempFile ("fccheck", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable ("be.combefis.hmiltsa.FCCheck");
+			recording.start();
+			assertFalse (new FCCheck (system).isFullControl (mental));
+			recording.stop();
+			recording.dump (file);
+			
+			List<RecordedEvent> events = RecordingFile.readAllEvents (file);
+			assertEquals (1, events.size());
+			RecordedEvent event = events.get (0);
+			assertFalse (event.getBoolean ("verdict"));
+			assertEquals (2, event.getLong ("pairs"));
+			assertEquals (1, event.getInt ("parallelism"));
+		}
+		finally
+		{
+			Files.delete (file);
+		}
+	}
+	
+	/**
+	 * Adds a transition to an HMI-LTS, and its states if needed
+	 * 
+	 * @pre "lts", "prefix" != null
+	 *      the states of "lts" are named "prefix" followed by their number
+	 * @post A transition with "action" has been added to "lts", from state "from" to state "to",
+	 *       these states having been added to "lts" if they did not exist, unless "tau" is true
+	 *       and there was already a tau transition between them
+	 */
+	private static void edit (HMILTS lts, String prefix, int from, int to, Action action, boolean tau)
+	{
+		State source = new State (prefix + from), target = new State (prefix + to);
+		for (State s : new State[] {source, target})
+		{
+			if (! lts.hasState (s))
+			{
+				lts.addState (s);
+			}
+		}
+		if (! tau)
+		{
+			lts.addTransition (new Transition (action), source, target);
+		}
+		else if (! lts.hasTauTransition (source, target))
+		{
+			lts.addTauTransition (new Transition (action), source, target);
+		}
+	}
+	
+	/**
+	 * Generates a random HMI-LTS, over three commands, two observations and tau
+	 * 
+	 * @pre "random", "prefix" != null
+	 *      "n" > 0
+	 * @post The returned value contains an HMI-LTS with "n" states named "prefix" followed
+	 *       by their number, and about 2 * "n" transitions
+	 */
+	static HMILTS randomModel (Random random, String prefix, int n)
+	{
+		Action[] actions = {
+			new Action ("c0", ActionType.COMMAND),
+			new Action ("c1", ActionType.COMMAND),
+			new Action ("c2", ActionType.COMMAND),
+			new Action ("o0", ActionType.OBSERVATION),
+			new Action ("o1", ActionType.OBSERVATION),
+			new Action ("tau", ActionType.TAU)
+		};
+		HMILTS lts = new HMILTS (new State (prefix + 0));
+		for (int s = 1; s < n; s++)
+		{
+			lts.addState (new State (prefix + s));
+		}
+		for (int t = 0; t < 2 * n; t++)
+		{
+			State from = new State (prefix + random.nextInt (n));
+			State to = new State (prefix + random.nextInt (n));
+			lts.addTransition (new Transition (actions[random.nextInt (actions.length)]), from, to);
+		}
+		return lts;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+// TestHMILTSGenerator.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.security.InvalidParameterException;
+
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the HMILTSGenerator class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestHMILTSGenerator
+{
+	@Test
+	public void testCounts()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (1);
+		generator.setStatesCount (50);
+		generator.setBranchingFactor (3);
+		HMILTS model = generator.generate();
+		assertEquals (50, model.statesCount());
+		assertEquals (150, model.transitionsCount());
+		assertEquals (new State ("S0"), model.initialState());
+		
+		// Every state is reachable from the initial state
+		CompactLTS<State,Transition> lts = model.freeze();
+		boolean[] reached = new boolean[lts.statesCount()];
+		int[] queue = new int[lts.statesCount()];
+		int size = 0;
+		reached[0] = true;
+		queue[size++] = 0;
+		for (int i = 0; i < size; i++)
+		{
+			for (int j = lts.outStart (queue[i]); j < lts.outEnd (queue[i]); j++)
+			{
+				int t = lts.outTarget (j);
+				if (! reached[t])
+				{
+					reached[t] = true;
+					queue[size++] = t;
+				}
+			}
+		}
+		assertEquals (50, size);
+	}
+	
+	@Test
+	public void testSeed()
+	{
+		HMILTS first = new HMILTSGenerator (7).generate();
+		HMILTS second = new HMILTSGenerator (7).generate();
+		assertEquals (first.transitionsCount(), second.transitionsCount());
+		for (int t = 0; t < first.transitionsCount(); t++)
+		{
+			Transition a = first.transition (t), b = second.transition (t);
+			assertEquals (a.getAction(), b.getAction());
+			assertEquals (first.getDestination (a), second.getDestination (b));
+		}
+	}
+	
+	@Test
+	public void testRatios()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (3);
+		generator.setTauRatio (1);
+		HMILTS model = generator.generate();
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			assertEquals (ActionType.TAU, model.transition (t).getAction().getType());
+		}
+		assertTrue (model.getAlphabet().isEmpty());
+		
+		generator.setTauRatio (0);
+		generator.setCommandRatio (1);
+		generator.setActionsCount (2);
+		model = generator.generate();
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			assertEquals (ActionType.COMMAND, model.transition (t).getAction().getType());
+		}
+	}
+	
+	@Test
+	public void testDeterministic()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (11);
+		generator.setStatesCount (200);
+		generator.setBranchingFactor (5);
+		generator.setActionsCount (2);
+		generator.setTauRatio (0.5);
+		generator.setDeterministic (true);
+		HMILTS model = generator.generate();
+		assertTrue (model.transitionsCount() >= 199);
+		assertTrue (model.transitionsCount() <= 800);
+		
+		CompactLTS<State,Transition> lts = model.freeze();
+		for (int s = 0; s < lts.statesCount(); s++)
+		{
+			assertEquals (lts.outStart (s), lts.outEnd (s, CompactLTS.TAU));
+			for (int a = 1; a < lts.actionsCount(); a++)
+			{
+				assertTrue (lts.outEnd (s, a) - lts.outStart (s, a) <= 1);
+			}
+		}
+		assertTrue (new FCCheck (model).isFullControl (model));
+	}
+	
+	@Test
+	public void testParameters()
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (0);
+		try
+		{
+			generator.setStatesCount (0);
+			fail();
+		}
+		catch (InvalidParameterException exception){}
+		
+		try
+		{
+			generator.setBranchingFactor (0.5);
+			fail();
+		}
+		catch (InvalidParameterException exception){}
+		
+		try
+		{
+			generator.setTauRatio (1.5);
+			fail();
+		}
+		catch (InvalidParameterException exception){}
+		
+		try
+		{
+			generator.setCommandRatio (-0.1);
+			fail();
+		}
+		catch (InvalidParameterException exception){}
+	}
+}
\ No newline at end of file
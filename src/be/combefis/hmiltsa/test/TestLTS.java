@@ -4,10 +4,22 @@ package be.combefis.hmiltsa.test;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
 import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.LTSListener;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
 
 /**
  * Test class of the LTS class
@@ -200,4 +212,138 @@ public final class TestLTS
 		lts.addTauTransition ("T2", "S0", "S1");
 		assertTrue (lts.hasTauTransition ("S0", "S1"));
 	}
+	
+	@Test
+	public void testIdentifiers()
+	{
+		// The initial state has identifier 0
+		assertEquals (0, lts.stateId ("S0"));
+		
+		// States and transitions are numbered in the order they are added
+		lts.addState ("S1");
+		lts.addState ("S2");
+		lts.addTransition ("T0", "S0", "S1");
+		lts.addTauTransition ("T1", "S1", "S2");
+		assertEquals (1, lts.stateId ("S1"));
+		assertEquals (2, lts.stateId ("S2"));
+		assertEquals ("S2", lts.state (2));
+		assertEquals (0, lts.transitionId ("T0"));
+		assertEquals (1, lts.transitionId ("T1"));
+		assertEquals ("T1", lts.transition (1));
+		
+		// An unknown state has no identifier
+		try
+		{
+			lts.stateId ("S3");
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testSuccessors()
+	{
+		// S0 -T0-> S1, S0 -T1-> S2, S2 -tau-> S0
+		lts.addState ("S1");
+		lts.addState ("S2");
+		lts.addTransition ("T0", "S0", "S1");
+		lts.addTransition ("T1", "S0", "S2");
+		lts.addTauTransition ("T2", "S2", "S0");
+		assertEquals (Arrays.asList ("S1"), lts.successors ("S0", "T0"));
+		assertEquals (Arrays.asList ("S0"), lts.predecessors ("S2", "T1"));
+		assertEquals (Arrays.asList ("S0"), lts.tauSuccessors ("S2"));
+		assertEquals (Arrays.asList ("T0", "T1"), lts.enabledActions ("S0"));
+		assertTrue (lts.enabledActions ("S2").isEmpty());
+		assertTrue (lts.successors ("S0", "T9").isEmpty());
+		assertTrue (lts.successors ("S2", "T2").isEmpty());
+		
+		// Primitive access, by identifiers
+		int[] actions = new int[lts.actionsCount()];
+		assertEquals (2, lts.enabledActions (0, actions));
+		assertEquals (lts.actionId ("T0"), actions[0]);
+		assertEquals (0, lts.firstOut (0, lts.actionId ("T0")));
+		assertEquals (-1, lts.nextOut (0));
+		assertEquals (2, lts.firstIn (0, CompactLTS.TAU));
+		assertEquals (2, lts.transitionSource (2));
+		assertEquals (0, lts.transitionTarget (2));
+		assertEquals (CompactLTS.TAU, lts.transitionAction (2));
+		assertEquals ("T1", lts.action (lts.transitionAction (1)));
+	}
+	
+	@Test
+	public void testActions()
+	{
+		// Transitions of an HMI-LTS are indexed by their action
+		Action press = new Action ("press", ActionType.COMMAND);
+		Action internal = new Action ("internal", ActionType.TAU);
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S2"));
+		model.addTransition (new Transition (internal), new State ("S1"), new State ("S2"));
+		model.addTauTransition (new Transition (internal), new State ("S1"), new State ("S0"));
+		assertEquals (Arrays.asList (new State ("S1"), new State ("S2")), model.successors (new State ("S0"), press));
+		assertEquals (Arrays.asList (new State ("S0")), model.predecessors (new State ("S2"), press));
+		assertEquals (Arrays.asList (new State ("S2"), new State ("S0")), model.tauSuccessors (new State ("S1")));
+		assertEquals (Arrays.asList (press), model.enabledActions (new State ("S0")));
+		assertTrue (model.successors (new State ("S1"), internal).isEmpty());
+		assertTrue (model.hasTauTransition (new State ("S1"), new State ("S0")));
+		assertFalse (model.hasTauTransition (new State ("S1"), new State ("S2")));
+		assertEquals (2, model.actionsCount());
+	}
+	
+	@Test
+	public void testListeners()
+	{
+		// Listeners are notified of each addition, in their order of registration
+		final List<String> events = new ArrayList<String>();
+		LTSListener<String,String> listener = new LTSListener<String,String>()
+		{
+			@Override
+			public void stateAdded (LTS<String,String> source, String s)
+			{
+				assertTrue (source.hasState (s));
+				events.add ("state " + s);
+			}
+			
+			@Override
+			public void transitionAdded (LTS<String,String> source, String t)
+			{
+				assertEquals (1, source.transitionsCount());
+				events.add ("transition " + t);
+			}
+		};
+		lts.addListener (listener);
+		lts.addState ("S1");
+		lts.addTransition ("T0", "S0", "S1");
+		assertEquals (Arrays.asList ("state S1", "transition T0"), events);
+		
+		lts.removeListener (listener);
+		lts.addState ("S2");
+		assertEquals (2, events.size());
+		
+		// A listener cannot be null
+		try
+		{
+			lts.addListener (null);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testAlphabet()
+	{
+		// The alphabet of an HMI-LTS contains the actions of its visible transitions
+		Action press = new Action ("press", ActionType.COMMAND);
+		Action beep = new Action ("beep", ActionType.OBSERVATION);
+		Action internal = new Action ("internal", ActionType.TAU);
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (internal), new State ("S1"), new State ("S0"));
+		model.addTauTransition (new Transition (beep), new State ("S0"), new State ("S1"));
+		assertEquals (new HashSet<Action> (Arrays.asList (press)), model.getAlphabet());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+// TestLTSBuilder.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.LTSBuilder;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the LTSBuilder class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestLTSBuilder
+{
+	// Instance variables
+	private LTSBuilder<String,String> builder;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		builder = new LTSBuilder<String,String> (2, 2);
+	}
+	
+	@Test
+	public void testBuild()
+	{
+		// The first state is the initial state
+		assertEquals (0, builder.addState ("S0"));
+		builder.addStates (new String[] {"S1", "S2"});
+		builder.addStates (Stream.of ("S3"));
+		builder.addTransition ("T0", 0, 1);
+		builder.addTauTransition ("T1", "S1", "S2");
+		builder.addTransitions (new String[] {"T2", "T3"}, new int[] {2, 3}, new int[] {3, 0});
+		builder.addTransitions (Stream.of ("T4"), IntStream.of (1), IntStream.of (1));
+		assertEquals (4, builder.statesCount());
+		assertEquals (5, builder.transitionsCount());
+		
+		LTS<String,String> lts = builder.build();
+		assertEquals ("S0", lts.initialState());
+		assertEquals (4, lts.statesCount());
+		assertEquals (5, lts.transitionsCount());
+		assertEquals (3, lts.stateId ("S3"));
+		assertEquals (4, lts.transitionId ("T4"));
+		assertTrue (lts.hasTauTransition ("S1", "S2"));
+		assertTrue (lts.isTauTransition ("T1"));
+		assertEquals (Arrays.asList ("S2"), lts.tauSuccessors ("S1"));
+		assertEquals (Arrays.asList ("S0"), lts.successors ("S3", "T3"));
+		assertEquals (Arrays.asList ("S1"), lts.predecessors ("S1", "T4"));
+		
+		// The LTS can still be modified
+		lts.addTransition ("T5", "S3", "S1");
+		assertEquals (6, lts.transitionsCount());
+	}
+	
+	@Test
+	public void testHMILTS()
+	{
+		// A model built in bulk has the same snapshot as a model built transition by transition
+		HMILTSGenerator generator = new HMILTSGenerator (3);
+		generator.setStatesCount (200);
+		generator.setTauRatio (0.3);
+		HMILTS model = generator.generate();
+		HMILTS incremental = new HMILTS (model.state (0));
+		for (int s = 1; s < model.statesCount(); s++)
+		{
+			incremental.addState (model.state (s));
+		}
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			incremental.addTransition (new Transition (model.transition (t).getAction()), model.state (model.transitionSource (t)), model.state (model.transitionTarget (t)));
+		}
+		
+		LTSBuilder<State,Transition> builder = new LTSBuilder<State,Transition> (model.statesCount(), model.transitionsCount());
+		for (int s = 0; s < model.statesCount(); s++)
+		{
+			builder.addState (model.state (s));
+		}
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			builder.addTransition (new Transition (model.transition (t).getAction()), model.transitionSource (t), model.transitionTarget (t));
+		}
+		HMILTS copy = builder.build (HMILTS::new);
+		
+		CompactLTS<State,Transition> expected = incremental.freeze(), actual = copy.freeze();
+		assertEquals (expected.actionsCount(), actual.actionsCount());
+		for (int i = 0; i < expected.transitionsCount(); i++)
+		{
+			assertEquals (expected.outTarget (i), actual.outTarget (i));
+			assertEquals (expected.outAction (i), actual.outAction (i));
+			assertEquals (expected.inSource (i), actual.inSource (i));
+		}
+		for (int s = 0; s < expected.statesCount(); s++)
+		{
+			assertEquals (expected.outStart (s), actual.outStart (s));
+			assertEquals (incremental.enabledActions (incremental.state (s)), copy.enabledActions (copy.state (s)));
+		}
+		assertEquals (incremental.getAlphabet(), copy.getAlphabet());
+	}
+	
+	@Test
+	public void testValidation()
+	{
+		// There must be an initial state
+		try
+		{
+			builder.build();
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		// States must exist
+		builder.addState ("S0");
+		builder.addState ("S1");
+		builder.addTransition ("T0", 0, 2);
+		try
+		{
+			builder.build();
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		// There is at most one tau transition between two states
+		builder = new LTSBuilder<String,String> (0, 0);
+		builder.addState ("S0");
+		builder.addState ("S1");
+		builder.addTauTransition ("T0", 0, 1);
+		builder.addTransition ("T1", 0, 1);
+		builder.build();
+		builder.addTauTransition ("T2", 0, 1);
+		try
+		{
+			builder.build();
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		// Transitions and states are unique
+		builder = new LTSBuilder<String,String> (0, 0);
+		builder.addState ("S0");
+		builder.addTransition ("T0", 0, 0);
+		builder.addTransition ("T0", 0, 0);
+		try
+		{
+			builder.build();
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		builder = new LTSBuilder<String,String> (0, 0);
+		builder.addState ("S0");
+		builder.addState ("S0");
+		try
+		{
+			builder.build();
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		
+		// Batches must be consistent
+		try
+		{
+			builder.addTransitions (new String[] {"T0"}, new int[] {0}, new int[0]);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		try
+		{
+			builder.addTransitions (Stream.of ("T0", "T1"), IntStream.of (0, 0), IntStream.of (0));
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		try
+		{
+			builder.addTransition ("T0", "S0", "S9");
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+// TestMappedLTS.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.io.MappedLTS;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the MappedLTS class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestMappedLTS
+{
+	// Instance variables
+	private Path file;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		file = Files.createTempFile ("hmiltsa", ".lts");
+	}
+	
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists (file);
+	}
+	
+	@Test
+	public void testHMILTS() throws IOException
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (5);
+		generator.setStatesCount (300);
+		generator.setTauRatio (0.3);
+		HMILTS model = generator.generate();
+		model.addTauTransition (new Transition (new Action ("internal", ActionType.TAU)), new State ("S1"), new State ("S2"));
+		MappedLTS.write (model, file);
+		
+		MappedLTS mapped = MappedLTS.open (file);
+		CompactLTS<State,Transition> compact = model.freeze();
+		assertTrue (mapped.isHMI());
+		assertEquals (compact.statesCount(), mapped.statesCount());
+		assertEquals (compact.transitionsCount(), mapped.transitionsCount());
+		assertEquals (compact.actionsCount(), mapped.actionsCount());
+		for (int s = 0; s < compact.statesCount(); s++)
+		{
+			assertEquals (compact.getState (s).getName(), mapped.stateName (s));
+			assertEquals (compact.outStart (s), mapped.outStart (s));
+			assertEquals (compact.outEnd (s), mapped.outEnd (s));
+			assertEquals (compact.inStart (s), mapped.inStart (s));
+			assertEquals (compact.inEnd (s), mapped.inEnd (s));
+			for (int a = 0; a < compact.actionsCount(); a++)
+			{
+				assertEquals (compact.outStart (s, a), mapped.outStart (s, a));
+				assertEquals (compact.outEnd (s, a), mapped.outEnd (s, a));
+				assertEquals (compact.inStart (s, a), mapped.inStart (s, a));
+				assertEquals (compact.inEnd (s, a), mapped.inEnd (s, a));
+			}
+		}
+		for (int i = 0; i < compact.transitionsCount(); i++)
+		{
+			assertEquals (compact.outTarget (i), mapped.outTarget (i));
+			assertEquals (compact.outAction (i), mapped.outAction (i));
+			assertEquals (compact.outTransition (i), mapped.outTransition (i));
+			assertEquals (compact.inSource (i), mapped.inSource (i));
+			assertEquals (compact.inAction (i), mapped.inAction (i));
+			assertEquals (compact.inTransition (i), mapped.inTransition (i));
+			
+			Action action = compact.getTransition (i).getAction();
+			assertEquals (action.getName(), mapped.labelName (mapped.transitionLabel (i)));
+			assertEquals (action.getType(), mapped.labelType (mapped.transitionLabel (i)));
+			assertEquals (model.isTauTransition (compact.getTransition (i)), mapped.isTauTransition (i));
+		}
+		assertEquals (-1, mapped.actionLabel (CompactLTS.TAU));
+		for (int a = 1; a < compact.actionsCount(); a++)
+		{
+			assertEquals (compact.getAction (a).toString(), mapped.labelName (mapped.actionLabel (a)));
+		}
+		
+		// Back to an HMI-LTS
+		HMILTS copy = mapped.toHMILTS();
+		assertEquals (model.statesCount(), copy.statesCount());
+		assertEquals (model.transitionsCount(), copy.transitionsCount());
+		assertTrue (copy.hasTauTransition (new State ("S1"), new State ("S2")));
+		boolean verdict = new FCCheck (model).isFullControl (model);
+		assertEquals (verdict, new FCCheck (model).isFullControl (copy));
+		assertEquals (verdict, new FCCheck (copy).isFullControl (copy));
+		
+		// Checked in place, through the identifiers of the mapped file
+		assertEquals (verdict, new FCCheck (mapped).isFullControl (model));
+		FCCheck parallel = new FCCheck (mapped);
+		parallel.setParallelism (4);
+		assertEquals (verdict, parallel.isFullControl (copy));
+	}
+	
+	@Test
+	public void testIndexed() throws IOException
+	{
+		HMILTSGenerator generator = new HMILTSGenerator (11);
+		generator.setStatesCount (500);
+		generator.setTauRatio (0.2);
+		HMILTS model = generator.generate();
+		MappedLTS.write (model, file);
+		
+		MappedLTS mapped = MappedLTS.open (file);
+		CompactLTS<State,Transition> compact = model.freeze();
+		assertNull (mapped.action (CompactLTS.TAU));
+		for (int a = 1; a < compact.actionsCount(); a++)
+		{
+			assertEquals (compact.action (a), mapped.action (a));
+			assertEquals (a, mapped.actionId (compact.action (a)));
+		}
+		assertEquals (-1, mapped.actionId (new Action ("unknown", ActionType.COMMAND)));
+		
+		int[] expected = new int[compact.actionsCount()], actual = new int[compact.actionsCount()];
+		for (int s = 0; s < compact.statesCount(); s++)
+		{
+			assertEquals (compact.enabledActions (s, expected), mapped.enabledActions (s, actual));
+			assertArrayEquals (expected, actual);
+			for (int a = 0; a < compact.actionsCount(); a++)
+			{
+				int count = 0;
+				for (int t = mapped.firstOut (s, a); t >= 0; t = mapped.nextOut (t), count++)
+				{
+					assertEquals (s, mapped.transitionSource (t));
+					assertEquals (a, mapped.transitionAction (t));
+					assertEquals (compact.outTarget (compact.outStart (s, a) + count), mapped.transitionTarget (t));
+				}
+				assertEquals (compact.outEnd (s, a) - compact.outStart (s, a), count);
+				
+				count = 0;
+				for (int t = mapped.firstIn (s, a); t >= 0; t = mapped.nextIn (t), count++)
+				{
+					assertEquals (s, mapped.transitionTarget (t));
+					assertEquals (a, mapped.transitionAction (t));
+					assertEquals (compact.inTransition (compact.inStart (s, a) + count), mapped.outTransition (t));
+				}
+				assertEquals (compact.inEnd (s, a) - compact.inStart (s, a), count);
+			}
+		}
+	}
+	
+	@Test
+	public void testLTS() throws IOException
+	{
+		LTS<String,String> lts = new LTS<String,String> ("A");
+		lts.addState ("B");
+		lts.addTransition ("a", "A", "B");
+		lts.addTauTransition ("t", "B", "A");
+		MappedLTS.write (lts, file);
+		
+		MappedLTS mapped = MappedLTS.open (file);
+		assertFalse (mapped.isHMI());
+		assertEquals (2, mapped.statesCount());
+		assertEquals ("A", mapped.stateName (0));
+		assertEquals ("B", mapped.stateName (1));
+		assertEquals (2, mapped.labelsCount());
+		assertEquals ("a", mapped.labelName (mapped.transitionLabel (0)));
+		assertEquals ("t", mapped.labelName (mapped.transitionLabel (1)));
+		assertNull (mapped.labelType (0));
+		assertFalse (mapped.isTauTransition (0));
+		assertTrue (mapped.isTauTransition (1));
+		assertEquals (1, mapped.outTarget (mapped.outStart (0)));
+		
+		try
+		{
+			mapped.toHMILTS();
+			fail();
+		}
+		catch (UnsupportedOperationException exception){}
+	}
+	
+	@Test
+	public void testErrors() throws IOException
+	{
+		LTS<String,String> lts = new LTS<String,String> ("A");
+		MappedLTS.write (lts, file);
+		byte[] content = Files.readAllBytes (file);
+		
+		// Wrong magic number, version and size
+		ByteBuffer buffer = ByteBuffer.wrap (content.clone()).order (ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt (0, 0);
+		assertInvalid (buffer.array());
+		buffer = ByteBuffer.wrap (content.clone()).order (ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt (4, MappedLTS.VERSION + 1);
+		assertInvalid (buffer.array());
+		assertInvalid (Arrays.copyOf (content, content.length - 1));
+		assertInvalid (new byte[3]);
+	}
+	
+	/**
+	 * Checks that an invalid LTS file cannot be opened
+	 * 
+	 * @pre "content" != null
+	 * @post An IOException is thrown when a file with "content" is opened
+	 */
+	private void assertInvalid (byte[] content) throws IOException
+	{
+		Files.write (file, content);
+		try
+		{
+			MappedLTS.open (file);
+			fail();
+		}
+		catch (IOException exception){}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+// TestMinimisation.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.algorithms.Minimisation;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the Minimisation class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestMinimisation
+{
+	// Instance variables
+	private Action press, beep, internal;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		press = new Action ("press", ActionType.COMMAND);
+		beep = new Action ("beep", ActionType.OBSERVATION);
+		internal = new Action ("internal", ActionType.TAU);
+	}
+	
+	@Test
+	public void testInternalTransitions()
+	{
+		// S0 -tau-> S1 -tau-> S2 -press-> S0: all states are branching bisimilar
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addTauTransition (new Transition (internal), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (internal), new State ("S1"), new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S2"), new State ("S0"));
+		
+		Minimisation minimisation = new Minimisation (model);
+		HMILTS quotient = minimisation.getQuotient();
+		assertEquals (1, quotient.statesCount());
+		assertEquals (1, quotient.transitionsCount());
+		assertEquals (new State ("S0"), quotient.initialState());
+		assertEquals (new State ("S0"), minimisation.getMapping().get (new State ("S2")));
+	}
+	
+	@Test
+	public void testBisimilarBranches()
+	{
+		// S0 -press-> S1 -beep-> S0 and S0 -press-> S2 -beep-> S0: S1 and S2 are merged
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S2"));
+		model.addTransition (new Transition (beep), new State ("S1"), new State ("S0"));
+		model.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		
+		Minimisation minimisation = new Minimisation (model);
+		assertEquals (2, minimisation.getQuotient().statesCount());
+		assertEquals (2, minimisation.getQuotient().transitionsCount());
+		Map<State,State> mapping = minimisation.getMapping();
+		assertEquals (mapping.get (new State ("S1")), mapping.get (new State ("S2")));
+		assertFalse (mapping.get (new State ("S0")).equals (mapping.get (new State ("S1"))));
+	}
+	
+	@Test
+	public void testTypes()
+	{
+		// A command and an observation with distinct names are never confused
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (beep), new State ("S0"), new State ("S2"));
+		model.addTransition (new Transition (press), new State ("S1"), new State ("S1"));
+		model.addTransition (new Transition (beep), new State ("S2"), new State ("S2"));
+		assertEquals (3, new Minimisation (model).getQuotient().statesCount());
+		
+		// An internal transition that loses an option is not inert
+		model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S0"));
+		model.addTauTransition (new Transition (internal), new State ("S0"), new State ("S1"));
+		assertEquals (2, new Minimisation (model).getQuotient().statesCount());
+	}
+	
+	@Test
+	public void testFullControl()
+	{
+		// The full-control verdict is the same on a model and on its quotient
+		Random random = new Random (7);
+		for (int round = 0; round < 40; round++)
+		{
+			HMILTS system = TestFCCheck.randomModel (random, "S", 1 + random.nextInt (round < 20 ? 5 : 100));
+			HMILTS mental = random.nextBoolean() ? system : TestFCCheck.randomModel (random, "M", 1 + random.nextInt (10));
+			HMILTS quotient = new Minimisation (system).getQuotient();
+			assertTrue (quotient.statesCount() <= system.statesCount());
+			assertEquals (new FCCheck (system).isFullControl (mental), new FCCheck (quotient).isFullControl (mental));
+			assertEquals (new FCCheck (system).isFullControl (mental), new FCCheck (system).isFullControl (new Minimisation (mental).getQuotient()));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+// TestOffHeapLTS.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.generators.HMILTSGenerator;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.OffHeapLTS;
+
+/**
+ * Test class of the OffHeapLTS class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestOffHeapLTS
+{
+	// Instance variables
+	private OffHeapLTS lts;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		lts = new OffHeapLTS();
+	}
+	
+	@After
+	public void tearDown() throws Exception
+	{
+		lts.close();
+	}
+	
+	@Test
+	public void testAddTransition()
+	{
+		assertEquals (1, lts.statesCount());
+		assertEquals (1, lts.addState());
+		assertEquals (2, lts.addState());
+		int press = lts.addAction ("press");
+		assertEquals (press, lts.addAction ("press"));
+		assertEquals (press, lts.actionId ("press"));
+		assertEquals (-1, lts.actionId ("release"));
+		assertEquals ("press", lts.action (press));
+		assertEquals (2, lts.actionsCount());
+		
+		assertEquals (0, lts.addTransition (0, press, 1));
+		assertEquals (1, lts.addTauTransition (1, 2));
+		assertEquals (2, lts.addTransition (0, press, 2));
+		assertEquals (3, lts.addTransition (1, CompactLTS.TAU, 2));
+		assertEquals (4, lts.transitionsCount());
+		assertEquals (0, lts.transitionSource (2));
+		assertEquals (2, lts.transitionTarget (2));
+		assertEquals (CompactLTS.TAU, lts.transitionAction (1));
+		assertTrue (lts.isTauTransition (1));
+		assertFalse (lts.isTauTransition (3));
+		assertTrue (lts.hasTauTransition (1, 2));
+		assertFalse (lts.hasTauTransition (0, 1));
+		
+		// Transitions with the same source (destination) and action are listed in order
+		assertEquals (0, lts.firstOut (0, press));
+		assertEquals (2, lts.nextOut (0));
+		assertEquals (-1, lts.nextOut (2));
+		assertEquals (1, lts.firstIn (2, CompactLTS.TAU));
+		assertEquals (3, lts.nextIn (1));
+		assertEquals (-1, lts.firstOut (1, press));
+		int[] actions = new int[lts.actionsCount()];
+		assertEquals (1, lts.enabledActions (1, actions));
+		assertEquals (CompactLTS.TAU, actions[0]);
+		
+		// States and actions must exist, tau transitions must be unique
+		int[][] invalid = {{0, press, 3}, {-1, press, 0}, {0, 2, 1}, {0, -1, 1}};
+		for (int[] t : invalid)
+		{
+			try
+			{
+				lts.addTransition (t[0], t[1], t[2]);
+				fail();
+			}
+			catch (IllegalArgumentException exception){}
+		}
+		try
+		{
+			lts.addTauTransition (1, 2);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		try
+		{
+			lts.addAction (null);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testSameAsLTS()
+	{
+		// A copy of a generated model has the same transitions lists, over several chunks
+		HMILTSGenerator generator = new HMILTSGenerator (7);
+		generator.setStatesCount (30000);
+		generator.setBranchingFactor (3);
+		HMILTS model = generator.generate();
+		for (int s = 1; s < model.statesCount(); s++)
+		{
+			lts.addState();
+		}
+		for (int a = 1; a < model.actionsCount(); a++)
+		{
+			assertEquals (a, lts.addAction (model.action (a)));
+		}
+		for (int t = 0; t < model.transitionsCount(); t++)
+		{
+			int from = model.transitionSource (t), to = model.transitionTarget (t);
+			if (model.isTauTransition (model.transition (t)))
+			{
+				lts.addTauTransition (from, to);
+			}
+			else
+			{
+				lts.addTransition (from, model.transitionAction (t), to);
+			}
+		}
+		
+		int[] expected = new int[model.actionsCount()], actual = new int[lts.actionsCount()];
+		for (int s = 0; s < model.statesCount(); s++)
+		{
+			for (int a = 0; a < model.actionsCount(); a++)
+			{
+				for (int t = model.firstOut (s, a), u = lts.firstOut (s, a); t >= 0 || u >= 0; t = model.nextOut (t), u = lts.nextOut (u))
+				{
+					assertEquals (t, u);
+				}
+				for (int t = model.firstIn (s, a), u = lts.firstIn (s, a); t >= 0 || u >= 0; t = model.nextIn (t), u = lts.nextIn (u))
+				{
+					assertEquals (t, u);
+				}
+			}
+			int count = model.enabledActions (s, expected);
+			assertEquals (count, lts.enabledActions (s, actual));
+			Arrays.sort (expected, 0, count);
+			Arrays.sort (actual, 0, count);
+			assertArrayEquals (Arrays.copyOf (expected, count), Arrays.copyOf (actual, count));
+		}
+	}
+	
+	@Test
+	public void testClose()
+	{
+		assertFalse (lts.isClosed());
+		lts.close();
+		assertTrue (lts.isClosed());
+		lts.close();
+		try
+		{
+			lts.addState();
+			fail();
+		}
+		catch (IllegalStateException exception){}
+		try
+		{
+			lts.addTauTransition (0, 0);
+			fail();
+		}
+		catch (IllegalStateException exception){}
+	}
+}
\ No newline at end of file
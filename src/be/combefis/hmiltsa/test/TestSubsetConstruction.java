@@ -0,0 +1,185 @@
+// TestSubsetConstruction.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.SubsetConstruction;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.CompactLTS;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the SubsetConstruction class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestSubsetConstruction
+{
+	// Instance variables
+	private Action press, beep, internal;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		press = new Action ("press", ActionType.COMMAND);
+		beep = new Action ("beep", ActionType.OBSERVATION);
+		internal = new Action ("internal", ActionType.TAU);
+	}
+	
+	@Test
+	public void testNondeterminism()
+	{
+		// S0 -press-> S1, S0 -press-> S2 -tau-> S3 and S1, S3 -beep-> S0
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addState (new State ("S2"));
+		model.addState (new State ("S3"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S0"), new State ("S2"));
+		model.addTransition (new Transition (internal), new State ("S2"), new State ("S3"));
+		model.addTransition (new Transition (beep), new State ("S1"), new State ("S0"));
+		model.addTransition (new Transition (beep), new State ("S3"), new State ("S0"));
+		
+		SubsetConstruction construction = new SubsetConstruction (model);
+		CompactLTS<State,Transition> lts = construction.getLTS();
+		int p = lts.actionId (press), b = lts.actionId (beep);
+		assertEquals (1, construction.subsetsCount());
+		assertArrayEquals (new int[] {0}, construction.getStates (0));
+		
+		int next = construction.successor (0, p);
+		assertEquals (1, next);
+		assertArrayEquals (new int[] {1, 2, 3}, construction.getStates (next));
+		assertEquals (0, construction.successor (next, b));
+		assertEquals (-1, construction.successor (0, b));
+		assertEquals (next, construction.successor (0, p));
+		assertEquals (2, construction.subsetsCount());
+	}
+	
+	@Test
+	public void testInitialClosure()
+	{
+		// S0 -tau-> S1 -tau-> S0: the initial subset contains both states
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addTauTransition (new Transition (internal), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (internal), new State ("S1"), new State ("S0"));
+		model.addTransition (new Transition (press), new State ("S1"), new State ("S1"));
+		
+		SubsetConstruction construction = new SubsetConstruction (model);
+		assertArrayEquals (new int[] {0, 1}, construction.getStates (0));
+		assertEquals (0, construction.successor (0, construction.getLTS().actionId (press)));
+	}
+	
+	@Test
+	public void testReturnToInitialClosure()
+	{
+		// S0 -tau-> S1 -press-> S0: the weak trace press leads back to the initial subset
+		HMILTS model = new HMILTS (new State ("S0"));
+		model.addState (new State ("S1"));
+		model.addTransition (new Transition (internal), new State ("S0"), new State ("S1"));
+		model.addTransition (new Transition (press), new State ("S1"), new State ("S0"));
+		
+		SubsetConstruction construction = new SubsetConstruction (model);
+		assertArrayEquals (new int[] {0, 1}, construction.getStates (0));
+		assertEquals (0, construction.successor (0, construction.getLTS().actionId (press)));
+		assertEquals (1, construction.subsetsCount());
+	}
+	
+	@Test
+	public void testRandom()
+	{
+		Random random = new Random (42);
+		for (int round = 0; round < 40; round++)
+		{
+			HMILTS model = TestFCCheck.randomModel (random, "S", 2 + random.nextInt (12));
+			CompactLTS<State,Transition> lts = model.freeze();
+			SubsetConstruction construction = new SubsetConstruction (lts);
+			assertEquals (closure (lts, new TreeSet<Integer> (Arrays.asList (0))), set (construction.getStates (0)));
+			
+			for (int subset = 0; subset < construction.subsetsCount(); subset++)
+			{
+				for (int a = 1; a < lts.actionsCount(); a++)
+				{
+					TreeSet<Integer> expected = new TreeSet<Integer>();
+					for (int s : construction.getStates (subset))
+					{
+						for (int i = lts.outStart (s, a); i < lts.outEnd (s, a); i++)
+						{
+							expected.add (lts.outTarget (i));
+						}
+					}
+					expected = closure (lts, expected);
+					
+					int next = construction.successor (subset, a);
+					if (expected.isEmpty())
+					{
+						assertEquals (-1, next);
+					}
+					else
+					{
+						assertEquals (expected, set (construction.getStates (next)));
+					}
+				}
+			}
+			
+			// Distinct identifiers denote distinct subsets
+			TreeSet<String> subsets = new TreeSet<String>();
+			for (int subset = 0; subset < construction.subsetsCount(); subset++)
+			{
+				assertTrue (subsets.add (Arrays.toString (construction.getStates (subset))));
+			}
+		}
+	}
+	
+	/**
+	 * Computes the tau-closure of a set of states with a naive search
+	 * 
+	 * @pre "lts", "states" != null
+	 * @post The returned value contains the states reachable from "states" with TAU transitions
+	 */
+	private static TreeSet<Integer> closure (CompactLTS<State,Transition> lts, TreeSet<Integer> states)
+	{
+		TreeSet<Integer> result = new TreeSet<Integer> (states);
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			for (int s : new TreeSet<Integer> (result))
+			{
+				for (int i = lts.outStart (s, CompactLTS.TAU); i < lts.outEnd (s, CompactLTS.TAU); i++)
+				{
+					changed |= result.add (lts.outTarget (i));
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Converts an array into a set
+	 * 
+	 * @pre "states" != null
+	 * @post The returned value contains the elements of "states"
+	 */
+	private static TreeSet<Integer> set (int[] states)
+	{
+		TreeSet<Integer> result = new TreeSet<Integer>();
+		for (int s : states)
+		{
+			result.add (s);
+		}
+		return result;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+// TestSymbolTable.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.SymbolTable;
+
+/**
+ * Test class of the SymbolTable class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestSymbolTable
+{
+	// Instance variables
+	private SymbolTable table;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		table = new SymbolTable();
+	}
+	
+	@Test
+	public void testState()
+	{
+		// States are numbered in the order they are interned
+		State s0 = table.state ("S0");
+		State s1 = table.state ("S1");
+		assertEquals (0, s0.getId());
+		assertEquals (1, s1.getId());
+		assertEquals (2, table.statesCount());
+		
+		// Interning the same name again gives the same instance
+		assertSame (s0, table.state ("S0"));
+		assertSame (s1, table.intern (new State ("S1")));
+		assertSame (s1, table.getState (1));
+		assertEquals (2, table.statesCount());
+		
+		// A state that has not been interned has no identifier
+		assertEquals (-1, new State ("S0").getId());
+	}
+	
+	@Test
+	public void testAction()
+	{
+		Action a0 = table.action ("A0", ActionType.COMMAND);
+		Action a1 = table.action ("A1", ActionType.OBSERVATION);
+		assertEquals (0, a0.getId());
+		assertEquals (1, a1.getId());
+		assertSame (a0, table.action ("A0", ActionType.COMMAND));
+		assertSame (a1, table.intern (new Action ("A1", ActionType.OBSERVATION)));
+		assertSame (a0, table.getAction (0));
+		assertEquals (2, table.actionsCount());
+		
+		// The same name cannot be interned with another type
+		try
+		{
+			table.action ("A0", ActionType.OBSERVATION);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+		assertEquals (2, table.actionsCount());
+	}
+	
+	@Test
+	public void testHashing()
+	{
+		// Equal states and actions must be found in hash-based collections
+		Set<State> states = new HashSet<State>();
+		states.add (table.state ("S0"));
+		assertTrue (states.contains (new State ("S0")));
+		assertEquals (new State ("S0").hashCode(), table.state ("S0").hashCode());
+		
+		Set<Action> actions = new HashSet<Action>();
+		actions.add (table.action ("A0", ActionType.COMMAND));
+		assertTrue (actions.contains (new Action ("A0", ActionType.COMMAND)));
+	}
+}
\ No newline at end of file
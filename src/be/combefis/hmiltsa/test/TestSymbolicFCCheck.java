@@ -0,0 +1,69 @@
+// TestSymbolicFCCheck.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.algorithms.SymbolicFCCheck;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the SymbolicFCCheck class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestSymbolicFCCheck
+{
+	@Test
+	public void testWeakActions()
+	{
+		// S0 -tau-> S1 -press-> S2 -beep-> S0 against M0 -press-> M1 -beep-> M0
+		Action press = new Action ("press", ActionType.COMMAND);
+		Action beep = new Action ("beep", ActionType.OBSERVATION);
+		HMILTS system = new HMILTS (new State ("S0"));
+		system.addState (new State ("S1"));
+		system.addState (new State ("S2"));
+		system.addTauTransition (new Transition (new Action ("i", ActionType.TAU)), new State ("S0"), new State ("S1"));
+		system.addTransition (new Transition (press), new State ("S1"), new State ("S2"));
+		system.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		
+		HMILTS mental = new HMILTS (new State ("M0"));
+		mental.addState (new State ("M1"));
+		mental.addTransition (new Transition (press), new State ("M0"), new State ("M1"));
+		mental.addTransition (new Transition (beep), new State ("M1"), new State ("M0"));
+		SymbolicFCCheck check = new SymbolicFCCheck (system);
+		assertSame (system, check.getSystemModel());
+		assertTrue (check.isFullControl (mental));
+		
+		// A command that the system does not allow
+		mental.addTransition (new Transition (new Action ("release", ActionType.COMMAND)), new State ("M1"), new State ("M0"));
+		assertFalse (check.isFullControl (mental));
+	}
+	
+	@Test
+	public void testSameAsExplicit()
+	{
+		// The symbolic check must give the same verdict as the explicit one
+		Random random = new Random (42);
+		int verdicts = 0;
+		for (int round = 0; round < 200; round++)
+		{
+			HMILTS system = TestFCCheck.randomModel (random, "S", 1 + random.nextInt (12));
+			HMILTS mental = random.nextInt (4) == 0 ? system : TestFCCheck.randomModel (random, "M", 1 + random.nextInt (6));
+			boolean verdict = new FCCheck (system).isFullControl (mental);
+			assertEquals (verdict, new SymbolicFCCheck (system).isFullControl (mental));
+			verdicts += verdict ? 1 : 0;
+		}
+		assertTrue (verdicts > 0);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+// TestTauClosure.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.models.LTS;
+import be.combefis.hmiltsa.models.SparseBitSet;
+import be.combefis.hmiltsa.models.TauClosure;
+
+/**
+ * Test class of the TauClosure class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestTauClosure
+{
+	// Instance variables
+	private LTS<String,String> lts;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		// S0 -tau-> S1 -tau-> S2 -tau-> S1, S2 -T3-> S3 and S3 -tau-> S0
+		lts = new LTS<String,String> ("S0");
+		lts.addState ("S1");
+		lts.addState ("S2");
+		lts.addState ("S3");
+		lts.addTauTransition ("T0", "S0", "S1");
+		lts.addTauTransition ("T1", "S1", "S2");
+		lts.addTauTransition ("T2", "S2", "S1");
+		lts.addTransition ("T3", "S2", "S3");
+		lts.addTauTransition ("T4", "S3", "S0");
+	}
+	
+	@Test
+	public void testComponents()
+	{
+		TauClosure closure = lts.tauClosure();
+		
+		// S1 and S2 are in the same component
+		assertEquals (3, closure.componentsCount());
+		assertEquals (closure.component (1), closure.component (2));
+		assertTrue (closure.component (0) != closure.component (1));
+		int c = closure.component (1);
+		assertEquals (2, closure.componentEnd (c) - closure.componentStart (c));
+		
+		// A tau transition never goes to a component with a greater identifier
+		assertTrue (closure.component (0) > closure.component (1));
+		assertTrue (closure.component (3) > closure.component (0));
+	}
+	
+	@Test
+	public void testReaches()
+	{
+		TauClosure closure = lts.tauClosure();
+		assertTrue (closure.reaches (0, 0));
+		assertTrue (closure.reaches (0, 2));
+		assertTrue (closure.reaches (2, 1));
+		assertTrue (closure.reaches (3, 2));
+		assertFalse (closure.reaches (2, 3));
+		assertFalse (closure.reaches (1, 0));
+		
+		SparseBitSet reachable = closure.reachableComponents (closure.component (3));
+		assertEquals (3, reachable.cardinality());
+	}
+	
+	@Test
+	public void testCache()
+	{
+		// The closure is cached until the LTS is modified
+		TauClosure closure = lts.tauClosure();
+		assertSame (closure, lts.tauClosure());
+		lts.addTauTransition ("T5", "S2", "S3");
+		assertNotSame (closure, lts.tauClosure());
+		assertTrue (lts.tauClosure().reaches (2, 0));
+	}
+	
+	@Test
+	public void testRandom()
+	{
+		// Compare with a breadth-first search on random LTSs
+		Random random = new Random (42);
+		for (int round = 0; round < 20; round++)
+		{
+			int n = 1 + random.nextInt (150);
+			LTS<Integer,Integer> randomLTS = new LTS<Integer,Integer> (0);
+			for (int s = 1; s < n; s++)
+			{
+				randomLTS.addState (s);
+			}
+			boolean[][] tau = new boolean[n][n];
+			for (int t = 0; t < 2 * n; t++)
+			{
+				int from = random.nextInt (n), to = random.nextInt (n);
+				if (random.nextInt (3) > 0 && ! tau[from][to])
+				{
+					tau[from][to] = true;
+					randomLTS.addTauTransition (t, from, to);
+				}
+				else
+				{
+					randomLTS.addTransition (t, from, to);
+				}
+			}
+			
+			TauClosure closure = randomLTS.tauClosure();
+			for (int from = 0; from < n; from++)
+			{
+				boolean[] reached = new boolean[n];
+				Deque<Integer> toVisit = new ArrayDeque<Integer>();
+				reached[from] = true;
+				toVisit.push (from);
+				while (! toVisit.isEmpty())
+				{
+					int s = toVisit.pop();
+					for (int to = 0; to < n; to++)
+					{
+						if (tau[s][to] && ! reached[to])
+						{
+							reached[to] = true;
+							toVisit.push (to);
+						}
+					}
+				}
+				for (int to = 0; to < n; to++)
+				{
+					assertEquals (reached[to], closure.reaches (from, to));
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
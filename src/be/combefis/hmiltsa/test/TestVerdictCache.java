@@ -0,0 +1,202 @@
+// TestVerdictCache.java
+
+package be.combefis.hmiltsa.test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import be.combefis.hmiltsa.algorithms.FCCheck;
+import be.combefis.hmiltsa.algorithms.VerdictCache;
+import be.combefis.hmiltsa.models.Action;
+import be.combefis.hmiltsa.models.ActionType;
+import be.combefis.hmiltsa.models.Composition;
+import be.combefis.hmiltsa.models.HMILTS;
+import be.combefis.hmiltsa.models.State;
+import be.combefis.hmiltsa.models.Transition;
+
+/**
+ * Test class of the VerdictCache class
+ * 
+ * @author Sébastien Combéfis
+ * @version October 18, 2026
+ */
+public final class TestVerdictCache
+{
+	// Instance variables
+	private Path directory;
+	private Action press, beep, internal;
+	
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory ("hmiltsa");
+		press = new Action ("press", ActionType.COMMAND);
+		beep = new Action ("beep", ActionType.OBSERVATION);
+		internal = new Action ("internal", ActionType.TAU);
+	}
+	
+	@After
+	public void tearDown() throws Exception
+	{
+		try (Stream<Path> files = Files.walk (directory))
+		{
+			files.sorted (Comparator.reverseOrder()).forEach (TestVerdictCache::delete);
+		}
+	}
+	
+	@Test
+	public void testFingerprint()
+	{
+		// The same structure built in two orders
+		HMILTS a = new HMILTS (new State ("S0"));
+		a.addState (new State ("S1"));
+		a.addState (new State ("S2"));
+		a.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		a.addTransition (new Transition (internal), new State ("S1"), new State ("S2"));
+		a.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		
+		HMILTS b = new HMILTS (new State ("S0"));
+		b.addState (new State ("S2"));
+		b.addState (new State ("S1"));
+		b.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		b.addTransition (new Transition (new Action ("internal", ActionType.TAU)), new State ("S1"), new State ("S2"));
+		b.addTransition (new Transition (new Action ("press", ActionType.COMMAND)), new State ("S0"), new State ("S1"));
+		assertEquals (64, a.fingerprint().length());
+		assertEquals (a.fingerprint(), b.fingerprint());
+		assertSame (a.fingerprint(), a.fingerprint());
+		
+		// The initial state, the types and the edges matter
+		HMILTS c = new HMILTS (new State ("S1"));
+		c.addState (new State ("S0"));
+		c.addState (new State ("S2"));
+		c.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		c.addTransition (new Transition (internal), new State ("S1"), new State ("S2"));
+		c.addTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		assertNotEquals (a.fingerprint(), c.fingerprint());
+		
+		String before = b.fingerprint();
+		b.addTransition (new Transition (new Action ("beep", ActionType.COMMAND)), new State ("S2"), new State ("S0"));
+		assertNotEquals (before, b.fingerprint());
+		a.addTauTransition (new Transition (beep), new State ("S2"), new State ("S0"));
+		assertNotEquals (b.fingerprint(), a.fingerprint());
+	}
+	
+	@Test
+	public void testCache() throws IOException
+	{
+		// Verdicts are found again after the cache is reopened
+		try (VerdictCache cache = new VerdictCache (directory, 2))
+		{
+			assertEquals (directory, cache.getDirectory());
+			assertEquals (2, cache.getCapacity());
+			assertNull (cache.get ("s", "m1"));
+			cache.put ("s", "m1", true);
+			cache.put ("s", "m2", false);
+			assertEquals (Boolean.TRUE, cache.get ("s", "m1"));
+			assertEquals (1, cache.getHits());
+			assertEquals (1, cache.getMisses());
+			
+			// Only the stored verdicts are written, the order being saved when the cache is closed
+			assertEquals (2, Files.readAllLines (directory.resolve ("verdicts.log")).size());
+		}
+		try (VerdictCache cache = new VerdictCache (directory, 2))
+		{
+			assertEquals (2, cache.size());
+			assertEquals (Boolean.FALSE, cache.get ("s", "m2"));
+			
+			// "m1" is now the least recently used verdict
+			cache.put ("s", "m3", true);
+			assertEquals (2, cache.size());
+			assertNull (cache.get ("s", "m1"));
+			assertEquals (Boolean.TRUE, cache.get ("s", "m3"));
+			for (int i = 0; i < 10; i++)
+			{
+				cache.get ("s", "m2");
+			}
+		}
+		
+		// The log is compacted, and keeps the same verdicts
+		assertTrue (Files.readAllLines (directory.resolve ("verdicts.log")).size() <= 4);
+		try (VerdictCache cache = new VerdictCache (directory, 2))
+		{
+			assertEquals (Boolean.FALSE, cache.get ("s", "m2"));
+			assertEquals (Boolean.TRUE, cache.get ("s", "m3"));
+			assertNull (cache.get ("s", "m1"));
+		}
+		
+		try
+		{
+			new VerdictCache (directory, 0);
+			fail();
+		}
+		catch (IllegalArgumentException exception){}
+	}
+	
+	@Test
+	public void testFullControl() throws IOException
+	{
+		HMILTS system = new HMILTS (new State ("S0"));
+		system.addState (new State ("S1"));
+		system.addTransition (new Transition (press), new State ("S0"), new State ("S1"));
+		HMILTS mental = new HMILTS (new State ("M0"));
+		mental.addState (new State ("M1"));
+		mental.addTransition (new Transition (press), new State ("M0"), new State ("M1"));
+		
+		try (VerdictCache cache = new VerdictCache (directory, 10))
+		{
+			FCCheck check = new FCCheck (system);
+			assertTrue (cache.isFullControl (check, mental));
+			assertTrue (cache.isFullControl (check, mental));
+			assertEquals (1, cache.getHits());
+			
+			// A changed model is checked again
+			system.addTransition (new Transition (beep), new State ("S1"), new State ("S0"));
+			assertFalse (cache.isFullControl (check, mental));
+			assertEquals (2, cache.getMisses());
+			assertEquals (2, cache.size());
+			
+			// Composed systems are not cached
+			assertFalse (cache.isFullControl (new FCCheck (new Composition (system)), mental));
+			assertEquals (2, cache.size());
+			
+			// Nor are the verdicts of bitstate checks, which may miss violations
+			FCCheck bitstate = new FCCheck (system);
+			bitstate.setBitstateMemory (8);
+			assertTrue (cache.isFullControl (bitstate, system));
+			assertEquals (2, cache.size());
+			assertEquals (2, cache.getMisses());
+			assertTrue (cache.isFullControl (check, system));
+			assertEquals (3, cache.size());
+		}
+		
+		// An identical model built again finds the verdict
+		HMILTS copy = new HMILTS (new State ("M0"));
+		copy.addState (new State ("M1"));
+		copy.addTransition (new Transition (press), new State ("M0"), new State ("M1"));
+		try (VerdictCache cache = new VerdictCache (directory, 10))
+		{
+			assertFalse (cache.isFullControl (new FCCheck (system), copy));
+			assertEquals (1, cache.getHits());
+		}
+	}
+	
+	/**
+	 * Deletes a file
+	 * 
+	 * @pre "file" != null
+	 * @post "file" has been deleted, if it could be
+	 */
+	private static void delete (Path file)
+	{
+		file.toFile().delete();
+	}
+}
\ No newline at end of file